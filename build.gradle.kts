@@ -1,6 +1,7 @@
 plugins {
     java
     id("com.gradleup.shadow") version "9.0.0-beta12"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.blockforge"
@@ -20,8 +21,10 @@ repositories {
     maven { url = uri("file://${rootDir}/../GriefPrevetionFlagsReborn/build/libs") }
 }
 
+val paperApi = "io.papermc.paper:paper-api:1.21.11-R0.1-SNAPSHOT"
+
 dependencies {
-    compileOnly("io.papermc.paper:paper-api:1.21.11-R0.1-SNAPSHOT")
+    compileOnly(paperApi)
     compileOnly("com.github.MilkBowl:VaultAPI:1.7.1")
     compileOnly(files("../GriefPrevetionFlagsReborn/build/libs/GriefPreventionFlagsReborn-1.0.0.jar"))
     compileOnly("com.github.TechFortress:GriefPrevention:16.18.4")
@@ -29,7 +32,20 @@ dependencies {
     compileOnly(files("libs/Quests-5.2.8.jar"))
     compileOnly("me.clip:placeholderapi:2.11.6")
     compileOnly("net.luckperms:api:5.4")
+    // Loaded at runtime through plugin.yml "libraries"
+    compileOnly("com.zaxxer:HikariCP:5.1.0")
     implementation("org.bstats:bstats-bukkit:3.1.0")
+
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    testImplementation(paperApi)
+    // Benchmarks: ./gradlew jmh
+    jmh(paperApi)
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 tasks.shadowJar {
@@ -0,0 +1,98 @@
+package com.blockforge.horizonutilities.jobs.antiexploit;
+
+import com.blockforge.horizonutilities.jobs.JobAction;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Old (deque of records) vs new (cell-hashed ring buffer) area-farming
+ * detector. Each window is pre-filled with {@code windowSize} actions from a
+ * player working a small farm with some wandering, which is the hot case: one
+ * record and one radius query per paid block break. The query benchmarks see
+ * exactly {@code windowSize} actions; the record benchmarks fill the window
+ * up to its cap during warmup and measure the steady state.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AreaFarmingBenchmark {
+
+    private static final int RADIUS = 5;
+    private static final long TIMEFRAME_MS = 60_000L;
+    private static final int LOCATIONS = 1024;
+
+    @Param({"32", "128", "500"})
+    public int windowSize;
+
+    private final UUID player = UUID.randomUUID();
+    private final Location[] locations = new Location[LOCATIONS];
+    private int cursor;
+
+    private LegacyAreaFarmingDetector legacy;
+    private AreaFarmingDetector ringBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // A null world compares equal to itself, which is all the detectors need
+        Random rng = new Random(42);
+        for (int i = 0; i < LOCATIONS; i++) {
+            double spread = rng.nextInt(4) == 0 ? 40 : 6;
+            locations[i] = new Location(null,
+                    100 + rng.nextGaussian() * spread,
+                    64 + rng.nextInt(3),
+                    -250 + rng.nextGaussian() * spread);
+        }
+        legacy = new LegacyAreaFarmingDetector();
+        ringBuffer = new AreaFarmingDetector(50, RADIUS, TIMEFRAME_MS);
+        for (int i = 0; i < windowSize; i++) {
+            legacy.recordAction(player, locations[i % LOCATIONS], JobAction.BREAK);
+            ringBuffer.recordAction(player, locations[i % LOCATIONS], JobAction.BREAK);
+        }
+    }
+
+    private Location nextLocation() {
+        Location loc = locations[cursor];
+        cursor = (cursor + 1) & (LOCATIONS - 1);
+        return loc;
+    }
+
+    @Benchmark
+    public void recordLegacy() {
+        legacy.recordAction(player, nextLocation(), JobAction.BREAK);
+    }
+
+    @Benchmark
+    public void recordRingBuffer() {
+        ringBuffer.recordAction(player, nextLocation(), JobAction.BREAK);
+    }
+
+    @Benchmark
+    public int queryLegacy() {
+        return legacy.getRecentActionsInRadius(player, nextLocation(), RADIUS, TIMEFRAME_MS);
+    }
+
+    @Benchmark
+    public int queryRingBuffer() {
+        return ringBuffer.getRecentActionsInRadius(player, nextLocation(), RADIUS, TIMEFRAME_MS);
+    }
+}
@@ -0,0 +1,53 @@
+package com.blockforge.horizonutilities.jobs.antiexploit;
+
+import com.blockforge.horizonutilities.jobs.JobAction;
+import org.bukkit.Location;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The deque-of-records detector that {@link AreaFarmingDetector} replaced,
+ * kept as the benchmark baseline.
+ */
+class LegacyAreaFarmingDetector {
+
+    private record ActionRecord(Location loc, long timestamp, JobAction action) {}
+
+    private static final int MAX_DEQUE_SIZE = 500;
+
+    private final Map<UUID, Deque<ActionRecord>> recentActions = new ConcurrentHashMap<>();
+
+    void recordAction(UUID playerUuid, Location loc, JobAction action) {
+        Deque<ActionRecord> deque = recentActions.computeIfAbsent(playerUuid, k -> new ArrayDeque<>());
+        synchronized (deque) {
+            deque.addLast(new ActionRecord(loc.clone(), System.currentTimeMillis(), action));
+            while (deque.size() > MAX_DEQUE_SIZE) {
+                deque.pollFirst();
+            }
+        }
+    }
+
+    int getRecentActionsInRadius(UUID playerUuid, Location center, int radius, long timeframeMs) {
+        Deque<ActionRecord> deque = recentActions.get(playerUuid);
+        if (deque == null) return 0;
+
+        long cutoff = System.currentTimeMillis() - timeframeMs;
+        double radiusSq = radius * radius;
+        int count = 0;
+
+        synchronized (deque) {
+            for (ActionRecord record : deque) {
+                if (record.timestamp() < cutoff) continue;
+                if (record.loc().getWorld() != center.getWorld()) continue;
+                if (record.loc().distanceSquared(center) <= radiusSq) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -13,6 +13,7 @@ import com.blockforge.horizonutilities.bounty.commands.BountyCommand;
 import com.blockforge.horizonutilities.bounty.commands.BountyTabCompleter;
 import com.blockforge.horizonutilities.bounty.listeners.BountyKillListener;
 import com.blockforge.horizonutilities.bounty.listeners.BountyProximityListener;
+import com.blockforge.horizonutilities.economy.AuditLogWriter;
 import com.blockforge.horizonutilities.economy.EcoAdminCommand;
 import com.blockforge.horizonutilities.lottery.LotteryDrawTask;
 import com.blockforge.horizonutilities.lottery.LotteryManager;
@@ -85,6 +86,7 @@ import com.blockforge.horizonutilities.gems.GemsManager;
 import com.blockforge.horizonutilities.gems.commands.GemsCommand;
 import com.blockforge.horizonutilities.jobs.quests.daily.DailyQuestListener;
 import com.blockforge.horizonutilities.jobs.quests.daily.DailyQuestManager;
+import com.blockforge.horizonutilities.session.PlayerSessionLoader;
 import com.blockforge.horizonutilities.maintenance.MaintenanceCommand;
 import com.blockforge.horizonutilities.maintenance.MaintenanceListener;
 import com.blockforge.horizonutilities.maintenance.MaintenanceManager;
@@ -94,6 +96,8 @@ import com.blockforge.horizonutilities.jobs.commands.JobsTabCompleter;
 import com.blockforge.horizonutilities.jobs.gui.JobsGUIListener;
 import com.blockforge.horizonutilities.jobs.listeners.*;
 import com.blockforge.horizonutilities.storage.DatabaseManager;
+import com.blockforge.horizonutilities.storage.StateCoordinator;
+import com.blockforge.horizonutilities.storage.commands.DatabaseCommand;
 import org.bstats.bukkit.Metrics;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -107,6 +111,8 @@ public class HorizonUtilitiesPlugin extends JavaPlugin {
     private ChatGamesConfig chatGamesConfig;
     private ChatPlaceholdersConfig chatPlaceholdersConfig;
     private DatabaseManager databaseManager;
+    private AuditLogWriter auditLogWriter;
+    private StateCoordinator stateCoordinator;
     private VaultHook vaultHook;
     private AuctionManager auctionManager;
     private AuctionNotificationManager notificationManager;
@@ -141,6 +147,7 @@ public class HorizonUtilitiesPlugin extends JavaPlugin {
     private MentionManager mentionManager;
     private DailyQuestManager dailyQuestManager;
     private GemsManager gemsManager;
+    private PlayerSessionLoader sessionLoader;
 
     @Override
     public void onEnable() {
@@ -164,6 +171,12 @@ public class HorizonUtilitiesPlugin extends JavaPlugin {
         databaseManager = new DatabaseManager(this);
         databaseManager.init();
 
+        stateCoordinator = new StateCoordinator(this);
+
+        auditLogWriter = new AuditLogWriter(this);
+        auditLogWriter.start();
+        stateCoordinator.register(auditLogWriter);
+
         vaultHook = new VaultHook(this);
         if (!vaultHook.setup()) {
             getLogger().warning("Vault not found — economy features disabled.");
@@ -255,7 +268,17 @@ public class HorizonUtilitiesPlugin extends JavaPlugin {
         gemsManager = new GemsManager(this);
         gemsManager.getConfig().load();
 
+        stateCoordinator.register(jobManager);
+        stateCoordinator.register(jobManager.getIncomeCapManager());
+        stateCoordinator.register(jobManager.getExploreTracker());
+        stateCoordinator.register(jobManager.getBlockTracker());
+        stateCoordinator.register(dailyQuestManager);
+        stateCoordinator.start();
+
+        sessionLoader = new PlayerSessionLoader(this);
+
         var pm = getServer().getPluginManager();
+        pm.registerEvents(sessionLoader, this);
         pm.registerEvents(new MaintenanceListener(maintenanceManager), this);
         pm.registerEvents(new ChatBubbleListener(this, chatBubbleManager), this);
         pm.registerEvents(playerWarpGUIListener, this);
@@ -280,13 +303,13 @@ public class HorizonUtilitiesPlugin extends JavaPlugin {
         // Jobs listeners
         pm.registerEvents(new JobPlayerListener(this), this);
         pm.registerEvents(new JobBlockListener(this), this);
+        pm.registerEvents(new JobChunkListener(this), this);
         pm.registerEvents(new JobKillListener(this), this);
         pm.registerEvents(new JobFishListener(this), this);
         pm.registerEvents(new JobCraftListener(this), this);
         pm.registerEvents(new JobBrewListener(this), this);
         pm.registerEvents(new JobEnchantListener(this), this);
         pm.registerEvents(new JobFarmListener(this), this);
-        pm.registerEvents(new JobExploreListener(this), this);
         pm.registerEvents(new JobMiscListener(this), this);
         pm.registerEvents(new JobsGUIListener(this), this);
         pm.registerEvents(new DailyQuestListener(this, dailyQuestManager), this);
@@ -404,6 +427,13 @@ public class HorizonUtilitiesPlugin extends JavaPlugin {
             gemsCmd.setTabCompleter(gemsCmdExec);
         }
 
+        var horizonDbCmd = getCommand("horizondb");
+        if (horizonDbCmd != null) {
+            var dbCmd = new DatabaseCommand(this);
+            horizonDbCmd.setExecutor(dbCmd);
+            horizonDbCmd.setTabCompleter(dbCmd);
+        }
+
         var horizonConfigCmd = getCommand("horizonconfig");
         if (horizonConfigCmd != null) {
             var hcCmd = new HorizonConfigCommand(this);
@@ -416,8 +446,8 @@ public class HorizonUtilitiesPlugin extends JavaPlugin {
         new LotteryDrawTask(this, lotteryManager).start();
 
         // Expire bounties every 5 minutes
-        getServer().getScheduler().runTaskTimerAsynchronously(this,
-                () -> bountyManager.expireOldBounties(), 6000L, 6000L);
+        getServer().getScheduler().runTaskTimer(this,
+                () -> databaseManager.runWrite(bountyManager::expireOldBounties), 6000L, 6000L);
 
         if (configManager.isMetricsEnabled()) {
             new Metrics(this, 00000);
@@ -429,6 +459,14 @@ public class HorizonUtilitiesPlugin extends JavaPlugin {
     @Override
     public void onDisable() {
         if (chatGameManager != null) chatGameManager.shutdown();
+        // Pay out job income still waiting for its payout window
+        if (jobManager != null) jobManager.getPayoutAccumulator().flushAll();
+        // Hand queued skill XP and milestone rewards to AuraSkills
+        if (auraSkillsManager != null) auraSkillsManager.flushAll();
+        // Write placed-block flags back before the server saves its chunks
+        if (jobManager != null) jobManager.getBlockTracker().saveAll();
+        // Flush cached player state while the database is still open
+        if (stateCoordinator != null) stateCoordinator.shutdown();
         if (databaseManager != null) databaseManager.close();
         getLogger().info("HorizonUtilities disabled.");
     }
@@ -446,7 +484,7 @@ public class HorizonUtilitiesPlugin extends JavaPlugin {
         if (craftingTableConfig != null) craftingTableConfig.load();
         if (blackMarketManager != null) blackMarketManager.reload();
         if (lotteryManager != null) lotteryManager.reload();
-        if (jobManager != null) jobManager.getConfig().load();
+        if (jobManager != null) jobManager.reloadConfig();
         if (dailyQuestManager != null) dailyQuestManager.reload();
         if (gemsManager != null) gemsManager.getConfig().load();
     }
@@ -458,6 +496,8 @@ public class HorizonUtilitiesPlugin extends JavaPlugin {
     public ChatGamesConfig getChatGamesConfig() { return chatGamesConfig; }
     public ChatPlaceholdersConfig getChatPlaceholdersConfig() { return chatPlaceholdersConfig; }
     public DatabaseManager getDatabaseManager() { return databaseManager; }
+    public AuditLogWriter getAuditLogWriter() { return auditLogWriter; }
+    public StateCoordinator getStateCoordinator() { return stateCoordinator; }
     public VaultHook getVaultHook() { return vaultHook; }
     public AuctionManager getAuctionManager() { return auctionManager; }
     public AuctionNotificationManager getNotificationManager() { return notificationManager; }
@@ -491,4 +531,5 @@ public class HorizonUtilitiesPlugin extends JavaPlugin {
     public MentionManager getMentionManager()             { return mentionManager; }
     public DailyQuestManager getDailyQuestManager()      { return dailyQuestManager; }
     public GemsManager getGemsManager()                   { return gemsManager; }
+    public PlayerSessionLoader getSessionLoader()         { return sessionLoader; }
 }
@@ -50,10 +50,8 @@ public class AuctionExpireTask {
     }
 
     private long getLastBidTime(int listingId) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT MAX(bid_at) as last_bid FROM ah_bids WHERE listing_id = ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT MAX(bid_at) as last_bid FROM ah_bids WHERE listing_id = ?")) {
             stmt.setInt(1, listingId);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) return rs.getLong("last_bid");
@@ -62,10 +60,8 @@ public class AuctionExpireTask {
     }
 
     private void extendListing(int listingId, int seconds) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "UPDATE ah_listings SET expires_at = expires_at + ? WHERE id = ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "UPDATE ah_listings SET expires_at = expires_at + ? WHERE id = ?")) {
             stmt.setLong(1, seconds * 1000L);
             stmt.setInt(2, listingId);
             stmt.executeUpdate();
@@ -74,10 +70,8 @@ public class AuctionExpireTask {
 
     // simple extension counter using a transient approach (counts bids near expiry)
     private int getExtensionCount(int listingId) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT COUNT(*) FROM ah_bids WHERE listing_id = ? AND bid_at > (SELECT expires_at - ? FROM ah_listings WHERE id = ?)");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT COUNT(*) FROM ah_bids WHERE listing_id = ? AND bid_at > (SELECT expires_at - ? FROM ah_listings WHERE id = ?)")) {
             stmt.setInt(1, listingId);
             stmt.setLong(2, plugin.getAuctionHouseConfig().getAntiSnipeTriggerSeconds() * 1000L);
             stmt.setInt(3, listingId);
@@ -31,11 +31,9 @@ public class AuctionManager {
         String category = AuctionCategory.detect(item);
         String displayName = item.getType().name().toLowerCase().replace('_', ' ');
 
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "INSERT INTO ah_listings (seller_uuid, seller_name, item_data, item_material, item_display_name, start_price, buyout_price, current_bid, category, listed_at, expires_at, status, listing_fee) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, 'ACTIVE', ?)",
-                    Statement.RETURN_GENERATED_KEYS);
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "INSERT INTO ah_listings (seller_uuid, seller_name, item_data, item_material, item_display_name, start_price, buyout_price, current_bid, category, listed_at, expires_at, status, listing_fee) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, 'ACTIVE', ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, seller.getUniqueId().toString());
             stmt.setString(2, seller.getName());
             stmt.setBytes(3, ItemSerializer.serialize(item));
@@ -53,8 +51,9 @@ public class AuctionManager {
             stmt.setDouble(11, fee);
             stmt.executeUpdate();
 
-            ResultSet keys = stmt.getGeneratedKeys();
-            if (keys.next()) return keys.getInt(1);
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) return keys.getInt(1);
+            }
         } catch (SQLException e) {
             plugin.getLogger().warning("Failed to create listing: " + e.getMessage());
             // refund fee
@@ -81,17 +80,18 @@ public class AuctionManager {
             }
             sql += " ORDER BY listed_at DESC LIMIT ? OFFSET ?";
 
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            int idx = 1;
-            if (category != null && !category.equals("All") && !isEquipment(category)) {
-                stmt.setString(idx++, category);
-            }
-            stmt.setInt(idx++, perPage);
-            stmt.setInt(idx, page * perPage);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int idx = 1;
+                if (category != null && !category.equals("All") && !isEquipment(category)) {
+                    stmt.setString(idx++, category);
+                }
+                stmt.setInt(idx++, perPage);
+                stmt.setInt(idx, page * perPage);
 
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                listings.add(fromResultSet(rs));
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    listings.add(fromResultSet(rs));
+                }
             }
         } catch (SQLException e) {
             plugin.getLogger().warning("Failed to fetch listings: " + e.getMessage());
@@ -110,12 +110,13 @@ public class AuctionManager {
                     sql += " AND category = ?";
                 }
             }
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            if (category != null && !category.equals("All") && !isEquipment(category)) {
-                stmt.setString(1, category);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                if (category != null && !category.equals("All") && !isEquipment(category)) {
+                    stmt.setString(1, category);
+                }
+                ResultSet rs = stmt.executeQuery();
+                if (rs.next()) return rs.getInt(1);
             }
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) return rs.getInt(1);
         } catch (SQLException e) {
             plugin.getLogger().warning("Failed to count listings: " + e.getMessage());
         }
@@ -124,10 +125,8 @@ public class AuctionManager {
 
     public List<AuctionListing> searchListings(String query, int page, int perPage) {
         List<AuctionListing> listings = new ArrayList<>();
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT * FROM ah_listings WHERE status = 'ACTIVE' AND (item_material LIKE ? OR item_display_name LIKE ?) ORDER BY listed_at DESC LIMIT ? OFFSET ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT * FROM ah_listings WHERE status = 'ACTIVE' AND (item_material LIKE ? OR item_display_name LIKE ?) ORDER BY listed_at DESC LIMIT ? OFFSET ?")) {
             String pattern = "%" + query + "%";
             stmt.setString(1, pattern);
             stmt.setString(2, pattern);
@@ -144,9 +143,7 @@ public class AuctionManager {
     }
 
     public AuctionListing getListing(int id) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement("SELECT * FROM ah_listings WHERE id = ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement("SELECT * FROM ah_listings WHERE id = ?")) {
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) return fromResultSet(rs);
@@ -157,10 +154,8 @@ public class AuctionManager {
     }
 
     public int countPlayerListings(UUID playerUuid) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT COUNT(*) FROM ah_listings WHERE seller_uuid = ? AND status = 'ACTIVE'");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT COUNT(*) FROM ah_listings WHERE seller_uuid = ? AND status = 'ACTIVE'")) {
             stmt.setString(1, playerUuid.toString());
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) return rs.getInt(1);
@@ -185,33 +180,36 @@ public class AuctionManager {
             Connection conn = plugin.getDatabaseManager().getConnection();
 
             // update listing
-            PreparedStatement update = conn.prepareStatement(
-                    "UPDATE ah_listings SET current_bid = ?, current_bidder_uuid = ?, current_bidder_name = ? WHERE id = ?");
-            update.setDouble(1, amount);
-            update.setString(2, bidder.getUniqueId().toString());
-            update.setString(3, bidder.getName());
-            update.setInt(4, listing.getId());
-            update.executeUpdate();
+            try (PreparedStatement update = conn.prepareStatement(
+                    "UPDATE ah_listings SET current_bid = ?, current_bidder_uuid = ?, current_bidder_name = ? WHERE id = ?")) {
+                update.setDouble(1, amount);
+                update.setString(2, bidder.getUniqueId().toString());
+                update.setString(3, bidder.getName());
+                update.setInt(4, listing.getId());
+                update.executeUpdate();
+            }
 
             // record bid
-            PreparedStatement bid = conn.prepareStatement(
-                    "INSERT INTO ah_bids (listing_id, bidder_uuid, bidder_name, amount, bid_at) VALUES (?, ?, ?, ?, ?)");
-            bid.setInt(1, listing.getId());
-            bid.setString(2, bidder.getUniqueId().toString());
-            bid.setString(3, bidder.getName());
-            bid.setDouble(4, amount);
-            bid.setLong(5, System.currentTimeMillis());
-            bid.executeUpdate();
+            try (PreparedStatement bid = conn.prepareStatement(
+                    "INSERT INTO ah_bids (listing_id, bidder_uuid, bidder_name, amount, bid_at) VALUES (?, ?, ?, ?, ?)")) {
+                bid.setInt(1, listing.getId());
+                bid.setString(2, bidder.getUniqueId().toString());
+                bid.setString(3, bidder.getName());
+                bid.setDouble(4, amount);
+                bid.setLong(5, System.currentTimeMillis());
+                bid.executeUpdate();
+            }
 
             // store escrow
             if (cfg.isEscrowEnabled()) {
-                PreparedStatement escrow = conn.prepareStatement(
-                        "INSERT INTO ah_escrow (listing_id, bidder_uuid, amount, created_at) VALUES (?, ?, ?, ?)");
-                escrow.setInt(1, listing.getId());
-                escrow.setString(2, bidder.getUniqueId().toString());
-                escrow.setDouble(3, amount);
-                escrow.setLong(4, System.currentTimeMillis());
-                escrow.executeUpdate();
+                try (PreparedStatement escrow = conn.prepareStatement(
+                        "INSERT INTO ah_escrow (listing_id, bidder_uuid, amount, created_at) VALUES (?, ?, ?, ?)")) {
+                    escrow.setInt(1, listing.getId());
+                    escrow.setString(2, bidder.getUniqueId().toString());
+                    escrow.setDouble(3, amount);
+                    escrow.setLong(4, System.currentTimeMillis());
+                    escrow.executeUpdate();
+                }
             }
 
             return true;
@@ -298,10 +296,8 @@ public class AuctionManager {
     }
 
     public void addToCollection(String playerUuid, String type, ItemStack item, double amount, String reason) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "INSERT INTO ah_collection (player_uuid, type, item_data, amount, reason, created_at) VALUES (?, ?, ?, ?, ?, ?)");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "INSERT INTO ah_collection (player_uuid, type, item_data, amount, reason, created_at) VALUES (?, ?, ?, ?, ?, ?)")) {
             stmt.setString(1, playerUuid);
             stmt.setString(2, type);
             stmt.setBytes(3, item != null ? ItemSerializer.serialize(item) : null);
@@ -316,10 +312,8 @@ public class AuctionManager {
 
     public List<CollectionEntry> getCollection(UUID playerUuid) {
         List<CollectionEntry> entries = new ArrayList<>();
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT * FROM ah_collection WHERE player_uuid = ? ORDER BY created_at DESC");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT * FROM ah_collection WHERE player_uuid = ? ORDER BY created_at DESC")) {
             stmt.setString(1, playerUuid.toString());
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -338,9 +332,7 @@ public class AuctionManager {
     }
 
     public void removeCollectionEntry(int id) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement("DELETE FROM ah_collection WHERE id = ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement("DELETE FROM ah_collection WHERE id = ?")) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -349,19 +341,16 @@ public class AuctionManager {
     }
 
     public boolean isBanned(UUID playerUuid) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM ah_bans WHERE player_uuid = ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement("SELECT 1 FROM ah_bans WHERE player_uuid = ?")) {
             stmt.setString(1, playerUuid.toString());
             return stmt.executeQuery().next();
         } catch (SQLException e) { return false; }
     }
 
     public void ban(UUID playerUuid, String bannedBy, String reason) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "INSERT OR REPLACE INTO ah_bans (player_uuid, banned_by, reason, banned_at) VALUES (?, ?, ?, ?)");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                plugin.getDatabaseManager().getDialect().insertOrReplace() +
+                "ah_bans (player_uuid, banned_by, reason, banned_at) VALUES (?, ?, ?, ?)")) {
             stmt.setString(1, playerUuid.toString());
             stmt.setString(2, bannedBy);
             stmt.setString(3, reason);
@@ -373,9 +362,7 @@ public class AuctionManager {
     }
 
     public void unban(UUID playerUuid) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement("DELETE FROM ah_bans WHERE player_uuid = ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement("DELETE FROM ah_bans WHERE player_uuid = ?")) {
             stmt.setString(1, playerUuid.toString());
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -391,10 +378,8 @@ public class AuctionManager {
     }
 
     private void returnEscrow(int listingId, String bidderUuid) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT amount FROM ah_escrow WHERE listing_id = ? AND bidder_uuid = ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT amount FROM ah_escrow WHERE listing_id = ? AND bidder_uuid = ?")) {
             stmt.setInt(1, listingId);
             stmt.setString(2, bidderUuid);
             ResultSet rs = stmt.executeQuery();
@@ -412,27 +397,27 @@ public class AuctionManager {
     private void returnAllEscrow(int listingId) {
         try {
             Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT bidder_uuid, amount FROM ah_escrow WHERE listing_id = ?");
-            stmt.setInt(1, listingId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                var offlinePlayer = org.bukkit.Bukkit.getOfflinePlayer(UUID.fromString(rs.getString("bidder_uuid")));
-                plugin.getVaultHook().deposit(offlinePlayer, rs.getDouble("amount"));
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT bidder_uuid, amount FROM ah_escrow WHERE listing_id = ?")) {
+                stmt.setInt(1, listingId);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    var offlinePlayer = org.bukkit.Bukkit.getOfflinePlayer(UUID.fromString(rs.getString("bidder_uuid")));
+                    plugin.getVaultHook().deposit(offlinePlayer, rs.getDouble("amount"));
+                }
+            }
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM ah_escrow WHERE listing_id = ?")) {
+                delete.setInt(1, listingId);
+                delete.executeUpdate();
             }
-            PreparedStatement delete = conn.prepareStatement("DELETE FROM ah_escrow WHERE listing_id = ?");
-            delete.setInt(1, listingId);
-            delete.executeUpdate();
         } catch (SQLException e) {
             plugin.getLogger().warning("Failed to return all escrow: " + e.getMessage());
         }
     }
 
     private void deleteEscrow(int listingId, String bidderUuid) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "DELETE FROM ah_escrow WHERE listing_id = ? AND bidder_uuid = ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "DELETE FROM ah_escrow WHERE listing_id = ? AND bidder_uuid = ?")) {
             stmt.setInt(1, listingId);
             stmt.setString(2, bidderUuid);
             stmt.executeUpdate();
@@ -442,10 +427,8 @@ public class AuctionManager {
     }
 
     private void recordTransaction(AuctionListing listing, String buyerUuid, double price, String type, double tax, double fee) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "INSERT INTO ah_transactions (listing_id, seller_uuid, buyer_uuid, item_data, item_material, sale_price, sale_type, tax_amount, fee_amount, completed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "INSERT INTO ah_transactions (listing_id, seller_uuid, buyer_uuid, item_data, item_material, sale_price, sale_type, tax_amount, fee_amount, completed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
             stmt.setInt(1, listing.getId());
             stmt.setString(2, listing.getSellerUuid());
             stmt.setString(3, buyerUuid);
@@ -465,9 +448,7 @@ public class AuctionManager {
     }
 
     private void updateListingStatus(int id, String status) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement("UPDATE ah_listings SET status = ? WHERE id = ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement("UPDATE ah_listings SET status = ? WHERE id = ?")) {
             stmt.setString(1, status);
             stmt.setInt(2, id);
             stmt.executeUpdate();
@@ -477,10 +458,8 @@ public class AuctionManager {
     }
 
     public int countSearchListings(String query) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT COUNT(*) FROM ah_listings WHERE status = 'ACTIVE' AND (item_material LIKE ? OR item_display_name LIKE ?)");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT COUNT(*) FROM ah_listings WHERE status = 'ACTIVE' AND (item_material LIKE ? OR item_display_name LIKE ?)")) {
             String pattern = "%" + query + "%";
             stmt.setString(1, pattern);
             stmt.setString(2, pattern);
@@ -494,10 +473,8 @@ public class AuctionManager {
 
     public List<AuctionListing> getPlayerActiveListings(UUID playerUuid, int page, int perPage) {
         List<AuctionListing> listings = new ArrayList<>();
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT * FROM ah_listings WHERE seller_uuid = ? AND status = 'ACTIVE' ORDER BY listed_at DESC LIMIT ? OFFSET ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT * FROM ah_listings WHERE seller_uuid = ? AND status = 'ACTIVE' ORDER BY listed_at DESC LIMIT ? OFFSET ?")) {
             stmt.setString(1, playerUuid.toString());
             stmt.setInt(2, perPage);
             stmt.setInt(3, page * perPage);
@@ -513,10 +490,8 @@ public class AuctionManager {
 
     public List<AuctionTransaction> getTransactions(String playerUuid, int page, int perPage) {
         List<AuctionTransaction> transactions = new ArrayList<>();
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT * FROM ah_transactions WHERE seller_uuid = ? OR buyer_uuid = ? ORDER BY completed_at DESC LIMIT ? OFFSET ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT * FROM ah_transactions WHERE seller_uuid = ? OR buyer_uuid = ? ORDER BY completed_at DESC LIMIT ? OFFSET ?")) {
             stmt.setString(1, playerUuid);
             stmt.setString(2, playerUuid);
             stmt.setInt(3, perPage);
@@ -539,10 +514,8 @@ public class AuctionManager {
     }
 
     public int countTransactions(String playerUuid) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT COUNT(*) FROM ah_transactions WHERE seller_uuid = ? OR buyer_uuid = ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT COUNT(*) FROM ah_transactions WHERE seller_uuid = ? OR buyer_uuid = ?")) {
             stmt.setString(1, playerUuid);
             stmt.setString(2, playerUuid);
             ResultSet rs = stmt.executeQuery();
@@ -555,10 +528,8 @@ public class AuctionManager {
 
     public List<AuctionListing> getExpiredListings() {
         List<AuctionListing> listings = new ArrayList<>();
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT * FROM ah_listings WHERE status = 'ACTIVE' AND expires_at <= ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT * FROM ah_listings WHERE status = 'ACTIVE' AND expires_at <= ?")) {
             stmt.setLong(1, System.currentTimeMillis());
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
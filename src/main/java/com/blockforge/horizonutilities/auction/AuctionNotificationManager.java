@@ -7,10 +7,11 @@ import org.bukkit.Bukkit;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 public class AuctionNotificationManager {
@@ -32,44 +33,63 @@ public class AuctionNotificationManager {
         }
     }
 
-    public void sendQueuedNotifications(Player player) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT id, message_key, message_data FROM ah_notifications WHERE player_uuid = ? ORDER BY created_at ASC");
-            stmt.setString(1, player.getUniqueId().toString());
-            ResultSet rs = stmt.executeQuery();
-
-            int count = 0;
-            while (rs.next()) {
-                int id = rs.getInt("id");
-                String key = rs.getString("message_key");
-                String data = rs.getString("message_data");
-                String[] pairs = data != null ? data.split("\\|") : new String[0];
+    /** A notification that was stored while its recipient was offline. */
+    public record QueuedNotification(int id, String messageKey, String messageData) {}
 
-                // delay each notification by 1 tick
-                final TagResolver[] resolvers = buildResolvers(pairs);
-                final String msgKey = key;
-                plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                    plugin.getMessagesManager().send(player, msgKey, resolvers);
-                }, (count + 1) * 20L);
+    public void sendQueuedNotifications(Player player) {
+        deliver(player, loadQueued(player.getUniqueId()));
+    }
 
-                // delete after sending
-                PreparedStatement delete = conn.prepareStatement("DELETE FROM ah_notifications WHERE id = ?");
-                delete.setInt(1, id);
-                delete.executeUpdate();
-                count++;
+    /** Reads the player's queued notifications, oldest first. */
+    public List<QueuedNotification> loadQueued(UUID playerUuid) {
+        List<QueuedNotification> queued = new ArrayList<>();
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT id, message_key, message_data FROM ah_notifications WHERE player_uuid = ? ORDER BY created_at ASC")) {
+            stmt.setString(1, playerUuid.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    queued.add(new QueuedNotification(rs.getInt("id"), rs.getString("message_key"), rs.getString("message_data")));
+                }
             }
         } catch (SQLException e) {
-            plugin.getLogger().warning("Failed to send queued notifications: " + e.getMessage());
+            plugin.getLogger().warning("Failed to load queued notifications: " + e.getMessage());
         }
+        return queued;
+    }
+
+    /**
+     * Sends already-loaded notifications one second apart and deletes them on
+     * the writer thread. Must be called on the main thread.
+     */
+    public void deliver(Player player, List<QueuedNotification> queued) {
+        if (queued.isEmpty()) return;
+        int count = 0;
+        for (QueuedNotification n : queued) {
+            String[] pairs = n.messageData() != null ? n.messageData().split("\\|") : new String[0];
+            final TagResolver[] resolvers = buildResolvers(pairs);
+            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+                plugin.getMessagesManager().send(player, n.messageKey(), resolvers);
+            }, (count + 1) * 20L);
+            count++;
+        }
+        plugin.getDatabaseManager().write(conn -> {
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM ah_notifications WHERE id = ?")) {
+                for (QueuedNotification n : queued) {
+                    delete.setInt(1, n.id());
+                    delete.addBatch();
+                }
+                delete.executeBatch();
+            }
+            return null;
+        }).exceptionally(e -> {
+            plugin.getLogger().warning("Failed to delete delivered notifications: " + e.getMessage());
+            return null;
+        });
     }
 
     private void queueNotification(String playerUuid, String messageKey, String messageData) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                    "INSERT INTO ah_notifications (player_uuid, message_key, message_data, created_at) VALUES (?, ?, ?, ?)");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "INSERT INTO ah_notifications (player_uuid, message_key, message_data, created_at) VALUES (?, ?, ?, ?)")) {
             stmt.setString(1, playerUuid);
             stmt.setString(2, messageKey);
             stmt.setString(3, messageData);
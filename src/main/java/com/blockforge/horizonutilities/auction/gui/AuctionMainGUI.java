@@ -55,9 +55,32 @@ public class AuctionMainGUI {
 
     public static void open(Player player, String category, int page, String searchQuery, SortType sort, boolean myListings) {
         var plugin = HorizonUtilitiesPlugin.getInstance();
-        var msg = plugin.getMessagesManager();
         var am = plugin.getAuctionManager();
-        var vault = plugin.getVaultHook();
+        UUID uuid = player.getUniqueId();
+
+        // fetch listings on a reader thread so browsing never waits behind queued writes
+        plugin.getDatabaseManager().read(conn -> {
+            if (myListings) {
+                return new ListingPage(am.getPlayerActiveListings(uuid, page, PER_PAGE), am.countPlayerListings(uuid));
+            } else if (searchQuery != null && !searchQuery.isEmpty()) {
+                return new ListingPage(am.searchListings(searchQuery, page, PER_PAGE), am.countSearchListings(searchQuery));
+            }
+            return new ListingPage(am.getActiveListings(category, page, PER_PAGE), am.countActiveListings(category));
+        }).whenComplete((result, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (!player.isOnline()) return;
+            if (error != null) {
+                plugin.getLogger().warning("Failed to fetch listings: " + error.getMessage());
+                render(player, category, page, searchQuery, sort, myListings, new ListingPage(new ArrayList<>(), 0));
+                return;
+            }
+            render(player, category, page, searchQuery, sort, myListings, result);
+        }));
+    }
+
+    private static void render(Player player, String category, int page, String searchQuery, SortType sort,
+                               boolean myListings, ListingPage result) {
+        var plugin = HorizonUtilitiesPlugin.getInstance();
+        var msg = plugin.getMessagesManager();
 
         Component title = msg.format("ah-gui-title");
         Inventory inv = Bukkit.createInventory(null, SIZE, title);
@@ -87,20 +110,8 @@ public class AuctionMainGUI {
         ItemStack searchBtn = makeButton(Material.COMPASS, msg.format("ah-gui-search"), searchLore);
         inv.setItem(SLOT_SEARCH, searchBtn);
 
-        // fetch listings
-        List<AuctionListing> listings;
-        int totalCount;
-
-        if (myListings) {
-            listings = am.getPlayerActiveListings(player.getUniqueId(), page, PER_PAGE);
-            totalCount = am.countPlayerListings(player.getUniqueId());
-        } else if (searchQuery != null && !searchQuery.isEmpty()) {
-            listings = am.searchListings(searchQuery, page, PER_PAGE);
-            totalCount = am.countSearchListings(searchQuery);
-        } else {
-            listings = am.getActiveListings(category, page, PER_PAGE);
-            totalCount = am.countActiveListings(category);
-        }
+        List<AuctionListing> listings = result.listings();
+        int totalCount = result.totalCount();
 
         sortListings(listings, sort);
 
@@ -239,5 +250,7 @@ public class AuctionMainGUI {
         public SortType next() { return values()[(ordinal() + 1) % values().length]; }
     }
 
+    private record ListingPage(List<AuctionListing> listings, int totalCount) {}
+
     public record BrowseState(String category, int page, String searchQuery, SortType sort, boolean myListings, List<AuctionListing> listings) {}
 }
@@ -18,10 +18,15 @@ public class AuctionPlayerListener implements Listener {
     @EventHandler
     public void onJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
+        var session = plugin.getSessionLoader().getSession(player.getUniqueId());
+        var preloaded = session != null ? session.notifications() : null;
 
         // send queued auction notifications after a short delay
         plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-            if (player.isOnline()) {
+            if (!player.isOnline()) return;
+            if (preloaded != null) {
+                plugin.getNotificationManager().deliver(player, preloaded);
+            } else {
                 plugin.getNotificationManager().sendQueuedNotifications(player);
             }
         }, 40L);
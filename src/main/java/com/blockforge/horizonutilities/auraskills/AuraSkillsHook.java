@@ -4,6 +4,8 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -18,8 +20,9 @@ public class AuraSkillsHook {
     private Object apiInstance;        // AuraSkillsApi
     private Object userManagerObj;    // UserManager
     private Method getUserMethod;     // UserManager#getUser(UUID)
-    private Method addSkillXpMethod;  // SkillsUser#addSkillXp(Skill, double)
+    private final Map<Class<?>, Method> addSkillXpMethods = new HashMap<>(); // SkillsUser#addSkillXp(Skill, double)
     private Class<?> skillsClass;     // Skills enum class
+    private final Map<String, Object> skillCache = new HashMap<>(); // name -> Skills constant, or null
     private Logger logger;
 
     public AuraSkillsHook(Logger logger) {
@@ -63,7 +66,7 @@ public class AuraSkillsHook {
             // Cache the skills enum class
             skillsClass = Class.forName("dev.aurelium.auraskills.api.skill.Skills");
 
-            // We'll look up addSkillXp dynamically per call since the user type may vary
+            // addSkillXp is looked up per user class, as the user type may vary
             available = true;
             logger.info("[AuraSkills] Hooked into AuraSkills successfully.");
             return true;
@@ -83,28 +86,62 @@ public class AuraSkillsHook {
      * @param amount    XP amount to add
      */
     public void addSkillXp(Player player, String skillName, double amount) {
-        if (!available || amount <= 0) return;
-        try {
-            // Get Skill enum value
-            Method valueOfMethod = skillsClass.getMethod("valueOf", String.class);
-            Object skill = valueOfMethod.invoke(null, skillName.toUpperCase(java.util.Locale.ROOT));
+        addSkillXp(player, new String[]{skillName}, new double[]{amount});
+    }
 
-            // Get SkillsUser
-            Object user = getUserMethod.invoke(userManagerObj, player.getUniqueId());
-            if (user == null) return;
+    /**
+     * Grants XP in several skills with one user lookup. Skills with a zero
+     * amount are skipped.
+     *
+     * @param player     the player
+     * @param skillNames AuraSkills skill names
+     * @param amounts    XP amount per skill, same indexes as {@code skillNames}
+     */
+    public void addSkillXp(Player player, String[] skillNames, double[] amounts) {
+        if (!available) return;
+        Object user = null;
+        for (int i = 0; i < skillNames.length; i++) {
+            if (amounts[i] <= 0) continue;
+            try {
+                Object skill = resolveSkill(skillNames[i]);
+                if (skill == null) continue;
 
-            // Call addSkillXp(Skill, double)
-            Method addXp = user.getClass().getMethod("addSkillXp",
-                    skillsClass.getInterfaces().length > 0
-                        ? skillsClass.getInterfaces()[0]  // Skill interface
-                        : skillsClass,
-                    double.class);
-            addXp.invoke(user, skill, amount);
-        } catch (Exception e) {
-            // Silently ignore - skill name may not map
+                // Get SkillsUser
+                if (user == null) {
+                    user = getUserMethod.invoke(userManagerObj, player.getUniqueId());
+                    if (user == null) return;
+                }
+
+                // Call addSkillXp(Skill, double)
+                Method addXp = addSkillXpMethods.get(user.getClass());
+                if (addXp == null) {
+                    addXp = user.getClass().getMethod("addSkillXp",
+                            skillsClass.getInterfaces().length > 0
+                                ? skillsClass.getInterfaces()[0]  // Skill interface
+                                : skillsClass,
+                            double.class);
+                    addSkillXpMethods.put(user.getClass(), addXp);
+                }
+                addXp.invoke(user, skill, amounts[i]);
+            } catch (Exception e) {
+                // Silently ignore - skill name may not map
+            }
         }
     }
 
+    /** The Skills enum constant for {@code skillName}, cached; null if there is none. */
+    private Object resolveSkill(String skillName) {
+        String key = skillName.toUpperCase(java.util.Locale.ROOT);
+        if (skillCache.containsKey(key)) return skillCache.get(key);
+        Object skill = null;
+        try {
+            Method valueOfMethod = skillsClass.getMethod("valueOf", String.class);
+            skill = valueOfMethod.invoke(null, key);
+        } catch (Exception ignored) {}
+        skillCache.put(key, skill);
+        return skill;
+    }
+
     /**
      * Adds bonus stat points to a player (AuraSkills 2.x).
      *
@@ -17,6 +17,7 @@ public class AuraSkillsIntegrationConfig {
 
     private boolean enabled;
     private boolean xpSyncEnabled;
+    private int flushIntervalTicks;
 
     /** job id -> (skill name -> ratio) */
     private Map<String, Map<String, Double>> xpSyncRatios;
@@ -39,6 +40,7 @@ public class AuraSkillsIntegrationConfig {
 
         enabled = cfg.getBoolean("enabled", false);
         xpSyncEnabled = cfg.getBoolean("xp-sync.enabled", true);
+        flushIntervalTicks = Math.max(1, cfg.getInt("xp-sync.flush-interval-ticks", 20));
 
         xpSyncRatios = new LinkedHashMap<>();
         ConfigurationSection ratiosSection = cfg.getConfigurationSection("xp-sync.ratios");
@@ -73,6 +75,7 @@ public class AuraSkillsIntegrationConfig {
 
     public boolean isEnabled() { return enabled; }
     public boolean isXpSyncEnabled() { return xpSyncEnabled; }
+    public int getFlushIntervalTicks() { return flushIntervalTicks; }
     public Map<String, Map<String, Double>> getXpSyncRatios() { return xpSyncRatios; }
     public boolean isMilestonesEnabled() { return milestonesEnabled; }
     public Map<Integer, MilestoneReward> getMilestones() { return milestones; }
@@ -1,11 +1,22 @@
 package com.blockforge.horizonutilities.auraskills;
 
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 /**
  * Central manager for AuraSkills integration.
  * Wires together the hook, config, XP sync, and milestone rewards.
+ * <p>
+ * Skill XP and level-ups are queued per player and handed over together
+ * every {@code xp-sync.flush-interval-ticks}, and when the player quits.
+ * Main thread only.
  */
 public class AuraSkillsManager {
 
@@ -14,6 +25,8 @@ public class AuraSkillsManager {
     private final AuraSkillsXPSync xpSync;
     private final AuraSkillsMilestoneRewards milestoneRewards;
     private final boolean active;
+    /** Job levels reached since the last flush, checked for milestones on flush */
+    private final Map<UUID, List<Integer>> pendingLevels = new HashMap<>();
 
     public AuraSkillsManager(HorizonUtilitiesPlugin plugin) {
         this.hook = new AuraSkillsHook(plugin.getLogger());
@@ -29,6 +42,11 @@ public class AuraSkillsManager {
         this.xpSync = new AuraSkillsXPSync(hook, config);
         this.milestoneRewards = new AuraSkillsMilestoneRewards(hook, config);
 
+        if (config.isEnabled()) {
+            long interval = config.getFlushIntervalTicks();
+            plugin.getServer().getScheduler().runTaskTimer(plugin, this::flushAll, interval, interval);
+        }
+
         if (active) {
             plugin.getLogger().info("[AuraSkills] Integration active.");
         } else {
@@ -36,16 +54,37 @@ public class AuraSkillsManager {
         }
     }
 
-    /** Sync job XP to AuraSkills skill XP. */
+    /** Queue job XP for AuraSkills skill XP; granted on the next flush. */
     public void syncXp(Player player, String jobId, double jobXp) {
         if (active) xpSync.syncXp(player, jobId, jobXp);
     }
 
-    /** Check and grant milestone rewards on level-up. */
+    /** Queue a level-up; milestone rewards are checked and granted on the next flush. */
     public void checkMilestone(Player player, int level) {
         if (config.isEnabled() && config.isMilestonesEnabled()) {
-            milestoneRewards.checkAndGrant(player, level);
+            pendingLevels.computeIfAbsent(player.getUniqueId(), k -> new ArrayList<>()).add(level);
+        }
+    }
+
+    /** Hands one player's queued XP and milestones over now (call on quit). */
+    public void flush(Player player) {
+        xpSync.flush(player);
+        List<Integer> levels = pendingLevels.remove(player.getUniqueId());
+        if (levels != null) {
+            for (int level : levels) milestoneRewards.checkAndGrant(player, level);
+        }
+    }
+
+    /** Hands all queued XP and milestones over; runs on the flush interval and on disable. */
+    public void flushAll() {
+        xpSync.flushAll();
+        if (pendingLevels.isEmpty()) return;
+        for (Map.Entry<UUID, List<Integer>> entry : pendingLevels.entrySet()) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null) continue;
+            for (int level : entry.getValue()) milestoneRewards.checkAndGrant(player, level);
         }
+        pendingLevels.clear();
     }
 
     public boolean isActive() { return active; }
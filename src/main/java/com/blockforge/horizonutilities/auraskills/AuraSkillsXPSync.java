@@ -1,25 +1,65 @@
 package com.blockforge.horizonutilities.auraskills;
 
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Converts job XP earnings into AuraSkills skill XP.
- * Called by JobManager after each XP grant.
+ * <p>
+ * JobManager calls {@link #syncXp} after each XP grant; that only adds the
+ * converted XP to the player's pending totals, one {@code double} per skill.
+ * {@link AuraSkillsManager} hands the totals to AuraSkills on its flush
+ * interval and when the player quits, so the block-break path never calls
+ * into AuraSkills. Main thread only.
  */
 public class AuraSkillsXPSync {
 
+    /** Skills fed by one job, as indexes into {@link #skills}. */
+    private record Route(int[] skillIndexes, double[] ratios) {}
+
     private final AuraSkillsHook hook;
     private final AuraSkillsIntegrationConfig config;
 
+    /** Every skill named in the ratios; index = position in the pending arrays */
+    private final String[] skills;
+    private final Map<String, Route> routes = new HashMap<>();
+    private final Map<UUID, double[]> pending = new HashMap<>();
+
     public AuraSkillsXPSync(AuraSkillsHook hook, AuraSkillsIntegrationConfig config) {
         this.hook = hook;
         this.config = config;
+
+        List<String> skillList = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Double>> job : config.getXpSyncRatios().entrySet()) {
+            List<Integer> indexes = new ArrayList<>();
+            List<Double> ratios = new ArrayList<>();
+            for (Map.Entry<String, Double> entry : job.getValue().entrySet()) {
+                if (entry.getValue() <= 0) continue;
+                int index = skillList.indexOf(entry.getKey());
+                if (index < 0) {
+                    index = skillList.size();
+                    skillList.add(entry.getKey());
+                }
+                indexes.add(index);
+                ratios.add(entry.getValue());
+            }
+            if (indexes.isEmpty()) continue;
+            routes.put(job.getKey(), new Route(
+                    indexes.stream().mapToInt(Integer::intValue).toArray(),
+                    ratios.stream().mapToDouble(Double::doubleValue).toArray()));
+        }
+        this.skills = skillList.toArray(new String[0]);
     }
 
     /**
-     * Grants AuraSkills XP equivalent of the given job XP to the player.
+     * Queues the AuraSkills XP equivalent of the given job XP for the player.
      *
      * @param player  the player
      * @param jobId   the job id (e.g. "miner")
@@ -29,14 +69,30 @@ public class AuraSkillsXPSync {
         if (!hook.isAvailable() || !config.isEnabled() || !config.isXpSyncEnabled()) return;
         if (jobXp <= 0) return;
 
-        Map<String, Double> ratios = config.getXpSyncRatios().get(jobId.toLowerCase(java.util.Locale.ROOT));
-        if (ratios == null || ratios.isEmpty()) return;
+        Route route = routes.get(jobId.toLowerCase(Locale.ROOT));
+        if (route == null) return;
+
+        double[] totals = pending.computeIfAbsent(player.getUniqueId(), k -> new double[skills.length]);
+        int[] indexes = route.skillIndexes();
+        double[] ratios = route.ratios();
+        for (int i = 0; i < indexes.length; i++) {
+            totals[indexes[i]] += jobXp * ratios[i];
+        }
+    }
+
+    /** Grants the player's pending skill XP to AuraSkills. */
+    public void flush(Player player) {
+        double[] totals = pending.remove(player.getUniqueId());
+        if (totals != null) hook.addSkillXp(player, skills, totals);
+    }
 
-        for (Map.Entry<String, Double> entry : ratios.entrySet()) {
-            String skill = entry.getKey();
-            double ratio = entry.getValue();
-            if (ratio <= 0) continue;
-            hook.addSkillXp(player, skill, jobXp * ratio);
+    /** Grants all pending skill XP. Quitting players are flushed on quit, so offline ones are dropped. */
+    public void flushAll() {
+        if (pending.isEmpty()) return;
+        for (Map.Entry<UUID, double[]> entry : pending.entrySet()) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player != null) hook.addSkillXp(player, skills, entry.getValue());
         }
+        pending.clear();
     }
 }
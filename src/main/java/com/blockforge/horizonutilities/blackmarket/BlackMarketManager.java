@@ -287,14 +287,14 @@ public class BlackMarketManager {
     }
 
     private void logPurchase(Player player, BlackMarketItem item) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                Connection conn = plugin.getDatabaseManager().getConnection();
-                PreparedStatement ps = conn.prepareStatement(
+        UUID uuid = player.getUniqueId();
+        String name = player.getName();
+        plugin.getDatabaseManager().runWrite(() -> {
+            try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
                     "INSERT INTO blackmarket_log (player_uuid, player_name, item_id, quantity, price_each, total_price, purchased_at) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?)");
-                ps.setString(1, player.getUniqueId().toString());
-                ps.setString(2, player.getName());
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                ps.setString(1, uuid.toString());
+                ps.setString(2, name);
                 ps.setString(3, item.getId());
                 ps.setInt(4, item.getAmount());
                 ps.setDouble(5, item.getPrice());
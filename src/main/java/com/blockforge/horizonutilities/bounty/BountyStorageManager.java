@@ -102,7 +102,7 @@ public class BountyStorageManager {
      */
     public List<BountyTarget> getTopBountyTargets(int limit) {
         List<BountyTarget> list = new ArrayList<>();
-        String sql = "SELECT target_uuid, target_name, SUM(amount) AS total " +
+        String sql = "SELECT target_uuid, MAX(target_name) AS target_name, SUM(amount) AS total " +
                      "FROM bounties WHERE status = 'ACTIVE' " +
                      "GROUP BY target_uuid ORDER BY total DESC LIMIT ?";
         try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(sql)) {
@@ -30,7 +30,13 @@ public class ChatBubbleListener implements Listener {
 
     @EventHandler
     public void onJoin(PlayerJoinEvent event) {
-        manager.loadPreference(event.getPlayer().getUniqueId());
+        var uuid = event.getPlayer().getUniqueId();
+        var session = plugin.getSessionLoader().getSession(uuid);
+        if (session != null) {
+            manager.applyPreference(uuid, session.chatBubblesEnabled());
+        } else {
+            manager.loadPreference(uuid);
+        }
     }
 
     @EventHandler
@@ -1,6 +1,7 @@
 package com.blockforge.horizonutilities.chatbubbles;
 
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.storage.SqlDialect;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.Color;
@@ -45,17 +46,6 @@ public class ChatBubbleManager {
     public ChatBubbleManager(HorizonUtilitiesPlugin plugin, ChatBubbleConfig config) {
         this.plugin = plugin;
         this.config = config;
-        initTable();
-    }
-
-    private void initTable() {
-        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
-                     "CREATE TABLE IF NOT EXISTS chatbubble_preferences " +
-                     "(player_uuid TEXT PRIMARY KEY, enabled INTEGER NOT NULL DEFAULT 1)")) {
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().warning("[ChatBubbles] Failed to create table: " + e.getMessage());
-        }
     }
 
     // -------------------------------------------------------------------------
@@ -64,23 +54,31 @@ public class ChatBubbleManager {
 
     /** Loads the player's bubble preference from DB into the cache. */
     public void loadPreference(UUID uuid) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
-                         "SELECT enabled FROM chatbubble_preferences WHERE player_uuid = ?")) {
-                ps.setString(1, uuid.toString());
-                try (ResultSet rs = ps.executeQuery()) {
-                    if (rs.next()) {
-                        preferences.put(uuid, rs.getInt("enabled") == 1);
-                    } else {
-                        preferences.put(uuid, true); // default: enabled
-                    }
-                }
-            } catch (SQLException e) {
-                plugin.getLogger().warning("[ChatBubbles] Failed to load preference: " + e.getMessage());
-            }
+        plugin.getDatabaseManager().read(conn -> {
+            applyPreference(uuid, readPreference(uuid));
+            return null;
         });
     }
 
+    /** Reads the stored preference; null if the player never toggled bubbles. */
+    public Boolean readPreference(UUID uuid) {
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                     "SELECT enabled FROM chatbubble_preferences WHERE player_uuid = ?")) {
+            ps.setString(1, uuid.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getInt("enabled") == 1;
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().warning("[ChatBubbles] Failed to load preference: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /** Caches a preference read elsewhere (e.g. by the session loader). */
+    public void applyPreference(UUID uuid, Boolean enabled) {
+        preferences.put(uuid, enabled != null ? enabled : true); // default: enabled
+    }
+
     /** Removes the player's preference from the cache on logout. */
     public void unloadPreference(UUID uuid) {
         preferences.remove(uuid);
@@ -99,10 +97,11 @@ public class ChatBubbleManager {
     public boolean toggle(Player player) {
         boolean newValue = !isEnabled(player.getUniqueId());
         preferences.put(player.getUniqueId(), newValue);
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+        plugin.getDatabaseManager().runWrite(() -> {
+            SqlDialect dialect = plugin.getDatabaseManager().getDialect();
             try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
-                         "INSERT INTO chatbubble_preferences(player_uuid, enabled) VALUES(?,?) " +
-                         "ON CONFLICT(player_uuid) DO UPDATE SET enabled=excluded.enabled")) {
+                    "INSERT INTO chatbubble_preferences(player_uuid, enabled) VALUES(?,?)" +
+                    dialect.onConflictUpdate("player_uuid") + dialect.assignExcluded("enabled"))) {
                 ps.setString(1, player.getUniqueId().toString());
                 ps.setInt(2, newValue ? 1 : 0);
                 ps.executeUpdate();
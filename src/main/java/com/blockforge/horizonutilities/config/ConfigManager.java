@@ -1,13 +1,49 @@
 package com.blockforge.horizonutilities.config;
 
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.storage.QueryProfiler;
+import com.blockforge.horizonutilities.storage.SqlDialect;
 import org.bukkit.configuration.file.FileConfiguration;
 
 public class ConfigManager {
 
     private final HorizonUtilitiesPlugin plugin;
     private String prefix;
+    private SqlDialect databaseType;
     private String databaseFile;
+    private String databaseHost;
+    private int databasePort;
+    private String databaseName;
+    private String databaseUsername;
+    private String databasePassword;
+    private int databasePoolMaxSize;
+    private int databasePoolMinIdle;
+    private long databasePoolConnectionTimeoutMs;
+    private long databasePoolMaxLifetimeMs;
+    private int databaseReadPoolSize;
+    private int databaseStatementCacheSize;
+    private boolean databaseProfilerEnabled;
+    private QueryProfiler.MainThreadPolicy databaseMainThreadPolicy;
+    private int auditQueueCapacity;
+    private int auditBatchSize;
+    private long auditFlushIntervalMs;
+    private int migrationBackfillChunkSize;
+    private long migrationBackfillPauseMs;
+    private int stateFlushIntervalSeconds;
+    private int stateFlushShutdownDeadlineSeconds;
+    private boolean maintenanceEnabled;
+    private int maintenanceCheckpointIntervalSeconds;
+    private boolean maintenanceTruncateWhenIdle;
+    private int maintenanceAnalyzeIntervalHours;
+    private int maintenanceVacuumIntervalMinutes;
+    private int maintenanceIncrementalVacuumPages;
+    private boolean maintenanceAutoVacuumMigrate;
+    private boolean maintenanceBackupEnabled;
+    private int maintenanceBackupIntervalHours;
+    private int maintenanceBackupKeep;
+    private String maintenanceBackupFolder;
+    private long sessionPreloadTimeoutMs;
+    private int sessionUnclaimedExpirySeconds;
     private boolean metricsEnabled;
 
     public ConfigManager(HorizonUtilitiesPlugin plugin) {
@@ -20,11 +56,79 @@ public class ConfigManager {
         FileConfiguration cfg = plugin.getConfig();
 
         prefix = cfg.getString("prefix", "<dark_gray>[<gradient:#7B2FF7:#FF5733>Horizon</gradient><dark_gray>]");
+        databaseType = SqlDialect.fromConfig(cfg.getString("database.type", "sqlite"));
         databaseFile = cfg.getString("database.file", "data.db");
+        databaseHost = cfg.getString("database.host", "localhost");
+        databasePort = cfg.getInt("database.port", 3306);
+        databaseName = cfg.getString("database.name", "horizonutilities");
+        databaseUsername = cfg.getString("database.username", "root");
+        databasePassword = cfg.getString("database.password", "");
+        databasePoolMaxSize = cfg.getInt("database.pool.maximum-size", 10);
+        databasePoolMinIdle = cfg.getInt("database.pool.minimum-idle", 2);
+        databasePoolConnectionTimeoutMs = cfg.getLong("database.pool.connection-timeout-ms", 5000L);
+        databasePoolMaxLifetimeMs = cfg.getLong("database.pool.max-lifetime-ms", 1_800_000L);
+        databaseReadPoolSize = cfg.getInt("database.read-pool-size", 3);
+        databaseStatementCacheSize = cfg.getInt("database.statement-cache-size", 256);
+        databaseProfilerEnabled = cfg.getBoolean("database.profiler.enabled", true);
+        databaseMainThreadPolicy = QueryProfiler.parsePolicy(cfg.getString("database.profiler.main-thread-access", "ignore"));
+        auditQueueCapacity = cfg.getInt("database.audit-log.queue-capacity", 8192);
+        auditBatchSize = cfg.getInt("database.audit-log.batch-size", 256);
+        auditFlushIntervalMs = cfg.getLong("database.audit-log.flush-interval-ms", 500L);
+        migrationBackfillChunkSize = cfg.getInt("database.migrations.backfill-chunk-size", 500);
+        migrationBackfillPauseMs = cfg.getLong("database.migrations.backfill-pause-ms", 50L);
+        stateFlushIntervalSeconds = cfg.getInt("database.state-flush.interval-seconds", 5);
+        stateFlushShutdownDeadlineSeconds = cfg.getInt("database.state-flush.shutdown-deadline-seconds", 15);
+        maintenanceEnabled = cfg.getBoolean("database.maintenance.enabled", true);
+        maintenanceCheckpointIntervalSeconds = cfg.getInt("database.maintenance.checkpoint-interval-seconds", 300);
+        maintenanceTruncateWhenIdle = cfg.getBoolean("database.maintenance.truncate-when-idle", true);
+        maintenanceAnalyzeIntervalHours = cfg.getInt("database.maintenance.analyze-interval-hours", 24);
+        maintenanceVacuumIntervalMinutes = cfg.getInt("database.maintenance.vacuum-interval-minutes", 60);
+        maintenanceIncrementalVacuumPages = cfg.getInt("database.maintenance.incremental-vacuum-pages", 2000);
+        maintenanceAutoVacuumMigrate = cfg.getBoolean("database.maintenance.migrate-auto-vacuum", true);
+        maintenanceBackupEnabled = cfg.getBoolean("database.maintenance.backup.enabled", true);
+        maintenanceBackupIntervalHours = cfg.getInt("database.maintenance.backup.interval-hours", 12);
+        maintenanceBackupKeep = cfg.getInt("database.maintenance.backup.keep", 7);
+        maintenanceBackupFolder = cfg.getString("database.maintenance.backup.folder", "backups");
+        sessionPreloadTimeoutMs = cfg.getLong("sessions.preload-timeout-ms", 3000L);
+        sessionUnclaimedExpirySeconds = cfg.getInt("sessions.unclaimed-expiry-seconds", 60);
         metricsEnabled = cfg.getBoolean("metrics", true);
     }
 
     public String getPrefix() { return prefix; }
+    public SqlDialect getDatabaseType() { return databaseType; }
     public String getDatabaseFile() { return databaseFile; }
+    public String getDatabaseHost() { return databaseHost; }
+    public int getDatabasePort() { return databasePort; }
+    public String getDatabaseName() { return databaseName; }
+    public String getDatabaseUsername() { return databaseUsername; }
+    public String getDatabasePassword() { return databasePassword; }
+    public int getDatabasePoolMaxSize() { return databasePoolMaxSize; }
+    public int getDatabasePoolMinIdle() { return databasePoolMinIdle; }
+    public long getDatabasePoolConnectionTimeoutMs() { return databasePoolConnectionTimeoutMs; }
+    public long getDatabasePoolMaxLifetimeMs() { return databasePoolMaxLifetimeMs; }
+    public int getDatabaseReadPoolSize() { return databaseReadPoolSize; }
+    public int getDatabaseStatementCacheSize() { return databaseStatementCacheSize; }
+    public boolean isDatabaseProfilerEnabled() { return databaseProfilerEnabled; }
+    public QueryProfiler.MainThreadPolicy getDatabaseMainThreadPolicy() { return databaseMainThreadPolicy; }
+    public int getAuditQueueCapacity() { return auditQueueCapacity; }
+    public int getAuditBatchSize() { return auditBatchSize; }
+    public long getAuditFlushIntervalMs() { return auditFlushIntervalMs; }
+    public int getMigrationBackfillChunkSize() { return migrationBackfillChunkSize; }
+    public long getMigrationBackfillPauseMs() { return migrationBackfillPauseMs; }
+    public int getStateFlushIntervalSeconds() { return stateFlushIntervalSeconds; }
+    public int getStateFlushShutdownDeadlineSeconds() { return stateFlushShutdownDeadlineSeconds; }
+    public boolean isMaintenanceEnabled() { return maintenanceEnabled; }
+    public int getMaintenanceCheckpointIntervalSeconds() { return maintenanceCheckpointIntervalSeconds; }
+    public boolean isMaintenanceTruncateWhenIdle() { return maintenanceTruncateWhenIdle; }
+    public int getMaintenanceAnalyzeIntervalHours() { return maintenanceAnalyzeIntervalHours; }
+    public int getMaintenanceVacuumIntervalMinutes() { return maintenanceVacuumIntervalMinutes; }
+    public int getMaintenanceIncrementalVacuumPages() { return maintenanceIncrementalVacuumPages; }
+    public boolean isMaintenanceAutoVacuumMigrate() { return maintenanceAutoVacuumMigrate; }
+    public boolean isMaintenanceBackupEnabled() { return maintenanceBackupEnabled; }
+    public int getMaintenanceBackupIntervalHours() { return maintenanceBackupIntervalHours; }
+    public int getMaintenanceBackupKeep() { return maintenanceBackupKeep; }
+    public String getMaintenanceBackupFolder() { return maintenanceBackupFolder; }
+    public long getSessionPreloadTimeoutMs() { return sessionPreloadTimeoutMs; }
+    public int getSessionUnclaimedExpirySeconds() { return sessionUnclaimedExpirySeconds; }
     public boolean isMetricsEnabled() { return metricsEnabled; }
 }
@@ -1,6 +1,7 @@
 package com.blockforge.horizonutilities.crafting;
 
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.storage.SqlDialect;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -31,37 +32,15 @@ public class CraftingTableManager {
     public CraftingTableManager(HorizonUtilitiesPlugin plugin, CraftingTableConfig config) {
         this.plugin  = plugin;
         this.config  = config;
-        initTable();
         scheduleCleanup();
     }
 
-    private void initTable() {
-        try (Connection conn = plugin.getDatabaseManager().getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.executeUpdate(
-                    "CREATE TABLE IF NOT EXISTS crafting_tables (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    "world TEXT NOT NULL," +
-                    "x INTEGER NOT NULL," +
-                    "y INTEGER NOT NULL," +
-                    "z INTEGER NOT NULL," +
-                    "slot0 BLOB, slot1 BLOB, slot2 BLOB," +
-                    "slot3 BLOB, slot4 BLOB, slot5 BLOB," +
-                    "slot6 BLOB, slot7 BLOB, slot8 BLOB," +
-                    "last_used INTEGER NOT NULL," +
-                    "UNIQUE(world, x, y, z))");
-        } catch (SQLException e) {
-            plugin.getLogger().warning("[CraftingTables] Failed to create table: " + e.getMessage());
-        }
-    }
-
     private void scheduleCleanup() {
         if (config.getCleanupAfterDays() <= 0) return;
-        // Run cleanup once on startup (async)
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+        // Run cleanup once on startup, on the database writer
+        plugin.getDatabaseManager().runWrite(() -> {
             long cutoff = System.currentTimeMillis() - (long) config.getCleanupAfterDays() * 86_400_000L;
-            try (Connection conn = plugin.getDatabaseManager().getConnection();
-                 PreparedStatement ps = conn.prepareStatement(
+            try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
                          "DELETE FROM crafting_tables WHERE last_used < ?")) {
                 ps.setLong(1, cutoff);
                 int deleted = ps.executeUpdate();
@@ -79,17 +58,15 @@ public class CraftingTableManager {
 
     /** Saves slots 1-9 of a workbench inventory (the crafting grid) to the DB. */
     public void saveGrid(Location loc, ItemStack[] grid) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+        plugin.getDatabaseManager().runWrite(() -> {
+            SqlDialect dialect = plugin.getDatabaseManager().getDialect();
             String sql = "INSERT INTO crafting_tables(world,x,y,z," +
                     "slot0,slot1,slot2,slot3,slot4,slot5,slot6,slot7,slot8,last_used) " +
-                    "VALUES(?,?,?,?,?,?,?,?,?,?,?,?,?,?) " +
-                    "ON CONFLICT(world,x,y,z) DO UPDATE SET " +
-                    "slot0=excluded.slot0, slot1=excluded.slot1, slot2=excluded.slot2," +
-                    "slot3=excluded.slot3, slot4=excluded.slot4, slot5=excluded.slot5," +
-                    "slot6=excluded.slot6, slot7=excluded.slot7, slot8=excluded.slot8," +
-                    "last_used=excluded.last_used";
-            try (Connection conn = plugin.getDatabaseManager().getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                    "VALUES(?,?,?,?,?,?,?,?,?,?,?,?,?,?)" +
+                    dialect.onConflictUpdate("world", "x", "y", "z") +
+                    dialect.assignExcluded("slot0", "slot1", "slot2", "slot3", "slot4",
+                            "slot5", "slot6", "slot7", "slot8", "last_used");
+            try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(sql)) {
                 ps.setString(1, loc.getWorld().getName());
                 ps.setInt(2, loc.getBlockX());
                 ps.setInt(3, loc.getBlockY());
@@ -112,8 +89,7 @@ public class CraftingTableManager {
     public ItemStack[] loadGrid(Location loc) {
         String sql = "SELECT slot0,slot1,slot2,slot3,slot4,slot5,slot6,slot7,slot8 " +
                 "FROM crafting_tables WHERE world=? AND x=? AND y=? AND z=?";
-        try (Connection conn = plugin.getDatabaseManager().getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(sql)) {
             ps.setString(1, loc.getWorld().getName());
             ps.setInt(2, loc.getBlockX());
             ps.setInt(3, loc.getBlockY());
@@ -136,9 +112,8 @@ public class CraftingTableManager {
     /** Deletes the saved grid for a location and removes floating display. */
     public void deleteGrid(Location loc) {
         removeFloatingDisplay(loc);
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (Connection conn = plugin.getDatabaseManager().getConnection();
-                 PreparedStatement ps = conn.prepareStatement(
+        plugin.getDatabaseManager().runWrite(() -> {
+            try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
                          "DELETE FROM crafting_tables WHERE world=? AND x=? AND y=? AND z=?")) {
                 ps.setString(1, loc.getWorld().getName());
                 ps.setInt(2, loc.getBlockX());
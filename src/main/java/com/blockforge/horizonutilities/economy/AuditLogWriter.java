@@ -0,0 +1,225 @@
+package com.blockforge.horizonutilities.economy;
+
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.storage.PersistentState;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Group-commit queue for {@code economy_audit_log} rows.
+ * <p>
+ * {@link EconomyAuditLog#log} only enqueues into a bounded ring buffer. A single
+ * consumer thread drains it and hands batches to the database writer thread,
+ * which inserts them in one transaction — either once {@code batch-size} rows
+ * are waiting or {@code flush-interval-ms} after the first row of a batch
+ * arrived, whichever comes first.
+ * <p>
+ * When the buffer is full the row is written on its own instead of being
+ * dropped, and counted as an overflow so the queue can be sized from the
+ * numbers shown by {@code /horizondb audit}.
+ * <p>
+ * On shutdown the consumer stops after its current batch and whatever is
+ * still buffered is written by the {@link com.blockforge.horizonutilities.storage.StateCoordinator}
+ * in the final flush transaction.
+ */
+public class AuditLogWriter implements PersistentState {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO economy_audit_log (player_uuid, player_name, action_type, amount, balance_after, source, related_uuid, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    /** One pending audit row; the timestamp is taken when the event happened, not when it is written. */
+    public record Entry(UUID playerUuid, String playerName, String actionType, double amount,
+                        Double balanceAfter, String source, UUID relatedUuid, long createdAt) {}
+
+    /** Point-in-time view of the queue counters. */
+    public record Stats(int depth, int capacity, long highWater, long enqueued, long written,
+                        long batches, long overflowed, long failed) {}
+
+    private final HorizonUtilitiesPlugin plugin;
+    private final BlockingQueue<Entry> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong highWater = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread consumer;
+
+    public AuditLogWriter(HorizonUtilitiesPlugin plugin) {
+        this.plugin = plugin;
+        var cfg = plugin.getConfigManager();
+        this.capacity = Math.max(1, cfg.getAuditQueueCapacity());
+        this.batchSize = Math.max(1, cfg.getAuditBatchSize());
+        this.flushIntervalMs = Math.max(1, cfg.getAuditFlushIntervalMs());
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public void start() {
+        running = true;
+        consumer = new Thread(this::run, "HorizonUtilities-AuditLog");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Queues a row for the next batch. Never blocks the caller: if the buffer is
+     * full, or the writer has been shut down, the row is written individually.
+     */
+    public void submit(Entry entry) {
+        if (running && queue.offer(entry)) {
+            enqueued.incrementAndGet();
+            highWater.accumulateAndGet(queue.size(), Math::max);
+            return;
+        }
+        overflowed.incrementAndGet();
+        plugin.getDatabaseManager().write(conn -> {
+            insert(conn, List.of(entry));
+            written.incrementAndGet();
+            return null;
+        }).exceptionally(e -> {
+            failed.incrementAndGet();
+            plugin.getLogger().log(Level.WARNING, "Failed to write audit log", e);
+            return null;
+        });
+    }
+
+    // -------------------------------------------------------------------------
+    // PersistentState
+    // -------------------------------------------------------------------------
+
+    @Override
+    public String name() { return "audit log"; }
+
+    /** Stops batching; rows submitted from now on are written individually. */
+    @Override
+    public void stopIntake() {
+        running = false;
+    }
+
+    /** Waits for the consumer to finish the batch it is holding. */
+    @Override
+    public void awaitDrained(long deadlineNanos) throws InterruptedException {
+        if (consumer == null) return;
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        if (remainingMs > 0) consumer.join(remainingMs);
+        if (consumer.isAlive()) {
+            plugin.getLogger().warning("Audit log consumer did not stop in time; its last batch is still queued on the writer.");
+        }
+    }
+
+    /** The consumer already flushes on its own schedule; only leftovers after shutdown are captured. */
+    @Override
+    public Checkpoint capture() {
+        if (running) return null;
+        List<Entry> rest = new ArrayList<>(queue.size());
+        queue.drainTo(rest);
+        if (rest.isEmpty()) return null;
+        return conn -> {
+            insertRows(conn, rest);
+            written.addAndGet(rest.size());
+            batches.incrementAndGet();
+            return rest.size();
+        };
+    }
+
+    public Stats getStats() {
+        return new Stats(queue.size(), capacity, highWater.get(), enqueued.get(), written.get(),
+                batches.get(), overflowed.get(), failed.get());
+    }
+
+    // -------------------------------------------------------------------------
+    // Consumer
+    // -------------------------------------------------------------------------
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Entry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) break;
+                    Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // shutdown is signalled through the running flag
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        try {
+            plugin.getDatabaseManager().write(conn -> {
+                insert(conn, batch);
+                return null;
+            }).join();
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            plugin.getLogger().log(Level.WARNING, "Failed to write " + batch.size() + " audit log entries", cause);
+        }
+    }
+
+    /** Inserts all entries in a single transaction. */
+    private static void insert(Connection conn, List<Entry> entries) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            insertRows(conn, entries);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /** Inserts all entries as one batch in the caller's transaction. */
+    private static void insertRows(Connection conn, List<Entry> entries) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+            for (Entry e : entries) {
+                ps.setString(1, e.playerUuid().toString());
+                ps.setString(2, e.playerName());
+                ps.setString(3, e.actionType());
+                ps.setDouble(4, e.amount());
+                if (e.balanceAfter() != null) ps.setDouble(5, e.balanceAfter()); else ps.setNull(5, Types.REAL);
+                ps.setString(6, e.source());
+                ps.setString(7, e.relatedUuid() != null ? e.relatedUuid().toString() : null);
+                ps.setLong(8, e.createdAt());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+}
@@ -1,9 +1,7 @@
 package com.blockforge.horizonutilities.economy;
 
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
-import java.sql.*;
 import java.util.UUID;
-import java.util.logging.Level;
 
 public class EconomyAuditLog {
 
@@ -27,24 +25,13 @@ public class EconomyAuditLog {
         this.plugin = plugin;
     }
 
+    /**
+     * Records an economy event. The row is queued and written in a batch by the
+     * shared {@link AuditLogWriter}, so this is safe to call from the main thread.
+     */
     public void log(UUID playerUuid, String playerName, String actionType,
                     double amount, Double balanceAfter, String source, UUID relatedUuid) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
-                     "INSERT INTO economy_audit_log (player_uuid, player_name, action_type, amount, balance_after, source, related_uuid, created_at) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
-                ps.setString(1, playerUuid.toString());
-                ps.setString(2, playerName);
-                ps.setString(3, actionType);
-                ps.setDouble(4, amount);
-                if (balanceAfter != null) ps.setDouble(5, balanceAfter); else ps.setNull(5, Types.REAL);
-                ps.setString(6, source);
-                ps.setString(7, relatedUuid != null ? relatedUuid.toString() : null);
-                ps.setLong(8, System.currentTimeMillis());
-                ps.executeUpdate();
-            } catch (SQLException e) {
-                plugin.getLogger().log(Level.WARNING, "Failed to write audit log", e);
-            }
-        });
+        plugin.getAuditLogWriter().submit(new AuditLogWriter.Entry(playerUuid, playerName, actionType,
+                amount, balanceAfter, source, relatedUuid, System.currentTimeMillis()));
     }
 }
@@ -0,0 +1,43 @@
+package com.blockforge.horizonutilities.events;
+
+import com.blockforge.horizonutilities.jobs.boost.BoostEvent;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Fired on the main thread when a job income boost starts or expires, after
+ * the new multipliers are already in effect. Lets other features announce
+ * boosts without polling {@link com.blockforge.horizonutilities.jobs.boost.BoostManager}.
+ */
+public class JobBoostChangeEvent extends Event {
+
+    public enum Change { STARTED, ENDED }
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final BoostEvent boost;
+    private final Change change;
+
+    public JobBoostChangeEvent(BoostEvent boost, Change change) {
+        this.boost = boost;
+        this.change = change;
+    }
+
+    public BoostEvent getBoost() {
+        return boost;
+    }
+
+    public Change getChange() {
+        return change;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -21,43 +21,47 @@ public class LeaderboardManager {
         Connection conn = plugin.getDatabaseManager().getConnection();
         try {
             // try update
-            PreparedStatement check = conn.prepareStatement(
-                    "SELECT wins, current_streak, best_streak, fastest_time_ms FROM chatgames_stats WHERE player_uuid = ?");
-            check.setString(1, uuid.toString());
-            ResultSet rs = check.executeQuery();
+            try (PreparedStatement check = conn.prepareStatement(
+                    "SELECT wins, current_streak, best_streak, fastest_time_ms FROM chatgames_stats WHERE player_uuid = ?")) {
+                check.setString(1, uuid.toString());
+                ResultSet rs = check.executeQuery();
 
-            if (rs.next()) {
-                int wins = rs.getInt("wins") + 1;
-                int streak = rs.getInt("current_streak") + 1;
-                int bestStreak = Math.max(rs.getInt("best_streak"), streak);
-                long fastest = rs.getLong("fastest_time_ms");
-                if (fastest == 0 || timeMs < fastest) fastest = timeMs;
+                if (rs.next()) {
+                    int wins = rs.getInt("wins") + 1;
+                    int streak = rs.getInt("current_streak") + 1;
+                    int bestStreak = Math.max(rs.getInt("best_streak"), streak);
+                    long fastest = rs.getLong("fastest_time_ms");
+                    if (fastest == 0 || timeMs < fastest) fastest = timeMs;
 
-                PreparedStatement update = conn.prepareStatement(
-                        "UPDATE chatgames_stats SET player_name = ?, wins = ?, current_streak = ?, best_streak = ?, fastest_time_ms = ?, last_win = ? WHERE player_uuid = ?");
-                update.setString(1, name);
-                update.setInt(2, wins);
-                update.setInt(3, streak);
-                update.setInt(4, bestStreak);
-                update.setLong(5, fastest);
-                update.setLong(6, System.currentTimeMillis());
-                update.setString(7, uuid.toString());
-                update.executeUpdate();
-            } else {
-                PreparedStatement insert = conn.prepareStatement(
-                        "INSERT INTO chatgames_stats (player_uuid, player_name, wins, current_streak, best_streak, fastest_time_ms, last_win) VALUES (?, ?, 1, 1, 1, ?, ?)");
-                insert.setString(1, uuid.toString());
-                insert.setString(2, name);
-                insert.setLong(3, timeMs);
-                insert.setLong(4, System.currentTimeMillis());
-                insert.executeUpdate();
+                    try (PreparedStatement update = conn.prepareStatement(
+                            "UPDATE chatgames_stats SET player_name = ?, wins = ?, current_streak = ?, best_streak = ?, fastest_time_ms = ?, last_win = ? WHERE player_uuid = ?")) {
+                        update.setString(1, name);
+                        update.setInt(2, wins);
+                        update.setInt(3, streak);
+                        update.setInt(4, bestStreak);
+                        update.setLong(5, fastest);
+                        update.setLong(6, System.currentTimeMillis());
+                        update.setString(7, uuid.toString());
+                        update.executeUpdate();
+                    }
+                } else {
+                    try (PreparedStatement insert = conn.prepareStatement(
+                            "INSERT INTO chatgames_stats (player_uuid, player_name, wins, current_streak, best_streak, fastest_time_ms, last_win) VALUES (?, ?, 1, 1, 1, ?, ?)")) {
+                        insert.setString(1, uuid.toString());
+                        insert.setString(2, name);
+                        insert.setLong(3, timeMs);
+                        insert.setLong(4, System.currentTimeMillis());
+                        insert.executeUpdate();
+                    }
+                }
             }
 
             // reset everyone else's streak
-            PreparedStatement resetStreaks = conn.prepareStatement(
-                    "UPDATE chatgames_stats SET current_streak = 0 WHERE player_uuid != ?");
-            resetStreaks.setString(1, uuid.toString());
-            resetStreaks.executeUpdate();
+            try (PreparedStatement resetStreaks = conn.prepareStatement(
+                    "UPDATE chatgames_stats SET current_streak = 0 WHERE player_uuid != ?")) {
+                resetStreaks.setString(1, uuid.toString());
+                resetStreaks.executeUpdate();
+            }
 
         } catch (SQLException e) {
             plugin.getLogger().warning("Failed to record game win: " + e.getMessage());
@@ -66,10 +70,8 @@ public class LeaderboardManager {
 
     public List<LeaderboardEntry> getTop(int limit) {
         List<LeaderboardEntry> entries = new ArrayList<>();
-        Connection conn = plugin.getDatabaseManager().getConnection();
-        try {
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT player_name, wins, current_streak, best_streak, fastest_time_ms FROM chatgames_stats ORDER BY wins DESC LIMIT ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT player_name, wins, current_streak, best_streak, fastest_time_ms FROM chatgames_stats ORDER BY wins DESC LIMIT ?")) {
             stmt.setInt(1, limit);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -88,10 +90,8 @@ public class LeaderboardManager {
     }
 
     public LeaderboardEntry getStats(UUID uuid) {
-        Connection conn = plugin.getDatabaseManager().getConnection();
-        try {
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT player_name, wins, current_streak, best_streak, fastest_time_ms FROM chatgames_stats WHERE player_uuid = ?");
+        try (PreparedStatement stmt = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT player_name, wins, current_streak, best_streak, fastest_time_ms FROM chatgames_stats WHERE player_uuid = ?")) {
             stmt.setString(1, uuid.toString());
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -110,9 +110,8 @@ public class LeaderboardManager {
     }
 
     public void reset() {
-        Connection conn = plugin.getDatabaseManager().getConnection();
-        try {
-            conn.createStatement().executeUpdate("DELETE FROM chatgames_stats");
+        try (Statement stmt = plugin.getDatabaseManager().getConnection().createStatement()) {
+            stmt.executeUpdate("DELETE FROM chatgames_stats");
         } catch (SQLException e) {
             plugin.getLogger().warning("Failed to reset leaderboard: " + e.getMessage());
         }
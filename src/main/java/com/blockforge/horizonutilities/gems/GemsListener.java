@@ -1,7 +1,6 @@
 package com.blockforge.horizonutilities.gems;
 
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -20,8 +19,13 @@ public class GemsListener implements Listener {
     @EventHandler(priority = EventPriority.MONITOR)
     public void onJoin(PlayerJoinEvent event) {
         var player = event.getPlayer();
-        // Create gems account async if it doesn't exist
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () ->
+        var session = plugin.getSessionLoader().getSession(player.getUniqueId());
+        if (session != null) {
+            gemsManager.ensureAccount(player.getUniqueId(), player.getName(), session.gemsAccountName());
+            return;
+        }
+        // Create gems account on the database writer if it doesn't exist
+        plugin.getDatabaseManager().runWrite(() ->
                 gemsManager.ensureAccount(player.getUniqueId(), player.getName()));
     }
 }
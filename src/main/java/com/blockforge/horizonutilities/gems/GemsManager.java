@@ -40,6 +40,20 @@ public class GemsManager {
         }
     }
 
+    /**
+     * Same as {@link #ensureAccount(UUID, String)} for a player whose account
+     * was already looked up by the session loader; only writes when needed.
+     *
+     * @param storedName the name on the account, or null if there is none
+     */
+    public void ensureAccount(UUID uuid, String name, String storedName) {
+        if (storedName == null) {
+            plugin.getDatabaseManager().runWrite(() -> storage.createAccount(uuid, name, config.getStartingBalance()));
+        } else if (!storedName.equals(name)) {
+            plugin.getDatabaseManager().runWrite(() -> storage.updateName(uuid, name));
+        }
+    }
+
     public double getBalance(UUID uuid) {
         double bal = storage.getBalance(uuid);
         return bal < 0 ? 0 : bal;
@@ -29,8 +29,22 @@ public class GemsStorageManager {
         return -1; // not found
     }
 
+    /** Returns the name stored on the player's account, or null if there is no account. */
+    public String getAccountName(UUID playerUuid) {
+        String sql = "SELECT player_name FROM gems WHERE player_uuid = ?";
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(sql)) {
+            ps.setString(1, playerUuid.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getString("player_name");
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to get gems account", e);
+        }
+        return null;
+    }
+
     public boolean createAccount(UUID playerUuid, String playerName, double startingBalance) {
-        String sql = "INSERT OR IGNORE INTO gems (player_uuid, player_name, balance, total_earned, total_spent, last_modified) VALUES (?, ?, ?, 0, 0, ?)";
+        String sql = plugin.getDatabaseManager().getDialect().insertIgnore() + "gems (player_uuid, player_name, balance, total_earned, total_spent, last_modified) VALUES (?, ?, ?, 0, 0, ?)";
         try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(sql)) {
             ps.setString(1, playerUuid.toString());
             ps.setString(2, playerName);
@@ -2,8 +2,8 @@ package com.blockforge.horizonutilities.hooks;
 
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
 import com.blockforge.horizonutilities.jobs.Job;
-import com.blockforge.horizonutilities.jobs.JobLevelCalculator;
 import com.blockforge.horizonutilities.jobs.JobPlayer;
+import com.blockforge.horizonutilities.jobs.XpCurve;
 import com.blockforge.horizonutilities.lottery.LotteryInstance;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.OfflinePlayer;
@@ -112,8 +112,7 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
 
         JobPlayer jp = jobs.get(0);
         Job job = plugin.getJobManager().getJob(jp.getJobId());
-        double xpBase = plugin.getJobManager().getConfig().getXpBase();
-        double xpExp  = plugin.getJobManager().getConfig().getXpExponent();
+        XpCurve curve = plugin.getJobManager().getXpCurve(jp.getJobId());
 
         return switch (sub) {
             case "name" -> job != null ? job.getDisplayName() : jp.getJobId();
@@ -121,15 +120,11 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
             case "prestige" -> String.valueOf(jp.getPrestige());
             case "xp" -> String.format("%.0f", jp.getXp());
             case "xp_required" -> {
-                double req = JobLevelCalculator.getXpToNextLevel(jp.getXp(), jp.getLevel(), xpBase, xpExp);
+                double req = curve.xpToNextLevel(jp.getXp(), jp.getLevel());
                 yield String.format("%.0f", req);
             }
             case "progress" -> {
-                double xpForThisLevel = JobLevelCalculator.getXpRequired(jp.getLevel(), xpBase, xpExp);
-                double xpForNextLevel = JobLevelCalculator.getXpRequired(jp.getLevel() + 1, xpBase, xpExp);
-                double span = xpForNextLevel - xpForThisLevel;
-                if (span <= 0) yield "100%";
-                int pct = (int) Math.min(100, ((jp.getXp() - xpForThisLevel) / span) * 100);
+                int pct = (int) (curve.progress(jp.getXp(), jp.getLevel()) * 100);
                 yield pct + "%";
             }
             default -> null;
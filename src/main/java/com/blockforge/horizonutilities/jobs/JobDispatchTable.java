@@ -0,0 +1,181 @@
+package com.blockforge.horizonutilities.jobs;
+
+import com.blockforge.horizonutilities.jobs.config.JobsConfig;
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Job definitions compiled into lookup tables for {@link JobManager#processAction}.
+ * <p>
+ * Every job gets a slot number. For each {@link JobAction} the table maps a
+ * {@link Material}, an {@link EntityType} (by ordinal) or a plain key such as
+ * {@code FISH} to an array indexed by slot, holding the job's payout entry or
+ * null. A config key is compiled into every namespace it names, so
+ * {@code COW} is found both by {@code EntityType.COW} and by the key {@code "COW"}.
+ * <p>
+ * Each slot also carries the job's {@link XpCurve} (shared between jobs with
+ * the same max level) and its perk bonuses summed per level, so neither
+ * level lookups nor income multipliers have to walk the config.
+ * <p>
+ * Instances are immutable and replaced as a whole on reload; {@link #generation()}
+ * lets per-player caches tell that they were computed against an older table.
+ */
+public final class JobDispatchTable {
+
+    private static final AtomicInteger GENERATIONS = new AtomicInteger();
+    private static final EntityType[] ENTITY_TYPES = EntityType.values();
+
+    private final int generation = GENERATIONS.incrementAndGet();
+    private final Job[] jobs;
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final Map<JobAction, EnumMap<Material, JobActionEntry[]>> byMaterial = new EnumMap<>(JobAction.class);
+    private final Map<JobAction, JobActionEntry[][]> byEntity = new EnumMap<>(JobAction.class);
+    private final Map<JobAction, Map<String, JobActionEntry[]>> byKey = new EnumMap<>(JobAction.class);
+    private final XpCurve defaultCurve;
+    private final XpCurve[] curves;
+    /** {@code perkBonus[slot][level]} = sum of the job's perk bonuses unlocked at {@code level}. */
+    private final double[][] perkBonus;
+    private final double prestigeBonus;
+
+    private JobDispatchTable(Map<String, Job> definitions, JobsConfig config) {
+        jobs = definitions.values().toArray(new Job[0]);
+        int slot = 0;
+        for (String jobId : definitions.keySet()) {
+            slots.put(jobId, slot++);
+        }
+
+        prestigeBonus = config.getPrestigeMultiplier();
+        Map<Integer, XpCurve> curvesByMaxLevel = new TreeMap<>();
+        defaultCurve = new XpCurve(config.getXpBase(), config.getXpExponent(), config.getMaxLevel());
+        curvesByMaxLevel.put(config.getMaxLevel(), defaultCurve);
+        curves = new XpCurve[jobs.length];
+        perkBonus = new double[jobs.length][];
+        for (slot = 0; slot < jobs.length; slot++) {
+            int maxLevel = jobs[slot].getMaxLevel() > 0 ? jobs[slot].getMaxLevel() : config.getMaxLevel();
+            curves[slot] = curvesByMaxLevel.computeIfAbsent(maxLevel,
+                    l -> new XpCurve(config.getXpBase(), config.getXpExponent(), l));
+            perkBonus[slot] = perkBonus(jobs[slot].getPerks(), curves[slot].getMaxLevel());
+        }
+
+        for (slot = 0; slot < jobs.length; slot++) {
+            for (var actionEntries : jobs[slot].getActions().entrySet()) {
+                JobAction action = actionEntries.getKey();
+                for (var e : actionEntries.getValue().entrySet()) {
+                    add(action, e.getKey(), slot, e.getValue());
+                }
+            }
+        }
+    }
+
+    /** Compiles the given job definitions, keyed by job id, against the current config. */
+    public static JobDispatchTable compile(Map<String, Job> definitions, JobsConfig config) {
+        return new JobDispatchTable(definitions, config);
+    }
+
+    /** Cumulative perk bonus per level; levels past the last milestone share its total. */
+    private static double[] perkBonus(Map<Integer, Double> perks, int maxLevel) {
+        int top = maxLevel;
+        for (int level : perks.keySet()) top = Math.max(top, level);
+        double[] bonus = new double[top + 1];
+        for (var e : perks.entrySet()) {
+            if (e.getKey() >= 0) bonus[e.getKey()] += e.getValue();
+        }
+        for (int level = 1; level < bonus.length; level++) {
+            bonus[level] += bonus[level - 1];
+        }
+        return bonus;
+    }
+
+    private void add(JobAction action, String key, int slot, JobActionEntry entry) {
+        byKey.computeIfAbsent(action, a -> new HashMap<>())
+                .computeIfAbsent(key, k -> new JobActionEntry[jobs.length])[slot] = entry;
+
+        Material material = Material.getMaterial(key);
+        if (material != null) {
+            byMaterial.computeIfAbsent(action, a -> new EnumMap<>(Material.class))
+                    .computeIfAbsent(material, m -> new JobActionEntry[jobs.length])[slot] = entry;
+        }
+
+        EntityType entityType = entityType(key);
+        if (entityType != null) {
+            JobActionEntry[][] table = byEntity.computeIfAbsent(action, a -> new JobActionEntry[ENTITY_TYPES.length][]);
+            int ordinal = entityType.ordinal();
+            if (table[ordinal] == null) table[ordinal] = new JobActionEntry[jobs.length];
+            table[ordinal][slot] = entry;
+        }
+    }
+
+    private static EntityType entityType(String key) {
+        try {
+            return EntityType.valueOf(key);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Lookups — each returns entries indexed by job slot, or null if no job pays
+    // -------------------------------------------------------------------------
+
+    public JobActionEntry[] entries(JobAction action, Material material) {
+        EnumMap<Material, JobActionEntry[]> map = byMaterial.get(action);
+        return map != null ? map.get(material) : null;
+    }
+
+    public JobActionEntry[] entries(JobAction action, EntityType entityType) {
+        JobActionEntry[][] table = byEntity.get(action);
+        return table != null ? table[entityType.ordinal()] : null;
+    }
+
+    /** Lookup for keys that are neither a material nor an entity (e.g. {@code FISH}, {@code CHUNK}). */
+    public JobActionEntry[] entries(JobAction action, String key) {
+        Map<String, JobActionEntry[]> map = byKey.get(action);
+        return map != null ? map.get(key.toUpperCase(Locale.ROOT)) : null;
+    }
+
+    /** Returns the slot of a job, or -1 if it is not part of this table. */
+    public int slot(String jobId) {
+        Integer slot = slots.get(jobId);
+        return slot != null ? slot : -1;
+    }
+
+    /** Number of job slots. */
+    public int size() {
+        return jobs.length;
+    }
+
+    public Job job(int slot) {
+        return jobs[slot];
+    }
+
+    /** The XP curve of the job in {@code slot}. */
+    public XpCurve curve(int slot) {
+        return curves[slot];
+    }
+
+    /** The curve for jobs without their own max level, or for unknown jobs. */
+    public XpCurve defaultCurve() {
+        return defaultCurve;
+    }
+
+    /**
+     * Income / XP multiplier for a player of the job in {@code slot};
+     * same result as {@link JobLevelCalculator#getIncomeMultiplier}.
+     */
+    public double incomeMultiplier(int slot, int level, int prestige) {
+        double[] bonus = perkBonus[slot];
+        double perks = level < 0 ? 0 : bonus[Math.min(level, bonus.length - 1)];
+        return Math.max(1.0, 1.0 + prestige * prestigeBonus + perks);
+    }
+
+    public int generation() {
+        return generation;
+    }
+}
@@ -30,7 +30,8 @@ public final class JobLevelCalculator {
 
     /**
      * Returns the level a player has reached given accumulated {@code xp}.
-     * Iterates upward until the next level's threshold would exceed xp.
+     * Iterates upward until the next level's threshold would exceed xp; hot
+     * paths use the precomputed {@link XpCurve} of the job instead.
      *
      * @param xp       accumulated XP (cumulative total)
      * @param base     base XP constant
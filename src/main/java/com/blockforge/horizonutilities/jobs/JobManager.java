@@ -7,17 +7,25 @@ import com.blockforge.horizonutilities.jobs.antiexploit.*;
 import com.blockforge.horizonutilities.jobs.boost.BoostManager;
 import com.blockforge.horizonutilities.jobs.config.JobConfigLoader;
 import com.blockforge.horizonutilities.jobs.config.JobsConfig;
+import com.blockforge.horizonutilities.jobs.explore.ExploreSampler;
+import com.blockforge.horizonutilities.jobs.explore.ExploreTracker;
 import com.blockforge.horizonutilities.jobs.leaderboard.JobLeaderboard;
-import com.blockforge.horizonutilities.jobs.ui.JobBossBarManager;
+import com.blockforge.horizonutilities.jobs.ui.JobHud;
+import com.blockforge.horizonutilities.storage.PersistentState;
 
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
@@ -27,7 +35,7 @@ import java.util.stream.Collectors;
  * <p>
  * Obtain via {@link HorizonUtilitiesPlugin#getJobManager()}.
  */
-public class JobManager {
+public class JobManager implements PersistentState {
 
     private final HorizonUtilitiesPlugin plugin;
 
@@ -37,25 +45,40 @@ public class JobManager {
 
     // Job definitions (loaded from YAML)
     private Map<String, Job> jobDefinitions = new LinkedHashMap<>();
+    private volatile JobDispatchTable dispatch;
 
     // Per-player in-memory cache: UUID -> list of JobPlayer records
     private final Map<UUID, List<JobPlayer>> playerJobs = new ConcurrentHashMap<>();
 
+    // Dirty-row flushing; see #capture()
+    private record CapturedRow(JobPlayer jp, JobPlayer.Snapshot snapshot) {}
+
+    /** Job record flush backlog, for {@code /horizondb jobs}. */
+    public record FlushStats(int dirtyRows, int retryRows, int inFlightRows, int lastBatchRows,
+                             long lastFlushAt, long rowsWritten, long failedFlushes) {}
+
+    private List<CapturedRow> lastCaptured = List.of();
+    /** Snapshots of players who left before their failed write could be retried. */
+    private List<JobPlayer.Snapshot> retryRows = new ArrayList<>();
+    private final AtomicInteger inFlightRows = new AtomicInteger();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile int lastBatchRows;
+    private volatile long lastFlushAt;
+    private long failedFlushes;
+
     // Subsystems
     private final BlockTracker blockTracker;
     private final SpawnerTracker spawnerTracker;
     private final AreaFarmingDetector areaFarmingDetector;
     private final CooldownManager cooldownManager;
     private final IncomeCapManager incomeCapManager;
+    private final ExploreTracker exploreTracker;
+    private final ExploreSampler exploreSampler;
     private final BoostManager boostManager;
     private final JobLeaderboard leaderboard;
     private final EconomyAuditLog auditLog;
-    private final JobBossBarManager bossBarManager;
-
-    // Action bar accumulation: [totalMoney, totalXp], resets 3s after last action
-    private final Map<UUID, double[]> actionBarAccum = new ConcurrentHashMap<>();
-    private final Map<UUID, BukkitTask> actionBarResetTasks = new ConcurrentHashMap<>();
-    private static final long ACTION_BAR_RESET_TICKS = 60L; // 3 seconds
+    private final PayoutAccumulator payoutAccumulator;
+    private final JobHud hud;
 
     public JobManager(HorizonUtilitiesPlugin plugin) {
         this.plugin = plugin;
@@ -75,7 +98,8 @@ public class JobManager {
                 config.getAreaFarmingRadius(),
                 config.getAreaFarmingTimeframeMs());
         cooldownManager = new CooldownManager();
-        incomeCapManager = new IncomeCapManager(storage);
+        incomeCapManager = new IncomeCapManager(plugin, storage);
+        exploreTracker = new ExploreTracker(plugin, storage);
 
         // Boosts
         boostManager = new BoostManager(plugin);
@@ -86,12 +110,17 @@ public class JobManager {
 
         // Audit log
         auditLog = new EconomyAuditLog(plugin);
+        payoutAccumulator = new PayoutAccumulator(plugin, this);
 
-        // Boss bar
-        bossBarManager = new JobBossBarManager(plugin);
+        // Action bar and boss bar
+        hud = new JobHud(plugin);
 
         // Load job YAML definitions
         loadJobDefinitions();
+
+        // Explore tracking (sampler task or move listener, per config)
+        exploreSampler = new ExploreSampler(plugin, this);
+        exploreSampler.applyConfig();
     }
 
     // -------------------------------------------------------------------------
@@ -103,43 +132,141 @@ public class JobManager {
      */
     public void loadJobDefinitions() {
         jobDefinitions = new LinkedHashMap<>(JobConfigLoader.loadAll(plugin));
+        dispatch = JobDispatchTable.compile(jobDefinitions, config);
         plugin.getLogger().info("[Jobs] Loaded " + jobDefinitions.size() + " job definition(s).");
     }
 
+    /** Reloads jobs.yml; cached player multipliers are recomputed on their next action. */
+    public void reloadConfig() {
+        config.load();
+        dispatch = JobDispatchTable.compile(jobDefinitions, config);
+        exploreSampler.applyConfig();
+    }
+
     // -------------------------------------------------------------------------
     // Player data lifecycle
     // -------------------------------------------------------------------------
 
     /** Loads (async-safe) all job data for a player into the cache. */
     public void loadPlayerData(UUID uuid) {
-        List<JobPlayer> jobs = storage.loadPlayerJobs(uuid);
+        incomeCapManager.load(uuid);
+        exploreTracker.load(uuid);
+        loadPlayerData(uuid, storage.loadPlayerJobs(uuid));
+    }
+
+    /**
+     * Caches job data that was already read (e.g. by the session loader).
+     * The caller is responsible for seeding the income cap ledger and
+     * installing explored chunks.
+     */
+    public void loadPlayerData(UUID uuid, List<JobPlayer> jobs) {
+        JobDispatchTable table = dispatch;
+        for (JobPlayer jp : jobs) {
+            compiledSlot(jp, table);
+        }
         playerJobs.put(uuid, new ArrayList<>(jobs));
     }
 
-    /** Saves all cached job data for a player to the DB and removes from cache. */
-    public void savePlayerData(UUID uuid) {
+    /**
+     * Removes a player's job data from the cache and queues their changed
+     * rows on the writer. Main thread.
+     *
+     * @return completes once the rows are written (or the write failed)
+     */
+    public CompletableFuture<Void> savePlayerData(UUID uuid) {
         List<JobPlayer> jobs = playerJobs.remove(uuid);
-        if (jobs == null) return;
-        for (JobPlayer jp : jobs) {
-            storage.savePlayerJob(jp);
+        // Clean up action bar total and boss bar
+        Player online = plugin.getServer().getPlayer(uuid);
+        if (online != null) hud.cleanup(online);
+
+        List<JobPlayer.Snapshot> dirty = new ArrayList<>();
+        if (jobs != null) {
+            for (JobPlayer jp : jobs) {
+                if (jp.isDirty()) dirty.add(jp.snapshot());
+            }
         }
-        // Clean up action bar accumulator and boss bar
-        actionBarAccum.remove(uuid);
-        BukkitTask task = actionBarResetTasks.remove(uuid);
-        if (task != null) task.cancel();
-        plugin.getServer().getOnlinePlayers().stream()
-                .filter(p -> p.getUniqueId().equals(uuid))
-                .findFirst()
-                .ifPresent(bossBarManager::cleanup);
+        if (dirty.isEmpty()) return CompletableFuture.completedFuture(null);
+        inFlightRows.addAndGet(dirty.size());
+        return plugin.getDatabaseManager().write(conn -> {
+            writeRows(dirty);
+            return null;
+        }).handle((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().log(Level.WARNING, "[Jobs] Failed to save job data for " + uuid
+                        + "; retrying with the next checkpoint", error);
+                plugin.getServer().getScheduler().runTask(plugin, () -> retryRows.addAll(dirty));
+            }
+            return null;
+        });
     }
 
-    /** Saves without removing from cache (for periodic flush). */
-    public void flushPlayerData(UUID uuid) {
-        List<JobPlayer> jobs = playerJobs.get(uuid);
-        if (jobs == null) return;
-        for (JobPlayer jp : jobs) {
-            storage.savePlayerJob(jp);
+    @Override
+    public String name() { return "jobs"; }
+
+    /**
+     * Snapshots every job record changed since it was last captured, for the
+     * state checkpoint. Unchanged rows are not written.
+     */
+    @Override
+    public Checkpoint capture() {
+        List<CapturedRow> captured = new ArrayList<>();
+        for (JobPlayer.Snapshot retry : retryRows) {
+            captured.add(new CapturedRow(null, retry));
+        }
+        retryRows = new ArrayList<>();
+        for (List<JobPlayer> jobs : playerJobs.values()) {
+            for (JobPlayer jp : jobs) {
+                if (jp.isDirty()) captured.add(new CapturedRow(jp, jp.snapshot()));
+            }
+        }
+        if (captured.isEmpty()) return null;
+        lastCaptured = captured;
+        List<JobPlayer.Snapshot> rows = new ArrayList<>(captured.size());
+        for (CapturedRow row : captured) rows.add(row.snapshot());
+        inFlightRows.addAndGet(rows.size());
+        return conn -> {
+            writeRows(rows);
+            return rows.size();
+        };
+    }
+
+    @Override
+    public void checkpointFailed() {
+        failedFlushes++;
+        for (CapturedRow row : lastCaptured) {
+            List<JobPlayer> cached = playerJobs.get(row.snapshot().playerUuid());
+            if (cached == null) {
+                retryRows.add(row.snapshot()); // player went offline meanwhile
+            } else if (row.jp() != null && cached.contains(row.jp())) {
+                row.jp().markUnsaved();
+            }
+            // otherwise the job was left since; don't bring the row back
+        }
+        lastCaptured = List.of();
+    }
+
+    /** Writes a batch on the writer thread and keeps the flush counters. */
+    private void writeRows(List<JobPlayer.Snapshot> rows) throws SQLException {
+        try {
+            storage.savePlayerJobs(rows);
+            rowsWritten.addAndGet(rows.size());
+            lastBatchRows = rows.size();
+            lastFlushAt = System.currentTimeMillis();
+        } finally {
+            inFlightRows.addAndGet(-rows.size());
+        }
+    }
+
+    /** Current flush backlog. Main thread. */
+    public FlushStats getFlushStats() {
+        int dirty = 0;
+        for (List<JobPlayer> jobs : playerJobs.values()) {
+            for (JobPlayer jp : jobs) {
+                if (jp.isDirty()) dirty++;
+            }
         }
+        return new FlushStats(dirty, retryRows.size(), inFlightRows.get(), lastBatchRows,
+                lastFlushAt, rowsWritten.get(), failedFlushes);
     }
 
     // -------------------------------------------------------------------------
@@ -186,12 +313,10 @@ public class JobManager {
         JobPlayer jp = new JobPlayer(
                 player.getUniqueId(), player.getName(), jobId.toLowerCase(Locale.ROOT),
                 1, 0, 0, 0, now, now);
+        jp.markDirty(); // inserted by the next checkpoint
         current.add(jp);
         playerJobs.put(player.getUniqueId(), current);
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin,
-                () -> storage.savePlayerJob(jp));
-
         player.sendMessage(Component.text("[Jobs] You joined the ", NamedTextColor.GREEN)
                 .append(Component.text(job.getDisplayName(), NamedTextColor.GOLD))
                 .append(Component.text(" job!", NamedTextColor.GREEN)));
@@ -215,8 +340,8 @@ public class JobManager {
         }
 
         current.remove(match.get());
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin,
-                () -> storage.deletePlayerJob(player.getUniqueId(), jobId));
+        retryRows.removeIf(r -> r.playerUuid().equals(player.getUniqueId()) && r.jobId().equalsIgnoreCase(jobId));
+        plugin.getDatabaseManager().runWrite(() -> storage.deletePlayerJob(player.getUniqueId(), jobId));
 
         Job job = jobDefinitions.get(jobId.toLowerCase(Locale.ROOT));
         String name = job != null ? job.getDisplayName() : jobId;
@@ -231,17 +356,71 @@ public class JobManager {
     // -------------------------------------------------------------------------
 
     /**
-     * Called by every job listener when a player performs a tracked action.
-     * Iterates over all of the player's enrolled jobs, finds matching entries,
-     * applies multipliers, anti-exploit checks, and pays out.
+     * Called by job listeners for block, item and crafting actions.
      *
      * @param player   the acting player
      * @param action   the job action type
-     * @param material the material or entity name (upper-case)
+     * @param material the block or item involved
      */
-    public void processAction(Player player, JobAction action, String material) {
+    public void processAction(Player player, JobAction action, Material material) {
         if (action == JobAction.PLACE) return; // placement never pays
+        JobDispatchTable table = dispatch;
+        processAction(player, action, material.name(), 1, table, table.entries(action, material));
+    }
 
+    /**
+     * Called by job listeners for actions on an entity (kill, tame, shear).
+     */
+    public void processAction(Player player, JobAction action, EntityType entityType) {
+        JobDispatchTable table = dispatch;
+        processAction(player, action, entityType.name(), 1, table, table.entries(action, entityType));
+    }
+
+    /**
+     * Called by job listeners for actions keyed by a fixed name such as
+     * {@code FISH}, {@code POTION} or {@code CHUNK}.
+     */
+    public void processAction(Player player, JobAction action, String key) {
+        processAction(player, action, key, 1);
+    }
+
+    /**
+     * Pays {@code count} repetitions of a keyed action at once, e.g. several
+     * explore distance thresholds crossed since the last sample. Anti-exploit
+     * checks run once for the whole batch.
+     */
+    public void processAction(Player player, JobAction action, String key, int count) {
+        if (action == JobAction.PLACE || count <= 0) return; // placement never pays
+        JobDispatchTable table = dispatch;
+        processAction(player, action, key, count, table, table.entries(action, key));
+    }
+
+    /**
+     * Returns {@code true} if any of the player's jobs pays for the keyed
+     * action, so samplers can skip everyone else.
+     */
+    public boolean paysFor(UUID uuid, JobAction action, String key) {
+        JobDispatchTable table = dispatch;
+        JobActionEntry[] entries = table.entries(action, key);
+        if (entries == null) return false;
+        List<JobPlayer> jobs = getPlayerJobs(uuid);
+        for (int i = 0; i < jobs.size(); i++) {
+            int slot = compiledSlot(jobs.get(i), table);
+            if (slot >= 0 && entries[slot] != null) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Iterates over all of the player's enrolled jobs, picks each job's entry
+     * out of the compiled {@code entries} (null if no job pays for this
+     * action), applies multipliers, anti-exploit checks, and pays out.
+     *
+     * @param material the material, entity or key name, used for audit and quests
+     * @param count    how many times the action happened; scales money and XP
+     */
+    private void processAction(Player player, JobAction action, String material, int count,
+                               JobDispatchTable table, JobActionEntry[] entries) {
         List<JobPlayer> jobs = getPlayerJobs(player.getUniqueId());
         if (jobs.isEmpty()) return;
 
@@ -263,25 +442,24 @@ public class JobManager {
         Job    lastJob      = null;
         JobPlayer lastJp    = null;
 
-        for (JobPlayer jp : jobs) {
-            Job job = jobDefinitions.get(jp.getJobId());
-            if (job == null) continue;
+        for (int i = 0; entries != null && i < jobs.size(); i++) {
+            JobPlayer jp = jobs.get(i);
+            int slot = compiledSlot(jp, table);
+            if (slot < 0) continue;
 
-            JobActionEntry entry = job.getEntry(action, material);
+            JobActionEntry entry = entries[slot];
             if (entry == null) continue;
+            Job job = table.job(slot);
 
-            double baseMoney = entry.getMoney();
-            double baseXp    = entry.getXp();
+            double baseMoney = entry.getMoney() * count;
+            double baseXp    = entry.getXp() * count;
             if (baseMoney <= 0 && baseXp <= 0) continue;
 
-            // Level multiplier
-            double levelMult = JobLevelCalculator.getIncomeMultiplier(
-                    jp.getLevel(), jp.getPrestige(),
-                    config.getPrestigeMultiplier(),
-                    job.getPerks());
+            // Level multiplier, cached until the level or prestige changes
+            double levelMult = jp.getIncomeMultiplier();
 
             // Boost multiplier
-            double boostMult = boostManager.getActiveMultiplier(jp.getJobId());
+            double boostMult = boostManager.getActiveMultiplier(table, slot);
 
             double totalMult = levelMult * boostMult;
 
@@ -310,38 +488,24 @@ public class JobManager {
                 moneyEarned -= taxTaken;
             }
 
-            // Pay
+            // Pay — deposited, audited and taxed in one batch per payout window
             if (moneyEarned > 0 && plugin.getVaultHook().isAvailable()) {
-                plugin.getVaultHook().deposit(player, moneyEarned);
                 incomeCapManager.trackEarning(player.getUniqueId(), jp.getJobId(), moneyEarned);
                 jp.addEarned(moneyEarned);
                 sessionMoney += moneyEarned;
 
-                // Audit log
-                auditLog.log(player.getUniqueId(), player.getName(),
-                        EconomyAuditLog.JOB_INCOME, moneyEarned,
-                        plugin.getVaultHook().getBalance(player),
-                        jp.getJobId() + ":" + action.name() + ":" + material, null);
-
-                if (taxTaken > 0) {
-                    auditLog.log(player.getUniqueId(), player.getName(),
-                            EconomyAuditLog.TAX_PAID, -taxTaken, null,
-                            "job-tax:" + jp.getJobId(), null);
-                    plugin.getTaxManager().depositTaxToClaimOwner(loc, taxTaken, player, jp.getJobId());
-                    if (config.isTaxNotifyPlayer()) {
-                        player.sendMessage(Component.text(
-                                "[Jobs] Tax: " + plugin.getVaultHook().format(taxTaken) + " deducted.",
-                                NamedTextColor.GRAY));
-                    }
-                }
+                UUID taxRecipient = taxTaken > 0
+                        ? plugin.getTaxManager().resolveTaxRecipient(loc, player) : null;
+                payoutAccumulator.add(player, jp.getJobId(), action, material,
+                        moneyEarned, taxTaken, taxRecipient);
             }
 
             // Grant XP and handle level-up
             if (xpEarned > 0) {
                 jp.addXp(xpEarned);
                 sessionXp += xpEarned;
-                checkLevelUp(jp, player, job);
-                // Sync to AuraSkills
+                checkLevelUp(jp, player, table.curve(slot));
+                // Queue for AuraSkills (granted on its flush interval)
                 if (plugin.getAuraSkillsManager() != null) {
                     plugin.getAuraSkillsManager().syncXp(player, jp.getJobId(), xpEarned);
                 }
@@ -353,25 +517,13 @@ public class JobManager {
 
             // Track daily quest progress
             if (plugin.getDailyQuestManager() != null) {
-                plugin.getDailyQuestManager().trackAction(player, action, material, jp.getJobId());
+                plugin.getDailyQuestManager().trackAction(player, action, material, jp.getJobId(), count);
             }
         }
 
-        // Update accumulated action bar display and boss bar
+        // Accumulate into the action bar and boss bar; rendered by the HUD task
         if ((sessionMoney > 0 || sessionXp > 0) && lastJob != null) {
-            double[] accum = actionBarAccum.computeIfAbsent(player.getUniqueId(), k -> new double[2]);
-            accum[0] += sessionMoney;
-            accum[1] += sessionXp;
-            final double displayMoney = accum[0];
-            final double displayXp    = accum[1];
-            final Job displayJob      = lastJob;
-            final JobPlayer displayJp = lastJp;
-            player.sendActionBar(buildJobActionBar(displayMoney, displayXp, displayJob, displayJp));
-            scheduleActionBarReset(player.getUniqueId());
-            // Update XP progress boss bar
-            if (sessionXp > 0) {
-                bossBarManager.showProgress(player, displayJp, displayJob);
-            }
+            hud.record(player, lastJob, lastJp, sessionMoney, sessionXp);
         }
 
         // Record for area farming detector
@@ -383,14 +535,26 @@ public class JobManager {
         }
     }
 
+    /**
+     * Returns the job's slot in {@code table}, or -1 if the job no longer
+     * exists. Recomputes the cached slot and income multiplier when the table
+     * was replaced or the player's level or prestige changed since.
+     */
+    private int compiledSlot(JobPlayer jp, JobDispatchTable table) {
+        if (jp.getCompiledGeneration() != table.generation()) {
+            int slot = table.slot(jp.getJobId());
+            double multiplier = slot < 0 ? 1.0 : table.incomeMultiplier(slot, jp.getLevel(), jp.getPrestige());
+            jp.setCompiled(table.generation(), slot, multiplier);
+        }
+        return jp.getDispatchSlot();
+    }
+
     // -------------------------------------------------------------------------
     // Level-up / prestige
     // -------------------------------------------------------------------------
 
-    private void checkLevelUp(JobPlayer jp, Player player, Job job) {
-        int newLevel = JobLevelCalculator.getLevelForXp(jp.getXp(), config.getXpBase(), config.getXpExponent());
-        int maxLevel = job.getMaxLevel() > 0 ? job.getMaxLevel() : config.getMaxLevel();
-        newLevel = Math.min(newLevel, maxLevel);
+    private void checkLevelUp(JobPlayer jp, Player player, XpCurve curve) {
+        int newLevel = curve.levelForXp(jp.getXp());
         if (newLevel > jp.getLevel()) {
             jp.setLevel(newLevel);
             levelUp(jp, player);
@@ -457,9 +621,6 @@ public class JobManager {
         jp.setXp(0);
         jp.touch();
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin,
-                () -> storage.savePlayerJob(jp));
-
         player.sendMessage(Component.text("[Jobs] Prestiged! ", NamedTextColor.GOLD)
                 .append(Component.text(getJobDisplayName(jobId), NamedTextColor.AQUA))
                 .append(Component.text(" prestige " + jp.getPrestige(), NamedTextColor.LIGHT_PURPLE)));
@@ -480,34 +641,11 @@ public class JobManager {
                 .findFirst()
                 .ifPresent(jp -> {
                     jp.addXp(xp);
-                    Job job = jobDefinitions.get(jp.getJobId());
-                    if (job != null) checkLevelUp(jp, player, job);
+                    if (jobDefinitions.containsKey(jp.getJobId())) checkLevelUp(jp, player, getXpCurve(jp.getJobId()));
                     jp.touch();
                 });
     }
 
-    // -------------------------------------------------------------------------
-    // Action bar accumulation helpers
-    // -------------------------------------------------------------------------
-
-    private Component buildJobActionBar(double totalMoney, double totalXp, Job job, JobPlayer jp) {
-        return Component.text(job.getDisplayName() + " ", NamedTextColor.GOLD)
-                .append(Component.text("Lv." + jp.getLevel() + " ", NamedTextColor.AQUA))
-                .append(Component.text("+" + plugin.getVaultHook().format(totalMoney), NamedTextColor.GREEN))
-                .append(Component.text(" | ", NamedTextColor.DARK_GRAY))
-                .append(Component.text("+" + String.format("%.0f", totalXp) + "xp", NamedTextColor.YELLOW));
-    }
-
-    private void scheduleActionBarReset(UUID uuid) {
-        BukkitTask old = actionBarResetTasks.remove(uuid);
-        if (old != null) old.cancel();
-        BukkitTask task = plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-            actionBarAccum.remove(uuid);
-            actionBarResetTasks.remove(uuid);
-        }, ACTION_BAR_RESET_TICKS);
-        actionBarResetTasks.put(uuid, task);
-    }
-
     // -------------------------------------------------------------------------
     // Queries
     // -------------------------------------------------------------------------
@@ -530,12 +668,16 @@ public class JobManager {
 
     public JobsConfig getConfig()                   { return config; }
     public JobStorageManager getStorage()           { return storage; }
-    public JobBossBarManager getBossBarManager()    { return bossBarManager; }
+    public JobHud getHud()                          { return hud; }
     public BlockTracker getBlockTracker()           { return blockTracker; }
     public SpawnerTracker getSpawnerTracker()       { return spawnerTracker; }
     public AreaFarmingDetector getAreaFarmingDetector() { return areaFarmingDetector; }
     public CooldownManager getCooldownManager()     { return cooldownManager; }
     public IncomeCapManager getIncomeCapManager()   { return incomeCapManager; }
+    public ExploreTracker getExploreTracker()       { return exploreTracker; }
+    public ExploreSampler getExploreSampler()       { return exploreSampler; }
+    public EconomyAuditLog getAuditLog()            { return auditLog; }
+    public PayoutAccumulator getPayoutAccumulator() { return payoutAccumulator; }
     public BoostManager getBoostManager()           { return boostManager; }
     public JobLeaderboard getLeaderboard()          { return leaderboard; }
 
@@ -543,6 +685,16 @@ public class JobManager {
     // Internal helpers
     // -------------------------------------------------------------------------
 
+    /**
+     * Returns the XP curve of a job (the config default for unknown jobs).
+     * Rebuilt whenever the config or job definitions are reloaded.
+     */
+    public XpCurve getXpCurve(String jobId) {
+        JobDispatchTable table = dispatch;
+        int slot = table.slot(jobId.toLowerCase(Locale.ROOT));
+        return slot >= 0 ? table.curve(slot) : table.defaultCurve();
+    }
+
     private String getJobDisplayName(String jobId) {
         Job job = jobDefinitions.get(jobId.toLowerCase(Locale.ROOT));
         return job != null ? job.getDisplayName() : jobId;
@@ -6,6 +6,11 @@ import java.util.UUID;
 
 /**
  * Mutable per-player job data object. Mirrors the jobs_players table row.
+ * <p>
+ * Owned by the main thread. Every change to a persisted field bumps a
+ * version counter; {@link #snapshot()} copies the fields into an immutable
+ * {@link Snapshot} for the writer thread and records the version it saw, so
+ * only rows changed since are written again.
  */
 public class JobPlayer {
 
@@ -19,6 +24,16 @@ public class JobPlayer {
     private long joinedAt;
     private long lastActive;
 
+    // Derived from level/prestige and the job definition; not persisted.
+    // A generation of 0 means stale — see JobManager#compiledSlot.
+    private int compiledGeneration;
+    private int dispatchSlot = -1;
+    private double incomeMultiplier = 1.0;
+
+    // Dirty tracking; see #snapshot()
+    private int version;
+    private int savedVersion;
+
     public JobPlayer(UUID playerUuid,
                      String playerName,
                      String jobId,
@@ -62,25 +77,55 @@ public class JobPlayer {
         );
     }
 
-    /**
-     * Returns the values in the order expected by the INSERT / UPSERT statement
-     * in {@code JobStorageManager}.
-     * <p>
-     * Order: player_uuid, player_name, job_id, level, xp, prestige,
-     * total_earned, joined_at, last_active
-     */
-    public Object[] toInsertValues() {
-        return new Object[]{
-                playerUuid.toString(),
-                playerName,
-                jobId,
-                level,
-                xp,
-                prestige,
-                totalEarned,
-                joinedAt,
-                lastActive
-        };
+    // -------------------------------------------------------------------------
+    // Persistence snapshot
+    // -------------------------------------------------------------------------
+
+    /** Immutable copy of the persisted fields, safe to hand to the writer thread. */
+    public record Snapshot(UUID playerUuid, String playerName, String jobId, int level, double xp,
+                           int prestige, double totalEarned, long joinedAt, long lastActive) {
+
+        /**
+         * Returns the values in the order expected by the INSERT / UPSERT statement
+         * in {@code JobStorageManager}.
+         * <p>
+         * Order: player_uuid, player_name, job_id, level, xp, prestige,
+         * total_earned, joined_at, last_active
+         */
+        public Object[] toInsertValues() {
+            return new Object[]{
+                    playerUuid.toString(),
+                    playerName,
+                    jobId,
+                    level,
+                    xp,
+                    prestige,
+                    totalEarned,
+                    joinedAt,
+                    lastActive
+            };
+        }
+    }
+
+    /** True if a persisted field changed since the last {@link #snapshot()}. */
+    public boolean isDirty() {
+        return version != savedVersion;
+    }
+
+    /** Forces the row to be written by the next flush, e.g. for a newly joined job. */
+    public void markDirty() {
+        version++;
+    }
+
+    /** Copies the persisted fields and marks the row clean. Main thread. */
+    public Snapshot snapshot() {
+        savedVersion = version;
+        return new Snapshot(playerUuid, playerName, jobId, level, xp, prestige, totalEarned, joinedAt, lastActive);
+    }
+
+    /** Marks the row dirty again after the write of its last snapshot failed. */
+    public void markUnsaved() {
+        savedVersion = version - 1;
     }
 
     // -------------------------------------------------------------------------
@@ -89,14 +134,17 @@ public class JobPlayer {
 
     public void addXp(double amount) {
         this.xp += amount;
+        version++;
     }
 
     public void addEarned(double amount) {
         this.totalEarned += amount;
+        version++;
     }
 
     public void touch() {
         this.lastActive = System.currentTimeMillis();
+        version++;
     }
 
     // -------------------------------------------------------------------------
@@ -104,31 +152,54 @@ public class JobPlayer {
     // -------------------------------------------------------------------------
 
     public UUID getPlayerUuid() { return playerUuid; }
-    public void setPlayerUuid(UUID playerUuid) { this.playerUuid = playerUuid; }
+    public void setPlayerUuid(UUID playerUuid) { this.playerUuid = playerUuid; version++; }
 
     public String getPlayerName() { return playerName; }
-    public void setPlayerName(String playerName) { this.playerName = playerName; }
+    public void setPlayerName(String playerName) { this.playerName = playerName; version++; }
 
     public String getJobId() { return jobId; }
-    public void setJobId(String jobId) { this.jobId = jobId; }
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+        this.compiledGeneration = 0;
+        version++;
+    }
 
     public int getLevel() { return level; }
-    public void setLevel(int level) { this.level = level; }
+    public void setLevel(int level) {
+        this.level = level;
+        this.compiledGeneration = 0;
+        version++;
+    }
 
     public double getXp() { return xp; }
-    public void setXp(double xp) { this.xp = xp; }
+    public void setXp(double xp) { this.xp = xp; version++; }
 
     public int getPrestige() { return prestige; }
-    public void setPrestige(int prestige) { this.prestige = prestige; }
+    public void setPrestige(int prestige) {
+        this.prestige = prestige;
+        this.compiledGeneration = 0;
+        version++;
+    }
 
     public double getTotalEarned() { return totalEarned; }
-    public void setTotalEarned(double totalEarned) { this.totalEarned = totalEarned; }
+    public void setTotalEarned(double totalEarned) { this.totalEarned = totalEarned; version++; }
 
     public long getJoinedAt() { return joinedAt; }
-    public void setJoinedAt(long joinedAt) { this.joinedAt = joinedAt; }
+    public void setJoinedAt(long joinedAt) { this.joinedAt = joinedAt; version++; }
 
     public long getLastActive() { return lastActive; }
-    public void setLastActive(long lastActive) { this.lastActive = lastActive; }
+    public void setLastActive(long lastActive) { this.lastActive = lastActive; version++; }
+
+    /** Generation of the {@link JobDispatchTable} the cached slot and multiplier belong to. */
+    public int getCompiledGeneration() { return compiledGeneration; }
+    public int getDispatchSlot() { return dispatchSlot; }
+    public double getIncomeMultiplier() { return incomeMultiplier; }
+
+    public void setCompiled(int generation, int dispatchSlot, double incomeMultiplier) {
+        this.compiledGeneration = generation;
+        this.dispatchSlot = dispatchSlot;
+        this.incomeMultiplier = incomeMultiplier;
+    }
 
     @Override
     public String toString() {
@@ -1,6 +1,10 @@
 package com.blockforge.horizonutilities.jobs;
 
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.jobs.antiexploit.IncomeCapManager;
+import com.blockforge.horizonutilities.jobs.explore.ExploreTracker;
+import com.blockforge.horizonutilities.jobs.explore.ExploredChunkSet;
+import com.blockforge.horizonutilities.storage.SqlDialect;
 
 import java.sql.*;
 import java.time.Instant;
@@ -29,6 +33,10 @@ public class JobStorageManager {
         return plugin.getDatabaseManager().getConnection();
     }
 
+    private SqlDialect dialect() {
+        return plugin.getDatabaseManager().getDialect();
+    }
+
     // -------------------------------------------------------------------------
     // Player job CRUD
     // -------------------------------------------------------------------------
@@ -61,23 +69,46 @@ public class JobStorageManager {
     }
 
     /**
-     * Upserts the given JobPlayer record.
+     * Loads the job records of every player active since {@code since}
+     * (epoch millis), grouped by player. Used by the nightly quest batch,
+     * inside its transaction on {@code conn}.
+     */
+    public Map<UUID, List<JobPlayer>> loadRecentlyActiveJobs(Connection conn, long since) throws SQLException {
+        Map<UUID, List<JobPlayer>> players = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT * FROM jobs_players WHERE player_uuid IN " +
+                "(SELECT player_uuid FROM jobs_players WHERE last_active >= ?)")) {
+            ps.setLong(1, since);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    JobPlayer jp = JobPlayer.fromResultSet(rs);
+                    players.computeIfAbsent(jp.getPlayerUuid(), k -> new ArrayList<>()).add(jp);
+                }
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Upserts the given job records as one batch. Throws so that the caller's
+     * transaction rolls back and the rows can be retried.
      */
-    public void savePlayerJob(JobPlayer jp) {
+    public void savePlayerJobs(Collection<JobPlayer.Snapshot> snapshots) throws SQLException {
+        if (snapshots.isEmpty()) return;
         try (PreparedStatement ps = conn().prepareStatement(
                 "INSERT INTO jobs_players " +
                 "(player_uuid, player_name, job_id, level, xp, prestige, total_earned, joined_at, last_active) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
-                "ON CONFLICT(player_uuid, job_id) DO UPDATE SET " +
-                "player_name=excluded.player_name, level=excluded.level, xp=excluded.xp, " +
-                "prestige=excluded.prestige, total_earned=excluded.total_earned, last_active=excluded.last_active")) {
-            Object[] vals = jp.toInsertValues();
-            for (int i = 0; i < vals.length; i++) {
-                ps.setObject(i + 1, vals[i]);
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)" +
+                dialect().onConflictUpdate("player_uuid", "job_id") +
+                dialect().assignExcluded("player_name", "level", "xp", "prestige", "total_earned", "last_active"))) {
+            for (JobPlayer.Snapshot snapshot : snapshots) {
+                Object[] vals = snapshot.toInsertValues();
+                for (int i = 0; i < vals.length; i++) {
+                    ps.setObject(i + 1, vals[i]);
+                }
+                ps.addBatch();
             }
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.WARNING, "[Jobs] Failed to save player job: " + jp, e);
+            ps.executeBatch();
         }
     }
 
@@ -128,7 +159,7 @@ public class JobStorageManager {
     public List<Map.Entry<String, Integer>> getTopOverall(int limit) {
         List<Map.Entry<String, Integer>> result = new ArrayList<>();
         try (PreparedStatement ps = conn().prepareStatement(
-                "SELECT player_name, SUM(level) AS total_level " +
+                "SELECT MAX(player_name) AS player_name, SUM(level) AS total_level " +
                 "FROM jobs_players GROUP BY player_uuid " +
                 "ORDER BY total_level DESC LIMIT ?")) {
             ps.setInt(1, limit);
@@ -147,43 +178,159 @@ public class JobStorageManager {
     // Income cap tracking
     // -------------------------------------------------------------------------
 
+    /** Formats a UTC epoch hour (see {@link IncomeCapManager#currentHour()}) as an {@code hour_key}. */
+    public static String hourKey(long epochHour) {
+        return HOUR_KEY_FMT.format(Instant.ofEpochSecond(epochHour * 3600L));
+    }
+
     /**
-     * Adds {@code amount} to the current-hour tracking row for the player/job.
+     * Returns what the player has earned per job in the given hour.
      */
-    public void trackIncome(UUID playerUuid, String jobId, double amount) {
-        String hourKey = HOUR_KEY_FMT.format(Instant.now());
+    public Map<String, Double> loadHourlyIncome(UUID playerUuid, long epochHour) {
+        Map<String, Double> result = new HashMap<>();
         try (PreparedStatement ps = conn().prepareStatement(
-                "INSERT INTO jobs_income_tracking (player_uuid, job_id, hour_key, earned) " +
-                "VALUES (?, ?, ?, ?) " +
-                "ON CONFLICT(player_uuid, job_id, hour_key) DO UPDATE SET earned = earned + excluded.earned")) {
+                "SELECT job_id, earned FROM jobs_income_tracking WHERE player_uuid = ? AND hour_key = ?")) {
             ps.setString(1, playerUuid.toString());
-            ps.setString(2, jobId);
-            ps.setString(3, hourKey);
-            ps.setDouble(4, amount);
-            ps.executeUpdate();
+            ps.setString(2, hourKey(epochHour));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) result.put(rs.getString("job_id"), rs.getDouble("earned"));
+            }
         } catch (SQLException e) {
-            plugin.getLogger().log(Level.WARNING, "[Jobs] Failed to track income", e);
+            plugin.getLogger().log(Level.WARNING, "[Jobs] Failed to load hourly income", e);
         }
+        return result;
     }
 
     /**
-     * Returns how much the player has earned in this hour for the given job.
+     * Adds each delta to its hour's tracking row in one batch. Runs in the
+     * caller's transaction and throws so the caller can roll it back.
      */
-    public double getHourlyEarned(UUID playerUuid, String jobId) {
-        String hourKey = HOUR_KEY_FMT.format(Instant.now());
+    public void addIncome(List<IncomeCapManager.IncomeDelta> deltas) throws SQLException {
         try (PreparedStatement ps = conn().prepareStatement(
-                "SELECT earned FROM jobs_income_tracking " +
-                "WHERE player_uuid = ? AND job_id = ? AND hour_key = ?")) {
+                "INSERT INTO jobs_income_tracking (player_uuid, job_id, hour_key, earned) " +
+                "VALUES (?, ?, ?, ?)" +
+                dialect().onConflictUpdate("player_uuid", "job_id", "hour_key") +
+                "earned = earned + " + dialect().excluded("earned"))) {
+            for (IncomeCapManager.IncomeDelta d : deltas) {
+                ps.setString(1, d.playerUuid().toString());
+                ps.setString(2, d.jobId());
+                ps.setString(3, hourKey(d.hour()));
+                ps.setDouble(4, d.amount());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Explored chunks
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the player's explored-chunk sets per world, with any rows still
+     * in the legacy {@code jobs_explored_chunks} table folded in. Throws
+     * rather than returning partial sets, which would be saved over the
+     * stored ones. Worlds whose blob can't be decoded are returned as
+     * unreadable, without a set, so the blob is never overwritten.
+     */
+    public ExploreTracker.Loaded loadExploredChunks(UUID playerUuid) throws SQLException {
+        Map<String, ExploredChunkSet> worlds = new HashMap<>();
+        Set<String> legacyWorlds = new HashSet<>();
+        Set<String> unreadableWorlds = new HashSet<>();
+        try (PreparedStatement ps = conn().prepareStatement(
+                "SELECT world, chunks FROM jobs_explored_bitmaps WHERE player_uuid = ?")) {
             ps.setString(1, playerUuid.toString());
-            ps.setString(2, jobId);
-            ps.setString(3, hourKey);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) return rs.getDouble("earned");
+                while (rs.next()) {
+                    try {
+                        worlds.put(rs.getString("world"), ExploredChunkSet.fromBytes(rs.getBytes("chunks")));
+                    } catch (java.io.IOException e) {
+                        plugin.getLogger().log(Level.WARNING, "[Jobs] Unreadable explored chunks of "
+                                + playerUuid + " in " + rs.getString("world")
+                                + "; chunk discovery there is disabled for them", e);
+                        unreadableWorlds.add(rs.getString("world"));
+                    }
+                }
             }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.WARNING, "[Jobs] Failed to get hourly earned", e);
         }
-        return 0.0;
+        try (PreparedStatement ps = conn().prepareStatement(
+                "SELECT world, chunk_x, chunk_z FROM jobs_explored_chunks WHERE player_uuid = ?")) {
+            ps.setString(1, playerUuid.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String world = rs.getString("world");
+                    if (unreadableWorlds.contains(world)) continue;
+                    worlds.computeIfAbsent(world, w -> new ExploredChunkSet())
+                            .add(rs.getInt("chunk_x"), rs.getInt("chunk_z"));
+                    legacyWorlds.add(world);
+                }
+            }
+        }
+        return new ExploreTracker.Loaded(worlds, legacyWorlds, unreadableWorlds);
+    }
+
+    /**
+     * Like {@link #saveExploredChunks}, but unions each snapshot with the set
+     * already stored instead of replacing it, for snapshots that may be older
+     * than the stored set. Stored sets that can't be decoded are left alone.
+     * Runs in the caller's transaction.
+     */
+    public void mergeExploredChunks(List<ExploreTracker.Snapshot> snapshots) throws SQLException {
+        if (snapshots.isEmpty()) return;
+        List<ExploreTracker.Snapshot> merged = new ArrayList<>();
+        try (PreparedStatement ps = conn().prepareStatement(
+                "SELECT chunks FROM jobs_explored_bitmaps WHERE player_uuid = ? AND world = ?")) {
+            for (ExploreTracker.Snapshot s : snapshots) {
+                try {
+                    ExploredChunkSet set = ExploredChunkSet.fromBytes(s.data());
+                    ps.setString(1, s.playerUuid().toString());
+                    ps.setString(2, s.world());
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (rs.next()) set.addAll(ExploredChunkSet.fromBytes(rs.getBytes("chunks")));
+                    }
+                    merged.add(new ExploreTracker.Snapshot(s.playerUuid(), s.world(), set.toBytes(), set.size(),
+                            s.dropLegacy()));
+                } catch (java.io.IOException e) {
+                    plugin.getLogger().log(Level.WARNING, "[Jobs] Not merging explored chunks of "
+                            + s.playerUuid() + " in " + s.world() + " into an unreadable set", e);
+                }
+            }
+        }
+        saveExploredChunks(merged);
+    }
+
+    /**
+     * Stores each snapshot's blob and drops legacy rows it replaces. Runs in
+     * the caller's transaction and throws so the caller can roll it back.
+     */
+    public void saveExploredChunks(List<ExploreTracker.Snapshot> snapshots) throws SQLException {
+        if (snapshots.isEmpty()) return;
+        try (PreparedStatement upsert = conn().prepareStatement(
+                "INSERT INTO jobs_explored_bitmaps (player_uuid, world, chunks, chunk_count, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?)" +
+                dialect().onConflictUpdate("player_uuid", "world") +
+                dialect().assignExcluded("chunks", "chunk_count", "updated_at"));
+             PreparedStatement dropLegacy = conn().prepareStatement(
+                "DELETE FROM jobs_explored_chunks WHERE player_uuid = ? AND world = ?")) {
+            long now = System.currentTimeMillis();
+            boolean legacy = false;
+            for (ExploreTracker.Snapshot s : snapshots) {
+                upsert.setString(1, s.playerUuid().toString());
+                upsert.setString(2, s.world());
+                upsert.setBytes(3, s.data());
+                upsert.setInt(4, s.chunkCount());
+                upsert.setLong(5, now);
+                upsert.addBatch();
+                if (s.dropLegacy()) {
+                    dropLegacy.setString(1, s.playerUuid().toString());
+                    dropLegacy.setString(2, s.world());
+                    dropLegacy.addBatch();
+                    legacy = true;
+                }
+            }
+            upsert.executeBatch();
+            if (legacy) dropLegacy.executeBatch();
+        }
     }
 
     /**
@@ -0,0 +1,145 @@
+package com.blockforge.horizonutilities.jobs;
+
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.economy.EconomyAuditLog;
+import com.blockforge.horizonutilities.economy.VaultHook;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sums job payouts per player and job over a short window and pays them out
+ * with one Vault deposit per player.
+ * <p>
+ * {@link JobManager#processAction} still computes every action's money, tax
+ * and income-cap charge exactly as before; only the deposit, the balance
+ * lookup for the audit row, the tax notice and the claim owner's deposit are
+ * deferred. Each flush writes one {@code JOB_INCOME} (and {@code TAX_PAID})
+ * audit entry per job. The window is {@code payout-window-ticks}, or
+ * {@code periodic-interval-seconds} in periodic payment mode.
+ * <p>
+ * Main thread only.
+ */
+public class PayoutAccumulator {
+
+    private static final class JobTotals {
+        double money;
+        double tax;
+        int actions;
+        JobAction action;
+        String material;
+        boolean mixed;
+    }
+
+    private record TaxKey(UUID ownerUuid, String jobId) {}
+
+    private static final class Pending {
+        final Player player;
+        final Map<String, JobTotals> jobs = new LinkedHashMap<>();
+        final Map<TaxKey, Double> taxByOwner = new LinkedHashMap<>();
+
+        Pending(Player player) {
+            this.player = player;
+        }
+    }
+
+    private final HorizonUtilitiesPlugin plugin;
+    private final JobManager jobManager;
+    private final Map<UUID, Pending> pending = new HashMap<>();
+    private int ticksSinceFlush;
+
+    public PayoutAccumulator(HorizonUtilitiesPlugin plugin, JobManager jobManager) {
+        this.plugin = plugin;
+        this.jobManager = jobManager;
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Adds one action's net earnings to the player's pending payout.
+     *
+     * @param taxRecipient claim owner who receives {@code tax}, or null
+     */
+    public void add(Player player, String jobId, JobAction action, String material,
+                    double money, double tax, UUID taxRecipient) {
+        Pending p = pending.computeIfAbsent(player.getUniqueId(), k -> new Pending(player));
+        JobTotals totals = p.jobs.computeIfAbsent(jobId, k -> new JobTotals());
+        totals.money += money;
+        totals.tax += tax;
+        if (totals.actions++ == 0) {
+            totals.action = action;
+            totals.material = material;
+        } else if (totals.action != action || !totals.material.equals(material)) {
+            totals.mixed = true;
+        }
+        if (tax > 0 && taxRecipient != null) {
+            p.taxByOwner.merge(new TaxKey(taxRecipient, jobId), tax, Double::sum);
+        }
+    }
+
+    private void tick() {
+        if (pending.isEmpty()) {
+            ticksSinceFlush = 0;
+            return;
+        }
+        if (++ticksSinceFlush < jobManager.getConfig().getPayoutWindowTicks()) return;
+        flushAll();
+    }
+
+    /** Pays out everything pending. Called on the window and before shutdown. */
+    public void flushAll() {
+        ticksSinceFlush = 0;
+        for (Pending p : new ArrayList<>(pending.values())) {
+            pay(p);
+        }
+        pending.clear();
+    }
+
+    /** Pays out one player's pending earnings, e.g. when they quit. */
+    public void flush(UUID playerUuid) {
+        Pending p = pending.remove(playerUuid);
+        if (p != null) pay(p);
+    }
+
+    private void pay(Pending p) {
+        Player player = p.player;
+        VaultHook vault = plugin.getVaultHook();
+        EconomyAuditLog auditLog = jobManager.getAuditLog();
+
+        double total = 0;
+        for (JobTotals t : p.jobs.values()) total += t.money;
+        if (!vault.deposit(player, total)) {
+            plugin.getLogger().warning("[Jobs] Economy rejected a deposit of " + vault.format(total)
+                    + " job income to " + player.getName());
+        }
+        double balance = vault.getBalance(player);
+
+        for (var e : p.jobs.entrySet()) {
+            String jobId = e.getKey();
+            JobTotals t = e.getValue();
+            String source = jobId + ":" + (t.mixed ? "MIXED" : t.action.name() + ":" + t.material)
+                    + (t.actions > 1 ? ":x" + t.actions : "");
+            auditLog.log(player.getUniqueId(), player.getName(),
+                    EconomyAuditLog.JOB_INCOME, t.money, balance, source, null);
+
+            if (t.tax > 0) {
+                auditLog.log(player.getUniqueId(), player.getName(),
+                        EconomyAuditLog.TAX_PAID, -t.tax, null,
+                        "job-tax:" + jobId, null);
+                if (jobManager.getConfig().isTaxNotifyPlayer() && player.isOnline()) {
+                    player.sendMessage(Component.text(
+                            "[Jobs] Tax: " + vault.format(t.tax) + " deducted.",
+                            NamedTextColor.GRAY));
+                }
+            }
+        }
+
+        p.taxByOwner.forEach((key, tax) ->
+                plugin.getTaxManager().depositTaxToOwner(key.ownerUuid(), tax, player, key.jobId()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.blockforge.horizonutilities.jobs;
+
+import java.util.Arrays;
+
+/**
+ * The XP thresholds of one (base, exponent, max level) combination,
+ * computed once with {@link JobLevelCalculator#getXpRequired} so that level
+ * lookups are a binary search instead of a {@code Math.pow} per level.
+ * <p>
+ * Instances are immutable and owned by a {@link JobDispatchTable}, so they
+ * are rebuilt whenever the config or job definitions are reloaded. Safe to
+ * share between threads.
+ */
+public final class XpCurve {
+
+    /** Upper bound on the table size, in case of a nonsensical max-level. */
+    private static final int MAX_TABLE_LEVEL = 100_000;
+
+    private final double base;
+    private final double exponent;
+    private final int maxLevel;
+    /** {@code thresholds[level]} = total XP needed to reach {@code level}; index 0 unused. */
+    private final double[] thresholds;
+
+    XpCurve(double base, double exponent, int maxLevel) {
+        this.base = base;
+        this.exponent = exponent;
+        this.maxLevel = Math.max(1, Math.min(maxLevel, MAX_TABLE_LEVEL));
+        this.thresholds = new double[this.maxLevel + 2];
+        for (int level = 1; level < thresholds.length; level++) {
+            thresholds[level] = JobLevelCalculator.getXpRequired(level, base, exponent);
+        }
+    }
+
+    public double getBase()     { return base; }
+    public double getExponent() { return exponent; }
+    public int getMaxLevel()    { return maxLevel; }
+
+    /** Total XP required to reach {@code level}; same as {@link JobLevelCalculator#getXpRequired}. */
+    public double xpRequired(int level) {
+        if (level <= 1) return 0;
+        if (level < thresholds.length) return thresholds[level];
+        return JobLevelCalculator.getXpRequired(level, base, exponent);
+    }
+
+    /** The level reached with {@code xp} accumulated, capped at the max level (minimum 1). */
+    public int levelForXp(double xp) {
+        // Highest level whose threshold is <= xp
+        int pos = Arrays.binarySearch(thresholds, 2, maxLevel + 1, xp);
+        int level = pos >= 0 ? pos : -pos - 2;
+        // Equal thresholds (a flat curve) may match any of them; take the highest
+        while (level < maxLevel && thresholds[level + 1] <= xp) level++;
+        return Math.max(1, level);
+    }
+
+    /** XP still needed to reach {@code currentLevel + 1}. */
+    public double xpToNextLevel(double currentXp, int currentLevel) {
+        return Math.max(0, xpRequired(currentLevel + 1) - currentXp);
+    }
+
+    /** Progress through the current level, from 0 to 1. */
+    public double progress(double currentXp, int currentLevel) {
+        double xpThis = xpRequired(currentLevel);
+        double span = xpRequired(currentLevel + 1) - xpThis;
+        if (span <= 0) return 1.0;
+        return Math.max(0, Math.min(1, (currentXp - xpThis) / span));
+    }
+}
@@ -2,51 +2,57 @@ package com.blockforge.horizonutilities.jobs.antiexploit;
 
 import com.blockforge.horizonutilities.jobs.JobAction;
 import org.bukkit.Location;
+import org.bukkit.World;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 
 /**
  * Detects area-farming exploits by tracking a sliding window of recent actions
- * per player. If a player performs too many actions of the same type within a
- * given radius and timeframe, the action is flagged as an exploit.
+ * per player. If a player performs too many actions within a given radius and
+ * timeframe, the action is flagged as an exploit.
+ * <p>
+ * Each player's window is a ring buffer of primitive coordinates and
+ * timestamps, bucketed into cubic cells one radius wide. A radius query only
+ * walks the entries of the neighbouring cells, newest first, and stops at the
+ * first expired one. Recording and querying allocate nothing once a player's
+ * buffer has grown to its working size.
  */
 public class AreaFarmingDetector {
 
-    // -------------------------------------------------------------------------
-    // Inner record
-    // -------------------------------------------------------------------------
-
-    public static class ActionRecord {
-        final Location loc;
-        final long timestamp;
-        final JobAction action;
-
-        ActionRecord(Location loc, long timestamp, JobAction action) {
-            this.loc = loc;
-            this.timestamp = timestamp;
-            this.action = action;
-        }
-    }
-
     // -------------------------------------------------------------------------
     // State
     // -------------------------------------------------------------------------
 
-    private static final int MAX_DEQUE_SIZE = 500;
+    /** Most actions remembered per player; older ones are overwritten. */
+    private static final int MAX_WINDOW_SIZE = 512;
+    private static final int INITIAL_WINDOW_SIZE = 32;
 
-    /** playerUuid -> recent action records */
-    private final Map<UUID, Deque<ActionRecord>> recentActions = new ConcurrentHashMap<>();
+    /** Beyond this many cells per axis a query scans the whole window instead. */
+    private static final int MAX_CELL_SPAN = 2;
+
+    /** playerUuid -> recent actions */
+    private final Map<UUID, Window> recentActions = new ConcurrentHashMap<>();
 
     // Default thresholds (can be overridden via constructor)
     private final int maxActionsInRadius;
     private final int radius;
     private final long timeframeMs;
+    private final int cellSize;
+    private final LongSupplier clock;
 
     public AreaFarmingDetector(int maxActionsInRadius, int radius, long timeframeMs) {
+        this(maxActionsInRadius, radius, timeframeMs, System::currentTimeMillis);
+    }
+
+    /** Uses {@code clock} (epoch millis) instead of the system clock; for tests. */
+    AreaFarmingDetector(int maxActionsInRadius, int radius, long timeframeMs, LongSupplier clock) {
         this.maxActionsInRadius = maxActionsInRadius;
         this.radius = radius;
         this.timeframeMs = timeframeMs;
+        this.cellSize = Math.max(1, radius);
+        this.clock = clock;
     }
 
     // -------------------------------------------------------------------------
@@ -58,39 +64,31 @@ public class AreaFarmingDetector {
      * action BEFORE checking {@link #isExploiting}.
      */
     public void recordAction(UUID playerUuid, Location loc, JobAction action) {
-        Deque<ActionRecord> deque = recentActions.computeIfAbsent(playerUuid, k -> new ArrayDeque<>());
-        synchronized (deque) {
-            deque.addLast(new ActionRecord(loc.clone(), System.currentTimeMillis(), action));
-            // Keep deque bounded
-            while (deque.size() > MAX_DEQUE_SIZE) {
-                deque.pollFirst();
-            }
+        Window window = recentActions.get(playerUuid);
+        if (window == null) {
+            window = recentActions.computeIfAbsent(playerUuid, k -> new Window(cellSize));
+        }
+        long now = clock.getAsLong();
+        synchronized (window) {
+            window.expire(now - timeframeMs);
+            window.add(loc, now);
         }
     }
 
     /**
-     * Returns how many recent actions of the same type the player has performed
-     * within {@code radius} blocks of {@code center} in the last
-     * {@code timeframeMs} milliseconds.
+     * Returns how many recent actions the player has performed within
+     * {@code radius} blocks of {@code center} in the last {@code timeframeMs}
+     * milliseconds. Actions older than the detector's own timeframe may
+     * already have been evicted.
      */
     public int getRecentActionsInRadius(UUID playerUuid, Location center, int radius, long timeframeMs) {
-        Deque<ActionRecord> deque = recentActions.get(playerUuid);
-        if (deque == null) return 0;
-
-        long cutoff = System.currentTimeMillis() - timeframeMs;
-        double radiusSq = radius * radius;
-        int count = 0;
-
-        synchronized (deque) {
-            for (ActionRecord record : deque) {
-                if (record.timestamp < cutoff) continue;
-                if (!record.loc.getWorld().equals(center.getWorld())) continue;
-                if (record.loc.distanceSquared(center) <= radiusSq) {
-                    count++;
-                }
-            }
+        Window window = recentActions.get(playerUuid);
+        if (window == null) return 0;
+
+        long cutoff = clock.getAsLong() - timeframeMs;
+        synchronized (window) {
+            return window.count(center, radius, cutoff);
         }
-        return count;
     }
 
     /**
@@ -103,22 +101,17 @@ public class AreaFarmingDetector {
     }
 
     /**
-     * Purges action records older than {@code timeframeMs} from all deques.
-     * Call this periodically (e.g. every 30 seconds) to prevent memory growth.
+     * Evicts actions older than {@code timeframeMs} from every window and drops
+     * empty ones. Windows also slide on every recorded action, so this only
+     * matters for players who stopped working.
      */
     public void cleanup() {
-        long cutoff = System.currentTimeMillis() - timeframeMs;
-        for (Map.Entry<UUID, Deque<ActionRecord>> entry : recentActions.entrySet()) {
-            Deque<ActionRecord> deque = entry.getValue();
-            synchronized (deque) {
-                while (!deque.isEmpty() && deque.peekFirst().timestamp < cutoff) {
-                    deque.pollFirst();
-                }
+        long cutoff = clock.getAsLong() - timeframeMs;
+        recentActions.values().removeIf(window -> {
+            synchronized (window) {
+                window.expire(cutoff);
+                return window.isEmpty();
             }
-        }
-        // Remove empty deques
-        recentActions.entrySet().removeIf(e -> {
-            synchronized (e.getValue()) { return e.getValue().isEmpty(); }
         });
     }
 
@@ -126,4 +119,193 @@ public class AreaFarmingDetector {
     public void clearPlayer(UUID playerUuid) {
         recentActions.remove(playerUuid);
     }
+
+    // -------------------------------------------------------------------------
+    // Per-player window
+    // -------------------------------------------------------------------------
+
+    /**
+     * Ring buffer addressed by a monotonically increasing sequence number; the
+     * entry with sequence {@code s} lives in slot {@code s & mask}. Live entries
+     * are {@code [tail, head)}. Entries in the same cell are chained newest to
+     * oldest through {@link #next}, and an open-addressed table maps each cell
+     * to the newest sequence in it. Chains are never unlinked: a walk ends at
+     * the first sequence that has been evicted or is older than the cutoff,
+     * and the table is rebuilt from the live entries when it fills up.
+     */
+    private static final class Window {
+
+        private final int cellSize;
+
+        private long head;
+        private long tail;
+        private int mask;
+        private double[] xs;
+        private double[] ys;
+        private double[] zs;
+        private long[] times;
+        private World[] worlds;
+        private long[] next;
+
+        private long[] cellKeys;
+        private long[] cellHeads; // -1 = unused slot
+        private int cellsUsed;
+
+        Window(int cellSize) {
+            this.cellSize = cellSize;
+            allocate(INITIAL_WINDOW_SIZE);
+        }
+
+        private void allocate(int capacity) {
+            mask = capacity - 1;
+            xs = new double[capacity];
+            ys = new double[capacity];
+            zs = new double[capacity];
+            times = new long[capacity];
+            worlds = new World[capacity];
+            next = new long[capacity];
+            cellKeys = new long[capacity * 2];
+            cellHeads = new long[capacity * 2];
+            Arrays.fill(cellHeads, -1L);
+            cellsUsed = 0;
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        void expire(long cutoff) {
+            while (tail < head && times[(int) (tail & mask)] < cutoff) {
+                worlds[(int) (tail & mask)] = null;
+                tail++;
+            }
+        }
+
+        void add(Location loc, long now) {
+            int capacity = mask + 1;
+            if (head - tail == capacity) {
+                if (capacity < MAX_WINDOW_SIZE) {
+                    grow(capacity * 2);
+                } else {
+                    tail++; // overwrite the oldest
+                }
+            }
+            if (cellsUsed + 1 > cellHeads.length * 3 / 4) rebuildCells();
+
+            long seq = head++;
+            int slot = (int) (seq & mask);
+            xs[slot] = loc.getX();
+            ys[slot] = loc.getY();
+            zs[slot] = loc.getZ();
+            times[slot] = now;
+            worlds[slot] = loc.getWorld();
+            link(seq, cellKey(cell(loc.getBlockX()), cell(loc.getBlockY()), cell(loc.getBlockZ())));
+        }
+
+        int count(Location center, int radius, long cutoff) {
+            if (head == tail) return 0;
+            World world = center.getWorld();
+            double cx = center.getX(), cy = center.getY(), cz = center.getZ();
+            double radiusSq = (double) radius * radius;
+
+            int span = (Math.max(0, radius) + cellSize - 1) / cellSize;
+            if (span > MAX_CELL_SPAN) {
+                int count = 0;
+                for (long seq = head - 1; seq >= tail; seq--) {
+                    int slot = (int) (seq & mask);
+                    if (times[slot] < cutoff) break;
+                    if (matches(slot, world, cx, cy, cz, radiusSq)) count++;
+                }
+                return count;
+            }
+
+            int bx = cell(center.getBlockX()), by = cell(center.getBlockY()), bz = cell(center.getBlockZ());
+            int count = 0;
+            for (int dx = -span; dx <= span; dx++) {
+                for (int dy = -span; dy <= span; dy++) {
+                    for (int dz = -span; dz <= span; dz++) {
+                        int index = find(cellKey(bx + dx, by + dy, bz + dz));
+                        if (index < 0) continue;
+                        for (long seq = cellHeads[index]; seq >= tail; ) {
+                            int slot = (int) (seq & mask);
+                            if (times[slot] < cutoff) break;
+                            if (matches(slot, world, cx, cy, cz, radiusSq)) count++;
+                            seq = next[slot];
+                        }
+                    }
+                }
+            }
+            return count;
+        }
+
+        private boolean matches(int slot, World world, double cx, double cy, double cz, double radiusSq) {
+            if (worlds[slot] != world) return false;
+            double dx = xs[slot] - cx, dy = ys[slot] - cy, dz = zs[slot] - cz;
+            return dx * dx + dy * dy + dz * dz <= radiusSq;
+        }
+
+        private void grow(int capacity) {
+            double[] oldX = xs, oldY = ys, oldZ = zs;
+            long[] oldTimes = times;
+            World[] oldWorlds = worlds;
+            int oldMask = mask;
+            allocate(capacity);
+            for (long seq = tail; seq < head; seq++) {
+                int from = (int) (seq & oldMask), to = (int) (seq & mask);
+                xs[to] = oldX[from];
+                ys[to] = oldY[from];
+                zs[to] = oldZ[from];
+                times[to] = oldTimes[from];
+                worlds[to] = oldWorlds[from];
+            }
+            rebuildCells();
+        }
+
+        private void rebuildCells() {
+            Arrays.fill(cellHeads, -1L);
+            cellsUsed = 0;
+            for (long seq = tail; seq < head; seq++) {
+                int slot = (int) (seq & mask);
+                link(seq, cellKey(cell((int) Math.floor(xs[slot])),
+                        cell((int) Math.floor(ys[slot])), cell((int) Math.floor(zs[slot]))));
+            }
+        }
+
+        private void link(long seq, long key) {
+            int index = hash(key);
+            while (cellHeads[index] >= 0 && cellKeys[index] != key) {
+                index = (index + 1) & (cellHeads.length - 1);
+            }
+            if (cellHeads[index] < 0) {
+                cellKeys[index] = key;
+                cellsUsed++;
+                next[(int) (seq & mask)] = -1L;
+            } else {
+                next[(int) (seq & mask)] = cellHeads[index];
+            }
+            cellHeads[index] = seq;
+        }
+
+        private int find(long key) {
+            int index = hash(key);
+            while (cellHeads[index] >= 0) {
+                if (cellKeys[index] == key) return index;
+                index = (index + 1) & (cellHeads.length - 1);
+            }
+            return -1;
+        }
+
+        private int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> 32) & (cellHeads.length - 1);
+        }
+
+        private int cell(int block) {
+            return Math.floorDiv(block, cellSize);
+        }
+
+        private static long cellKey(int cx, int cy, int cz) {
+            return ((long) (cx & 0x1FFFFF) << 42) | ((long) (cy & 0x1FFFFF) << 21) | (cz & 0x1FFFFF);
+        }
+    }
 }
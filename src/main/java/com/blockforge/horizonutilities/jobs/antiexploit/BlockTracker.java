@@ -1,29 +1,40 @@
 package com.blockforge.horizonutilities.jobs.antiexploit;
 
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.storage.PersistentState;
+import org.bukkit.Chunk;
 import org.bukkit.NamespacedKey;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.TileState;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.logging.Level;
 
 /**
  * Tracks player-placed blocks to prevent break-and-replace farming.
  * <p>
- * Uses Paper's PersistentDataContainer API when available (detected via
- * class lookup); falls back to an SQLite table on vanilla Spigot.
+ * On Paper (detected via class lookup) each chunk keeps one bitset of placed
+ * positions under a single PDC key. It is cached while the chunk is loaded
+ * and written back when the chunk unloads or its world saves, so checks are
+ * plain bit tests. Placer UUIDs are not kept there. On vanilla Spigot it
+ * falls back to the {@code jobs_placed_blocks} table through an in-memory
+ * {@link PlacedBlockIndex} whose changes are written in the periodic state
+ * checkpoint.
  */
-public class BlockTracker {
+public class BlockTracker implements PersistentState {
 
     private static final String PDC_KEY_NAME = "placed_by";
+    private static final String CHUNK_PDC_KEY_NAME = "placed_blocks";
+    private static final String LEGACY_CHUNK_KEY_PREFIX = "pb_";
     private static final boolean PAPER_AVAILABLE;
 
     static {
@@ -39,10 +50,19 @@ public class BlockTracker {
 
     private final HorizonUtilitiesPlugin plugin;
     private final NamespacedKey placedByKey;
+    private final NamespacedKey placedBlocksKey;
+
+    /** worldUid -> chunkKey -> flags of loaded chunks. Main thread only. */
+    private final Map<UUID, Map<Long, PlacedBlockBits>> chunkBits = new HashMap<>();
+
+    /** SQLite fallback: cached rows of touched chunks plus queued mutations. */
+    private final PlacedBlockIndex index;
 
     public BlockTracker(HorizonUtilitiesPlugin plugin) {
         this.plugin = plugin;
         this.placedByKey = new NamespacedKey(plugin, PDC_KEY_NAME);
+        this.placedBlocksKey = new NamespacedKey(plugin, CHUNK_PDC_KEY_NAME);
+        this.index = new PlacedBlockIndex(plugin);
     }
 
     // -------------------------------------------------------------------------
@@ -55,9 +75,9 @@ public class BlockTracker {
      */
     public void markAsPlaced(Block block, UUID placer) {
         if (PAPER_AVAILABLE) {
-            pdcMark(block, placer);
+            pdcMark(block);
         } else {
-            dbMark(block, placer);
+            index.put(block, placer.toString());
         }
     }
 
@@ -69,7 +89,7 @@ public class BlockTracker {
         if (PAPER_AVAILABLE) {
             return pdcCheck(block);
         } else {
-            return dbCheck(block);
+            return index.contains(block);
         }
     }
 
@@ -82,7 +102,7 @@ public class BlockTracker {
         if (PAPER_AVAILABLE) {
             pdcClear(block);
         } else {
-            dbClear(block);
+            index.remove(block);
         }
     }
 
@@ -94,160 +114,205 @@ public class BlockTracker {
      * @param direction   piston push direction
      */
     public void handlePistonMove(List<Block> movedBlocks, BlockFace direction) {
-        // When using PDC on block TileEntities / chunk data this is handled
-        // automatically by the server. For the SQLite fallback we need to
-        // update coordinates.
-        if (!PAPER_AVAILABLE) {
-            for (Block block : movedBlocks) {
-                Block dest = block.getRelative(direction);
-                if (dbCheck(block)) {
-                    String placer = dbGetPlacer(block);
-                    dbClear(block);
-                    if (placer != null) {
-                        try {
-                            dbMarkRaw(dest, placer);
-                        } catch (SQLException e) {
-                            plugin.getLogger().log(Level.WARNING,
-                                    "[BlockTracker] Failed to transfer piston block tag", e);
-                        }
-                    }
-                }
-            }
+        if (PAPER_AVAILABLE) {
+            pdcMove(movedBlocks, direction);
+        } else {
+            dbMove(movedBlocks, direction);
         }
-        // Paper: PDC follows the block automatically when moved by pistons.
     }
 
     // -------------------------------------------------------------------------
-    // PDC implementation (Paper)
+    // Chunk lifecycle — flags and rows live in memory while a chunk is loaded
     // -------------------------------------------------------------------------
 
-    private void pdcMark(Block block, UUID placer) {
-        try {
-            if (block.getState() instanceof org.bukkit.block.TileState ts) {
-                PersistentDataContainer pdc = ts.getPersistentDataContainer();
-                pdc.set(placedByKey, PersistentDataType.STRING, placer.toString());
-                ts.update();
-            }
-            // For non-tile blocks we store in the chunk's pdc using a compound key.
-            else {
-                String chunkKey = chunkKey(block);
-                PersistentDataContainer chunkPdc = block.getChunk().getPersistentDataContainer();
-                chunkPdc.set(new NamespacedKey(plugin, chunkKey), PersistentDataType.STRING, placer.toString());
-            }
-        } catch (Exception e) {
-            // Fall back silently to DB
-            dbMark(block, placer);
+    /**
+     * Loads a chunk's placed-block flags into the cache. SQLite rows are read
+     * in the background; until they arrive the chunk's blocks count as not
+     * player-placed.
+     */
+    public void loadChunk(Chunk chunk) {
+        if (PAPER_AVAILABLE) {
+            cached(chunk);
+        } else {
+            index.load(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
         }
     }
 
-    private boolean pdcCheck(Block block) {
-        try {
-            if (block.getState() instanceof org.bukkit.block.TileState ts) {
-                return ts.getPersistentDataContainer().has(placedByKey, PersistentDataType.STRING);
-            } else {
-                String chunkKey = chunkKey(block);
-                return block.getChunk().getPersistentDataContainer()
-                        .has(new NamespacedKey(plugin, chunkKey), PersistentDataType.STRING);
-            }
-        } catch (Exception e) {
-            return dbCheck(block);
+    /** Writes a chunk's flags back to its PDC if they changed, and evicts them. */
+    public void unloadChunk(Chunk chunk) {
+        if (!PAPER_AVAILABLE) {
+            index.evict(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+            return;
         }
+        Map<Long, PlacedBlockBits> chunks = chunkBits.get(chunk.getWorld().getUID());
+        if (chunks == null) return;
+        PlacedBlockBits bits = chunks.remove(PlacedBlockIndex.chunkKey(chunk.getX(), chunk.getZ()));
+        if (bits != null && bits.isDirty()) write(chunk, bits);
     }
 
-    private void pdcClear(Block block) {
-        try {
-            if (block.getState() instanceof org.bukkit.block.TileState ts) {
-                ts.getPersistentDataContainer().remove(placedByKey);
-                ts.update();
-            } else {
-                String chunkKey = chunkKey(block);
-                block.getChunk().getPersistentDataContainer()
-                        .remove(new NamespacedKey(plugin, chunkKey));
-            }
-        } catch (Exception e) {
-            dbClear(block);
+    /** Writes every changed chunk of {@code world} back to its PDC, e.g. before a world save. */
+    public void saveWorld(World world) {
+        Map<Long, PlacedBlockBits> chunks = chunkBits.get(world.getUID());
+        if (chunks == null) return;
+        chunks.forEach((key, bits) -> {
+            if (bits.isDirty()) write(world.getChunkAt((int) (long) key, (int) (key >> 32)), bits);
+        });
+    }
+
+    /** Writes back and forgets every chunk of a world that is being unloaded. */
+    public void unloadWorld(World world) {
+        if (!PAPER_AVAILABLE) index.evictWorld(world.getName());
+        saveWorld(world);
+        chunkBits.remove(world.getUID());
+    }
+
+    /** Writes back all cached chunks. Call on disable, before the server saves its worlds. */
+    public void saveAll() {
+        for (World world : plugin.getServer().getWorlds()) {
+            saveWorld(world);
         }
+        chunkBits.clear();
     }
 
     // -------------------------------------------------------------------------
-    // SQLite fallback implementation
+    // PDC implementation (Paper)
     // -------------------------------------------------------------------------
 
-    private void dbMark(Block block, UUID placer) {
-        try {
-            dbMarkRaw(block, placer.toString());
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.WARNING, "[BlockTracker] Failed to mark block in DB", e);
-        }
+    private void pdcMark(Block block) {
+        bits(block).set(block.getX(), block.getY(), block.getZ());
+    }
+
+    private boolean pdcCheck(Block block) {
+        return bits(block).get(block.getX(), block.getY(), block.getZ());
+    }
+
+    private void pdcClear(Block block) {
+        bits(block).clear(block.getX(), block.getY(), block.getZ());
     }
 
-    private void dbMarkRaw(Block block, String placerStr) throws SQLException {
-        try (PreparedStatement ps = conn().prepareStatement(
-                "INSERT OR REPLACE INTO jobs_placed_blocks (world, x, y, z, player_uuid, placed_at) " +
-                "VALUES (?, ?, ?, ?, ?, ?)")) {
-            ps.setString(1, block.getWorld().getName());
-            ps.setInt(2, block.getX());
-            ps.setInt(3, block.getY());
-            ps.setInt(4, block.getZ());
-            ps.setString(5, placerStr);
-            ps.setLong(6, System.currentTimeMillis());
-            ps.executeUpdate();
+    /** Moves the flags of all pushed blocks at once so overlapping moves don't clobber each other. */
+    private void pdcMove(List<Block> movedBlocks, BlockFace direction) {
+        List<Block> placed = new ArrayList<>();
+        for (Block block : movedBlocks) {
+            if (pdcCheck(block)) placed.add(block);
+        }
+        for (Block block : placed) {
+            pdcClear(block);
+        }
+        for (Block block : placed) {
+            pdcMark(block.getRelative(direction));
         }
     }
 
-    private boolean dbCheck(Block block) {
-        try (PreparedStatement ps = conn().prepareStatement(
-                "SELECT 1 FROM jobs_placed_blocks WHERE world=? AND x=? AND y=? AND z=?")) {
-            ps.setString(1, block.getWorld().getName());
-            ps.setInt(2, block.getX());
-            ps.setInt(3, block.getY());
-            ps.setInt(4, block.getZ());
-            ResultSet rs = ps.executeQuery();
-            return rs.next();
-        } catch (SQLException e) {
-            return false;
+    private PlacedBlockBits bits(Block block) {
+        Map<Long, PlacedBlockBits> chunks = chunkBits.get(block.getWorld().getUID());
+        PlacedBlockBits bits = chunks != null
+                ? chunks.get(PlacedBlockIndex.chunkKey(block.getX() >> 4, block.getZ() >> 4)) : null;
+        return bits != null ? bits : cached(block.getChunk());
+    }
+
+    private PlacedBlockBits cached(Chunk chunk) {
+        Map<Long, PlacedBlockBits> chunks = chunkBits.computeIfAbsent(chunk.getWorld().getUID(), k -> new HashMap<>());
+        return chunks.computeIfAbsent(PlacedBlockIndex.chunkKey(chunk.getX(), chunk.getZ()), k -> read(chunk));
+    }
+
+    private PlacedBlockBits read(Chunk chunk) {
+        World world = chunk.getWorld();
+        PlacedBlockBits bits = new PlacedBlockBits(world.getMinHeight(), world.getMaxHeight());
+        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
+        try {
+            long[] data = pdc.get(placedBlocksKey, PersistentDataType.LONG_ARRAY);
+            if (data != null) {
+                bits.decode(data);
+            } else {
+                migrateLegacy(chunk, pdc, bits);
+            }
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "[BlockTracker] Failed to read placed blocks of chunk "
+                    + chunk.getX() + "," + chunk.getZ() + " in " + world.getName(), e);
         }
+        return bits;
+    }
+
+    private void write(Chunk chunk, PlacedBlockBits bits) {
+        chunk.getPersistentDataContainer().set(placedBlocksKey, PersistentDataType.LONG_ARRAY, bits.encode());
     }
 
-    private String dbGetPlacer(Block block) {
-        try (PreparedStatement ps = conn().prepareStatement(
-                "SELECT player_uuid FROM jobs_placed_blocks WHERE world=? AND x=? AND y=? AND z=?")) {
-            ps.setString(1, block.getWorld().getName());
-            ps.setInt(2, block.getX());
-            ps.setInt(3, block.getY());
-            ps.setInt(4, block.getZ());
-            ResultSet rs = ps.executeQuery();
-            return rs.next() ? rs.getString("player_uuid") : null;
-        } catch (SQLException e) {
-            return null;
+    /**
+     * Converts the tags written by earlier versions — one {@code pb_x_y_z}
+     * string per block in the chunk PDC, and a {@code placed_by} string on
+     * tile entities — into the bitset and stores it right away. Chunks
+     * without legacy tags get an empty bitset, so each chunk is scanned once.
+     */
+    private void migrateLegacy(Chunk chunk, PersistentDataContainer pdc, PlacedBlockBits bits) {
+        int baseX = chunk.getX() << 4;
+        int baseZ = chunk.getZ() << 4;
+        List<NamespacedKey> legacyKeys = new ArrayList<>();
+        for (NamespacedKey key : pdc.getKeys()) {
+            if (!key.getNamespace().equals(placedBlocksKey.getNamespace())
+                    || !key.getKey().startsWith(LEGACY_CHUNK_KEY_PREFIX)) continue;
+            String[] parts = key.getKey().substring(LEGACY_CHUNK_KEY_PREFIX.length()).split("_");
+            try {
+                bits.set(baseX + Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                        baseZ + Integer.parseInt(parts[2]));
+            } catch (RuntimeException ignored) {
+                // Not one of ours after all; drop it with the rest
+            }
+            legacyKeys.add(key);
         }
+        for (BlockState state : chunk.getTileEntities(false)) {
+            if (state instanceof TileState ts
+                    && ts.getPersistentDataContainer().has(placedByKey, PersistentDataType.STRING)) {
+                bits.set(state.getX(), state.getY(), state.getZ());
+                bits.markDirty();
+            }
+        }
+        for (NamespacedKey key : legacyKeys) {
+            pdc.remove(key);
+        }
+        write(chunk, bits);
     }
 
-    private void dbClear(Block block) {
-        try (PreparedStatement ps = conn().prepareStatement(
-                "DELETE FROM jobs_placed_blocks WHERE world=? AND x=? AND y=? AND z=?")) {
-            ps.setString(1, block.getWorld().getName());
-            ps.setInt(2, block.getX());
-            ps.setInt(3, block.getY());
-            ps.setInt(4, block.getZ());
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.WARNING, "[BlockTracker] Failed to clear block in DB", e);
+    // -------------------------------------------------------------------------
+    // SQLite fallback implementation
+    // -------------------------------------------------------------------------
+
+    /**
+     * Moves the tags of all pushed blocks at once so overlapping moves don't
+     * clobber each other. Lookups are in memory; blocks of a chunk still loading
+     * are only moved if they were tagged since it started loading.
+     */
+    private void dbMove(List<Block> movedBlocks, BlockFace direction) {
+        List<Block> placed = new ArrayList<>();
+        List<String> placers = new ArrayList<>();
+        for (Block block : movedBlocks) {
+            String placer = index.getPlacer(block);
+            if (placer == null) continue;
+            placed.add(block);
+            placers.add(placer);
+        }
+        for (Block block : placed) {
+            index.remove(block);
+        }
+        for (int i = 0; i < placed.size(); i++) {
+            index.put(placed.get(i).getRelative(direction), placers.get(i));
         }
     }
 
     // -------------------------------------------------------------------------
-    // Helpers
+    // PersistentState — queued SQLite mutations
     // -------------------------------------------------------------------------
 
-    /** Generates a unique key for a non-tile block within its chunk's PDC. */
-    private String chunkKey(Block block) {
-        int lx = block.getX() & 0xF;
-        int lz = block.getZ() & 0xF;
-        return "pb_" + lx + "_" + block.getY() + "_" + lz;
+    @Override
+    public String name() { return index.name(); }
+
+    @Override
+    public Checkpoint capture() {
+        return PAPER_AVAILABLE ? null : index.capture();
     }
 
-    private Connection conn() {
-        return plugin.getDatabaseManager().getConnection();
+    @Override
+    public void checkpointFailed() {
+        if (!PAPER_AVAILABLE) index.checkpointFailed();
     }
 }
@@ -1,21 +1,55 @@
 package com.blockforge.horizonutilities.jobs.antiexploit;
 
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
 import com.blockforge.horizonutilities.jobs.JobStorageManager;
+import com.blockforge.horizonutilities.storage.PersistentState;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 /**
  * Provides a clean API for checking and enforcing per-job hourly income caps.
- * Delegates persistence to {@link JobStorageManager}.
+ * <p>
+ * Earnings are kept in an in-memory ledger keyed by (player, job, UTC hour),
+ * so the cap check on every paid action never touches the database. A
+ * player's current hour is seeded from {@code jobs_income_tracking} on join;
+ * new earnings are written back as deltas in the periodic state checkpoint
+ * and when the player quits. A new hour simply starts a new bucket, and
+ * buckets from past hours are dropped once their deltas are written.
  */
-public class IncomeCapManager {
+public class IncomeCapManager implements PersistentState {
 
+    private static final long HOUR_MS = 3_600_000L;
+
+    private record Key(UUID playerUuid, String jobId, long hour) {}
+
+    /** Earnings added to one hour bucket since the last write, in storage form. */
+    public record IncomeDelta(UUID playerUuid, String jobId, long hour, double amount) {}
+
+    private static final class Bucket {
+        double earned;
+        double pending;
+    }
+
+    private final HorizonUtilitiesPlugin plugin;
     private final JobStorageManager storage;
+    private final Map<Key, Bucket> ledger = new ConcurrentHashMap<>();
+    private List<IncomeDelta> lastCaptured = List.of();
 
-    public IncomeCapManager(JobStorageManager storage) {
+    public IncomeCapManager(HorizonUtilitiesPlugin plugin, JobStorageManager storage) {
+        this.plugin = plugin;
         this.storage = storage;
     }
 
+    /** The current UTC hour as counted by the ledger and {@code hour_key}. */
+    public static long currentHour() {
+        return System.currentTimeMillis() / HOUR_MS;
+    }
+
     // -------------------------------------------------------------------------
     // Public API
     // -------------------------------------------------------------------------
@@ -25,7 +59,11 @@ public class IncomeCapManager {
      * given job.
      */
     public double getHourlyEarned(UUID playerUuid, String jobId) {
-        return storage.getHourlyEarned(playerUuid, jobId);
+        Bucket bucket = ledger.get(new Key(playerUuid, jobId, currentHour()));
+        if (bucket == null) return 0.0;
+        synchronized (bucket) {
+            return bucket.earned;
+        }
     }
 
     /**
@@ -50,11 +88,101 @@ public class IncomeCapManager {
     }
 
     /**
-     * Records that the player earned {@code amount} from this job, updating the
-     * DB row for the current hour. Call AFTER a successful payment.
+     * Records that the player earned {@code amount} from this job in the
+     * current hour. Call AFTER a successful payment.
      */
     public void trackEarning(UUID playerUuid, String jobId, double amount) {
         if (amount <= 0) return;
-        storage.trackIncome(playerUuid, jobId, amount);
+        Bucket bucket = ledger.computeIfAbsent(new Key(playerUuid, jobId, currentHour()), k -> new Bucket());
+        synchronized (bucket) {
+            bucket.earned += amount;
+            bucket.pending += amount;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Player lifecycle
+    // -------------------------------------------------------------------------
+
+    /**
+     * Adds what the database already holds for the player's current hour.
+     * Safe to call from any thread, before or after the first earnings of
+     * the session are tracked.
+     */
+    public void seed(UUID playerUuid, long hour, Map<String, Double> earnedByJob) {
+        if (hour != currentHour()) return; // loaded just before the hour rolled over
+        earnedByJob.forEach((jobId, earned) -> {
+            Bucket bucket = ledger.computeIfAbsent(new Key(playerUuid, jobId, hour), k -> new Bucket());
+            synchronized (bucket) {
+                bucket.earned += earned;
+            }
+        });
+    }
+
+    /** Reads and seeds the player's current hour. Must run on a database thread. */
+    public void load(UUID playerUuid) {
+        long hour = currentHour();
+        seed(playerUuid, hour, storage.loadHourlyIncome(playerUuid, hour));
+    }
+
+    /** Queues the player's unwritten earnings on the writer and drops their buckets. */
+    public void release(UUID playerUuid) {
+        List<IncomeDelta> deltas = new ArrayList<>();
+        ledger.entrySet().removeIf(e -> {
+            if (!e.getKey().playerUuid().equals(playerUuid)) return false;
+            takePending(e.getKey(), e.getValue(), deltas);
+            return true;
+        });
+        if (deltas.isEmpty()) return;
+        plugin.getDatabaseManager().write(conn -> {
+            storage.addIncome(deltas);
+            return null;
+        }).exceptionally(e -> {
+            plugin.getLogger().log(Level.WARNING, "[Jobs] Failed to save income tracking for " + playerUuid, e);
+            return null;
+        });
+    }
+
+    // -------------------------------------------------------------------------
+    // PersistentState
+    // -------------------------------------------------------------------------
+
+    @Override
+    public String name() { return "income cap"; }
+
+    @Override
+    public Checkpoint capture() {
+        long hour = currentHour();
+        List<IncomeDelta> deltas = new ArrayList<>();
+        ledger.entrySet().removeIf(e -> {
+            takePending(e.getKey(), e.getValue(), deltas);
+            // Past hours can no longer be capped against
+            return e.getKey().hour() < hour;
+        });
+        if (deltas.isEmpty()) return null;
+        lastCaptured = deltas;
+        return conn -> {
+            storage.addIncome(deltas);
+            return deltas.size();
+        };
+    }
+
+    @Override
+    public void checkpointFailed() {
+        for (IncomeDelta d : lastCaptured) {
+            Bucket bucket = ledger.computeIfAbsent(new Key(d.playerUuid(), d.jobId(), d.hour()), k -> new Bucket());
+            synchronized (bucket) {
+                bucket.pending += d.amount();
+            }
+        }
+        lastCaptured = List.of();
+    }
+
+    private static void takePending(Key key, Bucket bucket, List<IncomeDelta> into) {
+        synchronized (bucket) {
+            if (bucket.pending <= 0) return;
+            into.add(new IncomeDelta(key.playerUuid(), key.jobId(), key.hour(), bucket.pending));
+            bucket.pending = 0;
+        }
     }
 }
@@ -0,0 +1,109 @@
+package com.blockforge.horizonutilities.jobs.antiexploit;
+
+/**
+ * Placed-block flags for one chunk: a 4096-bit set per 16x16x16 section,
+ * allocated only for sections that contain a placed block.
+ * <p>
+ * Serialised as a flat {@code long[]} of {@code [sectionY, 64 words]} groups,
+ * skipping empty sections, so a chunk costs a single PDC entry no matter how
+ * many blocks in it were placed.
+ */
+final class PlacedBlockBits {
+
+    private static final int WORDS_PER_SECTION = 64;
+
+    private final int minSection;
+    private final long[][] sections;
+    private boolean dirty;
+
+    PlacedBlockBits(int minHeight, int maxHeight) {
+        this.minSection = minHeight >> 4;
+        this.sections = new long[((maxHeight - 1) >> 4) - minSection + 1][];
+    }
+
+    boolean get(int x, int y, int z) {
+        long[] words = section(y);
+        if (words == null) return false;
+        int bit = index(x, y, z);
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    void set(int x, int y, int z) {
+        int s = (y >> 4) - minSection;
+        if (s < 0 || s >= sections.length) return;
+        long[] words = sections[s];
+        if (words == null) words = sections[s] = new long[WORDS_PER_SECTION];
+        int bit = index(x, y, z);
+        long mask = 1L << bit;
+        if ((words[bit >>> 6] & mask) == 0) {
+            words[bit >>> 6] |= mask;
+            dirty = true;
+        }
+    }
+
+    void clear(int x, int y, int z) {
+        long[] words = section(y);
+        if (words == null) return;
+        int bit = index(x, y, z);
+        long mask = 1L << bit;
+        if ((words[bit >>> 6] & mask) != 0) {
+            words[bit >>> 6] &= ~mask;
+            dirty = true;
+        }
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void markDirty() {
+        dirty = true;
+    }
+
+    /** Serialises the set and clears the dirty flag. */
+    long[] encode() {
+        int count = 0;
+        for (long[] words : sections) {
+            if (!isEmpty(words)) count++;
+        }
+        long[] data = new long[count * (WORDS_PER_SECTION + 1)];
+        int pos = 0;
+        for (int s = 0; s < sections.length; s++) {
+            long[] words = sections[s];
+            if (isEmpty(words)) continue;
+            data[pos++] = s + minSection;
+            System.arraycopy(words, 0, data, pos, WORDS_PER_SECTION);
+            pos += WORDS_PER_SECTION;
+        }
+        dirty = false;
+        return data;
+    }
+
+    /** Restores sets written by {@link #encode}; sections outside the world height are dropped. */
+    void decode(long[] data) {
+        for (int pos = 0; pos + WORDS_PER_SECTION < data.length; pos += WORDS_PER_SECTION + 1) {
+            int s = (int) data[pos] - minSection;
+            if (s < 0 || s >= sections.length) continue;
+            long[] words = new long[WORDS_PER_SECTION];
+            System.arraycopy(data, pos + 1, words, 0, WORDS_PER_SECTION);
+            sections[s] = words;
+        }
+    }
+
+    private long[] section(int y) {
+        int s = (y >> 4) - minSection;
+        return s >= 0 && s < sections.length ? sections[s] : null;
+    }
+
+    private static int index(int x, int y, int z) {
+        return ((y & 0xF) << 8) | ((z & 0xF) << 4) | (x & 0xF);
+    }
+
+    private static boolean isEmpty(long[] words) {
+        if (words == null) return true;
+        for (long w : words) {
+            if (w != 0) return false;
+        }
+        return true;
+    }
+}
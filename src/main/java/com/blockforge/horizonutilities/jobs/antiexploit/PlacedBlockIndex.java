@@ -0,0 +1,261 @@
+package com.blockforge.horizonutilities.jobs.antiexploit;
+
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.storage.PersistentState;
+import org.bukkit.block.Block;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * In-memory view of {@code jobs_placed_blocks} for the SQLite fallback of
+ * {@link BlockTracker}, partitioned by chunk.
+ * <p>
+ * A chunk's rows are read once when the chunk loads (or when one of its
+ * blocks is first touched, for chunks loaded earlier), on the writer thread
+ * so that every earlier mutation is already committed. They are dropped again
+ * when the chunk unloads. Mutations update the cache immediately and are
+ * queued, coalesced per block, for the
+ * {@link com.blockforge.horizonutilities.storage.StateCoordinator} checkpoint,
+ * which writes them as batched statements in one transaction.
+ * <p>
+ * Nothing is queried on the main thread. While a chunk is still loading, only
+ * the mutations made meanwhile (or still queued from before the chunk was last
+ * evicted) are known; every other block counts as not player-placed. Those
+ * mutations are replayed over the rows once they arrive. Main thread only.
+ */
+final class PlacedBlockIndex implements PersistentState {
+
+    private record BlockKey(String world, long pos) {}
+
+    private static final class ChunkEntry {
+        final Map<Long, String> blocks = new HashMap<>();
+        /** Mutations to replay over the loaded rows; null value = removed. Null once loaded. */
+        Map<Long, String> overlay = new HashMap<>();
+
+        boolean isLoaded() {
+            return overlay == null;
+        }
+    }
+
+    private final HorizonUtilitiesPlugin plugin;
+    private final Map<String, Map<Long, ChunkEntry>> chunks = new HashMap<>();
+    /** Unwritten mutations in order; a null placer is a delete. */
+    private Map<BlockKey, String> pending = new LinkedHashMap<>();
+    private Map<BlockKey, String> lastCaptured = Map.of();
+
+    PlacedBlockIndex(HorizonUtilitiesPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    // -------------------------------------------------------------------------
+    // Lookups and mutations
+    // -------------------------------------------------------------------------
+
+    boolean contains(Block block) {
+        return getPlacer(block) != null;
+    }
+
+    String getPlacer(Block block) {
+        ChunkEntry entry = entry(block);
+        long pos = pack(block.getX(), block.getY(), block.getZ());
+        return entry.isLoaded() ? entry.blocks.get(pos) : entry.overlay.get(pos);
+    }
+
+    void put(Block block, String placer) {
+        mutate(block, placer);
+    }
+
+    void remove(Block block) {
+        mutate(block, null);
+    }
+
+    private void mutate(Block block, String placer) {
+        ChunkEntry entry = entry(block);
+        long pos = pack(block.getX(), block.getY(), block.getZ());
+        Map<Long, String> target = entry.isLoaded() ? entry.blocks : entry.overlay;
+        if (placer != null) {
+            target.put(pos, placer);
+        } else if (entry.isLoaded()) {
+            if (target.remove(pos) == null) return; // nothing stored, nothing to delete
+        } else {
+            target.put(pos, null);
+        }
+        pending.put(new BlockKey(block.getWorld().getName(), pos), placer);
+    }
+
+    /** Starts loading a chunk's rows in the background, if they aren't cached yet. */
+    void load(String world, int chunkX, int chunkZ) {
+        entry(world, chunkX, chunkZ);
+    }
+
+    /** Drops an unloading chunk's rows; its queued mutations are still written. */
+    void evict(String world, int chunkX, int chunkZ) {
+        Map<Long, ChunkEntry> worldChunks = chunks.get(world);
+        if (worldChunks != null) worldChunks.remove(chunkKey(chunkX, chunkZ));
+    }
+
+    void evictWorld(String world) {
+        chunks.remove(world);
+    }
+
+    // -------------------------------------------------------------------------
+    // Chunk loading
+    // -------------------------------------------------------------------------
+
+    private ChunkEntry entry(Block block) {
+        return entry(block.getWorld().getName(), block.getX() >> 4, block.getZ() >> 4);
+    }
+
+    private ChunkEntry entry(String world, int chunkX, int chunkZ) {
+        Map<Long, ChunkEntry> worldChunks = chunks.computeIfAbsent(world, k -> new HashMap<>());
+        long key = chunkKey(chunkX, chunkZ);
+        ChunkEntry entry = worldChunks.get(key);
+        if (entry == null) {
+            entry = new ChunkEntry();
+            // Mutations still queued from before the chunk was last evicted
+            for (var e : pending.entrySet()) {
+                long pos = e.getKey().pos();
+                if (e.getKey().world().equals(world)
+                        && unpackX(pos) >> 4 == chunkX && unpackZ(pos) >> 4 == chunkZ) {
+                    entry.overlay.put(pos, e.getValue());
+                }
+            }
+            worldChunks.put(key, entry);
+            query(world, chunkX, chunkZ, entry);
+        }
+        return entry;
+    }
+
+    private void query(String world, int chunkX, int chunkZ, ChunkEntry entry) {
+        plugin.getDatabaseManager().write(conn -> queryChunk(conn, world, chunkX, chunkZ))
+                .whenComplete((rows, error) -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    Map<Long, ChunkEntry> worldChunks = chunks.get(world);
+                    if (worldChunks == null || worldChunks.get(chunkKey(chunkX, chunkZ)) != entry) return;
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        plugin.getLogger().log(Level.WARNING, "[BlockTracker] Failed to load placed blocks of chunk "
+                                + chunkX + "," + chunkZ + " in " + world + "; retrying on next access", cause);
+                        worldChunks.remove(chunkKey(chunkX, chunkZ));
+                        return;
+                    }
+                    entry.blocks.putAll(rows);
+                    entry.overlay.forEach((pos, placer) -> apply(entry.blocks, pos, placer));
+                    entry.overlay = null;
+                }));
+    }
+
+    private static void apply(Map<Long, String> blocks, long pos, String placer) {
+        if (placer != null) {
+            blocks.put(pos, placer);
+        } else {
+            blocks.remove(pos);
+        }
+    }
+
+    private static Map<Long, String> queryChunk(Connection conn, String world, int chunkX, int chunkZ)
+            throws SQLException {
+        Map<Long, String> rows = new HashMap<>();
+        int minX = chunkX << 4, minZ = chunkZ << 4;
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT x, y, z, player_uuid FROM jobs_placed_blocks "
+                        + "WHERE world=? AND x BETWEEN ? AND ? AND z BETWEEN ? AND ?")) {
+            ps.setString(1, world);
+            ps.setInt(2, minX);
+            ps.setInt(3, minX + 15);
+            ps.setInt(4, minZ);
+            ps.setInt(5, minZ + 15);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.put(pack(rs.getInt("x"), rs.getInt("y"), rs.getInt("z")), rs.getString("player_uuid"));
+                }
+            }
+        }
+        return rows;
+    }
+
+    // -------------------------------------------------------------------------
+    // PersistentState
+    // -------------------------------------------------------------------------
+
+    @Override
+    public String name() { return "placed block"; }
+
+    @Override
+    public Checkpoint capture() {
+        if (pending.isEmpty()) return null;
+        Map<BlockKey, String> captured = pending;
+        pending = new LinkedHashMap<>();
+        lastCaptured = captured;
+        String upsert = plugin.getDatabaseManager().getDialect().insertOrReplace()
+                + "jobs_placed_blocks (world, x, y, z, player_uuid, placed_at) VALUES (?, ?, ?, ?, ?, ?)";
+        long now = System.currentTimeMillis();
+        return conn -> {
+            try (PreparedStatement insert = conn.prepareStatement(upsert);
+                 PreparedStatement delete = conn.prepareStatement(
+                         "DELETE FROM jobs_placed_blocks WHERE world=? AND x=? AND y=? AND z=?")) {
+                boolean inserts = false, deletes = false;
+                for (var e : captured.entrySet()) {
+                    BlockKey key = e.getKey();
+                    long pos = key.pos();
+                    PreparedStatement ps = e.getValue() != null ? insert : delete;
+                    ps.setString(1, key.world());
+                    ps.setInt(2, unpackX(pos));
+                    ps.setInt(3, unpackY(pos));
+                    ps.setInt(4, unpackZ(pos));
+                    if (e.getValue() != null) {
+                        ps.setString(5, e.getValue());
+                        ps.setLong(6, now);
+                        inserts = true;
+                    } else {
+                        deletes = true;
+                    }
+                    ps.addBatch();
+                }
+                if (deletes) delete.executeBatch();
+                if (inserts) insert.executeBatch();
+            }
+            return captured.size();
+        };
+    }
+
+    @Override
+    public void checkpointFailed() {
+        // Keep anything mutated again since the capture; it is newer
+        Map<BlockKey, String> merged = new LinkedHashMap<>(lastCaptured);
+        merged.putAll(pending);
+        pending = merged;
+        lastCaptured = Map.of();
+    }
+
+    // -------------------------------------------------------------------------
+    // Packing
+    // -------------------------------------------------------------------------
+
+    static long chunkKey(int chunkX, int chunkZ) {
+        return (chunkX & 0xFFFFFFFFL) | ((long) chunkZ << 32);
+    }
+
+    /** Packs block coordinates as 26 bits x, 26 bits z, 12 bits y. */
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int unpackX(long pos) {
+        return (int) (pos >> 38);
+    }
+
+    private static int unpackY(long pos) {
+        return (int) (pos << 52 >> 52);
+    }
+
+    private static int unpackZ(long pos) {
+        return (int) (pos << 26 >> 38);
+    }
+}
@@ -1,21 +1,35 @@
 package com.blockforge.horizonutilities.jobs.boost;
 
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.events.JobBoostChangeEvent;
+import com.blockforge.horizonutilities.jobs.JobDispatchTable;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.sql.*;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 /**
  * Manages active {@link BoostEvent} instances, persisting them to the
  * {@code jobs_boosts} table so they survive restarts.
+ * <p>
+ * The active boosts are an immutable list, replaced whenever a boost starts,
+ * expires or is loaded. Their combined multiplier per job is compiled into a
+ * snapshot indexed by {@link JobDispatchTable} slot, so the per-action lookup
+ * is one array read. Expiry is driven by a task scheduled for the earliest
+ * end time rather than checked on every lookup; each start and end fires a
+ * {@link JobBoostChangeEvent}.
  */
 public class BoostManager {
 
+    /** Combined multipliers compiled for one dispatch table generation. */
+    private record Snapshot(int generation, double[] bySlot) {}
+
     private final HorizonUtilitiesPlugin plugin;
-    /** Thread-safe list; most operations read, few write. */
-    private final List<BoostEvent> activeBoosts = new CopyOnWriteArrayList<>();
+    private volatile List<BoostEvent> activeBoosts = List.of();
+    private volatile Snapshot snapshot = new Snapshot(0, new double[0]);
+    private BukkitTask expiryTask;
 
     public BoostManager(HorizonUtilitiesPlugin plugin) {
         this.plugin = plugin;
@@ -29,103 +43,176 @@ public class BoostManager {
      * Loads all currently-active boosts from the database. Call on startup.
      */
     public void loadFromDb() {
-        activeBoosts.clear();
+        List<BoostEvent> loaded = new ArrayList<>();
         long now = System.currentTimeMillis();
         try (PreparedStatement ps = conn().prepareStatement(
                 "SELECT * FROM jobs_boosts WHERE ends_at > ?")) {
             ps.setLong(1, now);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
-                activeBoosts.add(mapRow(rs));
+                loaded.add(mapRow(rs));
             }
-            plugin.getLogger().info("[Jobs] Loaded " + activeBoosts.size() + " active boost(s).");
+            plugin.getLogger().info("[Jobs] Loaded " + loaded.size() + " active boost(s).");
         } catch (SQLException e) {
             plugin.getLogger().log(Level.WARNING, "[Jobs] Failed to load boosts", e);
         }
+        replace(loaded);
     }
 
     /**
-     * Starts a new boost, inserts it into the DB, and adds it to the in-memory
-     * list.
+     * Starts a new boost: inserts it on the database writer, then adds it to
+     * the active boosts on the main thread. Call from the main thread.
      *
      * @param jobId       job id, or null for all-jobs boost
      * @param multiplier  e.g. 2.0 for double income
      * @param durationMs  boost duration in milliseconds
      * @param reason      human-readable reason shown in announcements
      * @param startedBy   UUID of the admin who started the boost
-     * @return the created BoostEvent, or null if insertion failed
+     * @return completes on the main thread with the created BoostEvent, or
+     *         null if insertion failed
      */
-    public BoostEvent startBoost(String jobId,
-                                  double multiplier,
-                                  long durationMs,
-                                  String reason,
-                                  UUID startedBy) {
+    public CompletableFuture<BoostEvent> startBoost(String jobId,
+                                                    double multiplier,
+                                                    long durationMs,
+                                                    String reason,
+                                                    UUID startedBy) {
         long now = System.currentTimeMillis();
         long endsAt = now + durationMs;
-        try (PreparedStatement ps = conn().prepareStatement(
-                "INSERT INTO jobs_boosts (job_id, multiplier, started_by, started_at, ends_at, reason) " +
-                "VALUES (?, ?, ?, ?, ?, ?)",
-                Statement.RETURN_GENERATED_KEYS)) {
-            ps.setString(1, jobId);
-            ps.setDouble(2, multiplier);
-            ps.setString(3, startedBy != null ? startedBy.toString() : "CONSOLE");
-            ps.setLong(4, now);
-            ps.setLong(5, endsAt);
-            ps.setString(6, reason);
-            ps.executeUpdate();
-
-            ResultSet keys = ps.getGeneratedKeys();
-            int id = keys.next() ? keys.getInt(1) : -1;
-            BoostEvent event = new BoostEvent(id, jobId, multiplier,
-                    startedBy != null ? startedBy.toString() : "CONSOLE",
-                    now, endsAt, reason);
-            activeBoosts.add(event);
-            return event;
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.WARNING, "[Jobs] Failed to start boost", e);
-            return null;
-        }
+        String startedByName = startedBy != null ? startedBy.toString() : "CONSOLE";
+        CompletableFuture<BoostEvent> result = new CompletableFuture<>();
+        plugin.getDatabaseManager().write(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO jobs_boosts (job_id, multiplier, started_by, started_at, ends_at, reason) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                ps.setString(1, jobId);
+                ps.setDouble(2, multiplier);
+                ps.setString(3, startedByName);
+                ps.setLong(4, now);
+                ps.setLong(5, endsAt);
+                ps.setString(6, reason);
+                ps.executeUpdate();
+
+                ResultSet keys = ps.getGeneratedKeys();
+                return keys.next() ? keys.getInt(1) : -1;
+            }
+        }).whenComplete((id, error) -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                plugin.getLogger().log(Level.WARNING, "[Jobs] Failed to start boost", cause);
+                result.complete(null);
+                return;
+            }
+            BoostEvent event = new BoostEvent(id, jobId, multiplier, startedByName, now, endsAt, reason);
+            List<BoostEvent> boosts = new ArrayList<>(activeBoosts);
+            boosts.add(event);
+            replace(boosts);
+            plugin.getServer().getPluginManager().callEvent(
+                    new JobBoostChangeEvent(event, JobBoostChangeEvent.Change.STARTED));
+            result.complete(event);
+        }));
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // Lookup
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the combined income multiplier for the job in {@code slot} of
+     * {@code table}: the product of all active boosts that apply to it, or 1.0.
+     * Main thread; recompiles the snapshot if the table was replaced.
+     */
+    public double getActiveMultiplier(JobDispatchTable table, int slot) {
+        Snapshot s = snapshot;
+        if (s.generation() != table.generation()) s = compile(table);
+        return s.bySlot()[slot];
     }
 
     /**
      * Returns the combined income multiplier for the given job, as the product
      * of all currently active boost multipliers that apply to it. Returns 1.0
-     * if there are no active boosts.
+     * if there are no active boosts. Scans the boosts; processing actions
+     * uses the slot-indexed overload instead.
      */
     public double getActiveMultiplier(String jobId) {
         double product = 1.0;
-        long now = System.currentTimeMillis();
         for (BoostEvent boost : activeBoosts) {
-            if (boost.getEndsAt() > now && boost.appliesTo(jobId)) {
-                product *= boost.getMultiplier();
-            }
+            if (boost.appliesTo(jobId)) product *= boost.getMultiplier();
         }
         return product;
     }
 
-    /**
-     * Removes expired boosts from the in-memory list. Does not touch the DB
-     * (expired rows stay as history). Call this periodically (e.g. every
-     * minute).
-     */
-    public void clearExpired() {
-        activeBoosts.removeIf(BoostEvent::isExpired);
-    }
-
-    /** Returns an unmodifiable view of currently active boosts. */
+    /** Returns an unmodifiable list of currently active boosts. */
     public List<BoostEvent> getActiveBoosts() {
-        return Collections.unmodifiableList(activeBoosts);
+        return activeBoosts;
     }
 
     /** Returns active boosts that apply to a specific job. */
     public List<BoostEvent> getBoostsForJob(String jobId) {
         List<BoostEvent> result = new ArrayList<>();
         for (BoostEvent b : activeBoosts) {
-            if (b.isActive() && b.appliesTo(jobId)) result.add(b);
+            if (b.appliesTo(jobId)) result.add(b);
         }
         return result;
     }
 
+    // -------------------------------------------------------------------------
+    // Snapshot and expiry
+    // -------------------------------------------------------------------------
+
+    /** Publishes a new boost list, invalidates the snapshot and reschedules expiry. */
+    private void replace(List<BoostEvent> boosts) {
+        activeBoosts = List.copyOf(boosts);
+        snapshot = new Snapshot(0, new double[0]);
+        scheduleExpiry();
+    }
+
+    private Snapshot compile(JobDispatchTable table) {
+        List<BoostEvent> boosts = activeBoosts;
+        double[] bySlot = new double[table.size()];
+        for (int slot = 0; slot < bySlot.length; slot++) {
+            double product = 1.0;
+            for (BoostEvent boost : boosts) {
+                if (boost.appliesTo(table.job(slot).getId())) product *= boost.getMultiplier();
+            }
+            bySlot[slot] = product;
+        }
+        Snapshot s = new Snapshot(table.generation(), bySlot);
+        snapshot = s;
+        return s;
+    }
+
+    private void scheduleExpiry() {
+        if (expiryTask != null) {
+            expiryTask.cancel();
+            expiryTask = null;
+        }
+        long next = Long.MAX_VALUE;
+        for (BoostEvent boost : activeBoosts) next = Math.min(next, boost.getEndsAt());
+        if (next == Long.MAX_VALUE) return;
+        long delayTicks = Math.max(1, (next - System.currentTimeMillis() + 49) / 50);
+        expiryTask = plugin.getServer().getScheduler().runTaskLater(plugin, this::expire, delayTicks);
+    }
+
+    /**
+     * Removes expired boosts from the active list. Does not touch the DB
+     * (expired rows stay as history).
+     */
+    private void expire() {
+        expiryTask = null;
+        List<BoostEvent> remaining = new ArrayList<>();
+        List<BoostEvent> ended = new ArrayList<>();
+        for (BoostEvent boost : activeBoosts) {
+            (boost.isExpired() ? ended : remaining).add(boost);
+        }
+        replace(remaining);
+        for (BoostEvent boost : ended) {
+            plugin.getServer().getPluginManager().callEvent(
+                    new JobBoostChangeEvent(boost, JobBoostChangeEvent.Change.ENDED));
+        }
+    }
+
     // -------------------------------------------------------------------------
     // Internal helpers
     // -------------------------------------------------------------------------
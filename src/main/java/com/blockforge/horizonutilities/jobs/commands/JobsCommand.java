@@ -3,7 +3,6 @@ package com.blockforge.horizonutilities.jobs.commands;
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
 import com.blockforge.horizonutilities.jobs.Job;
 import com.blockforge.horizonutilities.jobs.JobPlayer;
-import com.blockforge.horizonutilities.jobs.boost.BoostEvent;
 import com.blockforge.horizonutilities.jobs.gui.*;
 import com.blockforge.horizonutilities.jobs.leaderboard.JobLeaderboardGUI;
 import com.blockforge.horizonutilities.jobs.quests.daily.ActiveQuest;
@@ -270,9 +269,7 @@ public class JobsCommand implements CommandExecutor {
                     plugin.getJobManager().getPlayerJobs(target.getUniqueId()).stream()
                             .filter(jp -> jp.getJobId().equalsIgnoreCase(args[3]))
                             .findFirst().ifPresent(jp -> {
-                                jp.setLevel(level);
-                                plugin.getServer().getScheduler().runTaskAsynchronously(plugin,
-                                        () -> plugin.getJobManager().getStorage().savePlayerJob(jp));
+                                jp.setLevel(level); // written by the next checkpoint
                                 sender.sendMessage(Component.text("[Jobs] Set " + target.getName()
                                         + "'s " + args[3] + " level to " + level, NamedTextColor.GREEN));
                             });
@@ -306,13 +303,15 @@ public class JobsCommand implements CommandExecutor {
                     String reason = args.length >= 6 ? String.join(" ",
                             Arrays.copyOfRange(args, 5, args.length)) : "Admin boost";
                     UUID startedBy = sender instanceof Player p ? p.getUniqueId() : null;
-                    BoostEvent boost = plugin.getJobManager().getBoostManager()
-                            .startBoost(jobId, mult, durationMs, reason, startedBy);
-                    if (boost != null) {
-                        sender.sendMessage(Component.text("[Jobs] Boost started: x" + mult
-                                + " for " + args[4] + "s on " + (jobId != null ? jobId : "all jobs"),
-                                NamedTextColor.GREEN));
-                    }
+                    plugin.getJobManager().getBoostManager()
+                            .startBoost(jobId, mult, durationMs, reason, startedBy)
+                            .thenAccept(boost -> {
+                                if (boost != null) {
+                                    sender.sendMessage(Component.text("[Jobs] Boost started: x" + mult
+                                            + " for " + args[4] + "s on " + (jobId != null ? jobId : "all jobs"),
+                                            NamedTextColor.GREEN));
+                                }
+                            });
                 } catch (NumberFormatException e) {
                     sender.sendMessage(Component.text("[Jobs] Invalid multiplier or duration.", NamedTextColor.RED));
                 }
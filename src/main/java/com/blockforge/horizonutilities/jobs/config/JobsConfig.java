@@ -23,6 +23,8 @@ public class JobsConfig {
 
     // Payment
     private PaymentMode paymentMode;
+    private int periodicIntervalSeconds;
+    private int payoutWindowTicks;
 
     // XP
     private double xpBase;
@@ -43,6 +45,9 @@ public class JobsConfig {
     private double exploreChunkReward;
     private double exploreDistancePerBlock;
     private int exploreDistanceThreshold;
+    private int exploreSaveIntervalSeconds;
+    private ExploreTracking exploreTracking;
+    private int exploreSampleIntervalTicks;
 
     // Quests
     private int questDailyCount;
@@ -64,8 +69,12 @@ public class JobsConfig {
     private BossBar.Color bossBarColor;
     private BossBar.Overlay bossBarOverlay;
 
+    // HUD
+    private int hudRenderIntervalTicks;
+
     public enum PaymentMode { PER_ACTION, PERIODIC }
     public enum ExploreMode { CHUNK_DISCOVERY, DISTANCE }
+    public enum ExploreTracking { SAMPLER, MOVE_EVENT }
 
     public JobsConfig(HorizonUtilitiesPlugin plugin) {
         this.plugin = plugin;
@@ -85,6 +94,8 @@ public class JobsConfig {
 
         String pmStr = cfg.getString("payment-mode", "PER_ACTION").toUpperCase(Locale.ROOT).replace("-", "_");
         paymentMode = safeEnum(PaymentMode.class, pmStr, PaymentMode.PER_ACTION);
+        periodicIntervalSeconds = cfg.getInt("periodic-interval-seconds", 300);
+        payoutWindowTicks = cfg.getInt("payout-window-ticks", 1);
 
         xpBase     = cfg.getDouble("xp-formula.base", 100.0);
         xpExponent = cfg.getDouble("xp-formula.exponent", 1.5);
@@ -103,6 +114,10 @@ public class JobsConfig {
         exploreChunkReward        = cfg.getDouble("explore-chunk-reward", 5.0);
         exploreDistancePerBlock   = cfg.getDouble("explore-distance-per-block", 0.1);
         exploreDistanceThreshold  = cfg.getInt("explore-distance-threshold-blocks", 10);
+        exploreSaveIntervalSeconds = cfg.getInt("explore-save-interval-seconds", 60);
+        String etStr = cfg.getString("explore-tracking", "SAMPLER").toUpperCase(Locale.ROOT).replace("-", "_");
+        exploreTracking           = safeEnum(ExploreTracking.class, etStr, ExploreTracking.SAMPLER);
+        exploreSampleIntervalTicks = Math.max(1, cfg.getInt("explore-sample-interval-ticks", 10));
 
         questDailyCount = cfg.getInt("quests.daily-count", 3);
         questResetHour  = cfg.getInt("quests.reset-hour", 0);
@@ -129,6 +144,8 @@ public class JobsConfig {
         String overlayStr      = cfg.getString("boss-bar.overlay", "PROGRESS").toUpperCase(Locale.ROOT);
         bossBarColor   = safeEnum(BossBar.Color.class, colorStr, BossBar.Color.BLUE);
         bossBarOverlay = safeEnum(BossBar.Overlay.class, overlayStr, BossBar.Overlay.PROGRESS);
+
+        hudRenderIntervalTicks = Math.max(1, cfg.getInt("hud.render-interval-ticks", 1));
     }
 
     // -------------------------------------------------------------------------
@@ -148,6 +165,14 @@ public class JobsConfig {
     public int getMaxPrestige()               { return maxPrestige; }
     public double getPrestigeMultiplier()     { return prestigeMultiplier; }
     public PaymentMode getPaymentMode()       { return paymentMode; }
+    public int getPeriodicIntervalSeconds()   { return periodicIntervalSeconds; }
+
+    /** Ticks over which job payouts are summed before one deposit per player. */
+    public int getPayoutWindowTicks() {
+        return paymentMode == PaymentMode.PERIODIC
+                ? Math.max(1, periodicIntervalSeconds * 20)
+                : Math.max(1, payoutWindowTicks);
+    }
     public double getXpBase()                 { return xpBase; }
     public double getXpExponent()             { return xpExponent; }
     public boolean isBlockTracking()          { return blockTracking; }
@@ -162,6 +187,9 @@ public class JobsConfig {
     public double getExploreChunkReward()     { return exploreChunkReward; }
     public double getExploreDistancePerBlock(){ return exploreDistancePerBlock; }
     public int getExploreDistanceThreshold()  { return exploreDistanceThreshold; }
+    public int getExploreSaveIntervalSeconds(){ return exploreSaveIntervalSeconds; }
+    public ExploreTracking getExploreTracking(){ return exploreTracking; }
+    public int getExploreSampleIntervalTicks(){ return exploreSampleIntervalTicks; }
     public int getQuestDailyCount()           { return questDailyCount; }
     public int getQuestResetHour()            { return questResetHour; }
     public boolean isTaxEnabled()             { return taxEnabled; }
@@ -174,4 +202,5 @@ public class JobsConfig {
     public int getBossBarDurationSeconds()        { return bossBarDurationSeconds; }
     public BossBar.Color getBossBarColor()        { return bossBarColor; }
     public BossBar.Overlay getBossBarOverlay()    { return bossBarOverlay; }
+    public int getHudRenderIntervalTicks()        { return hudRenderIntervalTicks; }
 }
@@ -0,0 +1,202 @@
+package com.blockforge.horizonutilities.jobs.explore;
+
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.events.JobExploreEvent;
+import com.blockforge.horizonutilities.jobs.JobAction;
+import com.blockforge.horizonutilities.jobs.JobManager;
+import com.blockforge.horizonutilities.jobs.config.JobsConfig;
+import com.blockforge.horizonutilities.jobs.listeners.JobExploreListener;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Drives explore jobs without listening to {@code PlayerMoveEvent}.
+ * <p>
+ * In {@code sampler} tracking mode one task runs every tick and samples a
+ * slice of the online players, so each player is visited once every
+ * {@code explore-sample-interval-ticks}. Players without a job that pays for
+ * the configured explore action are skipped. Positions are kept in
+ * primitive fields and read into a reused {@link Location}, so a sample
+ * allocates nothing and never loads a chunk. Distance crossed since the
+ * last sample is paid as one batched action. Teleports and respawns move the
+ * sampled position without adding distance.
+ * <p>
+ * In {@code move-event} mode the sampler stays idle and registers
+ * {@link JobExploreListener} instead. {@link #applyConfig} switches between
+ * the two on reload.
+ */
+public class ExploreSampler {
+
+    /** Faster than this (blocks per tick) is not paid, e.g. a teleport the events missed. */
+    private static final double MAX_BLOCKS_PER_TICK = 10.0;
+
+    private static final class Sample {
+        World world;
+        double x, y, z;
+        int chunkX, chunkZ;
+        double distance;
+        long tick;
+    }
+
+    private final HorizonUtilitiesPlugin plugin;
+    private final JobManager jobManager;
+    private final JobExploreListener moveListener;
+    private final TeleportListener teleportListener = new TeleportListener();
+    private final Map<UUID, Sample> samples = new HashMap<>();
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    private Player[] cycle = new Player[0];
+    private int cursor;
+    private long tick;
+    private BukkitTask task;
+    private boolean listenerRegistered;
+
+    public ExploreSampler(HorizonUtilitiesPlugin plugin, JobManager jobManager) {
+        this.plugin = plugin;
+        this.jobManager = jobManager;
+        this.moveListener = new JobExploreListener(plugin);
+    }
+
+    /** Starts the sampler or registers the move listener, whichever the config asks for. */
+    public void applyConfig() {
+        if (jobManager.getConfig().getExploreTracking() == JobsConfig.ExploreTracking.MOVE_EVENT) {
+            if (task != null) {
+                task.cancel();
+                task = null;
+                HandlerList.unregisterAll(teleportListener);
+                samples.clear();
+            }
+            if (!listenerRegistered) {
+                plugin.getServer().getPluginManager().registerEvents(moveListener, plugin);
+                listenerRegistered = true;
+            }
+        } else {
+            if (listenerRegistered) {
+                HandlerList.unregisterAll(moveListener);
+                listenerRegistered = false;
+            }
+            if (task == null) {
+                task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+                plugin.getServer().getPluginManager().registerEvents(teleportListener, plugin);
+            }
+        }
+    }
+
+    /** Forgets a player's sample state (call on quit). */
+    public void clearPlayer(UUID uuid) {
+        samples.remove(uuid);
+        moveListener.clearPlayer(uuid);
+    }
+
+    /**
+     * Moves a player's sampled position to {@code to} without paying for the
+     * jump. The sampled chunk is kept, so a new chunk at the destination is
+     * still discovered by the next sample.
+     */
+    private void relocate(Player player, Location to) {
+        Sample s = samples.get(player.getUniqueId());
+        if (s == null || to == null || to.getWorld() == null) return;
+        if (s.world != to.getWorld()) s.chunkX = Integer.MIN_VALUE; // no chunk of the new world yet
+        s.world = to.getWorld();
+        s.x = to.getX();
+        s.y = to.getY();
+        s.z = to.getZ();
+        s.tick = tick;
+    }
+
+    private final class TeleportListener implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onTeleport(PlayerTeleportEvent event) {
+            relocate(event.getPlayer(), event.getTo());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onRespawn(PlayerRespawnEvent event) {
+            relocate(event.getPlayer(), event.getRespawnLocation());
+        }
+    }
+
+    private void tick() {
+        tick++;
+        if (cursor >= cycle.length) {
+            cycle = plugin.getServer().getOnlinePlayers().toArray(cycle);
+            cursor = 0;
+        }
+        int interval = jobManager.getConfig().getExploreSampleIntervalTicks();
+        int slice = (cycle.length + interval - 1) / interval;
+        for (int n = 0; n < slice && cursor < cycle.length; n++) {
+            Player player = cycle[cursor];
+            cycle[cursor++] = null;
+            if (player != null && player.isOnline()) sample(player);
+        }
+    }
+
+    private void sample(Player player) {
+        JobsConfig cfg = jobManager.getConfig();
+        boolean chunkMode = cfg.getExploreMode() == JobsConfig.ExploreMode.CHUNK_DISCOVERY;
+        UUID uuid = player.getUniqueId();
+        if (!jobManager.paysFor(uuid, chunkMode ? JobAction.EXPLORE_CHUNK : JobAction.EXPLORE_DISTANCE,
+                chunkMode ? "CHUNK" : "DISTANCE")) {
+            samples.remove(uuid);
+            return;
+        }
+
+        player.getLocation(scratch);
+        World world = scratch.getWorld();
+        double x = scratch.getX(), y = scratch.getY(), z = scratch.getZ();
+        int chunkX = scratch.getBlockX() >> 4, chunkZ = scratch.getBlockZ() >> 4;
+
+        Sample s = samples.get(uuid);
+        boolean moved;
+        if (s == null || s.world != world) {
+            if (s == null) {
+                s = new Sample();
+                samples.put(uuid, s);
+            }
+            s.distance = 0;
+            moved = true;
+        } else {
+            double dx = x - s.x, dy = y - s.y, dz = z - s.z;
+            double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            if (dist <= MAX_BLOCKS_PER_TICK * (tick - s.tick)) s.distance += dist;
+            moved = chunkX != s.chunkX || chunkZ != s.chunkZ;
+        }
+        s.world = world;
+        s.x = x;
+        s.y = y;
+        s.z = z;
+        s.chunkX = chunkX;
+        s.chunkZ = chunkZ;
+        s.tick = tick;
+
+        if (chunkMode) {
+            if (moved && jobManager.getExploreTracker().discover(uuid, world.getName(), chunkX, chunkZ)) {
+                jobManager.processAction(player, JobAction.EXPLORE_CHUNK, "CHUNK");
+                plugin.getServer().getPluginManager().callEvent(new JobExploreEvent(player));
+            }
+            return;
+        }
+
+        int threshold = cfg.getExploreDistanceThreshold();
+        if (threshold <= 0 || s.distance < threshold) return;
+        int times = (int) (s.distance / threshold);
+        s.distance -= times * (double) threshold;
+        jobManager.processAction(player, JobAction.EXPLORE_DISTANCE, "DISTANCE", times);
+        for (int i = 0; i < times; i++) {
+            plugin.getServer().getPluginManager().callEvent(new JobExploreEvent(player));
+        }
+    }
+}
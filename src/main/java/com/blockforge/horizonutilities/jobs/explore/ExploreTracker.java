@@ -0,0 +1,231 @@
+package com.blockforge.horizonutilities.jobs.explore;
+
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.jobs.JobStorageManager;
+import com.blockforge.horizonutilities.storage.PersistentState;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Remembers which chunks each online player has explored, for
+ * {@code CHUNK_DISCOVERY} explore mode.
+ * <p>
+ * A player's {@link ExploredChunkSet}s are read with their session and kept
+ * in memory, so "seen before?" is answered on the main thread without a
+ * query. Each world's set is stored as one blob in {@code jobs_explored_bitmaps}.
+ * Changed sets are written by the state checkpoint at most every
+ * {@code explore-save-interval-seconds}, and when the player quits.
+ * <p>
+ * Players who still have rows in the old one-row-per-chunk
+ * {@code jobs_explored_chunks} table have them folded into their sets on
+ * load. Those rows are deleted in the same transaction that first stores
+ * the world's blob.
+ * <p>
+ * A player whose sets could not be read is left uninstalled: nothing is
+ * discovered for them and nothing is saved over their stored sets until a
+ * retried load succeeds. Likewise, a world whose stored blob can't be
+ * decoded is read-only for that player: nothing is discovered or saved there.
+ */
+public class ExploreTracker implements PersistentState {
+
+    /**
+     * A player's sets as read from storage, the worlds that still have legacy
+     * rows, and the worlds whose stored set could not be decoded.
+     */
+    public record Loaded(Map<String, ExploredChunkSet> worlds, Set<String> legacyWorlds,
+                         Set<String> unreadableWorlds) {}
+
+    /** One world's set, serialised on the main thread for writing. */
+    public record Snapshot(UUID playerUuid, String world, byte[] data, int chunkCount, boolean dropLegacy) {}
+
+    private static final class PlayerChunks {
+        final Map<String, ExploredChunkSet> worlds;
+        final Set<String> legacyWorlds;
+        final Set<String> readOnlyWorlds;
+        final Set<String> dirty = new HashSet<>();
+        long lastSaved = System.currentTimeMillis();
+
+        PlayerChunks(Loaded loaded) {
+            this.worlds = new HashMap<>(loaded.worlds());
+            this.legacyWorlds = new HashSet<>(loaded.legacyWorlds());
+            this.readOnlyWorlds = Set.copyOf(loaded.unreadableWorlds());
+            dirty.addAll(legacyWorlds);
+        }
+    }
+
+    /** Delay before a failed load is retried, while the player is still online. */
+    private static final long LOAD_RETRY_TICKS = 20L * 30;
+
+    private final HorizonUtilitiesPlugin plugin;
+    private final JobStorageManager storage;
+    private final Map<UUID, PlayerChunks> players = new ConcurrentHashMap<>();
+    private List<Snapshot> lastCaptured = List.of();
+    /** Failed snapshots of players who have quit; merged into the stored sets, never written over them. */
+    private List<Snapshot> retry = new ArrayList<>();
+    private volatile boolean flushAll;
+
+    public ExploreTracker(HorizonUtilitiesPlugin plugin, JobStorageManager storage) {
+        this.plugin = plugin;
+        this.storage = storage;
+    }
+
+    // -------------------------------------------------------------------------
+    // Player lifecycle
+    // -------------------------------------------------------------------------
+
+    /** Installs sets that were already read (e.g. by the session loader). Main thread. */
+    public void install(UUID playerUuid, Loaded loaded) {
+        PlayerChunks p = new PlayerChunks(loaded);
+        // A rejoining player's unwritten retries are newer than what was just read
+        retry.removeIf(s -> {
+            if (!s.playerUuid().equals(playerUuid)) return false;
+            absorb(p, s);
+            return true;
+        });
+        players.put(playerUuid, p);
+    }
+
+    /**
+     * Reads the player's sets and installs them on the main thread. Must run on
+     * a database thread. If the read fails it is retried later on a reader.
+     */
+    public void load(UUID playerUuid) {
+        Loaded loaded;
+        try {
+            loaded = storage.loadExploredChunks(playerUuid);
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "[Jobs] Failed to load explored chunks for " + playerUuid
+                    + "; retrying in " + LOAD_RETRY_TICKS / 20 + " seconds", e);
+            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+                if (plugin.getServer().getPlayer(playerUuid) == null || players.containsKey(playerUuid)) return;
+                plugin.getDatabaseManager().read(conn -> {
+                    load(playerUuid);
+                    return null;
+                });
+            }, LOAD_RETRY_TICKS);
+            return;
+        }
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            if (plugin.getServer().getPlayer(playerUuid) != null && !players.containsKey(playerUuid)) {
+                install(playerUuid, loaded);
+            }
+        });
+    }
+
+    /** Queues the player's changed sets on the writer and forgets them. Main thread. */
+    public void release(UUID playerUuid) {
+        PlayerChunks p = players.remove(playerUuid);
+        if (p == null || p.dirty.isEmpty()) return;
+        List<Snapshot> snapshots = new ArrayList<>();
+        snapshot(playerUuid, p, snapshots);
+        plugin.getDatabaseManager().write(conn -> {
+            storage.saveExploredChunks(snapshots);
+            return null;
+        }).exceptionally(e -> {
+            plugin.getLogger().log(Level.WARNING, "[Jobs] Failed to save explored chunks for " + playerUuid, e);
+            return null;
+        });
+    }
+
+    // -------------------------------------------------------------------------
+    // Lookup
+    // -------------------------------------------------------------------------
+
+    /**
+     * Records that the player entered a chunk. Returns {@code true} only the
+     * first time, and never while the player's data is still loading or in a
+     * world whose stored set is unreadable.
+     */
+    public boolean discover(UUID playerUuid, String world, int chunkX, int chunkZ) {
+        PlayerChunks p = players.get(playerUuid);
+        if (p == null || p.readOnlyWorlds.contains(world)) return false;
+        ExploredChunkSet set = p.worlds.get(world);
+        if (set == null) {
+            set = new ExploredChunkSet();
+            p.worlds.put(world, set);
+        }
+        if (!set.add(chunkX, chunkZ)) return false;
+        p.dirty.add(world);
+        return true;
+    }
+
+    // -------------------------------------------------------------------------
+    // PersistentState
+    // -------------------------------------------------------------------------
+
+    @Override
+    public String name() { return "explored chunk"; }
+
+    @Override
+    public void stopIntake() {
+        flushAll = true;
+    }
+
+    @Override
+    public Checkpoint capture() {
+        long due = System.currentTimeMillis()
+                - plugin.getJobManager().getConfig().getExploreSaveIntervalSeconds() * 1000L;
+        List<Snapshot> merges = retry;
+        retry = new ArrayList<>();
+        List<Snapshot> snapshots = new ArrayList<>();
+        players.forEach((uuid, p) -> {
+            if (!p.dirty.isEmpty() && (flushAll || p.lastSaved <= due)) snapshot(uuid, p, snapshots);
+        });
+        if (snapshots.isEmpty() && merges.isEmpty()) return null;
+        List<Snapshot> all = new ArrayList<>(snapshots);
+        all.addAll(merges);
+        lastCaptured = all;
+        return conn -> {
+            storage.saveExploredChunks(snapshots);
+            // The player's quit may have stored a newer set since these were captured
+            storage.mergeExploredChunks(merges);
+            return all.size();
+        };
+    }
+
+    @Override
+    public void checkpointFailed() {
+        for (Snapshot s : lastCaptured) {
+            PlayerChunks p = players.get(s.playerUuid());
+            if (p == null) {
+                retry.add(s);
+            } else {
+                absorb(p, s);
+            }
+        }
+        lastCaptured = List.of();
+    }
+
+    /** Marks a failed snapshot's world for the next save, folding in its chunks in case it came from a retry. */
+    private void absorb(PlayerChunks p, Snapshot s) {
+        if (p.readOnlyWorlds.contains(s.world())) return;
+        try {
+            p.worlds.computeIfAbsent(s.world(), w -> new ExploredChunkSet())
+                    .addAll(ExploredChunkSet.fromBytes(s.data()));
+        } catch (java.io.IOException e) {
+            plugin.getLogger().log(Level.WARNING, "[Jobs] Dropping unreadable explored chunk snapshot", e);
+            return;
+        }
+        p.dirty.add(s.world());
+        if (s.dropLegacy()) p.legacyWorlds.add(s.world());
+    }
+
+    private static void snapshot(UUID playerUuid, PlayerChunks p, List<Snapshot> into) {
+        for (String world : p.dirty) {
+            ExploredChunkSet set = p.worlds.get(world);
+            if (set == null) continue;
+            into.add(new Snapshot(playerUuid, world, set.toBytes(), set.size(), p.legacyWorlds.remove(world)));
+        }
+        p.dirty.clear();
+        p.lastSaved = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,197 @@
+package com.blockforge.horizonutilities.jobs.explore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The chunks one player has explored in one world, stored roaring-style:
+ * chunk coordinates are split into a 64x64-chunk container key and a 12-bit
+ * offset. A container holds a sorted {@code short[]} of offsets while sparse
+ * and switches to a 4096-bit bitmap once that is smaller, so a trail across
+ * the map costs two bytes per chunk and a fully explored area one bit.
+ * <p>
+ * Not thread-safe; owned by the main thread.
+ */
+public final class ExploredChunkSet {
+
+    private static final int CONTAINER_SHIFT = 6;
+    private static final int CONTAINER_MASK = (1 << CONTAINER_SHIFT) - 1;
+    private static final int BITMAP_WORDS = 64;
+    /** Above this many offsets a bitmap (512 bytes) is smaller than the array. */
+    private static final int ARRAY_MAX = 256;
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final class Container {
+        short[] array = new short[4];
+        long[] bitmap;
+        int cardinality;
+
+        boolean contains(int offset) {
+            if (bitmap != null) return (bitmap[offset >>> 6] & (1L << offset)) != 0;
+            return Arrays.binarySearch(array, 0, cardinality, (short) offset) >= 0;
+        }
+
+        boolean add(int offset) {
+            if (bitmap != null) {
+                long mask = 1L << offset;
+                if ((bitmap[offset >>> 6] & mask) != 0) return false;
+                bitmap[offset >>> 6] |= mask;
+                cardinality++;
+                return true;
+            }
+            int pos = Arrays.binarySearch(array, 0, cardinality, (short) offset);
+            if (pos >= 0) return false;
+            pos = -pos - 1;
+            if (cardinality == ARRAY_MAX) {
+                toBitmap();
+                return add(offset);
+            }
+            if (cardinality == array.length) array = Arrays.copyOf(array, Math.min(ARRAY_MAX, cardinality * 2));
+            System.arraycopy(array, pos, array, pos + 1, cardinality - pos);
+            array[pos] = (short) offset;
+            cardinality++;
+            return true;
+        }
+
+        private void toBitmap() {
+            bitmap = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                int offset = array[i];
+                bitmap[offset >>> 6] |= 1L << offset;
+            }
+            array = null;
+        }
+    }
+
+    private final Map<Long, Container> containers = new HashMap<>();
+    private int size;
+
+    // Explorers mostly stay within one container for a while
+    private long lastKey;
+    private Container lastContainer;
+
+    /** Records the chunk; returns {@code true} if it had not been explored before. */
+    public boolean add(int chunkX, int chunkZ) {
+        long key = key(chunkX, chunkZ);
+        Container container = container(key);
+        if (container == null) {
+            container = new Container();
+            containers.put(key, container);
+            lastKey = key;
+            lastContainer = container;
+        }
+        if (!container.add(offset(chunkX, chunkZ))) return false;
+        size++;
+        return true;
+    }
+
+    public boolean contains(int chunkX, int chunkZ) {
+        Container container = container(key(chunkX, chunkZ));
+        return container != null && container.contains(offset(chunkX, chunkZ));
+    }
+
+    /** Adds every chunk of {@code other}; returns how many were new. */
+    public int addAll(ExploredChunkSet other) {
+        int added = 0;
+        for (var e : other.containers.entrySet()) {
+            Container from = e.getValue();
+            Container into = containers.computeIfAbsent(e.getKey(), k -> new Container());
+            if (from.bitmap != null) {
+                for (int offset = 0; offset < BITMAP_WORDS * 64; offset++) {
+                    if ((from.bitmap[offset >>> 6] & (1L << offset)) != 0 && into.add(offset)) added++;
+                }
+            } else {
+                for (int i = 0; i < from.cardinality; i++) {
+                    if (into.add(from.array[i])) added++;
+                }
+            }
+        }
+        size += added;
+        return added;
+    }
+
+    /** Number of explored chunks. */
+    public int size() {
+        return size;
+    }
+
+    private Container container(long key) {
+        if (lastContainer != null && lastKey == key) return lastContainer;
+        Container container = containers.get(key);
+        if (container != null) {
+            lastKey = key;
+            lastContainer = container;
+        }
+        return container;
+    }
+
+    private static long key(int chunkX, int chunkZ) {
+        return ((long) (chunkX >> CONTAINER_SHIFT) << 32) | ((chunkZ >> CONTAINER_SHIFT) & 0xFFFFFFFFL);
+    }
+
+    private static int offset(int chunkX, int chunkZ) {
+        return ((chunkZ & CONTAINER_MASK) << CONTAINER_SHIFT) | (chunkX & CONTAINER_MASK);
+    }
+
+    // -------------------------------------------------------------------------
+    // Serialisation
+    // -------------------------------------------------------------------------
+
+    /**
+     * Layout: format version, container count, then per container its key,
+     * cardinality and either the sorted offsets or the 64 bitmap words.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + size * 2);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(containers.size());
+            for (var e : containers.entrySet()) {
+                Container c = e.getValue();
+                out.writeLong(e.getKey());
+                out.writeShort(c.cardinality);
+                if (c.bitmap != null) {
+                    for (long word : c.bitmap) out.writeLong(word);
+                } else {
+                    for (int i = 0; i < c.cardinality; i++) out.writeShort(c.array[i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Reads a set written by {@link #toBytes}. */
+    public static ExploredChunkSet fromBytes(byte[] data) throws IOException {
+        ExploredChunkSet set = new ExploredChunkSet();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) throw new IOException("Unknown explored chunk format " + version);
+            int count = in.readInt();
+            for (int n = 0; n < count; n++) {
+                long key = in.readLong();
+                Container c = new Container();
+                c.cardinality = in.readUnsignedShort();
+                if (c.cardinality > ARRAY_MAX) {
+                    c.bitmap = new long[BITMAP_WORDS];
+                    for (int i = 0; i < BITMAP_WORDS; i++) c.bitmap[i] = in.readLong();
+                    c.array = null;
+                } else {
+                    c.array = new short[Math.max(4, c.cardinality)];
+                    for (int i = 0; i < c.cardinality; i++) c.array[i] = in.readShort();
+                }
+                set.containers.put(key, c);
+                set.size += c.cardinality;
+            }
+        }
+        return set;
+    }
+}
@@ -4,7 +4,6 @@ import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
 import com.blockforge.horizonutilities.jobs.Job;
 import com.blockforge.horizonutilities.jobs.JobAction;
 import com.blockforge.horizonutilities.jobs.JobActionEntry;
-import com.blockforge.horizonutilities.jobs.JobLevelCalculator;
 import com.blockforge.horizonutilities.jobs.JobPlayer;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -101,10 +100,8 @@ public class JobInfoGUI implements InventoryHolder {
         meta.displayName(Component.text("Your Stats", NamedTextColor.YELLOW)
                 .decoration(TextDecoration.ITALIC, false));
 
-        double xpNeeded = JobLevelCalculator.getXpToNextLevel(
-                jp.getXp(), jp.getLevel(),
-                plugin.getJobManager().getConfig().getXpBase(),
-                plugin.getJobManager().getConfig().getXpExponent());
+        double xpNeeded = plugin.getJobManager().getXpCurve(jp.getJobId())
+                .xpToNextLevel(jp.getXp(), jp.getLevel());
 
         List<Component> lore = new ArrayList<>();
         lore.add(Component.text("Level: ", NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false)
@@ -123,12 +120,7 @@ public class JobInfoGUI implements InventoryHolder {
     }
 
     private void buildXpBar() {
-        double xpBase = plugin.getJobManager().getConfig().getXpBase();
-        double xpExp  = plugin.getJobManager().getConfig().getXpExponent();
-        double xpThis = jp.getLevel() <= 1 ? 0 : JobLevelCalculator.getXpRequired(jp.getLevel(), xpBase, xpExp);
-        double xpNext = JobLevelCalculator.getXpRequired(jp.getLevel() + 1, xpBase, xpExp);
-        double ratio  = (xpNext <= xpThis) ? 1.0 : (jp.getXp() - xpThis) / (xpNext - xpThis);
-        ratio = Math.max(0, Math.min(1, ratio));
+        double ratio = plugin.getJobManager().getXpCurve(jp.getJobId()).progress(jp.getXp(), jp.getLevel());
 
         int filled = (int) Math.round(ratio * XP_BAR_LENGTH);
         for (int i = 0; i < XP_BAR_LENGTH; i++) {
@@ -68,9 +68,8 @@ public class JobLeaderboardGUI implements InventoryHolder {
             inventory.setItem(i, border);
         }
 
-        // Fetch leaderboard data async, then set on main thread
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            List<ItemStack> entries = buildEntryItems();
+        // Fetch leaderboard data on a reader thread, then set on main thread
+        plugin.getDatabaseManager().read(conn -> buildEntryItems()).thenAccept(entries -> {
             plugin.getServer().getScheduler().runTask(plugin, () -> {
                 for (int i = 0; i < entries.size() && i < ENTRY_SLOTS.length; i++) {
                     inventory.setItem(ENTRY_SLOTS[i], entries.get(i));
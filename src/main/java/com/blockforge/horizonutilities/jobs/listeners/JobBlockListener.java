@@ -42,8 +42,7 @@ public class JobBlockListener implements Listener {
 
         tracker.clearBlock(block); // clean up any stale tag
 
-        String material = block.getType().name();
-        plugin.getJobManager().processAction(player, JobAction.BREAK, material);
+        plugin.getJobManager().processAction(player, JobAction.BREAK, block.getType());
     }
 
     // -------------------------------------------------------------------------
@@ -57,7 +56,7 @@ public class JobBlockListener implements Listener {
                 .markAsPlaced(event.getBlockPlaced(), event.getPlayer().getUniqueId());
         // Notify JobManager so PLACE action listeners still fire (no payout)
         plugin.getJobManager().processAction(event.getPlayer(), JobAction.PLACE,
-                event.getBlockPlaced().getType().name());
+                event.getBlockPlaced().getType());
     }
 
     // -------------------------------------------------------------------------
@@ -0,0 +1,46 @@
+package com.blockforge.horizonutilities.jobs.listeners;
+
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.jobs.antiexploit.BlockTracker;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldSaveEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Keeps {@link BlockTracker}'s per-chunk cache in step with chunk and world
+ * loading, so placed-block flags are read once per chunk load and written
+ * back before the server saves the chunk, and cached SQLite rows are
+ * evicted with their chunk.
+ */
+public class JobChunkListener implements Listener {
+
+    private final HorizonUtilitiesPlugin plugin;
+
+    public JobChunkListener(HorizonUtilitiesPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        plugin.getJobManager().getBlockTracker().loadChunk(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        plugin.getJobManager().getBlockTracker().unloadChunk(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onWorldSave(WorldSaveEvent event) {
+        plugin.getJobManager().getBlockTracker().saveWorld(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        plugin.getJobManager().getBlockTracker().unloadWorld(event.getWorld());
+    }
+}
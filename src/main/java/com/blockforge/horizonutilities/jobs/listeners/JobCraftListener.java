@@ -24,12 +24,12 @@ public class JobCraftListener implements Listener {
     public void onCraft(CraftItemEvent event) {
         if (!(event.getWhoClicked() instanceof Player player)) return;
         var result = event.getRecipe().getResult();
-        plugin.getJobManager().processAction(player, JobAction.CRAFT, result.getType().name());
+        plugin.getJobManager().processAction(player, JobAction.CRAFT, result.getType());
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onFurnaceExtract(FurnaceExtractEvent event) {
         Player player = event.getPlayer();
-        plugin.getJobManager().processAction(player, JobAction.SMELT, event.getItemType().name());
+        plugin.getJobManager().processAction(player, JobAction.SMELT, event.getItemType());
     }
 }
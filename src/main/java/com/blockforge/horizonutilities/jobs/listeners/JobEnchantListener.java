@@ -23,6 +23,6 @@ public class JobEnchantListener implements Listener {
         plugin.getJobManager().processAction(
                 event.getEnchanter(),
                 JobAction.ENCHANT,
-                event.getItem().getType().name());
+                event.getItem().getType());
     }
 }
@@ -4,7 +4,6 @@ import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
 import com.blockforge.horizonutilities.events.JobExploreEvent;
 import com.blockforge.horizonutilities.jobs.JobAction;
 import com.blockforge.horizonutilities.jobs.config.JobsConfig;
-import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -12,10 +11,6 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerMoveEvent;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -25,8 +20,13 @@ import java.util.UUID;
  * chunk, or EXPLORE_DISTANCE income after accumulating enough travel distance,
  * depending on the configured explore mode.
  *
- * <p>PlayerMoveEvent is throttled: only fires when the player crosses a block
- * boundary to reduce overhead.
+ * <p>Explored chunks are kept in memory by
+ * {@link com.blockforge.horizonutilities.jobs.explore.ExploreTracker}.
+ *
+ * <p>Only registered when {@code explore-tracking} is {@code move-event};
+ * by default {@link com.blockforge.horizonutilities.jobs.explore.ExploreSampler}
+ * samples positions on a timer instead. PlayerMoveEvent is throttled: only
+ * fires when the player crosses a block boundary to reduce overhead.
  */
 public class JobExploreListener implements Listener {
 
@@ -67,52 +67,17 @@ public class JobExploreListener implements Listener {
     // -------------------------------------------------------------------------
 
     private void handleChunkDiscovery(Player player, Location to) {
-        Chunk chunk = to.getChunk();
-        int cx = chunk.getX();
-        int cz = chunk.getZ();
+        int cx = to.getBlockX() >> 4;
+        int cz = to.getBlockZ() >> 4;
         UUID uuid = player.getUniqueId();
 
         long[] prev = lastChunk.get(uuid);
         if (prev != null && prev[0] == cx && prev[1] == cz) return; // same chunk
         lastChunk.put(uuid, new long[]{cx, cz});
 
-        String world = to.getWorld().getName();
-
-        // Check DB for previously discovered chunk
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            if (isChunkDiscovered(uuid, world, cx, cz)) return;
-            insertDiscoveredChunk(uuid, world, cx, cz);
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
-                plugin.getJobManager().processAction(player, JobAction.EXPLORE_CHUNK, "CHUNK");
-                plugin.getServer().getPluginManager().callEvent(new JobExploreEvent(player));
-            });
-        });
-    }
-
-    private boolean isChunkDiscovered(UUID uuid, String world, int cx, int cz) {
-        try (PreparedStatement ps = conn().prepareStatement(
-                "SELECT 1 FROM jobs_explored_chunks WHERE player_uuid=? AND world=? AND chunk_x=? AND chunk_z=?")) {
-            ps.setString(1, uuid.toString());
-            ps.setString(2, world);
-            ps.setInt(3, cx);
-            ps.setInt(4, cz);
-            ResultSet rs = ps.executeQuery();
-            return rs.next();
-        } catch (SQLException e) {
-            return false;
-        }
-    }
-
-    private void insertDiscoveredChunk(UUID uuid, String world, int cx, int cz) {
-        try (PreparedStatement ps = conn().prepareStatement(
-                "INSERT OR IGNORE INTO jobs_explored_chunks (player_uuid,world,chunk_x,chunk_z,discovered_at) VALUES (?,?,?,?,?)")) {
-            ps.setString(1, uuid.toString());
-            ps.setString(2, world);
-            ps.setInt(3, cx);
-            ps.setInt(4, cz);
-            ps.setLong(5, System.currentTimeMillis());
-            ps.executeUpdate();
-        } catch (SQLException ignored) {}
+        if (!plugin.getJobManager().getExploreTracker().discover(uuid, to.getWorld().getName(), cx, cz)) return;
+        plugin.getJobManager().processAction(player, JobAction.EXPLORE_CHUNK, "CHUNK");
+        plugin.getServer().getPluginManager().callEvent(new JobExploreEvent(player));
     }
 
     // -------------------------------------------------------------------------
@@ -130,8 +95,8 @@ public class JobExploreListener implements Listener {
         if (accum >= threshold) {
             int times = (int) (accum / threshold);
             accum -= times * threshold;
+            plugin.getJobManager().processAction(player, JobAction.EXPLORE_DISTANCE, "DISTANCE", times);
             for (int i = 0; i < times; i++) {
-                plugin.getJobManager().processAction(player, JobAction.EXPLORE_DISTANCE, "DISTANCE");
                 plugin.getServer().getPluginManager().callEvent(new JobExploreEvent(player));
             }
         }
@@ -142,8 +107,4 @@ public class JobExploreListener implements Listener {
         distanceAccum.remove(uuid);
         lastChunk.remove(uuid);
     }
-
-    private Connection conn() {
-        return plugin.getDatabaseManager().getConnection();
-    }
 }
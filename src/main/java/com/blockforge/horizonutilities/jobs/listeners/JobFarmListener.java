@@ -51,6 +51,6 @@ public class JobFarmListener implements Listener {
             if (ageable.getAge() < ageable.getMaximumAge()) return;
         }
 
-        plugin.getJobManager().processAction(event.getPlayer(), JobAction.FARM, mat.name());
+        plugin.getJobManager().processAction(event.getPlayer(), JobAction.FARM, mat);
     }
 }
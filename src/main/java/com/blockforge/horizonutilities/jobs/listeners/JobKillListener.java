@@ -35,7 +35,7 @@ public class JobKillListener implements Listener {
         JobKillContext.setSpawner(isSpawner);
         try {
             plugin.getJobManager().processAction(killer, JobAction.KILL,
-                    event.getEntityType().name());
+                    event.getEntityType());
         } finally {
             JobKillContext.clear();
         }
@@ -35,7 +35,7 @@ public class JobMiscListener implements Listener {
     public void onTame(EntityTameEvent event) {
         if (!(event.getOwner() instanceof Player player)) return;
         plugin.getJobManager().processAction(player, JobAction.TAME,
-                event.getEntity().getType().name());
+                event.getEntity().getType());
     }
 
     // -------------------------------------------------------------------------
@@ -45,7 +45,7 @@ public class JobMiscListener implements Listener {
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onShear(PlayerShearEntityEvent event) {
         plugin.getJobManager().processAction(event.getPlayer(), JobAction.SHEAR,
-                event.getEntity().getType().name());
+                event.getEntity().getType());
     }
 
     // -------------------------------------------------------------------------
@@ -73,7 +73,7 @@ public class JobMiscListener implements Listener {
         if (event.getRawSlot() != 2) return;
         var result = event.getCurrentItem();
         if (result == null || result.getType() == Material.AIR) return;
-        plugin.getJobManager().processAction(player, JobAction.REPAIR, result.getType().name());
+        plugin.getJobManager().processAction(player, JobAction.REPAIR, result.getType());
     }
 
     // -------------------------------------------------------------------------
@@ -23,22 +23,42 @@ public class JobPlayerListener implements Listener {
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerJoin(PlayerJoinEvent event) {
         UUID uuid = event.getPlayer().getUniqueId();
-        // Load asynchronously to avoid blocking the main thread
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () ->
-                plugin.getJobManager().loadPlayerData(uuid));
+        var session = plugin.getSessionLoader().getSession(uuid);
+        if (session != null) {
+            plugin.getJobManager().getIncomeCapManager().seed(uuid, session.incomeHour(), session.hourlyIncome());
+            plugin.getJobManager().getExploreTracker().install(uuid, session.exploredChunks());
+            plugin.getJobManager().loadPlayerData(uuid, session.jobs());
+            return;
+        }
+        // Load on a reader thread so joins never queue behind pending writes
+        plugin.getDatabaseManager().read(conn -> {
+            plugin.getJobManager().loadPlayerData(uuid);
+            return null;
+        });
+    }
+
+    /**
+     * Hands queued skill XP and milestone rewards to AuraSkills before its own
+     * quit listener saves and unloads the player.
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerQuitEarly(PlayerQuitEvent event) {
+        if (plugin.getAuraSkillsManager() != null) plugin.getAuraSkillsManager().flush(event.getPlayer());
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerQuit(PlayerQuitEvent event) {
         UUID uuid = event.getPlayer().getUniqueId();
-        // Save async, then remove from cache on main thread after save
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            plugin.getJobManager().savePlayerData(uuid);
-            // Clean up anti-exploit caches
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
-                plugin.getJobManager().getCooldownManager().cleanup(uuid);
-                plugin.getJobManager().getAreaFarmingDetector().clearPlayer(uuid);
-            });
-        });
+        plugin.getJobManager().getPayoutAccumulator().flush(uuid);
+        plugin.getJobManager().getIncomeCapManager().release(uuid);
+        plugin.getJobManager().getExploreTracker().release(uuid);
+        plugin.getJobManager().getExploreSampler().clearPlayer(uuid);
+        // Queue changed job rows on the writer, then clean up caches on the main thread
+        plugin.getJobManager().savePlayerData(uuid)
+                .whenComplete((ignored, error) -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    // Clean up anti-exploit caches
+                    plugin.getJobManager().getCooldownManager().cleanup(uuid);
+                    plugin.getJobManager().getAreaFarmingDetector().clearPlayer(uuid);
+                }));
     }
 }
@@ -28,6 +28,9 @@ public class DailyQuestConfig {
     private boolean notifyOnAssign;
     private boolean notifyOnComplete;
     private boolean autoClaimRewards;
+    private boolean pregenerate;
+    private int pregenerateActiveDays;
+    private int pregenerateLeadMinutes;
 
     // Quest definitions
     private final List<QuestDefinition> definitions = new ArrayList<>();
@@ -54,6 +57,9 @@ public class DailyQuestConfig {
         notifyOnAssign          = config.getBoolean("settings.notify-on-assign", true);
         notifyOnComplete        = config.getBoolean("settings.notify-on-complete", true);
         autoClaimRewards        = config.getBoolean("settings.auto-claim-rewards", true);
+        pregenerate             = config.getBoolean("settings.pregenerate.enabled", true);
+        pregenerateActiveDays   = Math.max(1, config.getInt("settings.pregenerate.active-days", 7));
+        pregenerateLeadMinutes  = Math.max(1, config.getInt("settings.pregenerate.lead-minutes", 15));
 
         // Load definitions
         definitions.clear();
@@ -103,5 +109,8 @@ public class DailyQuestConfig {
     public boolean isNotifyOnAssign()           { return notifyOnAssign; }
     public boolean isNotifyOnComplete()         { return notifyOnComplete; }
     public boolean isAutoClaimRewards()         { return autoClaimRewards; }
+    public boolean isPregenerate()              { return pregenerate; }
+    public int getPregenerateActiveDays()       { return pregenerateActiveDays; }
+    public int getPregenerateLeadMinutes()      { return pregenerateLeadMinutes; }
     public List<QuestDefinition> getDefinitions() { return definitions; }
 }
@@ -7,20 +7,31 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
+import java.util.UUID;
+
 /**
  * Handles player join/quit for the daily quest system.
  */
 public class DailyQuestListener implements Listener {
 
+    private final HorizonUtilitiesPlugin plugin;
     private final DailyQuestManager manager;
 
     public DailyQuestListener(HorizonUtilitiesPlugin plugin, DailyQuestManager manager) {
+        this.plugin = plugin;
         this.manager = manager;
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onJoin(PlayerJoinEvent event) {
-        manager.onPlayerJoin(event.getPlayer().getUniqueId());
+        UUID uuid = event.getPlayer().getUniqueId();
+        var session = plugin.getSessionLoader().getSession(uuid);
+        // A session preloaded just before midnight holds yesterday's quests
+        if (session != null && session.questDate().equals(DailyQuestManager.todayDate())) {
+            manager.onPlayerJoin(uuid, session.quests());
+        } else {
+            manager.onPlayerJoin(uuid);
+        }
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
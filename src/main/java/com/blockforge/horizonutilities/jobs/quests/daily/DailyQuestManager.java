@@ -3,17 +3,25 @@ package com.blockforge.horizonutilities.jobs.quests.daily;
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
 import com.blockforge.horizonutilities.jobs.JobAction;
 import com.blockforge.horizonutilities.jobs.JobPlayer;
+import com.blockforge.horizonutilities.storage.PersistentState;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.title.Title;
 import org.bukkit.Bukkit;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 /**
  * Manages the daily quest lifecycle: assignment, progress tracking,
@@ -21,8 +29,12 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * Dynamic difficulty scaling: quest amounts and rewards scale based on
  * the player's job level, prestige, and (optionally) AuraSkills level.
+ *
+ * Shortly before midnight the next day's quests are generated in one batch
+ * for every recently active player, so logins after the reset only read
+ * them; at midnight online players are switched over to the new day.
  */
-public class DailyQuestManager {
+public class DailyQuestManager implements PersistentState {
 
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
@@ -32,6 +44,18 @@ public class DailyQuestManager {
 
     /** In-memory cache: player UUID -> today's active quests */
     private final Map<UUID, List<ActiveQuest>> playerQuests = new ConcurrentHashMap<>();
+    /** The same quests indexed by action and material, for {@link #trackAction} */
+    private final Map<UUID, QuestIndex> questIndexes = new ConcurrentHashMap<>();
+
+    /** Quests whose progress changed since the last state checkpoint */
+    private final Set<ActiveQuest> dirtyQuests = ConcurrentHashMap.newKeySet();
+    private List<ActiveQuest> lastCaptured = List.of();
+
+    /** Next pre-generation or midnight rollover run */
+    private BukkitTask rolloverTask;
+
+    /** A quest's progress, copied on the main thread for writing. */
+    public record ProgressRow(int dbId, int progress, boolean completed, Long completedAt) {}
 
     public DailyQuestManager(HorizonUtilitiesPlugin plugin) {
         this.plugin = plugin;
@@ -40,16 +64,35 @@ public class DailyQuestManager {
         config.load();
 
         // Schedule daily purge of old quests (keep 30 days)
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin,
-                () -> storage.purgeOldQuests(30), 20L * 60, 20L * 60 * 60 * 6); // 6 hours
+        Bukkit.getScheduler().runTaskTimer(plugin,
+                () -> plugin.getDatabaseManager().runWrite(() -> storage.purgeOldQuests(30)),
+                20L * 60, 20L * 60 * 60 * 6); // 6 hours
+
+        scheduleRollover();
     }
 
     /**
      * Called when a player joins — load or assign today's quests.
      */
     public void onPlayerJoin(UUID uuid) {
+        onPlayerJoin(uuid, null);
+    }
+
+    /**
+     * Called when a player joins with today's quests already read by the
+     * session loader. Quests still have to be assigned (a write) when the
+     * player has none yet.
+     *
+     * @param preloaded today's quests, or null to read them here
+     */
+    public void onPlayerJoin(UUID uuid, List<ActiveQuest> preloaded) {
         if (!config.isEnabled()) return;
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+        if (preloaded != null && !preloaded.isEmpty()) {
+            activate(uuid, new ArrayList<>(preloaded));
+            return;
+        }
+        // On the writer, so assignment can't race the nightly batch
+        plugin.getDatabaseManager().runWrite(() -> {
             String today = todayDate();
             List<ActiveQuest> loaded = storage.loadPlayerQuests(uuid, today);
 
@@ -57,49 +100,82 @@ public class DailyQuestManager {
                     ? assignDailyQuests(uuid, today)
                     : loaded;
 
-            playerQuests.put(uuid, finalQuests);
+            activate(uuid, finalQuests);
+        });
+    }
+
+    private void activate(UUID uuid, List<ActiveQuest> quests) {
+        questIndexes.put(uuid, new QuestIndex(quests));
+        playerQuests.put(uuid, quests);
 
-            // Notify player of their quests
-            if (config.isNotifyOnAssign()) {
-                Player player = Bukkit.getPlayer(uuid);
-                if (player != null && player.isOnline()) {
-                    Bukkit.getScheduler().runTask(plugin, () -> notifyQuestsAssigned(player, finalQuests));
-                }
+        // Notify player of their quests
+        if (config.isNotifyOnAssign()) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null && player.isOnline()) {
+                Bukkit.getScheduler().runTask(plugin, () -> notifyQuestsAssigned(player, quests));
             }
-        });
+        }
     }
 
     /**
-     * Called when a player quits — flush from cache.
+     * Called when a player quits — drops their quests from the cache and
+     * queues any unsaved progress on the writer, ahead of a possible rejoin.
      */
     public void onPlayerQuit(UUID uuid) {
-        playerQuests.remove(uuid);
+        List<ActiveQuest> quests = playerQuests.remove(uuid);
+        questIndexes.remove(uuid);
+        if (quests == null) return;
+
+        List<ActiveQuest> dirty = new ArrayList<>();
+        for (ActiveQuest quest : quests) {
+            if (dirtyQuests.remove(quest)) dirty.add(quest);
+        }
+        if (dirty.isEmpty()) return;
+        List<ProgressRow> rows = dirty.stream().map(DailyQuestManager::snapshot).toList();
+        plugin.getDatabaseManager().write(conn -> {
+            storage.updateProgress(rows);
+            return null;
+        }).exceptionally(error -> {
+            plugin.getLogger().log(Level.WARNING, "[Quests] Failed to save quest progress for " + uuid
+                    + "; retrying with the next checkpoint", error);
+            dirtyQuests.addAll(dirty);
+            return null;
+        });
     }
 
     /**
      * Called from JobManager.processAction() to track quest progress.
+     * Progress is kept in memory and written by the next state checkpoint,
+     * except completions, which are written straight away.
+     *
+     * @param count how many times the action happened
      */
-    public void trackAction(Player player, JobAction action, String material, String jobId) {
+    public void trackAction(Player player, JobAction action, String material, String jobId, int count) {
         if (!config.isEnabled()) return;
 
-        List<ActiveQuest> quests = playerQuests.get(player.getUniqueId());
-        if (quests == null || quests.isEmpty()) return;
-
-        for (ActiveQuest quest : quests) {
-            // Must match the job and the action/material
-            if (!quest.getJobId().equalsIgnoreCase(jobId)) continue;
-            if (!quest.matches(action, material)) continue;
+        QuestIndex index = questIndexes.get(player.getUniqueId());
+        if (index == null) return;
 
-            boolean justCompleted = quest.addProgress(1);
+        track(player, index.forMaterial(action, material), jobId, count);
+        track(player, index.forAnyMaterial(action), jobId, count);
+    }
 
-            // Save progress async
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, () ->
-                    storage.updateProgress(quest.getDbId(), quest.getCurrentProgress(),
-                            quest.isCompleted(), quest.getCompletedAt()));
+    private void track(Player player, ActiveQuest[] quests, String jobId, int count) {
+        for (ActiveQuest quest : quests) {
+            if (quest.isCompleted() || !quest.getJobId().equalsIgnoreCase(jobId)) continue;
 
-            if (justCompleted) {
-                onQuestCompleted(player, quest);
+            if (!quest.addProgress(count)) {
+                // Written by the next state checkpoint
+                dirtyQuests.add(quest);
+                continue;
             }
+
+            // Completion pays out now, so it must not be lost in a crash
+            dirtyQuests.remove(quest);
+            ProgressRow row = snapshot(quest);
+            plugin.getDatabaseManager().runWrite(() ->
+                    storage.updateProgress(row.dbId(), row.progress(), row.completed(), row.completedAt()));
+            onQuestCompleted(player, quest);
         }
     }
 
@@ -111,13 +187,45 @@ public class DailyQuestManager {
         return quests != null ? Collections.unmodifiableList(quests) : Collections.emptyList();
     }
 
+    // -------------------------------------------------------------------------
+    // PersistentState
+    // -------------------------------------------------------------------------
+
+    @Override
+    public String name() { return "daily quest"; }
+
+    @Override
+    public Checkpoint capture() {
+        if (dirtyQuests.isEmpty()) return null;
+        List<ActiveQuest> captured = new ArrayList<>(dirtyQuests);
+        dirtyQuests.removeAll(captured);
+        lastCaptured = captured;
+        List<ProgressRow> rows = captured.stream().map(DailyQuestManager::snapshot).toList();
+        return conn -> {
+            storage.updateProgress(rows);
+            return rows.size();
+        };
+    }
+
+    @Override
+    public void checkpointFailed() {
+        dirtyQuests.addAll(lastCaptured);
+    }
+
+    private static ProgressRow snapshot(ActiveQuest quest) {
+        return new ProgressRow(quest.getDbId(), quest.getCurrentProgress(), quest.isCompleted(), quest.getCompletedAt());
+    }
+
     public DailyQuestConfig getConfig() { return config; }
+    public DailyQuestStorage getStorage() { return storage; }
 
     public void reload() {
         config.load();
-        // Re-assign quests for all online players
+        scheduleRollover();
+        // Loaded quests stay as they are, unsaved progress included; only
+        // players without any (e.g. quests were just enabled) are assigned
         for (Player p : Bukkit.getOnlinePlayers()) {
-            onPlayerJoin(p.getUniqueId());
+            if (!playerQuests.containsKey(p.getUniqueId())) onPlayerJoin(p.getUniqueId());
         }
     }
 
@@ -125,17 +233,174 @@ public class DailyQuestManager {
         return storage.getTotalCompleted(uuid);
     }
 
+    // -------------------------------------------------------------------------
+    // Nightly pre-generation
+    // -------------------------------------------------------------------------
+
+    /** Schedules the next pre-generation run (if enabled) and midnight rollover. */
+    private void scheduleRollover() {
+        if (rolloverTask != null) {
+            rolloverTask.cancel();
+            rolloverTask = null;
+        }
+        if (!config.isEnabled()) return;
+
+        ZonedDateTime now = ZonedDateTime.now();
+        LocalDate tomorrow = now.toLocalDate().plusDays(1);
+        ZonedDateTime midnight = tomorrow.atStartOfDay(now.getZone());
+        ZonedDateTime pregenerateAt = midnight.minusMinutes(config.getPregenerateLeadMinutes());
+        if (config.isPregenerate() && now.isBefore(pregenerateAt)) {
+            rolloverTask = runAt(pregenerateAt, () -> {
+                pregenerate(tomorrow);
+                rolloverTask = runAt(midnight, () -> rollover(tomorrow));
+            });
+        } else {
+            rolloverTask = runAt(midnight, () -> rollover(tomorrow));
+        }
+    }
+
+    private BukkitTask runAt(ZonedDateTime time, Runnable task) {
+        long ticks = Math.max(1, (Duration.between(ZonedDateTime.now(), time).toMillis() + 49) / 50);
+        return Bukkit.getScheduler().runTaskLater(plugin, task, ticks);
+    }
+
+    /** Generates {@code date}'s quests for everyone active recently, in one transaction. */
+    private void pregenerate(LocalDate date) {
+        String day = date.format(DATE_FMT);
+        long activeSince = System.currentTimeMillis() - config.getPregenerateActiveDays() * 86_400_000L;
+        Map<UUID, List<JobPlayer>> online = onlineJobs();
+        long started = System.currentTimeMillis();
+        plugin.getDatabaseManager().write(conn -> generateBatch(conn, day, online, activeSince))
+                .whenComplete((count, error) -> {
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        plugin.getLogger().log(Level.WARNING, "[Quests] Failed to pre-generate quests for " + day
+                                + "; they will be assigned on login", cause);
+                        return;
+                    }
+                    plugin.getLogger().info("[Quests] Pre-generated " + count + " quests for " + day
+                            + " in " + (System.currentTimeMillis() - started) + " ms.");
+                });
+    }
+
+    /**
+     * Switches online players to the new day's quests, generating any the
+     * nightly batch missed (e.g. players who joined since), then schedules
+     * the next night.
+     */
+    private void rollover(LocalDate date) {
+        if (LocalDate.now().isBefore(date)) {
+            rolloverTask = runAt(date.atStartOfDay(ZoneId.systemDefault()), () -> rollover(date));
+            return;
+        }
+        rolloverTask = null;
+        String day = todayDate();
+        Map<UUID, List<JobPlayer>> online = onlineJobs();
+        plugin.getDatabaseManager().write(conn -> {
+            generateBatch(conn, day, online, -1);
+            Map<UUID, List<ActiveQuest>> loaded = new HashMap<>();
+            for (UUID uuid : online.keySet()) {
+                loaded.put(uuid, storage.loadPlayerQuests(uuid, day));
+            }
+            return loaded;
+        }).whenComplete((loaded, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                plugin.getLogger().log(Level.WARNING, "[Quests] Failed to roll over daily quests", cause);
+            } else if (config.isEnabled()) {
+                loaded.forEach((uuid, quests) -> {
+                    if (Bukkit.getPlayer(uuid) != null) activate(uuid, quests);
+                });
+            }
+            if (rolloverTask == null) scheduleRollover();
+        }));
+    }
+
+    /**
+     * Generates and inserts quests for every player in {@code online}, plus
+     * everyone active since {@code activeSince} (skipped if negative), that
+     * has none for {@code day} yet. Writer thread; every statement runs on
+     * {@code conn}, the writer's own connection.
+     *
+     * @return number of quests inserted
+     */
+    private int generateBatch(Connection conn, String day, Map<UUID, List<JobPlayer>> online,
+                              long activeSince) throws SQLException {
+        if (!plugin.getDatabaseManager().isWriterThread()) {
+            throw new IllegalStateException("Quest batches must run through DatabaseManager.write()");
+        }
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            Map<UUID, List<JobPlayer>> players = activeSince >= 0
+                    ? plugin.getJobManager().getStorage().loadRecentlyActiveJobs(conn, activeSince)
+                    : new HashMap<>();
+            players.putAll(online);
+            players.keySet().removeAll(storage.loadAssignedPlayers(conn, day));
+
+            Random rng = new Random();
+            List<ActiveQuest> quests = new ArrayList<>();
+            players.forEach((uuid, jobs) -> quests.addAll(selectQuests(uuid, jobs, day, rng)));
+
+            storage.insertQuests(conn, quests);
+            conn.commit();
+            return quests.size();
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /** Copies of the online players' job records, taken on the main thread. */
+    private Map<UUID, List<JobPlayer>> onlineJobs() {
+        Map<UUID, List<JobPlayer>> online = new HashMap<>();
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            List<JobPlayer> copies = new ArrayList<>();
+            for (JobPlayer jp : plugin.getJobManager().getPlayerJobs(p.getUniqueId())) {
+                copies.add(new JobPlayer(jp.getPlayerUuid(), jp.getPlayerName(), jp.getJobId(),
+                        jp.getLevel(), jp.getXp(), jp.getPrestige(), jp.getTotalEarned(),
+                        jp.getJoinedAt(), jp.getLastActive()));
+            }
+            online.put(p.getUniqueId(), copies);
+        }
+        return online;
+    }
+
     // -------------------------------------------------------------------------
     // Internal
     // -------------------------------------------------------------------------
 
     /**
-     * Assign daily quests to a player based on their active jobs.
-     * Uses weighted random selection with dynamic difficulty scaling.
+     * Assign daily quests to a player based on their active jobs, inserting
+     * them one by one. Used when a player has no quests for today yet.
      */
     private List<ActiveQuest> assignDailyQuests(UUID uuid, String today) {
         List<ActiveQuest> assigned = new ArrayList<>();
         List<JobPlayer> playerJobs = plugin.getJobManager().getPlayerJobs(uuid);
+        for (ActiveQuest quest : selectQuests(uuid, playerJobs, today, new Random())) {
+            int dbId = storage.insertQuest(quest);
+            if (dbId > 0) {
+                // Re-create with the actual DB id
+                assigned.add(new ActiveQuest(
+                        dbId, uuid, quest.getQuestId(), quest.getJobId(),
+                        quest.getDescription(), quest.getTargetType(), quest.getTargetMaterial(),
+                        quest.getTargetAmount(), 0, quest.getRewardMoney(), quest.getRewardXp(),
+                        today, false, null
+                ));
+            }
+        }
+        return assigned;
+    }
+
+    /**
+     * Picks quests for a player based on their jobs, using weighted random
+     * selection with dynamic difficulty scaling. The returned quests are not
+     * stored yet (their id is -1).
+     */
+    private List<ActiveQuest> selectQuests(UUID uuid, List<JobPlayer> playerJobs, String date, Random rng) {
+        List<ActiveQuest> assigned = new ArrayList<>();
 
         if (playerJobs.isEmpty()) return assigned;
 
@@ -146,7 +411,6 @@ public class DailyQuestManager {
         if (pool.isEmpty()) return assigned;
 
         int questsToAssign = config.getQuestsPerDay();
-        Random rng = new Random();
 
         // Try to assign quests spread across the player's jobs
         List<QuestDefinition> eligible = new ArrayList<>();
@@ -187,24 +451,12 @@ public class DailyQuestManager {
             double scaledMoney = scaleReward(def.getBaseMoneyReward(), jp);
             double scaledXp = scaleReward(def.getBaseXpReward(), jp);
 
-            ActiveQuest quest = new ActiveQuest(
+            assigned.add(new ActiveQuest(
                     -1, uuid, def.getQuestId(), def.getJobId(),
                     def.getDescription(), def.getActionType(), def.getTargetMaterial(),
                     scaledAmount, 0, scaledMoney, scaledXp,
-                    today, false, null
-            );
-
-            int dbId = storage.insertQuest(quest);
-            if (dbId > 0) {
-                // Re-create with the actual DB id
-                quest = new ActiveQuest(
-                        dbId, uuid, def.getQuestId(), def.getJobId(),
-                        def.getDescription(), def.getActionType(), def.getTargetMaterial(),
-                        scaledAmount, 0, scaledMoney, scaledXp,
-                        today, false, null
-                );
-                assigned.add(quest);
-            }
+                    date, false, null
+            ));
         }
 
         return assigned;
@@ -316,7 +568,7 @@ public class DailyQuestManager {
                 .append(Component.text(" to view them.", NamedTextColor.YELLOW)));
     }
 
-    private String todayDate() {
+    public static String todayDate() {
         return LocalDate.now().format(DATE_FMT);
     }
 }
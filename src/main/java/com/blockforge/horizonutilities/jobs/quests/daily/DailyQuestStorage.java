@@ -3,11 +3,15 @@ package com.blockforge.horizonutilities.jobs.quests.daily;
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
 import com.blockforge.horizonutilities.jobs.JobAction;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Level;
 
@@ -74,6 +78,76 @@ public class DailyQuestStorage {
         return -1;
     }
 
+    /**
+     * Inserts many fresh quest assignments as one batch in the caller's
+     * transaction on {@code conn}. Their ids are not returned; they are read
+     * back with {@link #loadPlayerQuests}.
+     */
+    public void insertQuests(Connection conn, List<ActiveQuest> quests) throws SQLException {
+        if (quests.isEmpty()) return;
+        String sql = """
+            INSERT INTO jobs_quests (player_uuid, quest_id, job_id, description,
+                target_type, target_material, target_amount, current_progress,
+                reward_money, reward_xp, assigned_date, completed, completed_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, 0, NULL)""";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (ActiveQuest quest : quests) {
+                ps.setString(1, quest.getPlayerUuid().toString());
+                ps.setString(2, quest.getQuestId());
+                ps.setString(3, quest.getJobId());
+                ps.setString(4, quest.getDescription());
+                ps.setString(5, quest.getTargetType().name());
+                ps.setString(6, quest.getTargetMaterial());
+                ps.setInt(7, quest.getTargetAmount());
+                ps.setDouble(8, quest.getRewardMoney());
+                ps.setDouble(9, quest.getRewardXp());
+                ps.setString(10, quest.getAssignedDate());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * Returns the players that already have quests for {@code date}.
+     */
+    public Set<UUID> loadAssignedPlayers(Connection conn, String date) throws SQLException {
+        Set<UUID> players = new HashSet<>();
+        String sql = "SELECT DISTINCT player_uuid FROM jobs_quests WHERE assigned_date = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, date);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    players.add(UUID.fromString(rs.getString("player_uuid")));
+                }
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Writes the latest progress of several quests as one batch. Throws so
+     * that the caller's transaction rolls back and the rows can be retried.
+     */
+    public void updateProgress(List<DailyQuestManager.ProgressRow> rows) throws SQLException {
+        if (rows.isEmpty()) return;
+        String sql = "UPDATE jobs_quests SET current_progress = ?, completed = ?, completed_at = ? WHERE id = ?";
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(sql)) {
+            for (DailyQuestManager.ProgressRow row : rows) {
+                ps.setInt(1, row.progress());
+                ps.setInt(2, row.completed() ? 1 : 0);
+                if (row.completedAt() != null) {
+                    ps.setLong(3, row.completedAt());
+                } else {
+                    ps.setNull(3, java.sql.Types.INTEGER);
+                }
+                ps.setInt(4, row.dbId());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
     /**
      * Update progress for a quest.
      */
@@ -131,9 +205,11 @@ public class DailyQuestStorage {
      * Clean up old quest data older than the given number of days.
      */
     public void purgeOldQuests(int daysToKeep) {
-        String sql = "DELETE FROM jobs_quests WHERE assigned_date < date('now', '-' || ? || ' days')";
+        // assigned_date is an ISO yyyy-MM-dd string, so the cutoff compares lexicographically
+        String cutoff = LocalDate.now().minusDays(daysToKeep).toString();
+        String sql = "DELETE FROM jobs_quests WHERE assigned_date < ?";
         try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(sql)) {
-            ps.setInt(1, daysToKeep);
+            ps.setString(1, cutoff);
             int deleted = ps.executeUpdate();
             if (deleted > 0) {
                 plugin.getLogger().info("[Quests] Purged " + deleted + " old quest records.");
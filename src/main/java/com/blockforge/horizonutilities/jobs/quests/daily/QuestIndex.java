@@ -0,0 +1,58 @@
+package com.blockforge.horizonutilities.jobs.quests.daily;
+
+import com.blockforge.horizonutilities.jobs.JobAction;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One player's active quests indexed by action and target material, so a
+ * job action only visits the quests it can advance instead of comparing
+ * strings against every quest. Immutable once built.
+ */
+final class QuestIndex {
+
+    private static final ActiveQuest[] NONE = new ActiveQuest[0];
+
+    private final Map<JobAction, Map<String, ActiveQuest[]>> byMaterial = new EnumMap<>(JobAction.class);
+    private final Map<JobAction, ActiveQuest[]> anyMaterial = new EnumMap<>(JobAction.class);
+
+    QuestIndex(List<ActiveQuest> quests) {
+        Map<JobAction, Map<String, List<ActiveQuest>>> material = new EnumMap<>(JobAction.class);
+        Map<JobAction, List<ActiveQuest>> any = new EnumMap<>(JobAction.class);
+        for (ActiveQuest quest : quests) {
+            if (quest.isCompleted() || quest.getTargetType() == null) continue;
+            if (quest.getTargetMaterial() == null) {
+                any.computeIfAbsent(quest.getTargetType(), a -> new ArrayList<>()).add(quest);
+            } else {
+                material.computeIfAbsent(quest.getTargetType(), a -> new HashMap<>())
+                        .computeIfAbsent(quest.getTargetMaterial().toUpperCase(Locale.ROOT), m -> new ArrayList<>())
+                        .add(quest);
+            }
+        }
+        material.forEach((action, byKey) -> {
+            Map<String, ActiveQuest[]> arrays = new HashMap<>();
+            byKey.forEach((key, list) -> arrays.put(key, list.toArray(NONE)));
+            byMaterial.put(action, arrays);
+        });
+        any.forEach((action, list) -> anyMaterial.put(action, list.toArray(NONE)));
+    }
+
+    /** Quests for {@code action} that target exactly {@code material}. */
+    ActiveQuest[] forMaterial(JobAction action, String material) {
+        Map<String, ActiveQuest[]> byKey = byMaterial.get(action);
+        if (byKey == null) return NONE;
+        ActiveQuest[] quests = byKey.get(material.toUpperCase(Locale.ROOT));
+        return quests != null ? quests : NONE;
+    }
+
+    /** Quests for {@code action} that accept any material. */
+    ActiveQuest[] forAnyMaterial(JobAction action) {
+        ActiveQuest[] quests = anyMaterial.get(action);
+        return quests != null ? quests : NONE;
+    }
+}
@@ -0,0 +1,216 @@
+package com.blockforge.horizonutilities.jobs.ui;
+
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.jobs.Job;
+import com.blockforge.horizonutilities.jobs.JobPlayer;
+import com.blockforge.horizonutilities.jobs.XpCurve;
+import com.blockforge.horizonutilities.jobs.config.JobsConfig;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The jobs HUD: an action bar with the money and XP earned since the player
+ * last paused, and a boss bar with XP progress toward the next level.
+ * <p>
+ * Paid actions only {@link #record} into the player's state and mark it
+ * dirty. One task runs every tick; every {@code hud.render-interval-ticks}
+ * it renders each dirty player once, however many actions they made in
+ * between. The boss bar title is rebuilt only when the displayed level or
+ * XP changes. Action bar resets and boss bar hides are driven by a shared
+ * expiry wheel, so no per-player tasks are created. Main thread only.
+ */
+public class JobHud {
+
+    /** The action bar total resets this many ticks after the last action. */
+    private static final long ACTION_BAR_RESET_TICKS = 60L; // 3 seconds
+
+    /** Expiry wheel size; a power of two. Longer delays go round again. */
+    private static final int WHEEL_SIZE = 64;
+
+    private static final class State {
+        final UUID uuid;
+        Job job;
+        JobPlayer jp;
+        double money, xp;
+        boolean actionBarDirty, bossBarDirty;
+        long actionBarUntil = -1, bossBarUntil = -1;
+        /** Tick this state is queued for on the wheel, or -1. */
+        long wheelTick = -1;
+
+        BossBar bar;
+        boolean barShown;
+        Job titleJob;
+        int titleLevel = -1;
+        long titleXp = -1, titleNext = -1;
+
+        State(UUID uuid) {
+            this.uuid = uuid;
+        }
+    }
+
+    private final HorizonUtilitiesPlugin plugin;
+    private final Map<UUID, State> states = new HashMap<>();
+    private final Set<State> dirty = new LinkedHashSet<>();
+    @SuppressWarnings("unchecked")
+    private final List<State>[] wheel = new List[WHEEL_SIZE];
+    private long tick;
+
+    public JobHud(HorizonUtilitiesPlugin plugin) {
+        this.plugin = plugin;
+        for (int i = 0; i < WHEEL_SIZE; i++) wheel[i] = new ArrayList<>();
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Adds one batch of earnings to the player's HUD; {@code jp} and
+     * {@code job} are what the bars show at the next render.
+     */
+    public void record(Player player, Job job, JobPlayer jp, double money, double xp) {
+        State s = states.computeIfAbsent(player.getUniqueId(), State::new);
+        s.job = job;
+        s.jp = jp;
+        s.money += money;
+        s.xp += xp;
+        s.actionBarDirty = true;
+        s.actionBarUntil = tick + ACTION_BAR_RESET_TICKS;
+        schedule(s, s.actionBarUntil);
+        if (xp > 0) {
+            JobsConfig cfg = plugin.getJobManager().getConfig();
+            if (cfg.isBossBarEnabled()) {
+                s.bossBarDirty = true;
+                s.bossBarUntil = tick + Math.max(1, cfg.getBossBarDurationSeconds() * 20L);
+                schedule(s, s.bossBarUntil);
+            }
+        }
+        dirty.add(s);
+    }
+
+    /** Called on player quit to drop the HUD state and hide the boss bar. */
+    public void cleanup(Player player) {
+        State s = states.remove(player.getUniqueId());
+        if (s == null) return;
+        dirty.remove(s);
+        s.wheelTick = -1;
+        if (s.barShown) player.hideBossBar(s.bar);
+    }
+
+    // -------------------------------------------------------------------------
+    // Tick
+    // -------------------------------------------------------------------------
+
+    private void tick() {
+        tick++;
+        expire();
+        if (dirty.isEmpty()) return;
+        if (tick % plugin.getJobManager().getConfig().getHudRenderIntervalTicks() != 0) return;
+        for (State s : dirty) {
+            Player player = plugin.getServer().getPlayer(s.uuid);
+            if (player != null) render(player, s);
+        }
+        dirty.clear();
+    }
+
+    /** Queues {@code s} on the wheel if {@code at} is earlier than its current slot. */
+    private void schedule(State s, long at) {
+        if (s.wheelTick >= 0 && s.wheelTick <= at) return;
+        s.wheelTick = at;
+        wheel[(int) (at & (WHEEL_SIZE - 1))].add(s);
+    }
+
+    private void expire() {
+        List<State> bucket = wheel[(int) (tick & (WHEEL_SIZE - 1))];
+        if (bucket.isEmpty()) return;
+        State[] due = bucket.toArray(new State[0]);
+        bucket.clear();
+        for (State s : due) {
+            if (s.wheelTick < 0 || s.wheelTick > tick) {
+                // Re-queued elsewhere (stale entry), or a full turn away
+                if (s.wheelTick > tick && (s.wheelTick & (WHEEL_SIZE - 1)) == (tick & (WHEEL_SIZE - 1))) {
+                    bucket.add(s);
+                }
+                continue;
+            }
+            s.wheelTick = -1;
+            if (s.actionBarUntil >= 0 && s.actionBarUntil <= tick) {
+                s.actionBarUntil = -1;
+                s.money = 0;
+                s.xp = 0;
+            }
+            if (s.bossBarUntil >= 0 && s.bossBarUntil <= tick) {
+                s.bossBarUntil = -1;
+                s.bossBarDirty = false;
+                if (s.barShown) {
+                    Player player = plugin.getServer().getPlayer(s.uuid);
+                    if (player != null) player.hideBossBar(s.bar);
+                    s.barShown = false;
+                }
+            }
+            long next = s.actionBarUntil < 0 ? s.bossBarUntil
+                    : s.bossBarUntil < 0 ? s.actionBarUntil
+                    : Math.min(s.actionBarUntil, s.bossBarUntil);
+            if (next >= 0) schedule(s, next);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Rendering
+    // -------------------------------------------------------------------------
+
+    private void render(Player player, State s) {
+        if (s.actionBarDirty) {
+            s.actionBarDirty = false;
+            player.sendActionBar(Component.text(s.job.getDisplayName() + " ", NamedTextColor.GOLD)
+                    .append(Component.text("Lv." + s.jp.getLevel() + " ", NamedTextColor.AQUA))
+                    .append(Component.text("+" + plugin.getVaultHook().format(s.money), NamedTextColor.GREEN))
+                    .append(Component.text(" | ", NamedTextColor.DARK_GRAY))
+                    .append(Component.text("+" + Math.round(s.xp) + "xp", NamedTextColor.YELLOW)));
+        }
+        if (s.bossBarDirty) {
+            s.bossBarDirty = false;
+            renderBossBar(player, s);
+        }
+    }
+
+    private void renderBossBar(Player player, State s) {
+        JobsConfig cfg = plugin.getJobManager().getConfig();
+        JobPlayer jp = s.jp;
+        int level = jp.getLevel();
+        XpCurve curve = plugin.getJobManager().getXpCurve(jp.getJobId());
+        float progress = level >= curve.getMaxLevel() ? 1.0f : (float) curve.progress(jp.getXp(), level);
+
+        if (s.bar == null) {
+            s.bar = BossBar.bossBar(Component.empty(), progress, cfg.getBossBarColor(), cfg.getBossBarOverlay());
+        } else {
+            s.bar.progress(progress);
+        }
+
+        long xp = Math.round(jp.getXp());
+        long next = Math.round(curve.xpRequired(level + 1));
+        if (s.titleJob != s.job || s.titleLevel != level || s.titleXp != xp || s.titleNext != next) {
+            s.titleJob = s.job;
+            s.titleLevel = level;
+            s.titleXp = xp;
+            s.titleNext = next;
+            s.bar.name(Component.text(s.job.getDisplayName() + " ", NamedTextColor.GOLD)
+                    .append(Component.text("Lv." + level, NamedTextColor.AQUA))
+                    .append(Component.text(" — ", NamedTextColor.DARK_GRAY))
+                    .append(Component.text(xp + " / " + next + " XP", NamedTextColor.YELLOW)));
+        }
+        if (!s.barShown) {
+            s.bar.color(cfg.getBossBarColor());
+            s.bar.overlay(cfg.getBossBarOverlay());
+            player.showBossBar(s.bar);
+            s.barShown = true;
+        }
+    }
+}
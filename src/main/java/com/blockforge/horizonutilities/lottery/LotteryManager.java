@@ -196,7 +196,7 @@ public class LotteryManager {
         // Check minimum players
         if (distinctPlayers < config.getMinPlayers()) {
             // Refund and announce cancellation
-            plugin.getServer().getScheduler().runTaskAsynchronously(plugin,
+            plugin.getDatabaseManager().runWrite(
                     () -> storage.refundTickets(inst.getId()));
             storage.updateInstanceStatus(inst.getId(), "CANCELLED", null, null);
             inst.markCancelled();
@@ -266,7 +266,7 @@ public class LotteryManager {
     public void cancelLottery(String tierId) {
         LotteryInstance inst = activeInstances.get(tierId);
         if (inst == null) return;
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin,
+        plugin.getDatabaseManager().runWrite(
                 () -> storage.refundTickets(inst.getId()));
         storage.updateInstanceStatus(inst.getId(), "CANCELLED", null, null);
         inst.markCancelled();
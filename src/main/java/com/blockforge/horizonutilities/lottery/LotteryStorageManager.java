@@ -34,18 +34,17 @@ public class LotteryStorageManager {
      * Creates a new lottery instance row and returns its generated id, or -1 on failure.
      */
     public int createInstance(String tierId, double startingPot, long startedAt, long drawAt) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement ps = conn.prepareStatement(
-                    "INSERT INTO lottery_instances (tier_id, pot, started_at, draw_at, status) VALUES (?, ?, ?, ?, 'ACTIVE')",
-                    Statement.RETURN_GENERATED_KEYS);
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "INSERT INTO lottery_instances (tier_id, pot, started_at, draw_at, status) VALUES (?, ?, ?, ?, 'ACTIVE')",
+                Statement.RETURN_GENERATED_KEYS)) {
             ps.setString(1, tierId);
             ps.setDouble(2, startingPot);
             ps.setLong(3, startedAt);
             ps.setLong(4, drawAt);
             ps.executeUpdate();
-            ResultSet keys = ps.getGeneratedKeys();
-            if (keys.next()) return keys.getInt(1);
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (keys.next()) return keys.getInt(1);
+            }
         } catch (SQLException e) {
             plugin.getLogger().warning("[Lottery] Failed to create instance: " + e.getMessage());
         }
@@ -56,10 +55,8 @@ public class LotteryStorageManager {
      * Returns the single ACTIVE instance for the given tier, or null if none exists.
      */
     public LotteryInstance getActiveInstance(String tierId, LotteryTierConfig config) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement ps = conn.prepareStatement(
-                    "SELECT * FROM lottery_instances WHERE tier_id = ? AND status = 'ACTIVE' LIMIT 1");
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT * FROM lottery_instances WHERE tier_id = ? AND status = 'ACTIVE' LIMIT 1")) {
             ps.setString(1, tierId);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) return fromResultSet(rs, config);
@@ -75,10 +72,8 @@ public class LotteryStorageManager {
      */
     public List<LotteryInstance> getAllActiveInstances(java.util.Map<String, LotteryTierConfig> configs) {
         List<LotteryInstance> list = new ArrayList<>();
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement ps = conn.prepareStatement(
-                    "SELECT * FROM lottery_instances WHERE status = 'ACTIVE'");
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT * FROM lottery_instances WHERE status = 'ACTIVE'")) {
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
                 String tierId = rs.getString("tier_id");
@@ -93,10 +88,8 @@ public class LotteryStorageManager {
 
     /** Updates the status, winner_uuid, and winner_name of an instance. */
     public void updateInstanceStatus(int instanceId, String status, UUID winner, String winnerName) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement ps = conn.prepareStatement(
-                    "UPDATE lottery_instances SET status = ?, winner_uuid = ?, winner_name = ? WHERE id = ?");
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "UPDATE lottery_instances SET status = ?, winner_uuid = ?, winner_name = ? WHERE id = ?")) {
             ps.setString(1, status);
             ps.setString(2, winner != null ? winner.toString() : null);
             ps.setString(3, winnerName);
@@ -109,10 +102,8 @@ public class LotteryStorageManager {
 
     /** Updates the pot amount for an instance. */
     public void updateInstancePot(int instanceId, double pot) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement ps = conn.prepareStatement(
-                    "UPDATE lottery_instances SET pot = ? WHERE id = ?");
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "UPDATE lottery_instances SET pot = ? WHERE id = ?")) {
             ps.setDouble(1, pot);
             ps.setInt(2, instanceId);
             ps.executeUpdate();
@@ -128,11 +119,9 @@ public class LotteryStorageManager {
     /** Inserts a ticket purchase row. */
     public void addTicket(int instanceId, UUID playerUuid, String playerName,
                           int count, double totalPaid) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement ps = conn.prepareStatement(
-                    "INSERT INTO lottery_tickets (instance_id, player_uuid, player_name, ticket_count, total_paid, purchased_at) " +
-                    "VALUES (?, ?, ?, ?, ?, ?)");
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "INSERT INTO lottery_tickets (instance_id, player_uuid, player_name, ticket_count, total_paid, purchased_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)")) {
             ps.setInt(1, instanceId);
             ps.setString(2, playerUuid.toString());
             ps.setString(3, playerName);
@@ -150,11 +139,9 @@ public class LotteryStorageManager {
      * ticket rows for the given instance.
      */
     public int getTicketCount(int instanceId, UUID playerUuid) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement ps = conn.prepareStatement(
-                    "SELECT COALESCE(SUM(ticket_count), 0) FROM lottery_tickets " +
-                    "WHERE instance_id = ? AND player_uuid = ? AND refunded = 0");
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT COALESCE(SUM(ticket_count), 0) FROM lottery_tickets " +
+                "WHERE instance_id = ? AND player_uuid = ? AND refunded = 0")) {
             ps.setInt(1, instanceId);
             ps.setString(2, playerUuid.toString());
             ResultSet rs = ps.executeQuery();
@@ -167,11 +154,9 @@ public class LotteryStorageManager {
 
     /** Returns the total number of non-refunded tickets in an instance. */
     public int getTotalTickets(int instanceId) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement ps = conn.prepareStatement(
-                    "SELECT COALESCE(SUM(ticket_count), 0) FROM lottery_tickets " +
-                    "WHERE instance_id = ? AND refunded = 0");
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT COALESCE(SUM(ticket_count), 0) FROM lottery_tickets " +
+                "WHERE instance_id = ? AND refunded = 0")) {
             ps.setInt(1, instanceId);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) return rs.getInt(1);
@@ -187,12 +172,10 @@ public class LotteryStorageManager {
      */
     public List<TicketEntry> getAllTickets(int instanceId) {
         List<TicketEntry> entries = new ArrayList<>();
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement ps = conn.prepareStatement(
-                    "SELECT player_uuid, player_name, SUM(ticket_count) as total " +
-                    "FROM lottery_tickets WHERE instance_id = ? AND refunded = 0 " +
-                    "GROUP BY player_uuid, player_name");
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT player_uuid, player_name, SUM(ticket_count) as total " +
+                "FROM lottery_tickets WHERE instance_id = ? AND refunded = 0 " +
+                "GROUP BY player_uuid, player_name")) {
             ps.setInt(1, instanceId);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
@@ -209,11 +192,9 @@ public class LotteryStorageManager {
 
     /** Returns the number of distinct players who hold tickets in this instance. */
     public int getDistinctPlayerCount(int instanceId) {
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement ps = conn.prepareStatement(
-                    "SELECT COUNT(DISTINCT player_uuid) FROM lottery_tickets " +
-                    "WHERE instance_id = ? AND refunded = 0");
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT COUNT(DISTINCT player_uuid) FROM lottery_tickets " +
+                "WHERE instance_id = ? AND refunded = 0")) {
             ps.setInt(1, instanceId);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) return rs.getInt(1);
@@ -230,22 +211,24 @@ public class LotteryStorageManager {
     public void refundTickets(int instanceId) {
         try {
             Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement select = conn.prepareStatement(
+            try (PreparedStatement select = conn.prepareStatement(
                     "SELECT player_uuid, SUM(total_paid) as refund_amount " +
                     "FROM lottery_tickets WHERE instance_id = ? AND refunded = 0 " +
-                    "GROUP BY player_uuid");
-            select.setInt(1, instanceId);
-            ResultSet rs = select.executeQuery();
-            while (rs.next()) {
-                UUID uuid = UUID.fromString(rs.getString("player_uuid"));
-                double amount = rs.getDouble("refund_amount");
-                plugin.getVaultHook().deposit(Bukkit.getOfflinePlayer(uuid), amount);
+                    "GROUP BY player_uuid")) {
+                select.setInt(1, instanceId);
+                ResultSet rs = select.executeQuery();
+                while (rs.next()) {
+                    UUID uuid = UUID.fromString(rs.getString("player_uuid"));
+                    double amount = rs.getDouble("refund_amount");
+                    plugin.getVaultHook().deposit(Bukkit.getOfflinePlayer(uuid), amount);
+                }
             }
             // Mark all as refunded
-            PreparedStatement update = conn.prepareStatement(
-                    "UPDATE lottery_tickets SET refunded = 1 WHERE instance_id = ? AND refunded = 0");
-            update.setInt(1, instanceId);
-            update.executeUpdate();
+            try (PreparedStatement update = conn.prepareStatement(
+                    "UPDATE lottery_tickets SET refunded = 1 WHERE instance_id = ? AND refunded = 0")) {
+                update.setInt(1, instanceId);
+                update.executeUpdate();
+            }
         } catch (SQLException e) {
             plugin.getLogger().warning("[Lottery] Failed to refund tickets: " + e.getMessage());
         }
@@ -259,12 +242,10 @@ public class LotteryStorageManager {
     public List<WinnerRecord> getRecentWinners(int limit,
                                                 java.util.Map<String, LotteryTierConfig> configs) {
         List<WinnerRecord> records = new ArrayList<>();
-        try {
-            Connection conn = plugin.getDatabaseManager().getConnection();
-            PreparedStatement ps = conn.prepareStatement(
-                    "SELECT tier_id, winner_uuid, winner_name, pot, draw_at " +
-                    "FROM lottery_instances WHERE status = 'DRAWN' AND winner_uuid IS NOT NULL " +
-                    "ORDER BY draw_at DESC LIMIT ?");
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "SELECT tier_id, winner_uuid, winner_name, pot, draw_at " +
+                "FROM lottery_instances WHERE status = 'DRAWN' AND winner_uuid IS NOT NULL " +
+                "ORDER BY draw_at DESC LIMIT ?")) {
             ps.setInt(1, limit);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
@@ -0,0 +1,34 @@
+package com.blockforge.horizonutilities.session;
+
+import com.blockforge.horizonutilities.auction.AuctionNotificationManager;
+import com.blockforge.horizonutilities.jobs.JobPlayer;
+import com.blockforge.horizonutilities.jobs.explore.ExploreTracker;
+import com.blockforge.horizonutilities.jobs.quests.daily.ActiveQuest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Everything the join handlers need about a player, read in one transaction
+ * by {@link PlayerSessionLoader} before the player enters the world.
+ *
+ * @param incomeHour         the UTC hour {@code hourlyIncome} was read for
+ * @param questDate          the day {@code quests} were read for
+ * @param gemsAccountName    name on the gems account, or null if there is none
+ * @param chatBubblesEnabled stored bubble preference, or null if never set
+ */
+public record PlayerSession(
+        UUID uuid,
+        String name,
+        long loadedAt,
+        List<JobPlayer> jobs,
+        long incomeHour,
+        Map<String, Double> hourlyIncome,
+        ExploreTracker.Loaded exploredChunks,
+        String questDate,
+        List<ActiveQuest> quests,
+        String gemsAccountName,
+        Boolean chatBubblesEnabled,
+        List<AuctionNotificationManager.QueuedNotification> notifications
+) {}
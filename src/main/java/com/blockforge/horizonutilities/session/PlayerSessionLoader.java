@@ -0,0 +1,139 @@
+package com.blockforge.horizonutilities.session;
+
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.jobs.JobPlayer;
+import com.blockforge.horizonutilities.jobs.antiexploit.IncomeCapManager;
+import com.blockforge.horizonutilities.jobs.quests.daily.ActiveQuest;
+import com.blockforge.horizonutilities.jobs.quests.daily.DailyQuestManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+
+/**
+ * Reads a joining player's data for every subsystem in one transaction while
+ * the login is still in {@link AsyncPlayerPreLoginEvent}, so the join
+ * handlers can install it synchronously instead of each firing its own query.
+ * <p>
+ * Join listeners call {@link #getSession} and fall back to their own loading
+ * when it returns null (preload timed out, failed, or the plugin was reloaded
+ * with players online). Sessions are released one tick after the join.
+ * <p>
+ * A player who reconnects right after quitting may still have their quit
+ * saves queued on the writer; the preload waits for the writer to drain up to
+ * that point first so it never reads stale rows.
+ */
+public class PlayerSessionLoader implements Listener {
+
+    /** Quits older than this are certainly persisted by the time the player logs in again. */
+    private static final long RECENT_QUIT_MS = 60_000L;
+    private static final long SWEEP_INTERVAL_TICKS = 20L * 30;
+
+    private final HorizonUtilitiesPlugin plugin;
+    private final Map<UUID, PlayerSession> sessions = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> recentQuits = new ConcurrentHashMap<>();
+
+    public PlayerSessionLoader(HorizonUtilitiesPlugin plugin) {
+        this.plugin = plugin;
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::sweep,
+                SWEEP_INTERVAL_TICKS, SWEEP_INTERVAL_TICKS);
+    }
+
+    /** Returns the preloaded session for a joining player, or null if there is none. */
+    public PlayerSession getSession(UUID uuid) {
+        return sessions.get(uuid);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        UUID uuid = event.getUniqueId();
+        String name = event.getName();
+        long timeoutMs = plugin.getConfigManager().getSessionPreloadTimeoutMs();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        var db = plugin.getDatabaseManager();
+
+        try {
+            if (recentQuits.containsKey(uuid)) {
+                // Writes run in submission order, so this completes after the quit saves
+                db.write(conn -> null).get(timeoutMs, TimeUnit.MILLISECONDS);
+            }
+            long remainingMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            PlayerSession session = db.read(conn -> load(conn, uuid, name))
+                    .get(remainingMs, TimeUnit.MILLISECONDS);
+            sessions.put(uuid, session);
+        } catch (TimeoutException e) {
+            plugin.getLogger().warning("[Sessions] Preloading " + name + " took over " + timeoutMs
+                    + " ms; their data will be loaded after join.");
+        } catch (ExecutionException e) {
+            plugin.getLogger().log(Level.WARNING, "[Sessions] Failed to preload " + name
+                    + "; their data will be loaded after join", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PlayerSession load(Connection conn, UUID uuid, String name) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            List<JobPlayer> jobs = plugin.getJobManager().getStorage().loadPlayerJobs(uuid);
+            long incomeHour = IncomeCapManager.currentHour();
+            Map<String, Double> income = plugin.getJobManager().getStorage().loadHourlyIncome(uuid, incomeHour);
+            var explored = plugin.getJobManager().getStorage().loadExploredChunks(uuid);
+
+            String questDate = DailyQuestManager.todayDate();
+            List<ActiveQuest> quests = plugin.getDailyQuestManager().getConfig().isEnabled()
+                    ? plugin.getDailyQuestManager().getStorage().loadPlayerQuests(uuid, questDate)
+                    : List.of();
+
+            String gemsName = plugin.getGemsManager().getStorage().getAccountName(uuid);
+            Boolean bubbles = plugin.getChatBubbleManager().readPreference(uuid);
+            var notifications = plugin.getNotificationManager().loadQueued(uuid);
+
+            conn.commit();
+            return new PlayerSession(uuid, name, System.currentTimeMillis(), jobs, incomeHour, income,
+                    explored, questDate, quests, gemsName, bubbles, notifications);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        PlayerSession session = sessions.get(uuid);
+        if (session == null) return;
+        // Other plugins' MONITOR join handlers may still run after this one
+        plugin.getServer().getScheduler().runTask(plugin, () -> sessions.remove(uuid, session));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        sessions.remove(uuid);
+        recentQuits.put(uuid, System.currentTimeMillis());
+    }
+
+    /** Drops sessions whose login was denied after pre-login, and old quit records. */
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        long expiryMs = plugin.getConfigManager().getSessionUnclaimedExpirySeconds() * 1000L;
+        sessions.values().removeIf(s -> now - s.loadedAt() > expiryMs
+                && plugin.getServer().getPlayer(s.uuid()) == null);
+        recentQuits.values().removeIf(quitAt -> now - quitAt > RECENT_QUIT_MS);
+    }
+}
@@ -0,0 +1,300 @@
+package com.blockforge.horizonutilities.storage;
+
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.config.ConfigManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Periodic upkeep for the SQLite backend:
+ * <ul>
+ *   <li>WAL checkpoints — {@code PASSIVE} on a fixed interval, {@code TRUNCATE}
+ *       while no players are online so the {@code -wal} file is reset instead
+ *       of growing until the next restart;</li>
+ *   <li>{@code ANALYZE} with a bounded {@code analysis_limit}, so the planner
+ *       keeps accurate statistics as tables grow;</li>
+ *   <li>{@code incremental_vacuum} to hand back pages freed by purge jobs.
+ *       Databases created without auto-vacuum are converted once, with a full
+ *       {@code VACUUM} in the first idle window;</li>
+ *   <li>online backups through the SQLite backup API, written to a temporary
+ *       file, renamed into place and rotated.</li>
+ * </ul>
+ * Checkpoints, ANALYZE and vacuuming are queued on the writer thread so they
+ * never race regular writes. Backups read from their own connection and do
+ * not block writers. The duration and outcome of every task's last run is
+ * shown by {@code /horizondb maintenance}.
+ */
+public class DatabaseMaintenance {
+
+    public enum Task { CHECKPOINT, ANALYZE, VACUUM, BACKUP }
+
+    /** Outcome of one maintenance run. */
+    public record Run(long startedAt, long durationMs, boolean success, String detail) {}
+
+    private static final long TICK_SECONDS = 30L;
+    /** Rows sampled per index by ANALYZE; keeps it fast on million-row tables. */
+    private static final int ANALYSIS_LIMIT = 1000;
+    private static final DateTimeFormatter BACKUP_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String BACKUP_SUFFIX = ".db";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final HorizonUtilitiesPlugin plugin;
+    private final DatabaseManager db;
+    private final Map<Task, Run> lastRuns = new EnumMap<>(Task.class);
+    private final Map<Task, Long> nextDue = new EnumMap<>(Task.class);
+    private ScheduledExecutorService executor;
+
+    public DatabaseMaintenance(HorizonUtilitiesPlugin plugin, DatabaseManager db) {
+        this.plugin = plugin;
+        this.db = db;
+    }
+
+    public void start() {
+        ConfigManager cfg = plugin.getConfigManager();
+        long now = System.currentTimeMillis();
+        nextDue.put(Task.CHECKPOINT, now + cfg.getMaintenanceCheckpointIntervalSeconds() * 1000L);
+        nextDue.put(Task.ANALYZE, now + TimeUnit.HOURS.toMillis(cfg.getMaintenanceAnalyzeIntervalHours()));
+        nextDue.put(Task.VACUUM, now + TimeUnit.MINUTES.toMillis(cfg.getMaintenanceVacuumIntervalMinutes()));
+        // Pick up the backup schedule where the previous run left it
+        nextDue.put(Task.BACKUP, newestBackupTime() + TimeUnit.HOURS.toMillis(cfg.getMaintenanceBackupIntervalHours()));
+
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "HorizonUtilities-DB-Maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::tick, TICK_SECONDS, TICK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void shutdown() {
+        if (executor == null) return;
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("[DB] Maintenance task did not finish before shutdown.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Runs a task immediately on the maintenance thread, regardless of its schedule. */
+    public CompletableFuture<Run> runNow(Task task) {
+        if (executor == null || executor.isShutdown()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Maintenance is not running"));
+        }
+        return CompletableFuture.supplyAsync(() -> run(task, true), executor);
+    }
+
+    /** Last run of each task that has run since startup. */
+    public synchronized Map<Task, Run> getLastRuns() {
+        return new EnumMap<>(lastRuns);
+    }
+
+    public synchronized Long getNextDue(Task task) {
+        return nextDue.get(task);
+    }
+
+    // -------------------------------------------------------------------------
+    // Scheduling
+    // -------------------------------------------------------------------------
+
+    private void tick() {
+        ConfigManager cfg = plugin.getConfigManager();
+        boolean idle = plugin.getServer().getOnlinePlayers().isEmpty();
+        if (isDue(Task.CHECKPOINT)) {
+            run(Task.CHECKPOINT, idle && cfg.isMaintenanceTruncateWhenIdle());
+            reschedule(Task.CHECKPOINT, cfg.getMaintenanceCheckpointIntervalSeconds() * 1000L);
+        }
+        if (isDue(Task.ANALYZE)) {
+            run(Task.ANALYZE, false);
+            reschedule(Task.ANALYZE, TimeUnit.HOURS.toMillis(cfg.getMaintenanceAnalyzeIntervalHours()));
+        }
+        if (isDue(Task.VACUUM)) {
+            run(Task.VACUUM, idle);
+            reschedule(Task.VACUUM, TimeUnit.MINUTES.toMillis(cfg.getMaintenanceVacuumIntervalMinutes()));
+        }
+        if (cfg.isMaintenanceBackupEnabled() && isDue(Task.BACKUP)) {
+            run(Task.BACKUP, false);
+            reschedule(Task.BACKUP, TimeUnit.HOURS.toMillis(cfg.getMaintenanceBackupIntervalHours()));
+        }
+    }
+
+    private synchronized boolean isDue(Task task) {
+        return System.currentTimeMillis() >= nextDue.getOrDefault(task, 0L);
+    }
+
+    private synchronized void reschedule(Task task, long intervalMs) {
+        nextDue.put(task, System.currentTimeMillis() + Math.max(1000L, intervalMs));
+    }
+
+    /**
+     * @param opportunistic for checkpoints, use TRUNCATE instead of PASSIVE;
+     *                      for vacuum, allow the one-off auto-vacuum conversion
+     */
+    private Run run(Task task, boolean opportunistic) {
+        long startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Run result;
+        try {
+            String detail = switch (task) {
+                case CHECKPOINT -> checkpoint(opportunistic ? "TRUNCATE" : "PASSIVE");
+                case ANALYZE -> analyze();
+                case VACUUM -> vacuum(opportunistic);
+                case BACKUP -> backup();
+            };
+            result = new Run(startedAt, (System.nanoTime() - start) / 1_000_000L, true, detail);
+            if (task != Task.CHECKPOINT) {
+                plugin.getLogger().info("[DB] " + task.name().toLowerCase(Locale.ROOT) + " finished in "
+                        + result.durationMs() + " ms: " + detail);
+            }
+        } catch (RuntimeException | SQLException | IOException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            result = new Run(startedAt, (System.nanoTime() - start) / 1_000_000L, false, String.valueOf(cause.getMessage()));
+            plugin.getLogger().log(Level.WARNING, "[DB] " + task.name().toLowerCase(Locale.ROOT) + " failed", cause);
+        }
+        synchronized (this) {
+            lastRuns.put(task, result);
+        }
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // Tasks
+    // -------------------------------------------------------------------------
+
+    private String checkpoint(String mode) {
+        return db.write(conn -> {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(" + mode + ")")) {
+                if (!rs.next()) return mode.toLowerCase(Locale.ROOT);
+                boolean busy = rs.getInt(1) != 0;
+                return mode.toLowerCase(Locale.ROOT) + ", " + rs.getInt(3) + "/" + rs.getInt(2) + " frames"
+                        + (busy ? " (readers busy)" : "");
+            }
+        }).join();
+    }
+
+    private String analyze() {
+        return db.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA analysis_limit=" + ANALYSIS_LIMIT);
+                stmt.execute("ANALYZE");
+            }
+            return "statistics refreshed";
+        }).join();
+    }
+
+    private String vacuum(boolean idle) {
+        boolean migrate = idle && plugin.getConfigManager().isMaintenanceAutoVacuumMigrate();
+        int maxPages = Math.max(1, plugin.getConfigManager().getMaintenanceIncrementalVacuumPages());
+        return db.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                int mode = pragmaInt(stmt, "PRAGMA auto_vacuum");
+                if (mode == 0) {
+                    if (!migrate) return "auto_vacuum is off; conversion waits for an idle server";
+                    // Only takes effect on an empty database or through a full VACUUM
+                    stmt.execute("PRAGMA auto_vacuum=INCREMENTAL");
+                    stmt.execute("VACUUM");
+                    return "converted to incremental auto-vacuum";
+                }
+                if (mode == 1) return "auto_vacuum=full, nothing to do";
+                int free = pragmaInt(stmt, "PRAGMA freelist_count");
+                if (free == 0) return "no free pages";
+                int pages = Math.min(free, maxPages);
+                // incremental_vacuum frees one page per step, so the result must be drained
+                try (ResultSet rs = stmt.executeQuery("PRAGMA incremental_vacuum(" + pages + ")")) {
+                    while (rs.next()) { /* step */ }
+                }
+                return "reclaimed " + pages + " of " + free + " free pages";
+            }
+        }).join();
+    }
+
+    private static int pragmaInt(Statement stmt, String pragma) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(pragma)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private String backup() throws SQLException, IOException {
+        File dir = backupFolder();
+        if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("Cannot create " + dir);
+        String name = backupPrefix() + LocalDateTime.now().format(BACKUP_STAMP) + BACKUP_SUFFIX;
+        File temp = new File(dir, name + TEMP_SUFFIX);
+        File target = new File(dir, name);
+
+        try (Connection conn = db.openBackupConnection(); Statement stmt = conn.createStatement()) {
+            // sqlite-jdbc runs this through sqlite3_backup, copying a consistent snapshot
+            stmt.executeUpdate("backup to \"" + temp.getAbsolutePath() + "\"");
+        } catch (SQLException e) {
+            Files.deleteIfExists(temp.toPath());
+            throw e;
+        }
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        int removed = rotateBackups(dir);
+        return target.getName() + " (" + target.length() / 1024 + " KiB)"
+                + (removed > 0 ? ", removed " + removed + " old backup(s)" : "");
+    }
+
+    /** Keeps the newest {@code keep} backups and deletes the rest, plus leftovers of interrupted runs. */
+    private int rotateBackups(File dir) throws IOException {
+        String prefix = backupPrefix();
+        File[] leftovers = dir.listFiles((d, n) -> n.startsWith(prefix) && n.endsWith(TEMP_SUFFIX));
+        if (leftovers != null) {
+            for (File f : leftovers) Files.deleteIfExists(f.toPath());
+        }
+        File[] backups = listBackups(dir);
+        int keep = Math.max(1, plugin.getConfigManager().getMaintenanceBackupKeep());
+        if (backups.length <= keep) return 0;
+        // Timestamped names sort chronologically
+        Arrays.sort(backups, Comparator.comparing(File::getName).reversed());
+        int removed = 0;
+        for (int i = keep; i < backups.length; i++) {
+            Files.deleteIfExists(backups[i].toPath());
+            removed++;
+        }
+        return removed;
+    }
+
+    private long newestBackupTime() {
+        File[] backups = listBackups(backupFolder());
+        long newest = 0;
+        for (File f : backups) newest = Math.max(newest, f.lastModified());
+        return newest;
+    }
+
+    private File[] listBackups(File dir) {
+        String prefix = backupPrefix();
+        File[] files = dir.listFiles((d, n) -> n.startsWith(prefix) && n.endsWith(BACKUP_SUFFIX));
+        return files != null ? files : new File[0];
+    }
+
+    private File backupFolder() {
+        return new File(plugin.getDataFolder(), plugin.getConfigManager().getMaintenanceBackupFolder());
+    }
+
+    private String backupPrefix() {
+        return plugin.getConfigManager().getDatabaseFile().replaceFirst("\\.db$", "") + "-";
+    }
+}
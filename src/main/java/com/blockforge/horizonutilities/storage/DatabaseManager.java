@@ -1,371 +1,454 @@
 package com.blockforge.horizonutilities.storage;
 
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.config.ConfigManager;
+import com.blockforge.horizonutilities.storage.migration.MigrationManager;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 
 import java.io.File;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
-
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Owns the database and the threads that talk to it.
+ * <p>
+ * The backend is chosen by {@code database.type}: a local SQLite file (the
+ * default), or a MySQL, MariaDB or embedded H2 database reached through a
+ * HikariCP pool so several servers can share one set of tables. Differences in
+ * SQL are handled by {@link SqlDialect}.
+ * <p>
+ * Writes are funnelled through a single dedicated writer thread that owns its
+ * own connection, so write bursts (audit log, jobs saves) queue up behind
+ * each other instead of contending on a monitor, and its transactions never
+ * pick up statements from other threads. Reads can be dispatched to a small
+ * pool of reader threads, each holding its own query-only WAL connection, so
+ * a GUI query never waits behind the writer.
+ * <p>
+ * Legacy callers may still use {@link #getConnection()}; it returns the
+ * thread's read connection on a reader, the writer's connection on the
+ * writer, and elsewhere a shared autocommit-only {@link DirectConnection}.
+ * <p>
+ * With SQLite, every connection reuses its prepared statements through a
+ * {@link StatementCache}, so callers should close statements promptly
+ * (try-with-resources) to hand them back. Pooled backends instead borrow a
+ * connection per {@link #read}/{@link #write} task, or per statement for
+ * direct callers, and rely on the driver's own statement cache; no pooled
+ * connection is held between tasks.
+ */
 public class DatabaseManager {
 
+    /** How long a validated connection is trusted before {@code isValid} is called again. */
+    private static final long VALIDATE_INTERVAL_MS = 30_000L;
+    private static final int BUSY_TIMEOUT_MS = 5000;
+    private static final int MYSQL_DUPLICATE_KEY_NAME = 1061;
+
     private final HorizonUtilitiesPlugin plugin;
-    private Connection connection;
+    private final SqlDialect dialect;
+    private final QueryProfiler profiler;
+    private final StatementCache statementCache;
+    private final QueryPlanAuditor queryPlanAuditor;
+    private final MigrationManager migrations;
+    private final DatabaseMaintenance maintenance;
+    private HikariDataSource dataSource;
+    /** Pooled connection borrowed by the task currently running on this thread. */
+    private final ThreadLocal<Connection> taskConnection = new ThreadLocal<>();
+    /** Shared autocommit-only connection for callers outside read()/write(). */
+    private volatile Connection connection;
+    private volatile long lastValidated;
+    /** The writer's own connection (SQLite); touched only by the writer thread. */
+    private Connection writerConnection;
+    private long writerValidated;
+    private final Object reconnectLock = new Object();
+
+    private ExecutorService writer;
+    private volatile Thread writerThread;
+    private ExecutorService readers;
+    private final List<Connection> readConnections = new CopyOnWriteArrayList<>();
 
     public DatabaseManager(HorizonUtilitiesPlugin plugin) {
         this.plugin = plugin;
+        var cfg = plugin.getConfigManager();
+        this.dialect = cfg.getDatabaseType();
+        this.profiler = new QueryProfiler(plugin.getLogger(),
+                cfg.isDatabaseProfilerEnabled(), cfg.getDatabaseMainThreadPolicy());
+        this.statementCache = new StatementCache(cfg.getDatabaseStatementCacheSize());
+        this.queryPlanAuditor = new QueryPlanAuditor(plugin.getLogger(), dialect);
+        this.migrations = new MigrationManager(plugin, this);
+        this.maintenance = new DatabaseMaintenance(plugin, this);
     }
 
     public void init() {
         try {
-            File dbFile = new File(plugin.getDataFolder(), plugin.getConfigManager().getDatabaseFile());
             plugin.getDataFolder().mkdirs();
-            String url = "jdbc:sqlite:" + dbFile.getAbsolutePath();
-            connection = DriverManager.getConnection(url);
-            createTables();
-            plugin.getLogger().info("SQLite database connected.");
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to connect to SQLite: " + e.getMessage());
+            if (!dialect.isSqlite()) dataSource = createDataSource();
+            startExecutors();
+            // Migrations run on the writer, in the writer's own transactions
+            write(conn -> {
+                initSchema(conn);
+                return null;
+            }).join();
+            connection = dataSource != null
+                    ? DirectConnection.pooled(this::borrowPooled)
+                    : DirectConnection.wrap(openConnection());
+            lastValidated = System.currentTimeMillis();
+            plugin.getLogger().info("Database connected (" + dialect.name().toLowerCase(Locale.ROOT) + ", schema v"
+                    + migrations.getCurrentVersion() + ").");
+            migrations.startBackfills();
+            if (dialect.isSqlite() && plugin.getConfigManager().isMaintenanceEnabled()) maintenance.start();
+            auditQueryPlans();
+        } catch (SQLException | RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            plugin.getLogger().severe("Failed to connect to " + dialect.name().toLowerCase(Locale.ROOT) + " database: " + cause.getMessage());
         }
     }
 
-    private void createTables() throws SQLException {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.executeUpdate("PRAGMA journal_mode=WAL");
+    private String jdbcUrl() {
+        ConfigManager cfg = plugin.getConfigManager();
+        File dbFile = new File(plugin.getDataFolder(), cfg.getDatabaseFile());
+        return switch (dialect) {
+            case SQLITE -> "jdbc:sqlite:" + dbFile.getAbsolutePath();
+            // H2 appends its own .mv.db suffix; AUTO_SERVER lets several local servers share the file
+            case H2 -> "jdbc:h2:file:" + dbFile.getAbsolutePath().replaceFirst("\\.db$", "")
+                    + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;AUTO_SERVER=TRUE";
+            case MYSQL -> "jdbc:mysql://" + cfg.getDatabaseHost() + ":" + cfg.getDatabasePort() + "/" + cfg.getDatabaseName();
+            case MARIADB -> "jdbc:mariadb://" + cfg.getDatabaseHost() + ":" + cfg.getDatabasePort() + "/" + cfg.getDatabaseName();
+        };
+    }
+
+    private HikariDataSource createDataSource() {
+        ConfigManager cfg = plugin.getConfigManager();
+        HikariConfig hc = new HikariConfig();
+        hc.setPoolName("HorizonUtilities-Pool");
+        hc.setDriverClassName(dialect.getDriverClass());
+        hc.setJdbcUrl(jdbcUrl());
+        hc.setUsername(cfg.getDatabaseUsername());
+        hc.setPassword(cfg.getDatabasePassword());
+        // writer + one per reader + a direct statement in flight must fit without waiting
+        int minimumSize = Math.max(1, cfg.getDatabaseReadPoolSize()) + 2;
+        hc.setMaximumPoolSize(Math.max(minimumSize, cfg.getDatabasePoolMaxSize()));
+        hc.setMinimumIdle(Math.max(0, cfg.getDatabasePoolMinIdle()));
+        hc.setConnectionTimeout(cfg.getDatabasePoolConnectionTimeoutMs());
+        hc.setMaxLifetime(cfg.getDatabasePoolMaxLifetimeMs());
+        if (dialect == SqlDialect.MYSQL || dialect == SqlDialect.MARIADB) {
+            hc.addDataSourceProperty("cachePrepStmts", "true");
+            hc.addDataSourceProperty("prepStmtCacheSize", String.valueOf(Math.max(25, cfg.getDatabaseStatementCacheSize())));
+            hc.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            hc.addDataSourceProperty("useServerPrepStmts", "true");
+            hc.addDataSourceProperty("rewriteBatchedStatements", "true");
+        }
+        return new HikariDataSource(hc);
+    }
+
+    /** Opens a SQLite connection; pooled backends borrow through {@link #borrowPooled()} instead. */
+    private Connection openConnection() throws SQLException {
+        Connection conn = statementCache.wrap(profiler.wrap(DriverManager.getConnection(jdbcUrl())));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MS);
             stmt.executeUpdate("PRAGMA foreign_keys=ON");
+        }
+        return conn;
+    }
+
+    /**
+     * Opens an unshared SQLite connection for online backups. It bypasses the
+     * profiler and statement cache and must be closed by the caller.
+     */
+    Connection openBackupConnection() throws SQLException {
+        Connection conn = DriverManager.getConnection(jdbcUrl());
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MS);
+        }
+        return conn;
+    }
+
+    private Connection openReadConnection() throws SQLException {
+        Connection conn = openConnection();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("PRAGMA query_only=ON");
+        }
+        readConnections.add(conn);
+        return conn;
+    }
+
+    private void startExecutors() {
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "HorizonUtilities-DB-Writer");
+            t.setDaemon(true);
+            writerThread = t;
+            return t;
+        });
+        int poolSize = Math.max(1, plugin.getConfigManager().getDatabaseReadPoolSize());
+        AtomicInteger counter = new AtomicInteger();
+        readers = Executors.newFixedThreadPool(poolSize,
+                r -> new ReaderThread(r, "HorizonUtilities-DB-Reader-" + counter.incrementAndGet()));
+    }
 
-            stmt.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS ah_listings (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    seller_uuid TEXT NOT NULL,
-                    seller_name TEXT NOT NULL,
-                    item_data BLOB NOT NULL,
-                    item_material TEXT NOT NULL,
-                    item_display_name TEXT,
-                    start_price REAL NOT NULL,
-                    buyout_price REAL,
-                    current_bid REAL NOT NULL DEFAULT 0,
-                    current_bidder_uuid TEXT,
-                    current_bidder_name TEXT,
-                    category TEXT NOT NULL,
-                    listed_at INTEGER NOT NULL,
-                    expires_at INTEGER NOT NULL,
-                    status TEXT NOT NULL DEFAULT 'ACTIVE',
-                    listing_fee REAL NOT NULL DEFAULT 0
-                )""");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_listings_status ON ah_listings(status)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_listings_seller ON ah_listings(seller_uuid)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_listings_category ON ah_listings(category)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_listings_expires ON ah_listings(expires_at)");
-
-            stmt.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS ah_bids (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    listing_id INTEGER NOT NULL,
-                    bidder_uuid TEXT NOT NULL,
-                    bidder_name TEXT NOT NULL,
-                    amount REAL NOT NULL,
-                    bid_at INTEGER NOT NULL,
-                    FOREIGN KEY (listing_id) REFERENCES ah_listings(id)
-                )""");
-
-            stmt.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS ah_transactions (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    listing_id INTEGER NOT NULL,
-                    seller_uuid TEXT NOT NULL,
-                    buyer_uuid TEXT NOT NULL,
-                    item_data BLOB NOT NULL,
-                    item_material TEXT NOT NULL,
-                    sale_price REAL NOT NULL,
-                    sale_type TEXT NOT NULL,
-                    tax_amount REAL NOT NULL DEFAULT 0,
-                    fee_amount REAL NOT NULL DEFAULT 0,
-                    completed_at INTEGER NOT NULL
-                )""");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_transactions_seller ON ah_transactions(seller_uuid)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_transactions_buyer ON ah_transactions(buyer_uuid)");
-
-            stmt.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS ah_collection (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    player_uuid TEXT NOT NULL,
-                    type TEXT NOT NULL,
-                    item_data BLOB,
-                    amount REAL NOT NULL DEFAULT 0,
-                    reason TEXT,
-                    created_at INTEGER NOT NULL
-                )""");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_collection_player ON ah_collection(player_uuid)");
-
-            stmt.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS ah_notifications (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    player_uuid TEXT NOT NULL,
-                    message_key TEXT NOT NULL,
-                    message_data TEXT,
-                    created_at INTEGER NOT NULL
-                )""");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_notifications_player ON ah_notifications(player_uuid)");
-
-            stmt.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS ah_price_history (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    material TEXT NOT NULL,
-                    avg_price REAL NOT NULL,
-                    min_price REAL NOT NULL,
-                    max_price REAL NOT NULL,
-                    sale_count INTEGER NOT NULL,
-                    period_date TEXT NOT NULL
-                )""");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_price_material ON ah_price_history(material)");
-
-            stmt.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS ah_bans (
-                    player_uuid TEXT PRIMARY KEY,
-                    banned_by TEXT NOT NULL,
-                    reason TEXT,
-                    banned_at INTEGER NOT NULL
-                )""");
-
-            stmt.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS chatgames_stats (
-                    player_uuid TEXT PRIMARY KEY,
-                    player_name TEXT NOT NULL,
-                    wins INTEGER NOT NULL DEFAULT 0,
-                    current_streak INTEGER NOT NULL DEFAULT 0,
-                    best_streak INTEGER NOT NULL DEFAULT 0,
-                    fastest_time_ms INTEGER NOT NULL DEFAULT 0,
-                    last_win INTEGER NOT NULL DEFAULT 0
-                )""");
-
-            stmt.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS ah_escrow (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    listing_id INTEGER NOT NULL,
-                    bidder_uuid TEXT NOT NULL,
-                    amount REAL NOT NULL,
-                    created_at INTEGER NOT NULL,
-                    FOREIGN KEY (listing_id) REFERENCES ah_listings(id)
-                )""");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_escrow_listing ON ah_escrow(listing_id)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_escrow_bidder ON ah_escrow(bidder_uuid)");
-
-            // Jobs tables
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS jobs_players (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "player_uuid TEXT NOT NULL," +
-                "player_name TEXT NOT NULL," +
-                "job_id TEXT NOT NULL," +
-                "level INTEGER NOT NULL DEFAULT 1," +
-                "xp REAL NOT NULL DEFAULT 0," +
-                "prestige INTEGER NOT NULL DEFAULT 0," +
-                "total_earned REAL NOT NULL DEFAULT 0," +
-                "joined_at INTEGER NOT NULL," +
-                "last_active INTEGER NOT NULL," +
-                "UNIQUE(player_uuid, job_id))");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_jobs_player ON jobs_players(player_uuid)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_jobs_job ON jobs_players(job_id)");
-
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS jobs_placed_blocks (" +
-                "world TEXT NOT NULL," +
-                "x INTEGER NOT NULL," +
-                "y INTEGER NOT NULL," +
-                "z INTEGER NOT NULL," +
-                "player_uuid TEXT NOT NULL," +
-                "placed_at INTEGER NOT NULL," +
-                "PRIMARY KEY (world, x, y, z))");
-
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS jobs_income_tracking (" +
-                "player_uuid TEXT NOT NULL," +
-                "job_id TEXT NOT NULL," +
-                "hour_key TEXT NOT NULL," +
-                "earned REAL NOT NULL DEFAULT 0," +
-                "PRIMARY KEY (player_uuid, job_id, hour_key))");
-
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS jobs_quests (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "player_uuid TEXT NOT NULL," +
-                "quest_id TEXT NOT NULL," +
-                "job_id TEXT NOT NULL," +
-                "description TEXT NOT NULL," +
-                "target_type TEXT NOT NULL," +
-                "target_material TEXT," +
-                "target_amount INTEGER NOT NULL," +
-                "current_progress INTEGER NOT NULL DEFAULT 0," +
-                "reward_money REAL NOT NULL DEFAULT 0," +
-                "reward_xp REAL NOT NULL DEFAULT 0," +
-                "assigned_date TEXT NOT NULL," +
-                "completed INTEGER NOT NULL DEFAULT 0," +
-                "completed_at INTEGER)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_quests_player ON jobs_quests(player_uuid, assigned_date)");
-
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS jobs_quest_definitions (" +
-                "quest_id TEXT PRIMARY KEY," +
-                "job_id TEXT NOT NULL," +
-                "description TEXT NOT NULL," +
-                "action_type TEXT NOT NULL," +
-                "target_material TEXT," +
-                "target_amount INTEGER NOT NULL," +
-                "reward_money REAL NOT NULL DEFAULT 0," +
-                "reward_xp REAL NOT NULL DEFAULT 0," +
-                "weight INTEGER NOT NULL DEFAULT 1," +
-                "enabled INTEGER NOT NULL DEFAULT 1)");
-
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS jobs_boosts (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "job_id TEXT," +
-                "multiplier REAL NOT NULL," +
-                "started_by TEXT," +
-                "started_at INTEGER NOT NULL," +
-                "ends_at INTEGER NOT NULL," +
-                "reason TEXT)");
-
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS jobs_explored_chunks (" +
-                "player_uuid TEXT NOT NULL," +
-                "world TEXT NOT NULL," +
-                "chunk_x INTEGER NOT NULL," +
-                "chunk_z INTEGER NOT NULL," +
-                "discovered_at INTEGER NOT NULL," +
-                "PRIMARY KEY (player_uuid, world, chunk_x, chunk_z))");
-
-            // Black Market
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS blackmarket_log (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "player_uuid TEXT NOT NULL," +
-                "player_name TEXT NOT NULL," +
-                "item_id TEXT NOT NULL," +
-                "quantity INTEGER NOT NULL," +
-                "price_each REAL NOT NULL," +
-                "total_price REAL NOT NULL," +
-                "purchased_at INTEGER NOT NULL)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_bm_player ON blackmarket_log(player_uuid)");
-
-            // Trade
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS trade_log (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "player1_uuid TEXT NOT NULL," +
-                "player1_name TEXT NOT NULL," +
-                "player2_uuid TEXT NOT NULL," +
-                "player2_name TEXT NOT NULL," +
-                "player1_items TEXT," +
-                "player1_money REAL NOT NULL DEFAULT 0," +
-                "player2_items TEXT," +
-                "player2_money REAL NOT NULL DEFAULT 0," +
-                "completed_at INTEGER NOT NULL)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_trade_p1 ON trade_log(player1_uuid)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_trade_p2 ON trade_log(player2_uuid)");
-
-            // Lottery
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS lottery_instances (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "tier_id TEXT NOT NULL," +
-                "pot REAL NOT NULL," +
-                "started_at INTEGER NOT NULL," +
-                "draw_at INTEGER NOT NULL," +
-                "status TEXT NOT NULL DEFAULT 'ACTIVE'," +
-                "winner_uuid TEXT," +
-                "winner_name TEXT)");
-
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS lottery_tickets (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "instance_id INTEGER NOT NULL," +
-                "player_uuid TEXT NOT NULL," +
-                "player_name TEXT NOT NULL," +
-                "ticket_count INTEGER NOT NULL," +
-                "total_paid REAL NOT NULL," +
-                "purchased_at INTEGER NOT NULL," +
-                "refunded INTEGER NOT NULL DEFAULT 0," +
-                "FOREIGN KEY (instance_id) REFERENCES lottery_instances(id))");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_lottery_instance ON lottery_tickets(instance_id)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_lottery_player ON lottery_tickets(player_uuid)");
-
-            // Bounty
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS bounties (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "target_uuid TEXT NOT NULL," +
-                "target_name TEXT NOT NULL," +
-                "setter_uuid TEXT NOT NULL," +
-                "setter_name TEXT NOT NULL," +
-                "amount REAL NOT NULL," +
-                "anonymous INTEGER NOT NULL DEFAULT 0," +
-                "created_at INTEGER NOT NULL," +
-                "expires_at INTEGER NOT NULL," +
-                "status TEXT NOT NULL DEFAULT 'ACTIVE'," +
-                "claimed_by_uuid TEXT," +
-                "claimed_by_name TEXT," +
-                "claimed_at INTEGER)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_bounty_target ON bounties(target_uuid, status)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_bounty_status ON bounties(status)");
-
-            // Gems
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS gems (" +
-                "player_uuid TEXT PRIMARY KEY," +
-                "player_name TEXT NOT NULL," +
-                "balance REAL NOT NULL DEFAULT 0," +
-                "total_earned REAL NOT NULL DEFAULT 0," +
-                "total_spent REAL NOT NULL DEFAULT 0," +
-                "last_modified INTEGER NOT NULL)");
-
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS gems_transactions (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "player_uuid TEXT NOT NULL," +
-                "transaction_type TEXT NOT NULL," +
-                "amount REAL NOT NULL," +
-                "balance_after REAL NOT NULL," +
-                "reason TEXT," +
-                "timestamp INTEGER NOT NULL)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_gems_tx_player ON gems_transactions(player_uuid)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_gems_tx_time ON gems_transactions(timestamp)");
-
-            // Economy audit
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS economy_audit_log (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "player_uuid TEXT NOT NULL," +
-                "player_name TEXT NOT NULL," +
-                "action_type TEXT NOT NULL," +
-                "amount REAL NOT NULL," +
-                "balance_after REAL," +
-                "source TEXT," +
-                "related_uuid TEXT," +
-                "created_at INTEGER NOT NULL)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_audit_player ON economy_audit_log(player_uuid)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_audit_type ON economy_audit_log(action_type)");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_audit_time ON economy_audit_log(created_at)");
+    private void initSchema(Connection conn) throws SQLException {
+        if (dialect.isSqlite()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("PRAGMA journal_mode=WAL");
+            }
+        }
+        migrations.migrate(conn);
+    }
+
+    /**
+     * Creates the composite indexes for the hot queries in the background, then
+     * checks their plans. Index builds over large tables hold the writer for a
+     * while, but nothing on the main thread waits for them.
+     */
+    private void auditQueryPlans() {
+        write(conn -> {
+            queryPlanAuditor.ensureIndexes(this, conn);
+            return null;
+        }).thenCompose(v -> read(conn -> queryPlanAuditor.audit(conn)))
+          .thenAccept(queryPlanAuditor::report)
+          .exceptionally(e -> {
+              Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+              plugin.getLogger().log(Level.WARNING, "[DB] Query plan audit failed", cause);
+              return null;
+          });
+    }
+
+    /**
+     * Runs a {@code CREATE TABLE}/{@code CREATE INDEX} statement written in
+     * SQLite syntax, translated for the configured backend. Index creation is
+     * idempotent on every backend.
+     */
+    public void executeDdl(Statement stmt, String sql) throws SQLException {
+        if (!sql.startsWith("CREATE INDEX") || dialect.supportsCreateIndexIfNotExists()) {
+            stmt.executeUpdate(dialect.ddl(sql));
+            return;
+        }
+        try {
+            stmt.executeUpdate(sql.replace("IF NOT EXISTS ", ""));
+        } catch (SQLException e) {
+            if (e.getErrorCode() != MYSQL_DUPLICATE_KEY_NAME) throw e;
         }
     }
 
-    public synchronized Connection getConnection() {
+    /**
+     * Returns the connection appropriate for the calling thread: the reader
+     * thread's query-only connection inside {@link #read}, the writer's own
+     * connection inside {@link #write}, otherwise the shared autocommit-only
+     * connection, which must not be used for transactions. Connections are
+     * only re-validated every {@value #VALIDATE_INTERVAL_MS} ms, so the hot
+     * path takes no lock.
+     */
+    public Connection getConnection() {
+        Connection borrowed = taskConnection.get();
+        if (borrowed != null) return borrowed;
+        if (Thread.currentThread() instanceof ReaderThread reader) {
+            return reader.connection();
+        }
+        if (isWriterThread()) return writerConnection();
+        // Pooled: borrows per statement, nothing to validate
+        if (dataSource != null) return connection;
+        Connection conn = connection;
         try {
-            if (connection == null || connection.isClosed() || !connection.isValid(1)) {
-                plugin.getLogger().info("Database connection was closed, reconnecting...");
-                // Close the old connection if it still exists but is broken
-                if (connection != null) {
-                    try { connection.close(); } catch (SQLException ignored) {}
+            if (conn != null && !conn.isClosed()
+                    && System.currentTimeMillis() - lastValidated < VALIDATE_INTERVAL_MS) {
+                return conn;
+            }
+        } catch (SQLException ignored) {}
+        return validateOrReconnect();
+    }
+
+    private Connection validateOrReconnect() {
+        synchronized (reconnectLock) {
+            try {
+                if (connection == null || connection.isClosed() || !connection.isValid(1)) {
+                    plugin.getLogger().info("Database connection was closed, reconnecting...");
+                    // Close the old connection if it still exists but is broken
+                    if (connection != null) {
+                        try { connection.close(); } catch (SQLException ignored) {}
+                    }
+                    connection = DirectConnection.wrap(openConnection());
+                    plugin.getLogger().info("Database reconnected successfully.");
                 }
-                File dbFile = new File(plugin.getDataFolder(), plugin.getConfigManager().getDatabaseFile());
-                String url = "jdbc:sqlite:" + dbFile.getAbsolutePath();
-                connection = DriverManager.getConnection(url);
-                try (Statement stmt = connection.createStatement()) {
-                    stmt.executeUpdate("PRAGMA journal_mode=WAL");
-                    stmt.executeUpdate("PRAGMA foreign_keys=ON");
+                lastValidated = System.currentTimeMillis();
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to reconnect to database: " + e.getMessage());
+            }
+            return connection;
+        }
+    }
+
+    /** The writer thread's connection, reopened if it was closed. Writer thread only. */
+    private Connection writerConnection() {
+        try {
+            if (writerConnection != null && !writerConnection.isClosed()
+                    && System.currentTimeMillis() - writerValidated < VALIDATE_INTERVAL_MS) {
+                return writerConnection;
+            }
+            if (writerConnection == null || writerConnection.isClosed() || !writerConnection.isValid(1)) {
+                if (writerConnection != null) {
+                    plugin.getLogger().info("Database writer connection was closed, reconnecting...");
+                    try { writerConnection.close(); } catch (SQLException ignored) {}
                 }
-                plugin.getLogger().info("Database reconnected successfully.");
+                writerConnection = openConnection();
             }
+            writerValidated = System.currentTimeMillis();
         } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to reconnect to database: " + e.getMessage());
+            plugin.getLogger().severe("Failed to open writer connection: " + e.getMessage());
+        }
+        return writerConnection;
+    }
+
+    // -------------------------------------------------------------------------
+    // Async API
+    // -------------------------------------------------------------------------
+
+    /**
+     * Runs {@code work} on one of the reader threads against a query-only
+     * connection. Must not write; use {@link #write} for that.
+     */
+    public <T> CompletableFuture<T> read(SqlFunction<T> work) {
+        return submit(readers, work, true);
+    }
+
+    /**
+     * Queues {@code work} on the single writer thread, which owns its own
+     * connection; only writer tasks ever use it, so {@code work} may run a
+     * transaction on it. Writes are applied in submission order.
+     */
+    public <T> CompletableFuture<T> write(SqlFunction<T> work) {
+        return submit(writer, work, false);
+    }
+
+    /**
+     * Queues a task that manages its own statements (e.g. a storage manager
+     * call) on the writer thread.
+     */
+    public CompletableFuture<Void> runWrite(Runnable task) {
+        return write(conn -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(ExecutorService executor, SqlFunction<T> work, boolean readOnly) {
+        if (executor == null || executor.isShutdown()) {
+            return CompletableFuture.failedFuture(new SQLException("Database executor is not running"));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource != null ? runPooled(work, readOnly) : work.apply(getConnection());
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Borrows a pooled connection for one task. Storage managers that call
+     * {@link #getConnection()} inside the task get the same connection.
+     */
+    private <T> T runPooled(SqlFunction<T> work, boolean readOnly) throws SQLException {
+        try (Connection conn = borrowPooled()) {
+            if (readOnly) conn.setReadOnly(true);
+            taskConnection.set(conn);
+            return work.apply(conn);
+        } finally {
+            taskConnection.remove();
+        }
+    }
+
+    /** Borrows a connection from the pool; closing it returns it. */
+    private Connection borrowPooled() throws SQLException {
+        return profiler.wrap(dataSource.getConnection());
+    }
+
+    /** Returns true when the caller is the dedicated writer thread. */
+    public boolean isWriterThread() {
+        return Thread.currentThread() == writerThread;
+    }
+
+    public SqlDialect getDialect() { return dialect; }
+    public QueryProfiler getProfiler() { return profiler; }
+    public StatementCache getStatementCache() { return statementCache; }
+    public QueryPlanAuditor getQueryPlanAuditor() { return queryPlanAuditor; }
+    public MigrationManager getMigrations() { return migrations; }
+    public DatabaseMaintenance getMaintenance() { return maintenance; }
+
+    // -------------------------------------------------------------------------
+    // Shutdown
+    // -------------------------------------------------------------------------
+
+    public void close() {
+        migrations.shutdown();
+        maintenance.shutdown();
+        // Let queued writes finish before the connection goes away
+        shutdownExecutor(writer, "writer");
+        shutdownExecutor(readers, "reader");
+        for (Connection conn : readConnections) {
+            try { conn.close(); } catch (SQLException ignored) {}
+        }
+        readConnections.clear();
+        if (writerConnection != null) {
+            try { writerConnection.close(); } catch (SQLException ignored) {}
         }
-        return connection;
+        synchronized (reconnectLock) {
+            try {
+                if (connection != null && !connection.isClosed()) {
+                    connection.close();
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().warning("Failed to close database: " + e.getMessage());
+            }
+        }
+        if (dataSource != null) dataSource.close();
     }
 
-    public synchronized void close() {
+    private void shutdownExecutor(ExecutorService executor, String name) {
+        if (executor == null) return;
+        executor.shutdown();
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Database " + name + " did not finish in time; "
+                        + executor.shutdownNow().size() + " task(s) dropped.");
             }
-        } catch (SQLException e) {
-            plugin.getLogger().warning("Failed to close database: " + e.getMessage());
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reader thread that lazily opens and owns one query-only connection.
+     */
+    private final class ReaderThread extends Thread {
+
+        private Connection readConnection;
+
+        ReaderThread(Runnable task, String name) {
+            super(task, name);
+            setDaemon(true);
+        }
+
+        Connection connection() {
+            try {
+                if (readConnection == null || readConnection.isClosed()) {
+                    if (readConnection != null) readConnections.remove(readConnection);
+                    readConnection = openReadConnection();
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to open read connection: " + e.getMessage());
+            }
+            return readConnection;
         }
     }
 }
@@ -0,0 +1,162 @@
+package com.blockforge.horizonutilities.storage;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+
+/**
+ * The connection {@link DatabaseManager#getConnection()} hands to callers
+ * outside the reader and writer threads (main-thread lookups, startup loads).
+ * <p>
+ * It is shared by all of those callers at once, so it must never carry a
+ * transaction: turning autocommit off, committing, rolling back and
+ * savepoints are rejected. Multi-statement work that needs to be atomic
+ * belongs in {@link DatabaseManager#write}, which runs on the writer's own
+ * connection.
+ * <p>
+ * With SQLite it wraps one long-lived connection. With a connection pool it
+ * holds none: every statement borrows a pooled connection and returns it
+ * when the statement is closed, so callers must close their statements
+ * (try-with-resources), as they already do for the statement cache.
+ */
+final class DirectConnection implements InvocationHandler {
+
+    /** Borrows a pooled connection; the caller closes it to return it. */
+    @FunctionalInterface
+    interface Borrower {
+        Connection borrow() throws SQLException;
+    }
+
+    private final Connection delegate;
+    private final Borrower borrower;
+
+    private DirectConnection(Connection delegate, Borrower borrower) {
+        this.delegate = delegate;
+        this.borrower = borrower;
+    }
+
+    /** Shares {@code conn} between all direct callers. */
+    static Connection wrap(Connection conn) {
+        return proxy(new DirectConnection(conn, null));
+    }
+
+    /** Borrows a connection from {@code borrower} per statement. */
+    static Connection pooled(Borrower borrower) {
+        return proxy(new DirectConnection(null, borrower));
+    }
+
+    private static Connection proxy(DirectConnection handler) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                handler);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals" -> {
+                if (args != null && args.length == 1) return proxy == args[0];
+            }
+            case "hashCode" -> {
+                if (method.getParameterCount() == 0) return System.identityHashCode(proxy);
+            }
+            case "toString" -> {
+                if (method.getParameterCount() == 0) {
+                    return borrower != null ? "DirectConnection[pooled]" : "DirectConnection[" + delegate + "]";
+                }
+            }
+            case "setAutoCommit" -> {
+                if (!(Boolean) args[0]) throw transactionRejected();
+            }
+            case "commit", "rollback", "setSavepoint", "releaseSavepoint" -> throw transactionRejected();
+            default -> {}
+        }
+        if (borrower != null) return invokePooled(method, args);
+        return invokeDelegate(delegate, method, args);
+    }
+
+    private Object invokePooled(Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "prepareStatement", "createStatement", "prepareCall" -> {
+                Connection conn = borrower.borrow();
+                try {
+                    Statement stmt = (Statement) invokeDelegate(conn, method, args);
+                    return Proxy.newProxyInstance(
+                            method.getReturnType().getClassLoader(),
+                            new Class<?>[]{method.getReturnType()},
+                            new BorrowedStatement(stmt, conn));
+                } catch (Throwable t) {
+                    conn.close();
+                    throw t;
+                }
+            }
+            case "getAutoCommit", "isValid" -> {
+                return true;
+            }
+            case "setAutoCommit", "close" -> {
+                return null;
+            }
+            case "isClosed", "isReadOnly" -> {
+                return false;
+            }
+            default -> throw new SQLFeatureNotSupportedException(method.getName()
+                    + " is not available on the shared pooled connection; use DatabaseManager.read()/write()");
+        }
+    }
+
+    /** A statement on a borrowed connection; closing it returns the connection to the pool. */
+    private static final class BorrowedStatement implements InvocationHandler {
+
+        private final Statement delegate;
+        private final Connection conn;
+        private boolean closed;
+
+        BorrowedStatement(Statement delegate, Connection conn) {
+            this.delegate = delegate;
+            this.conn = conn;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    if (args != null && args.length == 1) return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    if (method.getParameterCount() == 0) return System.identityHashCode(proxy);
+                }
+                case "close" -> {
+                    if (closed) return null;
+                    closed = true;
+                    try {
+                        delegate.close();
+                    } finally {
+                        conn.close();
+                    }
+                    return null;
+                }
+                default -> {}
+            }
+            return invokeDelegate(delegate, method, args);
+        }
+    }
+
+    private static Object invokeDelegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static SQLException transactionRejected() {
+        return new SQLException("The shared connection is autocommit-only; "
+                + "run transactions through DatabaseManager.write()");
+    }
+}
@@ -0,0 +1,48 @@
+package com.blockforge.horizonutilities.storage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A cache or queue whose contents must reach the database before the plugin
+ * stops. Implementations register with {@link StateCoordinator}, which
+ * checkpoints them periodically and drains them on shutdown.
+ */
+public interface PersistentState {
+
+    /** Short name used in log messages. */
+    String name();
+
+    /**
+     * Captures whatever has not been persisted yet and returns the work that
+     * writes it, or null if there is nothing to write. Called on the main
+     * thread; the returned work runs later on the writer thread inside a
+     * transaction owned by the coordinator, so it must not commit.
+     */
+    Checkpoint capture();
+
+    /** Stops accepting new work that would bypass {@link #capture}. Called once on shutdown. */
+    default void stopIntake() {}
+
+    /**
+     * Waits until work already handed to background threads has either been
+     * written or can be picked up by {@link #capture}.
+     *
+     * @param deadlineNanos {@link System#nanoTime()} value to give up at
+     */
+    default void awaitDrained(long deadlineNanos) throws InterruptedException {}
+
+    /**
+     * Called on the main thread when the transaction holding this state's last
+     * capture rolled back. States that cleared dirty markers in
+     * {@link #capture} should set them again so the next checkpoint retries.
+     */
+    default void checkpointFailed() {}
+
+    /** Writes one captured piece of state. */
+    @FunctionalInterface
+    interface Checkpoint {
+        /** @return number of rows written, for logging */
+        int write(Connection conn) throws SQLException;
+    }
+}
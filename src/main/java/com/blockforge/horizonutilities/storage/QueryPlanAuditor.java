@@ -0,0 +1,231 @@
+package com.blockforge.horizonutilities.storage;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checks the query plans of the plugin's hot statements.
+ * <p>
+ * {@link #HOT_QUERIES} mirrors the SQL the storage managers run on busy paths
+ * (GUI pages, expiry sweeps, leaderboards, per-player lookups). After startup
+ * the composite indexes in {@link #INDEXES} are created if missing, then every
+ * hot query is explained with sample arguments and any full table scan or
+ * temporary sort is logged. A query that shows up here will get slower as its
+ * table grows; add an index for it to {@link #INDEXES}.
+ */
+public class QueryPlanAuditor {
+
+    /** A statement worth auditing, with arguments that make it plannable. */
+    public record HotQuery(String name, String sql, Object... sampleArgs) {}
+
+    /** One problem found in a query plan. */
+    public record Finding(String query, String problem) {}
+
+    /** A composite index that backs one or more hot queries. */
+    public record IndexSpec(String name, String table, String columns) {
+        String ddl() {
+            return "CREATE INDEX IF NOT EXISTS " + name + " ON " + table + "(" + columns + ")";
+        }
+    }
+
+    private static final String SAMPLE_UUID = "00000000-0000-0000-0000-000000000000";
+
+    public static final List<IndexSpec> INDEXES = List.of(
+            new IndexSpec("idx_listings_status_category_listed", "ah_listings", "status, category, listed_at"),
+            new IndexSpec("idx_listings_status_listed", "ah_listings", "status, listed_at"),
+            new IndexSpec("idx_listings_status_expires", "ah_listings", "status, expires_at"),
+            new IndexSpec("idx_listings_seller_status_listed", "ah_listings", "seller_uuid, status, listed_at"),
+            new IndexSpec("idx_bids_listing_time", "ah_bids", "listing_id, bid_at"),
+            new IndexSpec("idx_collection_player_time", "ah_collection", "player_uuid, created_at"),
+            new IndexSpec("idx_audit_player_action_time", "economy_audit_log", "player_uuid, action_type, created_at"),
+            new IndexSpec("idx_audit_player_time", "economy_audit_log", "player_uuid, created_at"),
+            new IndexSpec("idx_jobs_job_rank", "jobs_players", "job_id, prestige, level, xp")
+    );
+
+    public static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("auction.listings.all",
+                    "SELECT * FROM ah_listings WHERE status = 'ACTIVE' ORDER BY listed_at DESC LIMIT ? OFFSET ?",
+                    45, 0),
+            new HotQuery("auction.listings.category",
+                    "SELECT * FROM ah_listings WHERE status = 'ACTIVE' AND category = ? ORDER BY listed_at DESC LIMIT ? OFFSET ?",
+                    "Blocks", 45, 0),
+            new HotQuery("auction.listings.count",
+                    "SELECT COUNT(*) FROM ah_listings WHERE status = 'ACTIVE' AND category = ?",
+                    "Blocks"),
+            new HotQuery("auction.listings.seller",
+                    "SELECT * FROM ah_listings WHERE seller_uuid = ? AND status = 'ACTIVE' ORDER BY listed_at DESC LIMIT ? OFFSET ?",
+                    SAMPLE_UUID, 45, 0),
+            new HotQuery("auction.listings.expired",
+                    "SELECT * FROM ah_listings WHERE status = 'ACTIVE' AND expires_at <= ?",
+                    0L),
+            new HotQuery("auction.bids.last",
+                    "SELECT MAX(bid_at) as last_bid FROM ah_bids WHERE listing_id = ?",
+                    0),
+            new HotQuery("auction.collection",
+                    "SELECT * FROM ah_collection WHERE player_uuid = ? ORDER BY created_at DESC",
+                    SAMPLE_UUID),
+            new HotQuery("audit.player.action",
+                    "SELECT action_type, amount, balance_after, source, created_at FROM economy_audit_log "
+                            + "WHERE player_uuid = ? AND action_type = ? ORDER BY created_at DESC LIMIT ? OFFSET ?",
+                    SAMPLE_UUID, "DEPOSIT", 10, 0),
+            new HotQuery("audit.player",
+                    "SELECT action_type, amount, balance_after, source, created_at FROM economy_audit_log "
+                            + "WHERE player_uuid = ? ORDER BY created_at DESC LIMIT ? OFFSET ?",
+                    SAMPLE_UUID, 10, 0),
+            new HotQuery("jobs.player",
+                    "SELECT * FROM jobs_players WHERE player_uuid = ?",
+                    SAMPLE_UUID),
+            new HotQuery("jobs.top",
+                    "SELECT * FROM jobs_players WHERE job_id = ? ORDER BY prestige DESC, level DESC, xp DESC LIMIT ?",
+                    "miner", 10),
+            new HotQuery("jobs.income",
+                    "SELECT job_id, earned FROM jobs_income_tracking WHERE player_uuid = ? AND hour_key = ?",
+                    SAMPLE_UUID, "1970-01-01T00"),
+            new HotQuery("jobs.placed_blocks_chunk",
+                    "SELECT x, y, z, player_uuid FROM jobs_placed_blocks "
+                            + "WHERE world=? AND x BETWEEN ? AND ? AND z BETWEEN ? AND ?",
+                    "world", 0, 15, 0, 15),
+            new HotQuery("jobs.explored_bitmaps",
+                    "SELECT world, chunks FROM jobs_explored_bitmaps WHERE player_uuid = ?",
+                    SAMPLE_UUID),
+            new HotQuery("quests.daily",
+                    "SELECT * FROM jobs_quests WHERE player_uuid = ? AND assigned_date = ?",
+                    SAMPLE_UUID, "1970-01-01"),
+            new HotQuery("bounty.target",
+                    "SELECT * FROM bounties WHERE target_uuid = ? AND status = 'ACTIVE'",
+                    SAMPLE_UUID),
+            new HotQuery("gems.balance",
+                    "SELECT balance FROM gems WHERE player_uuid = ?",
+                    SAMPLE_UUID)
+    );
+
+    /** SQLite reports a table scan as {@code SCAN t} (or {@code SCAN TABLE t} before 3.36); index scans carry {@code USING}. */
+    private static final Pattern SQLITE_SCAN = Pattern.compile("^SCAN (?:TABLE )?(\\w+)(?: AS \\w+)?$");
+
+    private final Logger logger;
+    private final SqlDialect dialect;
+    private volatile List<Finding> lastFindings = List.of();
+
+    public QueryPlanAuditor(Logger logger, SqlDialect dialect) {
+        this.logger = logger;
+        this.dialect = dialect;
+    }
+
+    /**
+     * Creates any index in {@link #INDEXES} that does not exist yet. Building an
+     * index over a large table takes a while, so this belongs on the writer
+     * thread after startup rather than in the table bootstrap.
+     */
+    public void ensureIndexes(DatabaseManager db, Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (IndexSpec index : INDEXES) {
+                if (indexExists(conn, index)) continue;
+                long start = System.nanoTime();
+                db.executeDdl(stmt, index.ddl());
+                logger.info("[DB] Created index " + index.name() + " on " + index.table()
+                        + " in " + (System.nanoTime() - start) / 1_000_000L + " ms.");
+            }
+        }
+    }
+
+    private static boolean indexExists(Connection conn, IndexSpec index) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        for (String table : new String[]{index.table(), index.table().toUpperCase(Locale.ROOT)}) {
+            try (ResultSet rs = meta.getIndexInfo(null, null, table, false, true)) {
+                while (rs.next()) {
+                    if (index.name().equalsIgnoreCase(rs.getString("INDEX_NAME"))) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Explains every hot query and returns the problems found. */
+    public List<Finding> audit(Connection conn) {
+        List<Finding> findings = new ArrayList<>();
+        for (HotQuery query : HOT_QUERIES) {
+            try {
+                for (String problem : explain(conn, query)) {
+                    findings.add(new Finding(query.name(), problem));
+                }
+            } catch (SQLException e) {
+                findings.add(new Finding(query.name(), "could not be explained: " + e.getMessage()));
+            }
+        }
+        lastFindings = List.copyOf(findings);
+        return findings;
+    }
+
+    /** Logs the result of {@link #audit}. */
+    public void report(List<Finding> findings) {
+        if (findings.isEmpty()) {
+            logger.info("[DB] Query plan audit: all " + HOT_QUERIES.size() + " hot queries use an index.");
+            return;
+        }
+        logger.warning("[DB] Query plan audit found " + findings.size() + " problem(s):");
+        for (Finding f : findings) {
+            logger.warning("[DB]   " + f.query() + ": " + f.problem());
+        }
+    }
+
+    /** Findings from the most recent audit, empty until one has run. */
+    public List<Finding> getLastFindings() { return lastFindings; }
+
+    private List<String> explain(Connection conn, HotQuery query) throws SQLException {
+        String prefix = dialect.isSqlite() ? "EXPLAIN QUERY PLAN " : "EXPLAIN ";
+        List<String> problems = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(prefix + query.sql())) {
+            Object[] args = query.sampleArgs();
+            for (int i = 0; i < args.length; i++) ps.setObject(i + 1, args[i]);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    switch (dialect) {
+                        case SQLITE -> checkSqlite(rs, problems);
+                        case MYSQL, MARIADB -> checkMysql(rs, problems);
+                        case H2 -> checkH2(rs, problems);
+                    }
+                }
+            }
+        }
+        return problems;
+    }
+
+    private static void checkSqlite(ResultSet rs, List<String> problems) throws SQLException {
+        String detail = rs.getString("detail");
+        if (detail == null) return;
+        Matcher scan = SQLITE_SCAN.matcher(detail);
+        if (scan.matches()) {
+            problems.add("full scan of " + scan.group(1));
+        } else if (detail.startsWith("USE TEMP B-TREE")) {
+            problems.add("temp B-tree sort (" + detail.substring("USE TEMP B-TREE ".length()).toLowerCase(Locale.ROOT) + ")");
+        }
+    }
+
+    private static void checkMysql(ResultSet rs, List<String> problems) throws SQLException {
+        String table = rs.getString("table");
+        String extra = rs.getString("Extra");
+        if ("ALL".equalsIgnoreCase(rs.getString("type"))) {
+            problems.add("full scan of " + table);
+        }
+        if (extra != null && extra.contains("Using filesort")) {
+            problems.add("filesort on " + table);
+        }
+    }
+
+    private static void checkH2(ResultSet rs, List<String> problems) throws SQLException {
+        String plan = rs.getString(1);
+        if (plan != null && plan.contains(".tableScan")) {
+            problems.add("full scan: " + plan.replaceAll("\\s+", " ").trim());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.blockforge.horizonutilities.storage;
+
+import org.bukkit.Bukkit;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Logger;
+
+/**
+ * Instrumentation layer around JDBC connections handed out by
+ * {@link DatabaseManager}. Every statement execution is timed and attributed to
+ * the first plugin frame outside the storage layer (e.g.
+ * {@code IncomeCapManager.getRemainingCap:54}), and calls made on the server
+ * thread are counted separately so hot main-thread queries can be ranked.
+ * <p>
+ * In strict mode, main-thread access is either logged with its call site or
+ * rejected with an {@link IllegalStateException}.
+ */
+public class QueryProfiler {
+
+    public enum MainThreadPolicy { IGNORE, LOG, THROW }
+
+    private static final String STORAGE_PACKAGE = QueryProfiler.class.getPackageName();
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private final Logger logger;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private volatile MainThreadPolicy mainThreadPolicy;
+
+    public QueryProfiler(Logger logger, boolean enabled, MainThreadPolicy mainThreadPolicy) {
+        this.logger = logger;
+        this.enabled = enabled;
+        this.mainThreadPolicy = mainThreadPolicy;
+    }
+
+    // -------------------------------------------------------------------------
+    // Wrapping
+    // -------------------------------------------------------------------------
+
+    /** Returns a connection whose statements report to this profiler. */
+    public Connection wrap(Connection conn) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(conn));
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection delegate;
+
+        ConnectionHandler(Connection delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) return identity;
+            Object result = invokeDelegate(delegate, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> wrapStatement((Statement) result, PreparedStatement.class);
+                case "createStatement"  -> wrapStatement((Statement) result, Statement.class);
+                default -> result;
+            };
+        }
+    }
+
+    private Object wrapStatement(Statement statement, Class<? extends Statement> type) {
+        return Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                new StatementHandler(statement));
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement delegate;
+
+        StatementHandler(Statement delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) return identity;
+            if (!method.getName().startsWith("execute") || !enabled) {
+                return invokeDelegate(delegate, method, args);
+            }
+            boolean mainThread = Bukkit.isPrimaryThread();
+            String site = callSite();
+            if (mainThread) onMainThreadAccess(site);
+            long start = System.nanoTime();
+            try {
+                return invokeDelegate(delegate, method, args);
+            } finally {
+                record(site, System.nanoTime() - start, mainThread);
+            }
+        }
+    }
+
+    /** Proxies compare by identity so they can live in collections. */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals"   -> args != null && args.length == 1 ? proxy == args[0] : null;
+            case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : null;
+            default -> null;
+        };
+    }
+
+    private static Object invokeDelegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Recording
+    // -------------------------------------------------------------------------
+
+    private void onMainThreadAccess(String site) {
+        switch (mainThreadPolicy) {
+            case LOG -> logger.warning("[DB] Main-thread database access from " + site);
+            case THROW -> throw new IllegalStateException("Database access on the main thread from " + site);
+            default -> {}
+        }
+    }
+
+    private void record(String site, long nanos, boolean mainThread) {
+        histograms.computeIfAbsent(site, k -> new LatencyHistogram()).record(nanos / 1000L, mainThread);
+    }
+
+    /**
+     * Finds the first stack frame that is neither the storage layer, the JDK,
+     * nor a reflection proxy, and formats it as {@code SimpleClass.method:line}.
+     */
+    private static String callSite() {
+        Optional<StackWalker.StackFrame> frame = WALKER.walk(frames -> frames
+                .filter(f -> {
+                    String cls = f.getClassName();
+                    return !cls.startsWith(STORAGE_PACKAGE)
+                            && !cls.startsWith("java.")
+                            && !cls.startsWith("jdk.")
+                            && !cls.startsWith("com.sun.proxy")
+                            && !cls.contains("$Proxy");
+                })
+                .findFirst());
+        if (frame.isEmpty()) return "unknown";
+        StackWalker.StackFrame f = frame.get();
+        String cls = f.getClassName();
+        return cls.substring(cls.lastIndexOf('.') + 1) + "." + f.getMethodName() + ":" + f.getLineNumber();
+    }
+
+    // -------------------------------------------------------------------------
+    // Reporting
+    // -------------------------------------------------------------------------
+
+    public enum SortKey { TOTAL, P99, MAX, MAIN, CALLS }
+
+    /** Snapshot of one call site's statistics, latencies in microseconds. */
+    public record SiteStats(String site, long calls, long mainThreadCalls,
+                            long totalMicros, long p50Micros, long p99Micros, long maxMicros) {}
+
+    public List<SiteStats> top(int limit, SortKey sortKey) {
+        List<SiteStats> stats = new ArrayList<>();
+        histograms.forEach((site, h) -> stats.add(h.snapshot(site)));
+        Comparator<SiteStats> cmp = switch (sortKey) {
+            case P99   -> Comparator.comparingLong(SiteStats::p99Micros);
+            case MAX   -> Comparator.comparingLong(SiteStats::maxMicros);
+            case MAIN  -> Comparator.comparingLong(SiteStats::mainThreadCalls);
+            case CALLS -> Comparator.comparingLong(SiteStats::calls);
+            default    -> Comparator.comparingLong(SiteStats::totalMicros);
+        };
+        stats.sort(cmp.reversed());
+        return stats.size() > limit ? stats.subList(0, limit) : stats;
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public MainThreadPolicy getMainThreadPolicy() { return mainThreadPolicy; }
+    public void setMainThreadPolicy(MainThreadPolicy policy) { this.mainThreadPolicy = policy; }
+
+    public static MainThreadPolicy parsePolicy(String value) {
+        try {
+            return MainThreadPolicy.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return MainThreadPolicy.IGNORE;
+        }
+    }
+
+    /**
+     * Lock-free latency histogram with power-of-two microsecond buckets.
+     * Percentiles are reported as the upper bound of the bucket they fall in.
+     */
+    private static final class LatencyHistogram {
+
+        private static final int BUCKETS = 40;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong mainThreadCalls = new AtomicLong();
+        private final AtomicLong totalMicros = new AtomicLong();
+        private final AtomicLong maxMicros = new AtomicLong();
+
+        void record(long micros, boolean mainThread) {
+            int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, micros)));
+            buckets.incrementAndGet(bucket);
+            calls.incrementAndGet();
+            if (mainThread) mainThreadCalls.incrementAndGet();
+            totalMicros.addAndGet(micros);
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+
+        SiteStats snapshot(String site) {
+            long n = calls.get();
+            return new SiteStats(site, n, mainThreadCalls.get(), totalMicros.get(),
+                    percentile(n, 0.50), percentile(n, 0.99), maxMicros.get());
+        }
+
+        private long percentile(long n, double q) {
+            if (n == 0) return 0;
+            long target = (long) Math.ceil(n * q);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= target) return i == 0 ? 0 : (1L << i) - 1;
+            }
+            return maxMicros.get();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.blockforge.horizonutilities.storage;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * SQL differences between the supported backends.
+ * <p>
+ * Schema and queries are written in SQLite syntax with portable column types
+ * ({@code TEXT}, {@code LONGTEXT}, {@code INTEGER}, {@code REAL}, {@code BLOB}).
+ * {@link #ddl} rewrites table definitions for the server databases, and the
+ * remaining helpers cover the statements SQLite spells differently
+ * (insert-or-ignore, replace and upserts). H2 runs in MySQL compatibility mode,
+ * so it shares the MySQL spellings.
+ */
+public enum SqlDialect {
+
+    SQLITE("org.sqlite.JDBC"),
+    MYSQL("com.mysql.cj.jdbc.Driver"),
+    MARIADB("org.mariadb.jdbc.Driver"),
+    H2("org.h2.Driver");
+
+    private static final Pattern AUTO_ID = Pattern.compile("\\bINTEGER PRIMARY KEY AUTOINCREMENT\\b");
+    private static final Pattern TEXT = Pattern.compile("\\bTEXT\\b");
+    private static final Pattern INTEGER = Pattern.compile("\\bINTEGER\\b");
+    private static final Pattern REAL = Pattern.compile("\\bREAL\\b");
+    private static final Pattern BLOB = Pattern.compile("\\bBLOB\\b");
+
+    private final String driverClass;
+
+    SqlDialect(String driverClass) {
+        this.driverClass = driverClass;
+    }
+
+    public String getDriverClass() { return driverClass; }
+
+    public boolean isSqlite() { return this == SQLITE; }
+
+    public static SqlDialect fromConfig(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return SQLITE;
+        }
+    }
+
+    /**
+     * Translates a SQLite {@code CREATE TABLE} statement. On server databases
+     * {@code TEXT} becomes an indexable {@code VARCHAR(255)} (use {@code LONGTEXT}
+     * for free-form columns), {@code INTEGER} widens to {@code BIGINT} so epoch
+     * millis fit, {@code REAL} becomes {@code DOUBLE} and {@code BLOB} becomes
+     * {@code LONGBLOB}.
+     */
+    public String ddl(String sql) {
+        if (isSqlite()) return sql;
+        sql = AUTO_ID.matcher(sql).replaceAll("BIGINT AUTO_INCREMENT PRIMARY KEY");
+        sql = TEXT.matcher(sql).replaceAll("VARCHAR(255)");
+        sql = INTEGER.matcher(sql).replaceAll("BIGINT");
+        sql = REAL.matcher(sql).replaceAll("DOUBLE");
+        return BLOB.matcher(sql).replaceAll("LONGBLOB");
+    }
+
+    /** Whether {@code CREATE INDEX IF NOT EXISTS} is understood. */
+    public boolean supportsCreateIndexIfNotExists() {
+        return this != MYSQL;
+    }
+
+    /** {@code INSERT OR IGNORE INTO} / {@code INSERT IGNORE INTO}. */
+    public String insertIgnore() {
+        return isSqlite() ? "INSERT OR IGNORE INTO " : "INSERT IGNORE INTO ";
+    }
+
+    /** {@code INSERT OR REPLACE INTO} / {@code REPLACE INTO}. */
+    public String insertOrReplace() {
+        return isSqlite() ? "INSERT OR REPLACE INTO " : "REPLACE INTO ";
+    }
+
+    /**
+     * Upsert clause placed after {@code VALUES (...)}, followed by the
+     * assignments. {@code keyColumns} is the conflicting unique key; MySQL
+     * infers it and ignores the argument.
+     */
+    public String onConflictUpdate(String... keyColumns) {
+        return isSqlite()
+                ? " ON CONFLICT(" + String.join(", ", keyColumns) + ") DO UPDATE SET "
+                : " ON DUPLICATE KEY UPDATE ";
+    }
+
+    /** The value that was proposed for {@code column} inside an upsert assignment. */
+    public String excluded(String column) {
+        return isSqlite() ? "excluded." + column : "VALUES(" + column + ")";
+    }
+
+    /** Convenience for the common {@code col = <proposed value>} assignment list. */
+    public String assignExcluded(String... columns) {
+        StringBuilder sb = new StringBuilder();
+        for (String column : columns) {
+            if (!sb.isEmpty()) sb.append(", ");
+            sb.append(column).append(" = ").append(excluded(column));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,15 @@
+package com.blockforge.horizonutilities.storage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A unit of database work run by {@link DatabaseManager#read} or
+ * {@link DatabaseManager#write} against the connection owned by the executing
+ * thread.
+ */
+@FunctionalInterface
+public interface SqlFunction<T> {
+
+    T apply(Connection conn) throws SQLException;
+}
@@ -0,0 +1,149 @@
+package com.blockforge.horizonutilities.storage;
+
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Owns the flush lifecycle of every {@link PersistentState}.
+ * <p>
+ * Every {@code database.state-flush.interval-seconds} the registered states
+ * are captured on the main thread and written together in one transaction on
+ * the database writer, so a crash loses at most one interval of progress. A
+ * checkpoint is skipped while the previous one is still queued.
+ * <p>
+ * {@link #shutdown} stops intake on every state, waits for their background
+ * queues, then writes all remaining state in a single transaction. Because
+ * the writer runs tasks in order, that transaction also waits for every write
+ * already in flight. The whole sequence is bounded by
+ * {@code database.state-flush.shutdown-deadline-seconds}.
+ */
+public class StateCoordinator {
+
+    private record Captured(PersistentState state, PersistentState.Checkpoint checkpoint) {}
+
+    private final HorizonUtilitiesPlugin plugin;
+    private final List<PersistentState> states = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean checkpointPending = new AtomicBoolean();
+    private volatile boolean shuttingDown;
+    private BukkitTask checkpointTask;
+
+    public StateCoordinator(HorizonUtilitiesPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public void register(PersistentState state) {
+        states.add(state);
+    }
+
+    /** Starts the periodic checkpoint. Call once every state has registered. */
+    public void start() {
+        long intervalTicks = plugin.getConfigManager().getStateFlushIntervalSeconds() * 20L;
+        if (intervalTicks <= 0) return;
+        checkpointTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::checkpoint,
+                intervalTicks, intervalTicks);
+    }
+
+    /** Captures and writes all registered state. Must be called on the main thread. */
+    public void checkpoint() {
+        if (shuttingDown || !checkpointPending.compareAndSet(false, true)) return;
+        List<Captured> captured = captureAll();
+        if (captured.isEmpty()) {
+            checkpointPending.set(false);
+            return;
+        }
+        plugin.getDatabaseManager().write(conn -> writeAll(conn, captured))
+                .whenComplete((rows, error) -> {
+                    checkpointPending.set(false);
+                    if (error == null) return;
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    plugin.getLogger().log(Level.WARNING, "[DB] State checkpoint failed; retrying next interval", cause);
+                    plugin.getServer().getScheduler().runTask(plugin,
+                            () -> captured.forEach(c -> c.state().checkpointFailed()));
+                });
+    }
+
+    /**
+     * Stops intake, drains every state and writes what is left in one
+     * transaction. Must be called on the main thread before the database
+     * is closed.
+     */
+    public void shutdown() {
+        shuttingDown = true;
+        if (checkpointTask != null) checkpointTask.cancel();
+        long deadlineMs = plugin.getConfigManager().getStateFlushShutdownDeadlineSeconds() * 1000L;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        long start = System.nanoTime();
+
+        for (PersistentState state : states) {
+            state.stopIntake();
+        }
+        try {
+            for (PersistentState state : states) {
+                state.awaitDrained(deadline);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Captured> captured = captureAll();
+        if (captured.isEmpty()) return;
+        List<String> names = captured.stream().map(c -> c.state().name()).toList();
+        try {
+            long remainingMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            int rows = plugin.getDatabaseManager().write(conn -> writeAll(conn, captured))
+                    .get(remainingMs, TimeUnit.MILLISECONDS);
+            plugin.getLogger().info("[DB] Flushed " + rows + " row(s) of " + String.join(", ", names)
+                    + " state in " + (System.nanoTime() - start) / 1_000_000L + " ms.");
+        } catch (TimeoutException e) {
+            plugin.getLogger().severe("[DB] Shutdown flush of " + String.join(", ", names) + " did not finish within "
+                    + deadlineMs + " ms; it will keep running until the database closes.");
+        } catch (ExecutionException e) {
+            plugin.getLogger().log(Level.SEVERE, "[DB] Shutdown flush of " + String.join(", ", names)
+                    + " failed; unsaved state was lost", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Captured> captureAll() {
+        List<Captured> captured = new ArrayList<>();
+        for (PersistentState state : states) {
+            try {
+                PersistentState.Checkpoint checkpoint = state.capture();
+                if (checkpoint != null) captured.add(new Captured(state, checkpoint));
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "[DB] Failed to capture " + state.name() + " state", e);
+            }
+        }
+        return captured;
+    }
+
+    private static int writeAll(Connection conn, List<Captured> captured) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            int rows = 0;
+            for (Captured c : captured) {
+                rows += c.checkpoint().write(conn);
+            }
+            conn.commit();
+            return rows;
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+}
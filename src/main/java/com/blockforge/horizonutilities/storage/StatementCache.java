@@ -0,0 +1,222 @@
+package com.blockforge.horizonutilities.storage;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reuses prepared statements per connection, keyed by SQL text.
+ * <p>
+ * {@code conn.prepareStatement(sql)} on a wrapped connection checks out an idle
+ * statement for that SQL if one exists, otherwise prepares a new one. Closing
+ * the returned handle closes its open result set, clears parameters and puts
+ * the statement back in the pool instead of finalizing it, so the usual
+ * try-with-resources pattern in the storage managers keeps working unchanged.
+ * A checked-out statement is owned by exactly one caller, which makes the pool
+ * safe when the same connection is shared between threads.
+ * <p>
+ * Only the single-argument {@code prepareStatement(String)} is cached; variants
+ * with generated keys or result set options bypass the pool. Closing the
+ * connection closes every pooled statement with it.
+ */
+public class StatementCache {
+
+    /** Idle statements kept per distinct SQL string. */
+    private static final int MAX_IDLE_PER_SQL = 4;
+
+    private final int maxDistinctSql;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxDistinctSql how many distinct SQL strings a connection may pool;
+     *                       0 disables caching entirely
+     */
+    public StatementCache(int maxDistinctSql) {
+        this.maxDistinctSql = Math.max(0, maxDistinctSql);
+    }
+
+    public boolean isEnabled() { return maxDistinctSql > 0; }
+
+    /** Returns a connection whose {@code prepareStatement(String)} results are pooled. */
+    public Connection wrap(Connection conn) {
+        if (!isEnabled()) return conn;
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new CachingConnection(conn));
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+
+    public double getHitRate() {
+        long h = hits.get(), total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public void resetStats() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    // -------------------------------------------------------------------------
+    // Connection proxy
+    // -------------------------------------------------------------------------
+
+    private final class CachingConnection implements InvocationHandler {
+
+        private final Connection delegate;
+        private final Map<String, Deque<PreparedStatement>> idle = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+
+        CachingConnection(Connection delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) return identity;
+            switch (method.getName()) {
+                case "prepareStatement" -> {
+                    if (args.length == 1 && !closed) return checkOut((String) args[0]);
+                }
+                case "close" -> {
+                    closed = true;
+                    closeIdle();
+                }
+                default -> {}
+            }
+            return invokeDelegate(delegate, method, args);
+        }
+
+        private PreparedStatement checkOut(String sql) throws SQLException {
+            Deque<PreparedStatement> pool = idle.get(sql);
+            PreparedStatement stmt = pool != null ? pool.pollFirst() : null;
+            if (stmt != null) {
+                hits.incrementAndGet();
+            } else {
+                stmt = delegate.prepareStatement(sql);
+                misses.incrementAndGet();
+            }
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new PooledStatement(this, sql, stmt));
+        }
+
+        /** Puts a reset statement back in the pool, or closes it if the pool is full or gone. */
+        void checkIn(String sql, PreparedStatement stmt) throws SQLException {
+            if (!closed) {
+                Deque<PreparedStatement> pool = idle.get(sql);
+                if (pool == null && idle.size() < maxDistinctSql) {
+                    pool = idle.computeIfAbsent(sql, k -> new ConcurrentLinkedDeque<>());
+                }
+                if (pool != null && pool.size() < MAX_IDLE_PER_SQL) {
+                    pool.offerFirst(stmt);
+                    // close() may have drained the pool between the check and the offer
+                    if (!closed || !pool.remove(stmt)) return;
+                }
+            }
+            stmt.close();
+        }
+
+        private void closeIdle() {
+            for (Deque<PreparedStatement> pool : idle.values()) {
+                PreparedStatement stmt;
+                while ((stmt = pool.pollFirst()) != null) {
+                    try { stmt.close(); } catch (SQLException ignored) {}
+                }
+            }
+            idle.clear();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Statement handle
+    // -------------------------------------------------------------------------
+
+    private static final class PooledStatement implements InvocationHandler {
+
+        private final CachingConnection owner;
+        private final String sql;
+        private final PreparedStatement delegate;
+        private ResultSet lastResult;
+        private boolean batched;
+        private boolean closed;
+
+        PooledStatement(CachingConnection owner, String sql, PreparedStatement delegate) {
+            this.owner = owner;
+            this.sql = sql;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) return identity;
+            String name = method.getName();
+            switch (name) {
+                case "close" -> {
+                    release();
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed;
+                }
+                default -> {}
+            }
+            if (closed) throw new SQLException("Statement is closed");
+            if (name.equals("addBatch")) batched = true;
+            Object result = invokeDelegate(delegate, method, args);
+            if (result instanceof ResultSet rs) lastResult = rs;
+            return result;
+        }
+
+        private void release() throws SQLException {
+            if (closed) return;
+            closed = true;
+            try {
+                if (lastResult != null) lastResult.close();
+                delegate.clearParameters();
+                if (batched) delegate.clearBatch();
+            } catch (SQLException e) {
+                delegate.close();
+                throw e;
+            }
+            owner.checkIn(sql, delegate);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    /** Proxies compare by identity so they can live in collections. */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals"   -> args != null && args.length == 1 ? proxy == args[0] : null;
+            case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : null;
+            default -> null;
+        };
+    }
+
+    private static Object invokeDelegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
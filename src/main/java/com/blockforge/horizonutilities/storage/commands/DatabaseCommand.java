@@ -0,0 +1,349 @@
+package com.blockforge.horizonutilities.storage.commands;
+
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.economy.AuditLogWriter;
+import com.blockforge.horizonutilities.jobs.JobManager;
+import com.blockforge.horizonutilities.storage.DatabaseMaintenance;
+import com.blockforge.horizonutilities.storage.QueryPlanAuditor;
+import com.blockforge.horizonutilities.storage.QueryProfiler;
+import com.blockforge.horizonutilities.storage.StatementCache;
+import com.blockforge.horizonutilities.storage.migration.MigrationManager;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * /horizondb command for database diagnostics.
+ *
+ * Sub-commands (all require horizonutilities.db.admin):
+ *   /horizondb profile [total|p99|max|main|calls] [limit]  — top query call sites
+ *   /horizondb profile reset                               — clear collected stats
+ *   /horizondb profile <on|off>                            — toggle the profiler
+ *   /horizondb strict <ignore|log|throw>                   — main-thread access policy
+ *   /horizondb statements [reset]                          — prepared statement cache stats
+ *   /horizondb audit                                       — economy audit queue backpressure
+ *   /horizondb jobs                                        — job record flush backlog
+ *   /horizondb explain                                     — re-run the hot query plan audit
+ *   /horizondb migrations                                  — schema version and backfill progress
+ *   /horizondb maintenance [checkpoint|analyze|vacuum|backup] — last runs, or run a task now
+ */
+public class DatabaseCommand implements CommandExecutor, TabCompleter {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final HorizonUtilitiesPlugin plugin;
+    private final MiniMessage mm = MiniMessage.miniMessage();
+
+    public DatabaseCommand(HorizonUtilitiesPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!sender.hasPermission("horizonutilities.db.admin")) {
+            plugin.getMessagesManager().send(sender, "no-permission");
+            return true;
+        }
+
+        if (args.length == 0) {
+            sendUsage(sender);
+            return true;
+        }
+
+        switch (args[0].toLowerCase(Locale.ROOT)) {
+            case "profile" -> handleProfile(sender, args);
+            case "strict"  -> handleStrict(sender, args);
+            case "statements" -> handleStatements(sender, args);
+            case "audit"   -> handleAudit(sender);
+            case "jobs"    -> handleJobs(sender);
+            case "explain" -> handleExplain(sender);
+            case "migrations" -> handleMigrations(sender);
+            case "maintenance" -> handleMaintenance(sender, args);
+            default        -> sendUsage(sender);
+        }
+        return true;
+    }
+
+    // -------------------------------------------------------------------------
+    // /horizondb profile ...
+    // -------------------------------------------------------------------------
+
+    private void handleProfile(CommandSender sender, String[] args) {
+        QueryProfiler profiler = plugin.getDatabaseManager().getProfiler();
+        String sub = args.length >= 2 ? args[1].toLowerCase(Locale.ROOT) : "total";
+
+        switch (sub) {
+            case "reset" -> {
+                profiler.reset();
+                sender.sendMessage(mm.deserialize("<green>Query profiler stats cleared."));
+                return;
+            }
+            case "on", "off" -> {
+                profiler.setEnabled(sub.equals("on"));
+                sender.sendMessage(mm.deserialize("<green>Query profiler " + (profiler.isEnabled() ? "enabled" : "disabled") + "."));
+                return;
+            }
+            default -> {}
+        }
+
+        QueryProfiler.SortKey sortKey;
+        try {
+            sortKey = QueryProfiler.SortKey.valueOf(sub.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            sendUsage(sender);
+            return;
+        }
+
+        int limit = DEFAULT_LIMIT;
+        if (args.length >= 3) {
+            try { limit = Math.max(1, Integer.parseInt(args[2])); }
+            catch (NumberFormatException ignored) {}
+        }
+
+        List<QueryProfiler.SiteStats> top = profiler.top(limit, sortKey);
+        sender.sendMessage(mm.deserialize("<gold><bold>=== Top Queries by " + sortKey.name().toLowerCase(Locale.ROOT)
+                + " ===</bold></gold>" + (profiler.isEnabled() ? "" : " <red>(profiler disabled)")));
+        if (top.isEmpty()) {
+            sender.sendMessage(mm.deserialize("<yellow>No queries recorded yet."));
+            return;
+        }
+        for (QueryProfiler.SiteStats s : top) {
+            String mainColor = s.mainThreadCalls() > 0 ? "<red>" : "<green>";
+            sender.sendMessage(mm.deserialize(
+                    "<white>" + s.site()
+                    + " <gray>calls=<white>" + s.calls()
+                    + " <gray>main=" + mainColor + s.mainThreadCalls()
+                    + " <gray>p50=<white>" + formatMicros(s.p50Micros())
+                    + " <gray>p99=<white>" + formatMicros(s.p99Micros())
+                    + " <gray>max=<white>" + formatMicros(s.maxMicros())
+                    + " <gray>total=<yellow>" + formatMicros(s.totalMicros())));
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // /horizondb strict <ignore|log|throw>
+    // -------------------------------------------------------------------------
+
+    private void handleStrict(CommandSender sender, String[] args) {
+        QueryProfiler profiler = plugin.getDatabaseManager().getProfiler();
+        if (args.length < 2) {
+            sender.sendMessage(mm.deserialize("<gray>Main-thread access policy: <white>"
+                    + profiler.getMainThreadPolicy().name().toLowerCase(Locale.ROOT)));
+            return;
+        }
+        QueryProfiler.MainThreadPolicy policy = QueryProfiler.parsePolicy(args[1]);
+        profiler.setMainThreadPolicy(policy);
+        sender.sendMessage(mm.deserialize("<green>Main-thread access policy set to <white>"
+                + policy.name().toLowerCase(Locale.ROOT) + "<green>."));
+    }
+
+    // -------------------------------------------------------------------------
+    // /horizondb statements [reset]
+    // -------------------------------------------------------------------------
+
+    private void handleStatements(CommandSender sender, String[] args) {
+        StatementCache cache = plugin.getDatabaseManager().getStatementCache();
+        if (args.length >= 2 && args[1].equalsIgnoreCase("reset")) {
+            cache.resetStats();
+            sender.sendMessage(mm.deserialize("<green>Statement cache stats cleared."));
+            return;
+        }
+        sender.sendMessage(mm.deserialize("<gold><bold>=== Statement Cache ===</bold></gold>"
+                + (cache.isEnabled() ? "" : " <red>(disabled)")));
+        sender.sendMessage(mm.deserialize("<gray>Hits: <white>" + cache.getHits()
+                + " <gray>Misses: <white>" + cache.getMisses()
+                + " <gray>Hit rate: <yellow>" + String.format("%.1f%%", cache.getHitRate() * 100)));
+    }
+
+    // -------------------------------------------------------------------------
+    // /horizondb audit
+    // -------------------------------------------------------------------------
+
+    private void handleAudit(CommandSender sender) {
+        AuditLogWriter.Stats s = plugin.getAuditLogWriter().getStats();
+        String overflowColor = s.overflowed() > 0 ? "<red>" : "<green>";
+        String failedColor = s.failed() > 0 ? "<red>" : "<green>";
+        double avgBatch = s.batches() == 0 ? 0 : (double) (s.written() - s.overflowed()) / s.batches();
+        sender.sendMessage(mm.deserialize("<gold><bold>=== Audit Log Queue ===</bold></gold>"));
+        sender.sendMessage(mm.deserialize("<gray>Depth: <white>" + s.depth() + "<gray>/<white>" + s.capacity()
+                + " <gray>High water: <yellow>" + s.highWater()));
+        sender.sendMessage(mm.deserialize("<gray>Queued: <white>" + s.enqueued()
+                + " <gray>Written: <white>" + s.written()
+                + " <gray>Batches: <white>" + s.batches()
+                + " <gray>Avg batch: <white>" + String.format("%.1f", Math.max(0, avgBatch))));
+        sender.sendMessage(mm.deserialize("<gray>Overflowed: " + overflowColor + s.overflowed()
+                + " <gray>Failed: " + failedColor + s.failed()));
+    }
+
+    // -------------------------------------------------------------------------
+    // /horizondb jobs
+    // -------------------------------------------------------------------------
+
+    private void handleJobs(CommandSender sender) {
+        if (plugin.getJobManager() == null) {
+            sender.sendMessage(mm.deserialize("<yellow>Jobs are disabled."));
+            return;
+        }
+        JobManager.FlushStats s = plugin.getJobManager().getFlushStats();
+        String retryColor = s.retryRows() > 0 ? "<red>" : "<green>";
+        String failedColor = s.failedFlushes() > 0 ? "<red>" : "<green>";
+        String last = s.lastFlushAt() == 0 ? "never"
+                : ((System.currentTimeMillis() - s.lastFlushAt()) / 1000L) + "s ago";
+        sender.sendMessage(mm.deserialize("<gold><bold>=== Job Record Flush ===</bold></gold>"));
+        sender.sendMessage(mm.deserialize("<gray>Dirty: <white>" + s.dirtyRows()
+                + " <gray>In flight: <white>" + s.inFlightRows()
+                + " <gray>Retrying: " + retryColor + s.retryRows()));
+        sender.sendMessage(mm.deserialize("<gray>Last batch: <white>" + s.lastBatchRows() + " <gray>rows, <white>" + last
+                + " <gray>Written: <white>" + s.rowsWritten()
+                + " <gray>Failed checkpoints: " + failedColor + s.failedFlushes()));
+    }
+
+    // -------------------------------------------------------------------------
+    // /horizondb explain
+    // -------------------------------------------------------------------------
+
+    private void handleExplain(CommandSender sender) {
+        QueryPlanAuditor auditor = plugin.getDatabaseManager().getQueryPlanAuditor();
+        sender.sendMessage(mm.deserialize("<gray>Explaining " + QueryPlanAuditor.HOT_QUERIES.size() + " hot queries..."));
+        plugin.getDatabaseManager().read(auditor::audit).whenComplete((findings, error) ->
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    if (error != null) {
+                        sender.sendMessage(mm.deserialize("<red>Query plan audit failed: " + mm.escapeTags(String.valueOf(error.getMessage()))));
+                        return;
+                    }
+                    sender.sendMessage(mm.deserialize("<gold><bold>=== Query Plans ===</bold></gold>"));
+                    if (findings.isEmpty()) {
+                        sender.sendMessage(mm.deserialize("<green>All hot queries use an index."));
+                        return;
+                    }
+                    for (QueryPlanAuditor.Finding f : findings) {
+                        sender.sendMessage(mm.deserialize("<white>" + f.query() + " <red>" + mm.escapeTags(f.problem())));
+                    }
+                }));
+    }
+
+    // -------------------------------------------------------------------------
+    // /horizondb migrations
+    // -------------------------------------------------------------------------
+
+    private void handleMigrations(CommandSender sender) {
+        MigrationManager migrations = plugin.getDatabaseManager().getMigrations();
+        String versionColor = migrations.getCurrentVersion() == migrations.getLatestVersion() ? "<green>" : "<yellow>";
+        sender.sendMessage(mm.deserialize("<gold><bold>=== Schema Migrations ===</bold></gold>"));
+        sender.sendMessage(mm.deserialize("<gray>Schema version: " + versionColor + migrations.getCurrentVersion()
+                + " <gray>Latest: <white>" + migrations.getLatestVersion()));
+        for (MigrationManager.BackfillStatus b : migrations.getBackfillStatus()) {
+            String progress;
+            if (b.complete()) {
+                progress = "<green>complete";
+            } else if (b.maxId() < 0) {
+                progress = "<yellow>pending";
+            } else {
+                double pct = b.maxId() == 0 ? 100 : 100.0 * b.lastId() / b.maxId();
+                progress = "<yellow>" + String.format("%.1f%%", pct) + " <gray>(id " + b.lastId() + "/" + b.maxId() + ")";
+            }
+            sender.sendMessage(mm.deserialize("<white>" + b.name() + " " + progress));
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // /horizondb maintenance [task]
+    // -------------------------------------------------------------------------
+
+    private void handleMaintenance(CommandSender sender, String[] args) {
+        if (!plugin.getDatabaseManager().getDialect().isSqlite()) {
+            sender.sendMessage(mm.deserialize("<yellow>Maintenance tasks only apply to the sqlite backend."));
+            return;
+        }
+        DatabaseMaintenance maintenance = plugin.getDatabaseManager().getMaintenance();
+        if (args.length >= 2) {
+            DatabaseMaintenance.Task task;
+            try {
+                task = DatabaseMaintenance.Task.valueOf(args[1].toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                sendUsage(sender);
+                return;
+            }
+            sender.sendMessage(mm.deserialize("<gray>Running " + task.name().toLowerCase(Locale.ROOT) + "..."));
+            maintenance.runNow(task).whenComplete((run, error) ->
+                    plugin.getServer().getScheduler().runTask(plugin, () -> {
+                        if (error != null) {
+                            sender.sendMessage(mm.deserialize("<red>" + mm.escapeTags(String.valueOf(error.getMessage()))));
+                        } else {
+                            sendRun(sender, task, run);
+                        }
+                    }));
+            return;
+        }
+
+        Map<DatabaseMaintenance.Task, DatabaseMaintenance.Run> runs = maintenance.getLastRuns();
+        sender.sendMessage(mm.deserialize("<gold><bold>=== Database Maintenance ===</bold></gold>"));
+        for (DatabaseMaintenance.Task task : DatabaseMaintenance.Task.values()) {
+            DatabaseMaintenance.Run run = runs.get(task);
+            if (run == null) {
+                sender.sendMessage(mm.deserialize("<white>" + task.name().toLowerCase(Locale.ROOT) + " <gray>not run yet"));
+            } else {
+                sendRun(sender, task, run);
+            }
+        }
+    }
+
+    private void sendRun(CommandSender sender, DatabaseMaintenance.Task task, DatabaseMaintenance.Run run) {
+        long agoSeconds = (System.currentTimeMillis() - run.startedAt()) / 1000L;
+        sender.sendMessage(mm.deserialize("<white>" + task.name().toLowerCase(Locale.ROOT)
+                + (run.success() ? " <green>ok" : " <red>failed")
+                + " <gray>in <yellow>" + formatMicros(run.durationMs() * 1000L)
+                + " <gray>(" + agoSeconds + "s ago) <white>" + mm.escapeTags(run.detail())));
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    private static String formatMicros(long micros) {
+        if (micros >= 1_000_000L) return String.format("%.2fs", micros / 1_000_000.0);
+        if (micros >= 1000L) return String.format("%.2fms", micros / 1000.0);
+        return micros + "µs";
+    }
+
+    private void sendUsage(CommandSender sender) {
+        sender.sendMessage(mm.deserialize("<gold><bold>Database Admin Commands:</bold></gold>"));
+        sender.sendMessage(mm.deserialize("<gray>/horizondb profile [total|p99|max|main|calls] [limit]"));
+        sender.sendMessage(mm.deserialize("<gray>/horizondb profile <reset|on|off>"));
+        sender.sendMessage(mm.deserialize("<gray>/horizondb strict <ignore|log|throw>"));
+        sender.sendMessage(mm.deserialize("<gray>/horizondb statements [reset]"));
+        sender.sendMessage(mm.deserialize("<gray>/horizondb audit"));
+        sender.sendMessage(mm.deserialize("<gray>/horizondb jobs"));
+        sender.sendMessage(mm.deserialize("<gray>/horizondb explain"));
+        sender.sendMessage(mm.deserialize("<gray>/horizondb migrations"));
+        sender.sendMessage(mm.deserialize("<gray>/horizondb maintenance [checkpoint|analyze|vacuum|backup]"));
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String label, String[] args) {
+        if (!sender.hasPermission("horizonutilities.db.admin")) return List.of();
+
+        List<String> options = switch (args.length) {
+            case 1 -> List.of("profile", "strict", "statements", "audit", "jobs", "explain", "migrations", "maintenance");
+            case 2 -> switch (args[0].toLowerCase(Locale.ROOT)) {
+                case "profile" -> List.of("total", "p99", "max", "main", "calls", "reset", "on", "off");
+                case "strict"  -> List.of("ignore", "log", "throw");
+                case "statements" -> List.of("reset");
+                case "maintenance" -> List.of("checkpoint", "analyze", "vacuum", "backup");
+                default        -> List.of();
+            };
+            default -> List.of();
+        };
+        String partial = args[args.length - 1].toLowerCase(Locale.ROOT);
+        return options.stream()
+                .filter(s -> s.startsWith(partial))
+                .collect(Collectors.toList());
+    }
+}
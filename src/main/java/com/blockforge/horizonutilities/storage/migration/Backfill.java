@@ -0,0 +1,26 @@
+package com.blockforge.horizonutilities.storage.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Rewrites the rows of a table keyed by an integer {@code id}, one id range at
+ * a time. Each chunk is a separate write task, so normal writes interleave
+ * with the backfill and the server stays playable while a large table is
+ * rewritten. Progress is stored in {@code schema_backfills}; an interrupted
+ * backfill resumes after the last completed chunk.
+ * <p>
+ * Chunks must be idempotent: a chunk may be repeated if the server stops
+ * between processing it and recording its progress.
+ */
+public interface Backfill {
+
+    /** Unique, stable name; used as the progress key. */
+    String name();
+
+    /** Table whose {@code id} column drives the chunking. */
+    String table();
+
+    /** Processes the rows with {@code fromId < id <= toId}. */
+    void runChunk(Connection conn, long fromId, long toId) throws SQLException;
+}
@@ -0,0 +1,370 @@
+package com.blockforge.horizonutilities.storage.migration;
+
+import com.blockforge.horizonutilities.storage.DatabaseManager;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Version 1: every table the plugin had before versioned migrations,
+ * including the ones the chat bubble, crafting table and player warp managers
+ * used to create themselves. All statements are {@code IF NOT EXISTS}, so
+ * existing databases are adopted as-is.
+ */
+class BaselineSchema implements Migration {
+
+    @Override
+    public int version() { return 1; }
+
+    @Override
+    public String description() { return "Baseline schema"; }
+
+    @Override
+    public void apply(DatabaseManager db, Statement stmt) throws SQLException {
+        db.executeDdl(stmt, """
+            CREATE TABLE IF NOT EXISTS ah_listings (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                seller_uuid TEXT NOT NULL,
+                seller_name TEXT NOT NULL,
+                item_data BLOB NOT NULL,
+                item_material TEXT NOT NULL,
+                item_display_name TEXT,
+                start_price REAL NOT NULL,
+                buyout_price REAL,
+                current_bid REAL NOT NULL DEFAULT 0,
+                current_bidder_uuid TEXT,
+                current_bidder_name TEXT,
+                category TEXT NOT NULL,
+                listed_at INTEGER NOT NULL,
+                expires_at INTEGER NOT NULL,
+                status TEXT NOT NULL DEFAULT 'ACTIVE',
+                listing_fee REAL NOT NULL DEFAULT 0
+            )""");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_listings_status ON ah_listings(status)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_listings_seller ON ah_listings(seller_uuid)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_listings_category ON ah_listings(category)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_listings_expires ON ah_listings(expires_at)");
+
+        db.executeDdl(stmt, """
+            CREATE TABLE IF NOT EXISTS ah_bids (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                listing_id INTEGER NOT NULL,
+                bidder_uuid TEXT NOT NULL,
+                bidder_name TEXT NOT NULL,
+                amount REAL NOT NULL,
+                bid_at INTEGER NOT NULL,
+                FOREIGN KEY (listing_id) REFERENCES ah_listings(id)
+            )""");
+
+        db.executeDdl(stmt, """
+            CREATE TABLE IF NOT EXISTS ah_transactions (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                listing_id INTEGER NOT NULL,
+                seller_uuid TEXT NOT NULL,
+                buyer_uuid TEXT NOT NULL,
+                item_data BLOB NOT NULL,
+                item_material TEXT NOT NULL,
+                sale_price REAL NOT NULL,
+                sale_type TEXT NOT NULL,
+                tax_amount REAL NOT NULL DEFAULT 0,
+                fee_amount REAL NOT NULL DEFAULT 0,
+                completed_at INTEGER NOT NULL
+            )""");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_transactions_seller ON ah_transactions(seller_uuid)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_transactions_buyer ON ah_transactions(buyer_uuid)");
+
+        db.executeDdl(stmt, """
+            CREATE TABLE IF NOT EXISTS ah_collection (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                player_uuid TEXT NOT NULL,
+                type TEXT NOT NULL,
+                item_data BLOB,
+                amount REAL NOT NULL DEFAULT 0,
+                reason LONGTEXT,
+                created_at INTEGER NOT NULL
+            )""");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_collection_player ON ah_collection(player_uuid)");
+
+        db.executeDdl(stmt, """
+            CREATE TABLE IF NOT EXISTS ah_notifications (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                player_uuid TEXT NOT NULL,
+                message_key TEXT NOT NULL,
+                message_data LONGTEXT,
+                created_at INTEGER NOT NULL
+            )""");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_notifications_player ON ah_notifications(player_uuid)");
+
+        db.executeDdl(stmt, """
+            CREATE TABLE IF NOT EXISTS ah_price_history (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                material TEXT NOT NULL,
+                avg_price REAL NOT NULL,
+                min_price REAL NOT NULL,
+                max_price REAL NOT NULL,
+                sale_count INTEGER NOT NULL,
+                period_date TEXT NOT NULL
+            )""");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_price_material ON ah_price_history(material)");
+
+        db.executeDdl(stmt, """
+            CREATE TABLE IF NOT EXISTS ah_bans (
+                player_uuid TEXT PRIMARY KEY,
+                banned_by TEXT NOT NULL,
+                reason LONGTEXT,
+                banned_at INTEGER NOT NULL
+            )""");
+
+        db.executeDdl(stmt, """
+            CREATE TABLE IF NOT EXISTS chatgames_stats (
+                player_uuid TEXT PRIMARY KEY,
+                player_name TEXT NOT NULL,
+                wins INTEGER NOT NULL DEFAULT 0,
+                current_streak INTEGER NOT NULL DEFAULT 0,
+                best_streak INTEGER NOT NULL DEFAULT 0,
+                fastest_time_ms INTEGER NOT NULL DEFAULT 0,
+                last_win INTEGER NOT NULL DEFAULT 0
+            )""");
+
+        db.executeDdl(stmt, """
+            CREATE TABLE IF NOT EXISTS ah_escrow (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                listing_id INTEGER NOT NULL,
+                bidder_uuid TEXT NOT NULL,
+                amount REAL NOT NULL,
+                created_at INTEGER NOT NULL,
+                FOREIGN KEY (listing_id) REFERENCES ah_listings(id)
+            )""");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_escrow_listing ON ah_escrow(listing_id)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_escrow_bidder ON ah_escrow(bidder_uuid)");
+
+        // Jobs tables
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS jobs_players (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "player_uuid TEXT NOT NULL," +
+            "player_name TEXT NOT NULL," +
+            "job_id TEXT NOT NULL," +
+            "level INTEGER NOT NULL DEFAULT 1," +
+            "xp REAL NOT NULL DEFAULT 0," +
+            "prestige INTEGER NOT NULL DEFAULT 0," +
+            "total_earned REAL NOT NULL DEFAULT 0," +
+            "joined_at INTEGER NOT NULL," +
+            "last_active INTEGER NOT NULL," +
+            "UNIQUE(player_uuid, job_id))");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_jobs_player ON jobs_players(player_uuid)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_jobs_job ON jobs_players(job_id)");
+
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS jobs_placed_blocks (" +
+            "world TEXT NOT NULL," +
+            "x INTEGER NOT NULL," +
+            "y INTEGER NOT NULL," +
+            "z INTEGER NOT NULL," +
+            "player_uuid TEXT NOT NULL," +
+            "placed_at INTEGER NOT NULL," +
+            "PRIMARY KEY (world, x, y, z))");
+
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS jobs_income_tracking (" +
+            "player_uuid TEXT NOT NULL," +
+            "job_id TEXT NOT NULL," +
+            "hour_key TEXT NOT NULL," +
+            "earned REAL NOT NULL DEFAULT 0," +
+            "PRIMARY KEY (player_uuid, job_id, hour_key))");
+
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS jobs_quests (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "player_uuid TEXT NOT NULL," +
+            "quest_id TEXT NOT NULL," +
+            "job_id TEXT NOT NULL," +
+            "description LONGTEXT NOT NULL," +
+            "target_type TEXT NOT NULL," +
+            "target_material TEXT," +
+            "target_amount INTEGER NOT NULL," +
+            "current_progress INTEGER NOT NULL DEFAULT 0," +
+            "reward_money REAL NOT NULL DEFAULT 0," +
+            "reward_xp REAL NOT NULL DEFAULT 0," +
+            "assigned_date TEXT NOT NULL," +
+            "completed INTEGER NOT NULL DEFAULT 0," +
+            "completed_at INTEGER)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_quests_player ON jobs_quests(player_uuid, assigned_date)");
+
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS jobs_quest_definitions (" +
+            "quest_id TEXT PRIMARY KEY," +
+            "job_id TEXT NOT NULL," +
+            "description LONGTEXT NOT NULL," +
+            "action_type TEXT NOT NULL," +
+            "target_material TEXT," +
+            "target_amount INTEGER NOT NULL," +
+            "reward_money REAL NOT NULL DEFAULT 0," +
+            "reward_xp REAL NOT NULL DEFAULT 0," +
+            "weight INTEGER NOT NULL DEFAULT 1," +
+            "enabled INTEGER NOT NULL DEFAULT 1)");
+
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS jobs_boosts (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "job_id TEXT," +
+            "multiplier REAL NOT NULL," +
+            "started_by TEXT," +
+            "started_at INTEGER NOT NULL," +
+            "ends_at INTEGER NOT NULL," +
+            "reason TEXT)");
+
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS jobs_explored_chunks (" +
+            "player_uuid TEXT NOT NULL," +
+            "world TEXT NOT NULL," +
+            "chunk_x INTEGER NOT NULL," +
+            "chunk_z INTEGER NOT NULL," +
+            "discovered_at INTEGER NOT NULL," +
+            "PRIMARY KEY (player_uuid, world, chunk_x, chunk_z))");
+
+        // Black Market
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS blackmarket_log (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "player_uuid TEXT NOT NULL," +
+            "player_name TEXT NOT NULL," +
+            "item_id TEXT NOT NULL," +
+            "quantity INTEGER NOT NULL," +
+            "price_each REAL NOT NULL," +
+            "total_price REAL NOT NULL," +
+            "purchased_at INTEGER NOT NULL)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_bm_player ON blackmarket_log(player_uuid)");
+
+        // Trade
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS trade_log (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "player1_uuid TEXT NOT NULL," +
+            "player1_name TEXT NOT NULL," +
+            "player2_uuid TEXT NOT NULL," +
+            "player2_name TEXT NOT NULL," +
+            "player1_items LONGTEXT," +
+            "player1_money REAL NOT NULL DEFAULT 0," +
+            "player2_items LONGTEXT," +
+            "player2_money REAL NOT NULL DEFAULT 0," +
+            "completed_at INTEGER NOT NULL)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_trade_p1 ON trade_log(player1_uuid)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_trade_p2 ON trade_log(player2_uuid)");
+
+        // Lottery
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS lottery_instances (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "tier_id TEXT NOT NULL," +
+            "pot REAL NOT NULL," +
+            "started_at INTEGER NOT NULL," +
+            "draw_at INTEGER NOT NULL," +
+            "status TEXT NOT NULL DEFAULT 'ACTIVE'," +
+            "winner_uuid TEXT," +
+            "winner_name TEXT)");
+
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS lottery_tickets (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "instance_id INTEGER NOT NULL," +
+            "player_uuid TEXT NOT NULL," +
+            "player_name TEXT NOT NULL," +
+            "ticket_count INTEGER NOT NULL," +
+            "total_paid REAL NOT NULL," +
+            "purchased_at INTEGER NOT NULL," +
+            "refunded INTEGER NOT NULL DEFAULT 0," +
+            "FOREIGN KEY (instance_id) REFERENCES lottery_instances(id))");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_lottery_instance ON lottery_tickets(instance_id)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_lottery_player ON lottery_tickets(player_uuid)");
+
+        // Bounty
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS bounties (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "target_uuid TEXT NOT NULL," +
+            "target_name TEXT NOT NULL," +
+            "setter_uuid TEXT NOT NULL," +
+            "setter_name TEXT NOT NULL," +
+            "amount REAL NOT NULL," +
+            "anonymous INTEGER NOT NULL DEFAULT 0," +
+            "created_at INTEGER NOT NULL," +
+            "expires_at INTEGER NOT NULL," +
+            "status TEXT NOT NULL DEFAULT 'ACTIVE'," +
+            "claimed_by_uuid TEXT," +
+            "claimed_by_name TEXT," +
+            "claimed_at INTEGER)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_bounty_target ON bounties(target_uuid, status)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_bounty_status ON bounties(status)");
+
+        // Gems
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS gems (" +
+            "player_uuid TEXT PRIMARY KEY," +
+            "player_name TEXT NOT NULL," +
+            "balance REAL NOT NULL DEFAULT 0," +
+            "total_earned REAL NOT NULL DEFAULT 0," +
+            "total_spent REAL NOT NULL DEFAULT 0," +
+            "last_modified INTEGER NOT NULL)");
+
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS gems_transactions (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "player_uuid TEXT NOT NULL," +
+            "transaction_type TEXT NOT NULL," +
+            "amount REAL NOT NULL," +
+            "balance_after REAL NOT NULL," +
+            "reason TEXT," +
+            "timestamp INTEGER NOT NULL)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_gems_tx_player ON gems_transactions(player_uuid)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_gems_tx_time ON gems_transactions(timestamp)");
+
+        // Economy audit
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS economy_audit_log (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "player_uuid TEXT NOT NULL," +
+            "player_name TEXT NOT NULL," +
+            "action_type TEXT NOT NULL," +
+            "amount REAL NOT NULL," +
+            "balance_after REAL," +
+            "source TEXT," +
+            "related_uuid TEXT," +
+            "created_at INTEGER NOT NULL)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_audit_player ON economy_audit_log(player_uuid)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_audit_type ON economy_audit_log(action_type)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_audit_time ON economy_audit_log(created_at)");
+
+        // Player warps
+        db.executeDdl(stmt, """
+            CREATE TABLE IF NOT EXISTS player_warps (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                owner_uuid TEXT NOT NULL,
+                owner_name TEXT NOT NULL,
+                name TEXT NOT NULL,
+                world TEXT NOT NULL,
+                x REAL NOT NULL,
+                y REAL NOT NULL,
+                z REAL NOT NULL,
+                yaw REAL NOT NULL DEFAULT 0,
+                pitch REAL NOT NULL DEFAULT 0,
+                created_at INTEGER NOT NULL,
+                visits INTEGER NOT NULL DEFAULT 0,
+                UNIQUE(owner_uuid, name)
+            )""");
+        db.executeDdl(stmt, """
+            CREATE TABLE IF NOT EXISTS player_warp_ratings (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                warp_id INTEGER NOT NULL,
+                rater_uuid TEXT NOT NULL,
+                rating INTEGER NOT NULL,
+                rated_at INTEGER NOT NULL,
+                UNIQUE(warp_id, rater_uuid),
+                FOREIGN KEY(warp_id) REFERENCES player_warps(id) ON DELETE CASCADE
+            )""");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_pwarps_owner ON player_warps(owner_uuid)");
+
+        // Chat bubbles
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS chatbubble_preferences " +
+                "(player_uuid TEXT PRIMARY KEY, enabled INTEGER NOT NULL DEFAULT 1)");
+
+        // Crafting tables
+        db.executeDdl(stmt,
+                "CREATE TABLE IF NOT EXISTS crafting_tables (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "world TEXT NOT NULL," +
+                "x INTEGER NOT NULL," +
+                "y INTEGER NOT NULL," +
+                "z INTEGER NOT NULL," +
+                "slot0 BLOB, slot1 BLOB, slot2 BLOB," +
+                "slot3 BLOB, slot4 BLOB, slot5 BLOB," +
+                "slot6 BLOB, slot7 BLOB, slot8 BLOB," +
+                "last_used INTEGER NOT NULL," +
+                "UNIQUE(world, x, y, z))");
+    }
+}
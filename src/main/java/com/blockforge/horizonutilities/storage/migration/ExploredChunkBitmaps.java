@@ -0,0 +1,33 @@
+package com.blockforge.horizonutilities.storage.migration;
+
+import com.blockforge.horizonutilities.storage.DatabaseManager;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Version 3: stores each player's explored chunks per world as one bitmap
+ * blob instead of one {@code jobs_explored_chunks} row per chunk. Existing
+ * rows are folded into the blob the next time their player logs in and are
+ * deleted once it has been written (see {@code ExploreTracker}), so the old
+ * table drains without a bulk rewrite.
+ */
+public class ExploredChunkBitmaps implements Migration {
+
+    @Override
+    public int version() { return 3; }
+
+    @Override
+    public String description() { return "Explored chunk bitmaps"; }
+
+    @Override
+    public void apply(DatabaseManager db, Statement stmt) throws SQLException {
+        db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS jobs_explored_bitmaps (" +
+            "player_uuid TEXT NOT NULL," +
+            "world TEXT NOT NULL," +
+            "chunks BLOB NOT NULL," +
+            "chunk_count INTEGER NOT NULL," +
+            "updated_at INTEGER NOT NULL," +
+            "PRIMARY KEY (player_uuid, world))");
+    }
+}
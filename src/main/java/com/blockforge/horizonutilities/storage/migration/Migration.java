@@ -0,0 +1,34 @@
+package com.blockforge.horizonutilities.storage.migration;
+
+import com.blockforge.horizonutilities.storage.DatabaseManager;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * One numbered schema change. Migrations run once, in ascending
+ * {@link #version()} order, and are recorded in {@code schema_version}.
+ * <p>
+ * {@link #apply} runs during startup and should stay short (DDL, small
+ * fix-ups). Rewriting existing rows of a large table belongs in a
+ * {@link Backfill}, which runs in chunks after the server is up.
+ */
+public interface Migration {
+
+    int version();
+
+    String description();
+
+    /**
+     * Applies the change. On SQLite this runs inside a transaction together
+     * with the version bookkeeping; MySQL commits DDL implicitly, so steps
+     * should tolerate being re-run after a crash (see {@link MigrationManager#columnExists}).
+     */
+    void apply(DatabaseManager db, Statement stmt) throws SQLException;
+
+    /** Backfills to run once this migration has been applied. */
+    default List<Backfill> backfills() {
+        return List.of();
+    }
+}
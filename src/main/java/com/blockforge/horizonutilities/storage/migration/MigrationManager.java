@@ -0,0 +1,301 @@
+package com.blockforge.horizonutilities.storage.migration;
+
+import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.storage.DatabaseManager;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Applies {@link Migration}s in version order and drives their {@link Backfill}s.
+ * <p>
+ * The applied version is kept in {@code schema_version}, one row per migration.
+ * {@link #migrate} runs during startup on the database writer thread, on the
+ * writer's own connection, and startup waits for it to finish; pending
+ * backfills are started afterwards on their own thread and submit one chunk at
+ * a time to the writer, pausing between chunks.
+ * <p>
+ * To change the schema, add a class implementing {@link Migration} with the
+ * next version number and append it to {@link #MIGRATIONS}. Never edit a
+ * migration that has shipped.
+ */
+public class MigrationManager {
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new BaselineSchema(),
+            new WarpRatingSummary(),
+            new ExploredChunkBitmaps(),
+            new QuestPregenerationIndexes()
+    );
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000L;
+
+    /** Progress of one backfill as last recorded. */
+    public record BackfillStatus(String name, long lastId, long maxId, boolean complete) {}
+
+    private static final class BackfillState {
+        final Backfill backfill;
+        volatile long lastId;
+        volatile long maxId = -1;
+        volatile boolean complete;
+
+        BackfillState(Backfill backfill) {
+            this.backfill = backfill;
+        }
+    }
+
+    private final HorizonUtilitiesPlugin plugin;
+    private final DatabaseManager db;
+    private final Map<String, BackfillState> backfills = new ConcurrentHashMap<>();
+    private volatile int currentVersion;
+    private volatile boolean running;
+    private Thread backfillThread;
+
+    public MigrationManager(HorizonUtilitiesPlugin plugin, DatabaseManager db) {
+        this.plugin = plugin;
+        this.db = db;
+    }
+
+    /**
+     * Brings the schema up to the latest version. Each migration is applied
+     * in its own transaction together with its {@code schema_version} row.
+     */
+    public void migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS schema_version (" +
+                    "version INTEGER PRIMARY KEY," +
+                    "description TEXT NOT NULL," +
+                    "applied_at INTEGER NOT NULL," +
+                    "duration_ms INTEGER NOT NULL)");
+            db.executeDdl(stmt, "CREATE TABLE IF NOT EXISTS schema_backfills (" +
+                    "name TEXT PRIMARY KEY," +
+                    "last_id INTEGER NOT NULL DEFAULT 0," +
+                    "completed_at INTEGER)");
+        }
+
+        currentVersion = readVersion(conn);
+        if (currentVersion > getLatestVersion()) {
+            plugin.getLogger().warning("[DB] Database schema version " + currentVersion
+                    + " is newer than this plugin supports (" + getLatestVersion() + "). Was the plugin downgraded?");
+        }
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version() <= currentVersion) continue;
+            apply(conn, migration);
+            currentVersion = migration.version();
+        }
+
+        for (Migration migration : MIGRATIONS) {
+            for (Backfill backfill : migration.backfills()) {
+                backfills.put(backfill.name(), loadState(conn, backfill));
+            }
+        }
+    }
+
+    private int readVersion(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT MAX(version) FROM schema_version");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            migration.apply(db, stmt);
+            long durationMs = (System.nanoTime() - start) / 1_000_000L;
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description, applied_at, duration_ms) VALUES (?, ?, ?, ?)")) {
+                ps.setInt(1, migration.version());
+                ps.setString(2, migration.description());
+                ps.setLong(3, System.currentTimeMillis());
+                ps.setLong(4, durationMs);
+                ps.executeUpdate();
+            }
+            conn.commit();
+            plugin.getLogger().info("[DB] Applied migration " + migration.version() + " ("
+                    + migration.description() + ") in " + durationMs + " ms.");
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Migration " + migration.version() + " (" + migration.description()
+                    + ") failed: " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private BackfillState loadState(Connection conn, Backfill backfill) throws SQLException {
+        BackfillState state = new BackfillState(backfill);
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT last_id, completed_at FROM schema_backfills WHERE name = ?")) {
+            ps.setString(1, backfill.name());
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    state.lastId = rs.getLong("last_id");
+                    rs.getLong("completed_at");
+                    state.complete = !rs.wasNull();
+                    return state;
+                }
+            }
+        }
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO schema_backfills (name, last_id) VALUES (?, 0)")) {
+            ps.setString(1, backfill.name());
+            ps.executeUpdate();
+        }
+        return state;
+    }
+
+    // -------------------------------------------------------------------------
+    // Backfills
+    // -------------------------------------------------------------------------
+
+    /** Starts the backfill thread if any backfill is unfinished. */
+    public void startBackfills() {
+        List<BackfillState> pending = backfills.values().stream().filter(s -> !s.complete).toList();
+        if (pending.isEmpty()) return;
+        running = true;
+        backfillThread = new Thread(() -> runBackfills(pending), "HorizonUtilities-Backfill");
+        backfillThread.setDaemon(true);
+        backfillThread.start();
+    }
+
+    private void runBackfills(List<BackfillState> pending) {
+        var cfg = plugin.getConfigManager();
+        int chunkSize = Math.max(1, cfg.getMigrationBackfillChunkSize());
+        long pauseMs = Math.max(0, cfg.getMigrationBackfillPauseMs());
+
+        for (BackfillState state : pending) {
+            Backfill backfill = state.backfill;
+            long start = System.nanoTime();
+            try {
+                // Rows inserted after the migration are written in the new shape already
+                state.maxId = db.read(conn -> maxId(conn, backfill.table())).join();
+                while (running && state.lastId < state.maxId) {
+                    long from = state.lastId;
+                    long to = Math.min(state.maxId, from + chunkSize);
+                    db.write(conn -> {
+                        runChunk(conn, backfill, from, to);
+                        return null;
+                    }).join();
+                    state.lastId = to;
+                    if (pauseMs > 0) Thread.sleep(pauseMs);
+                }
+                if (!running) return;
+                db.write(conn -> {
+                    markComplete(conn, backfill);
+                    return null;
+                }).join();
+                state.complete = true;
+                plugin.getLogger().info("[DB] Backfill " + backfill.name() + " finished in "
+                        + (System.nanoTime() - start) / 1_000_000L + " ms.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                plugin.getLogger().log(Level.WARNING, "[DB] Backfill " + backfill.name() + " stopped at id "
+                        + state.lastId + "; it will resume on the next start", cause);
+            }
+        }
+    }
+
+    private static long maxId(Connection conn, String table) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT MAX(id) FROM " + table);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /** Runs one chunk and records its progress in the same transaction. */
+    private static void runChunk(Connection conn, Backfill backfill, long fromId, long toId) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            backfill.runChunk(conn, fromId, toId);
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "UPDATE schema_backfills SET last_id = ? WHERE name = ?")) {
+                ps.setLong(1, toId);
+                ps.setString(2, backfill.name());
+                ps.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void markComplete(Connection conn, Backfill backfill) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "UPDATE schema_backfills SET completed_at = ? WHERE name = ?")) {
+            ps.setLong(1, System.currentTimeMillis());
+            ps.setString(2, backfill.name());
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Stops the backfill thread after its current chunk. Must run before the
+     * database writer is shut down; unfinished backfills resume on the next start.
+     */
+    public void shutdown() {
+        running = false;
+        if (backfillThread == null) return;
+        backfillThread.interrupt();
+        try {
+            backfillThread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Status
+    // -------------------------------------------------------------------------
+
+    public int getCurrentVersion() { return currentVersion; }
+
+    public int getLatestVersion() { return MIGRATIONS.get(MIGRATIONS.size() - 1).version(); }
+
+    /** Whether the named backfill has processed every row that existed when it started. */
+    public boolean isBackfillComplete(String name) {
+        BackfillState state = backfills.get(name);
+        return state != null && state.complete;
+    }
+
+    public List<BackfillStatus> getBackfillStatus() {
+        List<BackfillStatus> list = new ArrayList<>();
+        for (BackfillState s : backfills.values()) {
+            list.add(new BackfillStatus(s.backfill.name(), s.lastId, s.maxId, s.complete));
+        }
+        return list;
+    }
+
+    /** Whether {@code table} already has {@code column}; lets DDL steps be re-run safely. */
+    public static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        for (String t : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet rs = meta.getColumns(null, null, t, null)) {
+                while (rs.next()) {
+                    if (column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) return true;
+                }
+            }
+        }
+        return false;
+    }
+}
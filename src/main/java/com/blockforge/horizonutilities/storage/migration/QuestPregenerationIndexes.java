@@ -0,0 +1,26 @@
+package com.blockforge.horizonutilities.storage.migration;
+
+import com.blockforge.horizonutilities.storage.DatabaseManager;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Version 4: indexes for the nightly daily quest pre-generation, which looks
+ * up who already has quests for a date and which players were active
+ * recently (see {@code DailyQuestManager}).
+ */
+public class QuestPregenerationIndexes implements Migration {
+
+    @Override
+    public int version() { return 4; }
+
+    @Override
+    public String description() { return "Quest pre-generation indexes"; }
+
+    @Override
+    public void apply(DatabaseManager db, Statement stmt) throws SQLException {
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_quests_date ON jobs_quests(assigned_date)");
+        db.executeDdl(stmt, "CREATE INDEX IF NOT EXISTS idx_jobs_last_active ON jobs_players(last_active)");
+    }
+}
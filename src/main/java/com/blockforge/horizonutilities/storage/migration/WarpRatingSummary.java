@@ -0,0 +1,61 @@
+package com.blockforge.horizonutilities.storage.migration;
+
+import com.blockforge.horizonutilities.storage.DatabaseManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Version 2: keeps each warp's rating sum and count on the warp row, so warp
+ * lists no longer aggregate {@code player_warp_ratings} on every read. Existing
+ * warps are filled in by the {@value #BACKFILL} backfill; until it finishes,
+ * {@code PlayerWarpStorageManager} keeps aggregating.
+ */
+public class WarpRatingSummary implements Migration {
+
+    public static final String BACKFILL = "player_warps.rating_summary";
+
+    @Override
+    public int version() { return 2; }
+
+    @Override
+    public String description() { return "Denormalized warp rating summary"; }
+
+    @Override
+    public void apply(DatabaseManager db, Statement stmt) throws SQLException {
+        Connection conn = stmt.getConnection();
+        if (!MigrationManager.columnExists(conn, "player_warps", "rating_sum")) {
+            db.executeDdl(stmt, "ALTER TABLE player_warps ADD COLUMN rating_sum INTEGER NOT NULL DEFAULT 0");
+        }
+        if (!MigrationManager.columnExists(conn, "player_warps", "rating_count")) {
+            db.executeDdl(stmt, "ALTER TABLE player_warps ADD COLUMN rating_count INTEGER NOT NULL DEFAULT 0");
+        }
+    }
+
+    @Override
+    public List<Backfill> backfills() {
+        return List.of(new Backfill() {
+            @Override
+            public String name() { return BACKFILL; }
+
+            @Override
+            public String table() { return "player_warps"; }
+
+            @Override
+            public void runChunk(Connection conn, long fromId, long toId) throws SQLException {
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "UPDATE player_warps SET " +
+                        "rating_sum = (SELECT COALESCE(SUM(rating), 0) FROM player_warp_ratings WHERE warp_id = player_warps.id), " +
+                        "rating_count = (SELECT COUNT(*) FROM player_warp_ratings WHERE warp_id = player_warps.id) " +
+                        "WHERE id > ? AND id <= ?")) {
+                    ps.setLong(1, fromId);
+                    ps.setLong(2, toId);
+                    ps.executeUpdate();
+                }
+            }
+        });
+    }
+}
@@ -43,55 +43,70 @@ public class TaxManager {
      */
     public void depositTaxToClaimOwner(Location location, double taxAmount, Player earner, String jobId) {
         if (taxAmount <= 0) return;
-        if (!plugin.getVaultHook().isAvailable()) return;
+        UUID ownerUuid = resolveTaxRecipient(location, earner);
+        if (ownerUuid != null) depositTaxToOwner(ownerUuid, taxAmount, earner, jobId);
+    }
 
+    /**
+     * Returns the owner of the claim at {@code location} who should receive tax
+     * on the earner's income there, or null if nobody should.
+     */
+    public UUID resolveTaxRecipient(Location location, Player earner) {
+        if (!plugin.getVaultHook().isAvailable()) return null;
         try {
             Claim claim = GriefPrevention.instance.dataStore.getClaimAt(location, false, null);
-            if (claim == null) return;
+            if (claim == null) return null;
 
             UUID ownerUuid = claim.ownerID;
-            if (ownerUuid == null) return;
+            if (ownerUuid == null) return null;
 
             // Don't tax earnings in your own claim
-            if (ownerUuid.equals(earner.getUniqueId())) return;
+            if (ownerUuid.equals(earner.getUniqueId())) return null;
+            return ownerUuid;
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "TaxManager: failed to resolve claim at " + location, e);
+            return null;
+        }
+    }
 
-            // Deposit to claim owner (works for offline players via Vault)
-            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-                try {
-                    String ownerName = Bukkit.getOfflinePlayer(ownerUuid).getName();
-                    if (ownerName == null) ownerName = ownerUuid.toString();
+    /**
+     * Deposits tax collected from {@code earner} to a claim owner resolved by
+     * {@link #resolveTaxRecipient}. Works for offline owners via Vault.
+     */
+    public void depositTaxToOwner(UUID ownerUuid, double taxAmount, Player earner, String jobId) {
+        if (taxAmount <= 0) return;
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                String ownerName = Bukkit.getOfflinePlayer(ownerUuid).getName();
+                if (ownerName == null) ownerName = ownerUuid.toString();
 
-                    plugin.getVaultHook().depositOffline(ownerUuid, ownerName, taxAmount);
+                plugin.getVaultHook().depositOffline(ownerUuid, ownerName, taxAmount);
 
-                    // Audit log
-                    EconomyAuditLog auditLog = new EconomyAuditLog(plugin);
-                    auditLog.log(ownerUuid, ownerName,
-                            EconomyAuditLog.TAX_RECEIVED, taxAmount, null,
-                            "job-tax:" + jobId + ":from:" + earner.getName(),
-                            earner.getUniqueId());
+                // Audit log
+                EconomyAuditLog auditLog = new EconomyAuditLog(plugin);
+                auditLog.log(ownerUuid, ownerName,
+                        EconomyAuditLog.TAX_RECEIVED, taxAmount, null,
+                        "job-tax:" + jobId + ":from:" + earner.getName(),
+                        earner.getUniqueId());
 
-                    // Notify if online + configured
-                    if (plugin.getJobManager() != null
-                            && plugin.getJobManager().getConfig().isTaxNotifyOwner()) {
-                        Player ownerPlayer = Bukkit.getPlayer(ownerUuid);
-                        if (ownerPlayer != null && ownerPlayer.isOnline()) {
-                            ownerPlayer.sendMessage(
-                                Component.text("[Jobs] Tax received: ", NamedTextColor.GREEN)
-                                    .append(Component.text(
-                                        plugin.getVaultHook().format(taxAmount),
-                                        NamedTextColor.GOLD))
-                                    .append(Component.text(
-                                        " from " + earner.getName() + " (" + jobId + ")",
-                                        NamedTextColor.GRAY)));
-                        }
+                // Notify if online + configured
+                if (plugin.getJobManager() != null
+                        && plugin.getJobManager().getConfig().isTaxNotifyOwner()) {
+                    Player ownerPlayer = Bukkit.getPlayer(ownerUuid);
+                    if (ownerPlayer != null && ownerPlayer.isOnline()) {
+                        ownerPlayer.sendMessage(
+                            Component.text("[Jobs] Tax received: ", NamedTextColor.GREEN)
+                                .append(Component.text(
+                                    plugin.getVaultHook().format(taxAmount),
+                                    NamedTextColor.GOLD))
+                                .append(Component.text(
+                                    " from " + earner.getName() + " (" + jobId + ")",
+                                    NamedTextColor.GRAY)));
                     }
-                } catch (Exception e) {
-                    plugin.getLogger().log(Level.WARNING, "Failed to deposit tax to claim owner", e);
                 }
-            });
-
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.WARNING, "TaxManager: failed to resolve claim at " + location, e);
-        }
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to deposit tax to claim owner", e);
+            }
+        });
     }
 }
@@ -330,7 +330,7 @@ public class TradeManager {
             final ItemStack[] p1Items = session.getPlayer1Items().clone();
             final ItemStack[] p2Items = session.getPlayer2Items().clone();
 
-            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () ->
+            plugin.getDatabaseManager().runWrite(() ->
                     logTradeToDb(p1Uuid, p1Name, p2Uuid, p2Name, p1Items, p1Money, p2Items, p2Money));
         }
 
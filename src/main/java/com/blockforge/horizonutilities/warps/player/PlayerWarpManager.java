@@ -171,7 +171,7 @@ public class PlayerWarpManager {
         player.sendMessage(Component.text("Teleported to ", NamedTextColor.GREEN)
                 .append(Component.text(warp.getName(), NamedTextColor.GOLD))
                 .append(Component.text("!", NamedTextColor.GREEN)));
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin,
+        plugin.getDatabaseManager().runWrite(
                 () -> storage.incrementVisits(warp.getId()));
     }
 
@@ -1,6 +1,8 @@
 package com.blockforge.horizonutilities.warps.player;
 
 import com.blockforge.horizonutilities.HorizonUtilitiesPlugin;
+import com.blockforge.horizonutilities.storage.SqlDialect;
+import com.blockforge.horizonutilities.storage.migration.WarpRatingSummary;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -9,58 +11,37 @@ import java.util.UUID;
 
 public class PlayerWarpStorageManager {
 
+    /** Warps with their rating summary; aggregated in a subquery so the outer select needs no GROUP BY. */
+    private static final String SELECT_WARPS_AGGREGATED = """
+            SELECT w.id, w.owner_uuid, w.owner_name, w.name, w.world, w.x, w.y, w.z, w.yaw, w.pitch,
+                   w.created_at, w.visits, COALESCE(r.avg_rating,0) AS avg_rating, COALESCE(r.rating_count,0) AS rating_count
+            FROM player_warps w
+            LEFT JOIN (SELECT warp_id, AVG(rating) AS avg_rating, COUNT(*) AS rating_count
+                       FROM player_warp_ratings GROUP BY warp_id) r ON r.warp_id = w.id
+            """;
+
+    /** Warps with the rating summary kept on the row (schema v2), once existing rows are backfilled. */
+    private static final String SELECT_WARPS = """
+            SELECT w.*, CASE WHEN w.rating_count > 0 THEN w.rating_sum * 1.0 / w.rating_count ELSE 0 END AS avg_rating
+            FROM player_warps w
+            """;
+
+    private static final String UPDATE_RATING_SUMMARY =
+            "UPDATE player_warps SET " +
+            "rating_sum = (SELECT COALESCE(SUM(rating), 0) FROM player_warp_ratings WHERE warp_id = ?), " +
+            "rating_count = (SELECT COUNT(*) FROM player_warp_ratings WHERE warp_id = ?) " +
+            "WHERE id = ?";
+
     private final HorizonUtilitiesPlugin plugin;
 
     public PlayerWarpStorageManager(HorizonUtilitiesPlugin plugin) {
         this.plugin = plugin;
-        initTables();
-    }
-
-    private void initTables() {
-        try (Connection conn = plugin.getDatabaseManager().getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS player_warps (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    owner_uuid TEXT NOT NULL,
-                    owner_name TEXT NOT NULL,
-                    name TEXT NOT NULL,
-                    world TEXT NOT NULL,
-                    x REAL NOT NULL,
-                    y REAL NOT NULL,
-                    z REAL NOT NULL,
-                    yaw REAL NOT NULL DEFAULT 0,
-                    pitch REAL NOT NULL DEFAULT 0,
-                    created_at INTEGER NOT NULL,
-                    visits INTEGER NOT NULL DEFAULT 0,
-                    UNIQUE(owner_uuid, name)
-                )""");
-            stmt.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS player_warp_ratings (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    warp_id INTEGER NOT NULL,
-                    rater_uuid TEXT NOT NULL,
-                    rating INTEGER NOT NULL,
-                    rated_at INTEGER NOT NULL,
-                    UNIQUE(warp_id, rater_uuid),
-                    FOREIGN KEY(warp_id) REFERENCES player_warps(id) ON DELETE CASCADE
-                )""");
-            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_pwarps_owner ON player_warps(owner_uuid)");
-        } catch (SQLException e) {
-            plugin.getLogger().warning("[PlayerWarps] Failed to create tables: " + e.getMessage());
-        }
     }
 
     public List<PlayerWarp> getAll() {
         List<PlayerWarp> list = new ArrayList<>();
-        String sql = """
-            SELECT w.*, COALESCE(AVG(r.rating),0) AS avg_rating, COUNT(r.id) AS rating_count
-            FROM player_warps w
-            LEFT JOIN player_warp_ratings r ON r.warp_id = w.id
-            GROUP BY w.id
-            ORDER BY w.name ASC""";
-        try (Connection conn = plugin.getDatabaseManager().getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
+        String sql = selectWarps() + "ORDER BY w.name ASC";
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
             while (rs.next()) list.add(fromRow(rs));
         } catch (SQLException e) {
@@ -71,14 +52,8 @@ public class PlayerWarpStorageManager {
 
     public List<PlayerWarp> getByOwner(UUID ownerUuid) {
         List<PlayerWarp> list = new ArrayList<>();
-        String sql = """
-            SELECT w.*, COALESCE(AVG(r.rating),0) AS avg_rating, COUNT(r.id) AS rating_count
-            FROM player_warps w
-            LEFT JOIN player_warp_ratings r ON r.warp_id = w.id
-            WHERE w.owner_uuid = ?
-            GROUP BY w.id""";
-        try (Connection conn = plugin.getDatabaseManager().getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        String sql = selectWarps() + "WHERE w.owner_uuid = ?";
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(sql)) {
             ps.setString(1, ownerUuid.toString());
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) list.add(fromRow(rs));
@@ -90,8 +65,7 @@ public class PlayerWarpStorageManager {
     }
 
     public int countByOwner(UUID ownerUuid) {
-        try (Connection conn = plugin.getDatabaseManager().getConnection();
-             PreparedStatement ps = conn.prepareStatement(
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
                      "SELECT COUNT(*) FROM player_warps WHERE owner_uuid = ?")) {
             ps.setString(1, ownerUuid.toString());
             try (ResultSet rs = ps.executeQuery()) {
@@ -104,14 +78,8 @@ public class PlayerWarpStorageManager {
     }
 
     public PlayerWarp getByOwnerAndName(UUID ownerUuid, String name) {
-        String sql = """
-            SELECT w.*, COALESCE(AVG(r.rating),0) AS avg_rating, COUNT(r.id) AS rating_count
-            FROM player_warps w
-            LEFT JOIN player_warp_ratings r ON r.warp_id = w.id
-            WHERE w.owner_uuid = ? AND LOWER(w.name) = LOWER(?)
-            GROUP BY w.id""";
-        try (Connection conn = plugin.getDatabaseManager().getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        String sql = selectWarps() + "WHERE w.owner_uuid = ? AND LOWER(w.name) = LOWER(?)";
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(sql)) {
             ps.setString(1, ownerUuid.toString());
             ps.setString(2, name);
             try (ResultSet rs = ps.executeQuery()) {
@@ -124,14 +92,8 @@ public class PlayerWarpStorageManager {
     }
 
     public PlayerWarp getByName(String ownerName, String warpName) {
-        String sql = """
-            SELECT w.*, COALESCE(AVG(r.rating),0) AS avg_rating, COUNT(r.id) AS rating_count
-            FROM player_warps w
-            LEFT JOIN player_warp_ratings r ON r.warp_id = w.id
-            WHERE LOWER(w.owner_name) = LOWER(?) AND LOWER(w.name) = LOWER(?)
-            GROUP BY w.id""";
-        try (Connection conn = plugin.getDatabaseManager().getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        String sql = selectWarps() + "WHERE LOWER(w.owner_name) = LOWER(?) AND LOWER(w.name) = LOWER(?)";
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(sql)) {
             ps.setString(1, ownerName);
             ps.setString(2, warpName);
             try (ResultSet rs = ps.executeQuery()) {
@@ -145,8 +107,7 @@ public class PlayerWarpStorageManager {
 
     public boolean create(UUID ownerUuid, String ownerName, String name,
                           String world, double x, double y, double z, float yaw, float pitch) {
-        try (Connection conn = plugin.getDatabaseManager().getConnection();
-             PreparedStatement ps = conn.prepareStatement(
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
                      "INSERT INTO player_warps(owner_uuid,owner_name,name,world,x,y,z,yaw,pitch,created_at,visits) " +
                      "VALUES(?,?,?,?,?,?,?,?,?,?,0)")) {
             ps.setString(1, ownerUuid.toString());
@@ -168,8 +129,7 @@ public class PlayerWarpStorageManager {
     }
 
     public boolean delete(int warpId) {
-        try (Connection conn = plugin.getDatabaseManager().getConnection();
-             PreparedStatement ps = conn.prepareStatement("DELETE FROM player_warps WHERE id = ?")) {
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement("DELETE FROM player_warps WHERE id = ?")) {
             ps.setInt(1, warpId);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -179,8 +139,7 @@ public class PlayerWarpStorageManager {
     }
 
     public void incrementVisits(int warpId) {
-        try (Connection conn = plugin.getDatabaseManager().getConnection();
-             PreparedStatement ps = conn.prepareStatement(
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
                      "UPDATE player_warps SET visits = visits + 1 WHERE id = ?")) {
             ps.setInt(1, warpId);
             ps.executeUpdate();
@@ -190,15 +149,21 @@ public class PlayerWarpStorageManager {
     }
 
     public boolean setRating(int warpId, UUID raterUuid, int rating) {
-        try (Connection conn = plugin.getDatabaseManager().getConnection();
-             PreparedStatement ps = conn.prepareStatement(
-                     "INSERT INTO player_warp_ratings(warp_id,rater_uuid,rating,rated_at) VALUES(?,?,?,?) " +
-                     "ON CONFLICT(warp_id,rater_uuid) DO UPDATE SET rating=excluded.rating, rated_at=excluded.rated_at")) {
+        SqlDialect dialect = plugin.getDatabaseManager().getDialect();
+        try (PreparedStatement ps = plugin.getDatabaseManager().getConnection().prepareStatement(
+                "INSERT INTO player_warp_ratings(warp_id,rater_uuid,rating,rated_at) VALUES(?,?,?,?)" +
+                dialect.onConflictUpdate("warp_id", "rater_uuid") + dialect.assignExcluded("rating", "rated_at"))) {
             ps.setInt(1, warpId);
             ps.setString(2, raterUuid.toString());
             ps.setInt(3, rating);
             ps.setLong(4, System.currentTimeMillis());
             ps.executeUpdate();
+            try (PreparedStatement summary = plugin.getDatabaseManager().getConnection().prepareStatement(UPDATE_RATING_SUMMARY)) {
+                summary.setInt(1, warpId);
+                summary.setInt(2, warpId);
+                summary.setInt(3, warpId);
+                summary.executeUpdate();
+            }
             return true;
         } catch (SQLException e) {
             plugin.getLogger().warning("[PlayerWarps] setRating failed: " + e.getMessage());
@@ -206,6 +171,12 @@ public class PlayerWarpStorageManager {
         }
     }
 
+    /** The summary columns are only trustworthy once the v2 backfill has covered the older warps. */
+    private String selectWarps() {
+        return plugin.getDatabaseManager().getMigrations().isBackfillComplete(WarpRatingSummary.BACKFILL)
+                ? SELECT_WARPS : SELECT_WARPS_AGGREGATED;
+    }
+
     private PlayerWarp fromRow(ResultSet rs) throws SQLException {
         return new PlayerWarp(
                 rs.getInt("id"),
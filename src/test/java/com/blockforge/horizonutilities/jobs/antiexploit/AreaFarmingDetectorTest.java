@@ -0,0 +1,138 @@
+package com.blockforge.horizonutilities.jobs.antiexploit;
+
+import com.blockforge.horizonutilities.jobs.JobAction;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the cell-hashed ring buffer against a brute-force scan of every
+ * recorded action.
+ */
+class AreaFarmingDetectorTest {
+
+    /** Must match AreaFarmingDetector.MAX_WINDOW_SIZE. */
+    private static final int MAX_WINDOW_SIZE = 512;
+
+    private static final UUID PLAYER = UUID.randomUUID();
+
+    private final World overworld = world();
+    private final World nether = world();
+
+    private record Action(World world, double x, double y, double z, long time) {}
+
+    /** Counts the same way as the detector, over the last {@value #MAX_WINDOW_SIZE} actions. */
+    private static int bruteForce(List<Action> actions, Location center, int radius, long cutoff) {
+        int count = 0;
+        double radiusSq = (double) radius * radius;
+        for (int i = Math.max(0, actions.size() - MAX_WINDOW_SIZE); i < actions.size(); i++) {
+            Action a = actions.get(i);
+            if (a.time() < cutoff || a.world() != center.getWorld()) continue;
+            double dx = a.x() - center.getX(), dy = a.y() - center.getY(), dz = a.z() - center.getZ();
+            if (dx * dx + dy * dy + dz * dz <= radiusSq) count++;
+        }
+        return count;
+    }
+
+    @Test
+    void matchesBruteForceOnRandomFarms() {
+        for (int radius : new int[]{1, 4, 8, 16}) {
+            for (long seed = 0; seed < 5; seed++) {
+                compareRandom(radius, seed);
+            }
+        }
+    }
+
+    private void compareRandom(int radius, long seed) {
+        Random rng = new Random(seed * 31 + radius);
+        long[] now = {1_000_000L};
+        long timeframe = 10_000L;
+        AreaFarmingDetector detector = new AreaFarmingDetector(50, radius, timeframe, () -> now[0]);
+        List<Action> actions = new ArrayList<>();
+        double[][] farms = {{0, 64, 0}, {-7.5, 12, 130.25}, {1000, -40, -1000}, {radius, radius, -radius}};
+
+        for (int step = 0; step < 3000; step++) {
+            now[0] += rng.nextInt(rng.nextInt(20) == 0 ? 2000 : 40);
+            double[] farm = farms[rng.nextInt(farms.length)];
+            double spread = rng.nextBoolean() ? radius : radius * 4.0;
+            World world = rng.nextInt(10) == 0 ? nether : overworld;
+            Location loc = new Location(world,
+                    farm[0] + (rng.nextDouble() * 2 - 1) * spread,
+                    farm[1] + (rng.nextDouble() * 2 - 1) * spread,
+                    farm[2] + (rng.nextDouble() * 2 - 1) * spread);
+
+            detector.recordAction(PLAYER, loc, JobAction.BREAK);
+            actions.add(new Action(world, loc.getX(), loc.getY(), loc.getZ(), now[0]));
+
+            // Query around the new action and around a fixed farm, with radii that
+            // use the cell lookup and ones wide enough to fall back to a full scan
+            Location farmCenter = new Location(overworld, farm[0], farm[1], farm[2]);
+            for (Location center : new Location[]{loc, farmCenter}) {
+                for (int queryRadius : new int[]{0, radius, radius * 2, radius * 5}) {
+                    for (long queryTimeframe : new long[]{timeframe, timeframe / 4}) {
+                        int expected = bruteForce(actions, center, queryRadius, now[0] - queryTimeframe);
+                        int actual = detector.getRecentActionsInRadius(PLAYER, center, queryRadius, queryTimeframe);
+                        assertEquals(expected, actual, "radius=" + radius + " seed=" + seed + " step=" + step
+                                + " queryRadius=" + queryRadius + " queryTimeframe=" + queryTimeframe);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void keepsOnlyTheNewestActionsWhenTheWindowOverflows() {
+        long[] now = {0L};
+        AreaFarmingDetector detector = new AreaFarmingDetector(10, 4, 60_000L, () -> now[0]);
+        Location spot = new Location(overworld, 10.5, 70, -3.5);
+        for (int i = 0; i < MAX_WINDOW_SIZE * 3; i++) {
+            now[0]++;
+            detector.recordAction(PLAYER, spot, JobAction.BREAK);
+        }
+        assertEquals(MAX_WINDOW_SIZE, detector.getRecentActionsInRadius(PLAYER, spot, 4, 60_000L));
+    }
+
+    @Test
+    void expiresActionsAndDropsEmptyWindows() {
+        long[] now = {0L};
+        AreaFarmingDetector detector = new AreaFarmingDetector(3, 4, 1_000L, () -> now[0]);
+        Location spot = new Location(overworld, 0, 64, 0);
+        for (int i = 0; i < 3; i++) detector.recordAction(PLAYER, spot, JobAction.BREAK);
+        assertTrue(detector.isExploiting(PLAYER, spot, JobAction.BREAK));
+
+        now[0] += 1_001L;
+        assertFalse(detector.isExploiting(PLAYER, spot, JobAction.BREAK));
+        detector.cleanup();
+        assertEquals(0, detector.getRecentActionsInRadius(PLAYER, spot, 4, 1_000L));
+    }
+
+    @Test
+    void separatesWorlds() {
+        long[] now = {0L};
+        AreaFarmingDetector detector = new AreaFarmingDetector(3, 4, 1_000L, () -> now[0]);
+        detector.recordAction(PLAYER, new Location(overworld, 0, 64, 0), JobAction.BREAK);
+        detector.recordAction(PLAYER, new Location(nether, 0, 64, 0), JobAction.BREAK);
+        assertEquals(1, detector.getRecentActionsInRadius(PLAYER, new Location(nether, 1, 64, 1), 4, 1_000L));
+    }
+
+    /** A World stand-in; the detector only compares worlds by identity. */
+    private static World world() {
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "World@" + Integer.toHexString(System.identityHashCode(proxy));
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}